@@ -1,2 +1,5 @@
 rootProject.name = "benchmark"
 
+// Benchmark the jimmer of this repository instead of the published one,
+// so that the internal APIs changed by the current work can be measured
+includeBuild("../project")
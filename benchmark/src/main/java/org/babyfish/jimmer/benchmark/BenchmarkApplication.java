@@ -20,8 +20,9 @@ public class BenchmarkApplication {
         // SpringApplication.run will be called in forked process, not here.
 
         Options opt = new OptionsBuilder()
-                // set the class name regex for benchmarks to search for to the current class
-                .include("\\." + OrmBenchmark.class.getSimpleName() + "\\.")
+                // set the class name regex for benchmarks to search for to the current class,
+                // other benchmarks can be selected by the first argument, e.g. `StaticCacheBenchmark`
+                .include("\\." + (args.length > 0 ? args[0] : OrmBenchmark.class.getSimpleName()) + "\\.")
                 .warmupIterations(WARMUP_ITERATIONS)
                 .warmupTime(TimeValue.seconds(1))
                 .measurementIterations(MEASUREMENT_ITERATIONS)
@@ -0,0 +1,69 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.benchmark.hash.TreeNode;
+import org.babyfish.jimmer.benchmark.hash.TreeNodeDraft;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deep hashCode/equals of a large object tree,
+ * like the result of a query with a recursive fetcher.
+ *
+ * <p>Run it by `BenchmarkApplication HashCodeBenchmark`</p>
+ */
+@State(Scope.Benchmark)
+public class HashCodeBenchmark {
+
+    private static final int BREADTH = 8;
+
+    /**
+     * 4681 nodes when the depth is 4
+     */
+    @Param({"2", "4"})
+    private int depth;
+
+    private TreeNode tree;
+
+    private TreeNode equalTree;
+
+    private TreeNode differentTree;
+
+    @Setup
+    public void initialize() {
+        tree = createTree("root", depth, null);
+        equalTree = createTree("root", depth, null);
+        differentTree = createTree("root", depth, "root-7-7");
+        // Hash codes are computed by the first call, then cached
+        tree.hashCode();
+        equalTree.hashCode();
+        differentTree.hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeOfTree() {
+        return tree.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsOfEqualTrees() {
+        return tree.equals(equalTree);
+    }
+
+    @Benchmark
+    public boolean equalsOfDifferentTrees() {
+        return tree.equals(differentTree);
+    }
+
+    private static TreeNode createTree(String name, int depth, String changedName) {
+        List<TreeNode> childNodes = new ArrayList<>();
+        for (int i = 0; i < (depth > 0 ? BREADTH : 0); i++) {
+            childNodes.add(createTree(name + '-' + i, depth - 1, changedName));
+        }
+        return TreeNodeDraft.$.produce(draft -> {
+            draft.setName(name.equals(changedName) ? name + '*' : name);
+            draft.setChildNodes(childNodes);
+        });
+    }
+}
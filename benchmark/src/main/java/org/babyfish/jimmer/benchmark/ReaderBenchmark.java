@@ -0,0 +1,60 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.benchmark.jimmer.JimmerData;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerDataTable;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Compare the entity readers compiled by
+ * {@link JSqlClient.Builder#setReaderCompilationEnabled(boolean)}
+ * with the default readers.
+ *
+ * <p>Run it by `BenchmarkApplication ReaderBenchmark`</p>
+ */
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+
+    @Param({"100", "1000"})
+    private int dataCount;
+
+    @Param({"false", "true"})
+    private boolean compiled;
+
+    private JSqlClient sqlClient;
+
+    @Setup
+    public void initialize() throws SQLException, IOException {
+        ApplicationContext ctx = SpringApplication.run(BenchmarkApplication.class);
+        DatabaseInitializer databaseInitializer = ctx.getBean(DatabaseInitializer.class);
+        databaseInitializer.initialize(dataCount);
+
+        DataSource dataSource = ctx.getBean(DataSource.class);
+        sqlClient = JSqlClient
+                .newBuilder()
+                .setDialect(new H2Dialect())
+                .setEntityManager(new EntityManager(JimmerData.class))
+                .setConnectionManager(ConnectionManager.singleConnectionManager(DataSourceUtils.getConnection(dataSource)))
+                .setReaderCompilationEnabled(compiled)
+                .build();
+    }
+
+    @Benchmark
+    public List<JimmerData> runJimmer() {
+        return sqlClient
+                .createQuery(JimmerDataTable.$)
+                .select(JimmerDataTable.$)
+                .execute();
+    }
+}
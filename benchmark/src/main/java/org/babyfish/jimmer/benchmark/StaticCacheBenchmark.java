@@ -0,0 +1,58 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Read contention of {@link StaticCache}, which is used by jimmer
+ * for all metadata, so it is read by every thread for every statement.
+ *
+ * <p>Run it by `BenchmarkApplication StaticCacheBenchmark`</p>
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class StaticCacheBenchmark {
+
+    /**
+     * Less than the capacity of `NegativeKeySet`,
+     * so that no negative key is evicted
+     */
+    private static final int NEGATIVE_KEY_COUNT = 64;
+
+    @Param({"16", "1024"})
+    private int keyCount;
+
+    private StaticCache<Integer, String> cache;
+
+    @Setup
+    public void initialize() {
+        // Negative keys have no value, they are remembered by the negative key set
+        cache = new StaticCache<>(key -> key >= 0 ? key.toString() : null);
+        for (int i = 0; i < keyCount; i++) {
+            cache.get(i);
+        }
+        for (int i = 1; i <= NEGATIVE_KEY_COUNT; i++) {
+            cache.get(-i);
+        }
+    }
+
+    @Benchmark
+    public String positiveHit(Cursor cursor) {
+        return cache.get(cursor.next(keyCount));
+    }
+
+    @Benchmark
+    public String negativeHit(Cursor cursor) {
+        return cache.get(-1 - cursor.next(NEGATIVE_KEY_COUNT));
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        int next(int keyCount) {
+            return (index++ & Integer.MAX_VALUE) % keyCount;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.babyfish.jimmer.benchmark.hash;
+
+import org.babyfish.jimmer.Immutable;
+
+import java.util.List;
+
+@Immutable
+public interface TreeNode {
+
+    String name();
+
+    List<TreeNode> childNodes();
+}
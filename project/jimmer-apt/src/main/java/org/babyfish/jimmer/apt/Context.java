@@ -74,6 +74,8 @@ public class Context {
 
     private final boolean buddyIgnoreResourceGeneration;
 
+    private final boolean jacksonSerializerGeneration;
+
     private final Modifier dtoFieldModifier;
 
     Context(
@@ -89,6 +91,7 @@ public class Context {
             String fetchersTypeName,
             boolean hibernateValidatorEnhancement,
             boolean buddyIgnoreResourceGeneration,
+            boolean jacksonSerializerGeneration,
             Modifier dtoFieldModifier
     ) {
         this.elements = elements;
@@ -132,6 +135,7 @@ public class Context {
                 "Fetchers";
         this.hibernateValidatorEnhancement = hibernateValidatorEnhancement;
         this.buddyIgnoreResourceGeneration = buddyIgnoreResourceGeneration;
+        this.jacksonSerializerGeneration = jacksonSerializerGeneration;
         this.dtoFieldModifier = dtoFieldModifier;
         comparableType = types
                 .getDeclaredType(
@@ -333,6 +337,10 @@ public class Context {
         return buddyIgnoreResourceGeneration;
     }
 
+    public boolean isJacksonSerializerGeneration() {
+        return jacksonSerializerGeneration;
+    }
+
     public Modifier getDtoFieldModifier() {
         return dtoFieldModifier;
     }
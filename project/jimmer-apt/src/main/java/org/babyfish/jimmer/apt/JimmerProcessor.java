@@ -7,6 +7,7 @@ import org.babyfish.jimmer.apt.dto.DtoProcessor;
 import org.babyfish.jimmer.apt.entry.EntryProcessor;
 import org.babyfish.jimmer.apt.error.ErrorProcessor;
 import org.babyfish.jimmer.apt.immutable.ImmutableProcessor;
+import org.babyfish.jimmer.apt.repository.RepositoryProcessor;
 import org.babyfish.jimmer.apt.transactional.TxProcessor;
 // TUPLE: import org.babyfish.jimmer.apt.tuple.TypedTupleProcessor;
 import org.babyfish.jimmer.client.EnableImplicitApi;
@@ -65,10 +66,14 @@ public class JimmerProcessor extends AbstractProcessor {
 
     private boolean toolGenerated;
 
+    private boolean repositoryGenerated;
+
     private Set<String> delayedTupleTypeNames;
 
     private List<String> delayedClientTypeNames;
 
+    private List<String> delayedRepositoryTypeNames;
+
     private Modifier dtoFieldModifier;
 
     @Override
@@ -165,6 +170,9 @@ public class JimmerProcessor extends AbstractProcessor {
                 "true".equals(
                         processingEnv.getOptions().get("jimmer.buddy.ignoreResourceGeneration")
                 ),
+                "true".equals(
+                        processingEnv.getOptions().get("jimmer.jackson.generateSerializer")
+                ),
                 dtoFieldModifier
         );
         elements = processingEnv.getElementUtils();
@@ -210,6 +218,7 @@ public class JimmerProcessor extends AbstractProcessor {
                             .filter(it -> it instanceof TypeElement)
                             .map(it -> ((TypeElement) it).getQualifiedName().toString())
                             .collect(Collectors.toList());
+                    delayedRepositoryTypeNames = delayedClientTypeNames;
                     return true;
                 }
             }
@@ -219,6 +228,11 @@ public class JimmerProcessor extends AbstractProcessor {
                 new ClientProcessor(context, clientExplicitApi, delayedClientTypeNames).process(roundEnv);
                 delayedClientTypeNames = null;
             }
+            if (!repositoryGenerated) {
+                repositoryGenerated = true;
+                new RepositoryProcessor(context, messager, delayedRepositoryTypeNames).process(roundEnv);
+                delayedRepositoryTypeNames = null;
+            }
         } catch (MetaException ex) {
             messager.printMessage(
                     Diagnostic.Kind.ERROR,
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.apt.immutable.generator;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.Context;
 import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
 import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
 import org.babyfish.jimmer.impl.util.StringUtil;
@@ -19,11 +20,14 @@ import static org.babyfish.jimmer.apt.util.GeneratedAnnotation.generatedAnnotati
 
 public class BuilderGenerator {
 
+    private final Context ctx;
+
     private final ImmutableType type;
 
     private TypeSpec.Builder typeBuilder;
 
-    public BuilderGenerator(ImmutableType type) {
+    public BuilderGenerator(Context ctx, ImmutableType type) {
+        this.ctx = ctx;
         this.type = type;
     }
 
@@ -44,6 +48,9 @@ public class BuilderGenerator {
             addSetter(prop);
         }
         addBuild();
+        if (ctx.isJacksonSerializerGeneration()) {
+            new JacksonDeserializerGenerator(type).generate(typeBuilder);
+        }
     }
 
     private void addField() {
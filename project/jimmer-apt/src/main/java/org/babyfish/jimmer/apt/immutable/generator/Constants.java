@@ -2,7 +2,9 @@ package org.babyfish.jimmer.apt.immutable.generator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
@@ -16,6 +18,8 @@ import org.babyfish.jimmer.impl.util.DtoPropAccessor;
 import org.babyfish.jimmer.ClientException;
 import org.babyfish.jimmer.internal.FixedInputField;
 import org.babyfish.jimmer.internal.GeneratedBy;
+import org.babyfish.jimmer.jackson.ImmutableFieldDeserializer;
+import org.babyfish.jimmer.jackson.ImmutableFieldSerializer;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.runtime.DraftContext;
@@ -71,6 +75,21 @@ public class Constants {
     public static final ClassName JSON_NAMING_CLASS_NAME =
             ClassName.get(JsonNaming.class);
 
+    public static final ClassName JSON_GENERATOR_CLASS_NAME =
+            ClassName.get(JsonGenerator.class);
+
+    public static final ClassName SERIALIZER_PROVIDER_CLASS_NAME =
+            ClassName.get(SerializerProvider.class);
+
+    public static final ClassName IMMUTABLE_FIELD_SERIALIZER_CLASS_NAME =
+            ClassName.get(ImmutableFieldSerializer.class);
+
+    public static final ClassName FIELD_WRITER_CLASS_NAME =
+            IMMUTABLE_FIELD_SERIALIZER_CLASS_NAME.nestedClass("FieldWriter");
+
+    public static final ClassName IMMUTABLE_FIELD_DESERIALIZER_CLASS_NAME =
+            ClassName.get(ImmutableFieldDeserializer.class);
+
     public static final ClassName STRING_CLASS_NAME =
             ClassName.get(String.class);
 
@@ -492,6 +511,54 @@ public class Constants {
                     "Propagation"
             );
 
+    public static final ClassName J_SQL_CLIENT_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.sql",
+                    "JSqlClient"
+            );
+
+    public static final ClassName J_REPOSITORY_IMPL_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.spring.repository.support",
+                    "JRepositoryImpl"
+            );
+
+    public static final ClassName GENERATED_QUERY_METHODS_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.spring.repository.support",
+                    "GeneratedQueryMethods"
+            );
+
+    public static final ClassName QUERY_METHOD_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.spring.repository.parser",
+                    "QueryMethod"
+            );
+
+    public static final ClassName QUERY_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.spring.repository.parser",
+                    "Query"
+            );
+
+    public static final ClassName PROP_PREDICATE_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.spring.repository.parser",
+                    "PropPredicate"
+            );
+
+    public static final ClassName LIKE_MODE_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.sql.ast",
+                    "LikeMode"
+            );
+
+    public static final ClassName ORDER_MODE_CLASS_NAME =
+            ClassName.get(
+                    "org.babyfish.jimmer.sql.ast.query",
+                    "OrderMode"
+            );
+
     public static final ClassName BASE_TABLE_CLASS_NAME =
             ClassName.get(
                     "org.babyfish.jimmer.sql.ast.table",
@@ -81,7 +81,7 @@ public class DraftGenerator {
         }
         new ProducerGenerator(ctx, type).generate(typeBuilder);
         if (!type.isMappedSuperClass()) {
-            new BuilderGenerator(type).generate(typeBuilder);
+            new BuilderGenerator(ctx, type).generate(typeBuilder);
         }
     }
 
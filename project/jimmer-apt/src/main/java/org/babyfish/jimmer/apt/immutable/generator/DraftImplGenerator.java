@@ -290,7 +290,13 @@ public class DraftImplGenerator {
                         .addModifiers(Modifier.PUBLIC)
                         .addAnnotation(Override.class)
                         .returns(int.class)
-                        .addStatement("return $L.hashCode()", UNMODIFIED)
+                        .addComment("`__modified` is still changing, its hash code cannot be cached")
+                        .addStatement(
+                                "return $L != null ? $L.__computeHashCode() : $L.hashCode()",
+                                Constants.DRAFT_FIELD_MODIFIED,
+                                Constants.DRAFT_FIELD_MODIFIED,
+                                Constants.DRAFT_FIELD_BASE
+                        )
                         .build()
         );
         typeBuilder.addMethod(
@@ -300,7 +306,14 @@ public class DraftImplGenerator {
                         .addAnnotation(Override.class)
                         .addParameter(boolean.class, "shallow")
                         .returns(int.class)
-                        .addStatement("return $L.__hashCode(shallow)", UNMODIFIED)
+                        .beginControlFlow("if ($L != null)", Constants.DRAFT_FIELD_MODIFIED)
+                        .addStatement(
+                                "return shallow ? $L.__computeShallowHashCode() : $L.__computeHashCode()",
+                                Constants.DRAFT_FIELD_MODIFIED,
+                                Constants.DRAFT_FIELD_MODIFIED
+                        )
+                        .endControlFlow()
+                        .addStatement("return $L.__hashCode(shallow)", Constants.DRAFT_FIELD_BASE)
                         .build()
         );
         typeBuilder.addMethod(
@@ -21,6 +21,10 @@ import static org.babyfish.jimmer.apt.util.GeneratedAnnotation.generatedAnnotati
 
 public class ImplGenerator {
 
+    private static final String HASH_CODE_CACHE = "__hashCodeCache";
+
+    private static final String SHALLOW_HASH_CODE_CACHE = "__shallowHashCodeCache";
+
     private final Context ctx;
 
     private final ImmutableType type;
@@ -54,6 +58,8 @@ public class ImplGenerator {
         addIsVisible(String.class);
         addHashCode(false);
         addHashCode(true);
+        addComputeHashCode(false);
+        addComputeHashCode(true);
         addParameterizedHashCode();
         addEquals(false);
         addEquals(true);
@@ -69,6 +75,18 @@ public class ImplGenerator {
                         .addModifiers(Modifier.PRIVATE)
                         .build()
         );
+        // Immutable objects never change after `__resolve`,
+        // so their hash codes are cached lazily, 0 means not computed.
+        // Draft never uses them because the `__modified` of draft
+        // is still changing, see `__computeHashCode`.
+        for (String cacheName : new String[] { HASH_CODE_CACHE, SHALLOW_HASH_CODE_CACHE }) {
+            typeBuilder.addField(
+                    FieldSpec
+                            .builder(int.class, cacheName)
+                            .addModifiers(Modifier.PRIVATE, Modifier.TRANSIENT)
+                            .build()
+            );
+        }
         for (ImmutableProp prop : type.getProps().values()) {
             if (prop.isValueRequired()) {
                 FieldSpec.Builder valueBuilder = FieldSpec.builder(
@@ -186,7 +204,11 @@ public class ImplGenerator {
                 .returns(type.getImplClassName());
         builder
                 .beginControlFlow("try")
-                .addStatement("return ($T)super.clone()", type.getImplClassName())
+                .addStatement("$T cloned = ($T)super.clone()", type.getImplClassName(), type.getImplClassName())
+                .addComment("The cloned object will be changed by draft")
+                .addStatement("cloned.$L = 0", HASH_CODE_CACHE)
+                .addStatement("cloned.$L = 0", SHALLOW_HASH_CODE_CACHE)
+                .addStatement("return cloned")
                 .nextControlFlow("catch($T ex)", Constants.CLONE_NOT_SUPPORTED_EXCEPTION_CLASS_NAME)
                 .addStatement("throw new AssertionError(ex)")
                 .endControlFlow();
@@ -328,14 +350,28 @@ public class ImplGenerator {
     }
 
     private void addHashCode(boolean shallow) {
+        String cacheName = shallow ? SHALLOW_HASH_CODE_CACHE : HASH_CODE_CACHE;
         MethodSpec.Builder builder = MethodSpec
                 .methodBuilder(shallow ? "__shallowHashCode" : "hashCode")
                 .addModifiers(shallow ? Modifier.PRIVATE : Modifier.PUBLIC)
                 .returns(int.class)
-                .addStatement("int hash = __visibility != null ? __visibility.hashCode() : 0");
+                .addStatement("int hash = $L", cacheName)
+                .beginControlFlow("if (hash == 0)")
+                .addStatement("hash = $L()", shallow ? "__computeShallowHashCode" : "__computeHashCode")
+                .addStatement("$L = hash", cacheName)
+                .endControlFlow()
+                .addStatement("return hash");
         if (!shallow) {
             builder.addAnnotation(Override.class);
         }
+        typeBuilder.addMethod(builder.build());
+    }
+
+    private void addComputeHashCode(boolean shallow) {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder(shallow ? "__computeShallowHashCode" : "__computeHashCode")
+                .returns(int.class)
+                .addStatement("int hash = __visibility != null ? __visibility.hashCode() : 0");
         for (ImmutableProp prop : type.getProps().values()) {
             if (!prop.isValueRequired()) {
                 continue;
@@ -393,10 +429,21 @@ public class ImplGenerator {
         if (!shallow) {
             builder.addAnnotation(Override.class);
         }
+        String cacheName = shallow ? SHALLOW_HASH_CODE_CACHE : HASH_CODE_CACHE;
         builder
+                .beginControlFlow("if (obj == this)")
+                .addStatement("return true")
+                .endControlFlow()
                 .beginControlFlow("if (obj == null || !(obj instanceof $T))", type.getImplementorClassName())
                 .addStatement("return false")
                 .endControlFlow()
+                .beginControlFlow("if (obj instanceof $T)", type.getImplClassName())
+                .addStatement("int __hash = $L", cacheName)
+                .addStatement("int __otherHash = (($T)obj).$L", type.getImplClassName(), cacheName)
+                .beginControlFlow("if (__hash != 0 && __otherHash != 0 && __hash != __otherHash)")
+                .addStatement("return false")
+                .endControlFlow()
+                .endControlFlow()
                 .addStatement("$T __other = ($T)obj", type.getImplementorClassName(), type.getImplementorClassName());
         for (ImmutableProp prop : type.getProps().values()) {
             builder
@@ -0,0 +1,68 @@
+package org.babyfish.jimmer.apt.immutable.generator;
+
+import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.jackson.ImmutableFieldDeserializer;
+
+import javax.lang.model.element.Modifier;
+
+import static org.babyfish.jimmer.apt.util.GeneratedAnnotation.generatedAnnotation;
+
+/**
+ * Generate the field deserializer used by `ImmutableModule` of jackson,
+ * it is nested in the draft builder and generated only when the apt option
+ * `jimmer.jackson.generateSerializer` is `true`
+ */
+public class JacksonDeserializerGenerator {
+
+    private final ImmutableType type;
+
+    private TypeSpec.Builder typeBuilder;
+
+    JacksonDeserializerGenerator(ImmutableType type) {
+        this.type = type;
+    }
+
+    public void generate(TypeSpec.Builder parentBuilder) {
+        typeBuilder = TypeSpec
+                .classBuilder(ImmutableFieldDeserializer.GENERATED_CLASS_NAME)
+                .addAnnotation(generatedAnnotation(type))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addSuperinterface(Constants.IMMUTABLE_FIELD_DESERIALIZER_CLASS_NAME);
+        addSet();
+        parentBuilder.addType(typeBuilder.build());
+    }
+
+    private void addSet() {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addAnnotation(
+                        AnnotationSpec
+                                .builder(SuppressWarnings.class)
+                                .addMember("value", "$S", "unchecked")
+                                .build()
+                )
+                .addParameter(TypeName.OBJECT, "builder")
+                .addParameter(TypeName.INT, "propIndex")
+                .addParameter(TypeName.OBJECT, "value")
+                .returns(TypeName.BOOLEAN)
+                .addStatement("$T __builder = ($T)builder", type.getBuilderClassName(), type.getBuilderClassName())
+                .beginControlFlow("switch (propIndex)");
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            if (prop.isJavaFormula() || prop.getManyToManyViewBaseProp() != null) {
+                // The builder has no setter for them
+                continue;
+            }
+            builder.addCode("case $T.$L:\n$>", type.getProducerClassName(), prop.getSlotName());
+            builder.addStatement("__builder.$L(($T)value)", prop.getName(), prop.getTypeName().box());
+            builder.addStatement("return true$<");
+        }
+        builder.addCode("default:\n$>");
+        builder.addStatement("return false$<");
+        builder.endControlFlow();
+        typeBuilder.addMethod(builder.build());
+    }
+}
@@ -0,0 +1,94 @@
+package org.babyfish.jimmer.apt.immutable.generator;
+
+import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.jackson.ImmutableFieldSerializer;
+
+import javax.lang.model.element.Modifier;
+
+import static org.babyfish.jimmer.apt.util.GeneratedAnnotation.generatedAnnotation;
+
+/**
+ * Generate the field serializer used by `ImmutableModule` of jackson,
+ * it is generated only when the apt option `jimmer.jackson.generateSerializer`
+ * is `true`
+ */
+public class JacksonSerializerGenerator {
+
+    private final ImmutableType type;
+
+    private TypeSpec.Builder typeBuilder;
+
+    JacksonSerializerGenerator(ImmutableType type) {
+        this.type = type;
+    }
+
+    public void generate(TypeSpec.Builder parentBuilder) {
+        typeBuilder = TypeSpec
+                .classBuilder(ImmutableFieldSerializer.GENERATED_CLASS_NAME)
+                .addAnnotation(generatedAnnotation(type))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addSuperinterface(Constants.IMMUTABLE_FIELD_SERIALIZER_CLASS_NAME);
+        addIsAccessible();
+        addSerialize();
+        parentBuilder.addType(typeBuilder.build());
+    }
+
+    private void addIsAccessible() {
+        typeBuilder.addMethod(
+                MethodSpec
+                        .methodBuilder("isAccessible")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addAnnotation(Override.class)
+                        .addParameter(TypeName.OBJECT, "bean")
+                        .returns(TypeName.BOOLEAN)
+                        .addStatement("return bean instanceof Impl")
+                        .build()
+        );
+    }
+
+    private void addSerialize() {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("serialize")
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(TypeName.OBJECT, "bean")
+                .addParameter(TypeName.INT, "propIndex")
+                .addParameter(Constants.FIELD_WRITER_CLASS_NAME, "writer")
+                .addParameter(Constants.JSON_GENERATOR_CLASS_NAME, "gen")
+                .addParameter(Constants.SERIALIZER_PROVIDER_CLASS_NAME, "provider")
+                .addException(Exception.class)
+                .addStatement("Impl __impl = (Impl)bean")
+                .beginControlFlow("switch (propIndex)");
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            if (!prop.isValueRequired()) {
+                // id view, many-to-many view and java formula,
+                // their values are not stored in fields
+                continue;
+            }
+            builder.addCode("case $L:\n$>", prop.getSlotName());
+            builder.beginControlFlow(
+                    "if ($L && (__impl.__visibility == null || __impl.__visibility.visible($L)))",
+                    prop.isLoadedStateRequired() ?
+                            "__impl." + prop.getLoadedStateName() :
+                            "__impl." + prop.getValueName() + " != null",
+                    prop.getSlotName()
+            );
+            TypeName typeName = TypeName.get(prop.getReturnType());
+            if (typeName.equals(TypeName.BYTE) || typeName.equals(TypeName.SHORT) || typeName.equals(TypeName.CHAR)) {
+                // The standard serializers of them do not accept the widened `int`
+                builder.addStatement("writer.write(bean, (Object)__impl.$L, gen, provider)", prop.getValueName());
+            } else {
+                builder.addStatement("writer.write(bean, __impl.$L, gen, provider)", prop.getValueName());
+            }
+            builder.endControlFlow();
+            builder.addStatement("break$<");
+        }
+        builder.addCode("default:\n$>");
+        builder.addStatement("writer.writeDefault(bean, gen, provider)");
+        builder.addStatement("break$<");
+        builder.endControlFlow();
+        typeBuilder.addMethod(builder.build());
+    }
+}
@@ -50,6 +50,9 @@ public class ProducerGenerator {
             new ImplementorGenerator(type).generate(typeBuilder);
             new ImplGenerator(ctx, type).generate(typeBuilder);
             new DraftImplGenerator(type).generate(typeBuilder);
+            if (ctx.isJacksonSerializerGeneration()) {
+                new JacksonSerializerGenerator(type).generate(typeBuilder);
+            }
         }
         parentBuilder.addType(typeBuilder.build());
     }
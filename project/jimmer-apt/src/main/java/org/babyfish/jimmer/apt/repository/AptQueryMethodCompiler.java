@@ -0,0 +1,290 @@
+package org.babyfish.jimmer.apt.repository;
+
+import org.babyfish.jimmer.apt.Context;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.dto.compiler.query.QueryMethodCompiler;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.*;
+import java.util.Collection;
+import java.util.List;
+
+class AptQueryMethodCompiler extends QueryMethodCompiler<ImmutableType, ImmutableProp> {
+
+    private final Context ctx;
+
+    private final ImmutableType type;
+
+    private final ExecutableElement method;
+
+    private final List<? extends TypeMirror> parameterTypes;
+
+    private final TypeMirror returnType;
+
+    private final TypeMirror returnedElementType;
+
+    AptQueryMethodCompiler(
+            Context ctx,
+            ImmutableType type,
+            ExecutableElement method,
+            ExecutableType methodType
+    ) {
+        super(type, method.getSimpleName().toString(), methodType.getParameterTypes().size());
+        this.ctx = ctx;
+        this.type = type;
+        this.method = method;
+        this.parameterTypes = methodType.getParameterTypes();
+        this.returnType = methodType.getReturnType();
+        if (returnType instanceof DeclaredType && !((DeclaredType) returnType).getTypeArguments().isEmpty()) {
+            this.returnedElementType = ((DeclaredType) returnType).getTypeArguments().get(0);
+        } else {
+            this.returnedElementType = returnType;
+        }
+    }
+
+    TypeMirror getReturnType() {
+        return returnType;
+    }
+
+    TypeMirror getReturnedElementType() {
+        return returnedElementType;
+    }
+
+    @Override
+    protected Collection<ImmutableProp> getProps(ImmutableType type) {
+        return type.getProps().values();
+    }
+
+    @Override
+    protected String getName(ImmutableProp prop) {
+        return prop.getName();
+    }
+
+    @Override
+    protected String getTypeName(ImmutableType type) {
+        return type.getQualifiedName();
+    }
+
+    @Override
+    protected ImmutableType getTargetType(ImmutableProp prop) {
+        return prop.getTargetType();
+    }
+
+    @Override
+    protected boolean isScalar(ImmutableProp prop) {
+        ImmutableType targetType = prop.getTargetType();
+        return targetType == null || !targetType.isEntity();
+    }
+
+    @Override
+    protected boolean isScalarList(ImmutableProp prop) {
+        return prop.isList() && !prop.isAssociation(false);
+    }
+
+    @Override
+    protected boolean isReferenceList(ImmutableProp prop) {
+        return prop.isList() &&
+                prop.isAssociation(true) &&
+                !prop.isTransient() &&
+                !prop.isRemote();
+    }
+
+    @Override
+    protected boolean isBoolean(ImmutableProp prop) {
+        return ctx.getTypes().isSameType(box(prop.getElementType()), box(typeOf(Boolean.class.getName())));
+    }
+
+    @Override
+    protected String getElementTypeName(ImmutableProp prop, boolean boxed) {
+        TypeMirror elementType = ctx.getTypes().erasure(prop.getElementType());
+        return (boxed ? box(elementType) : elementType).toString();
+    }
+
+    @Override
+    protected ParameterKind getParameterKind(int index) {
+        TypeMirror parameterType = ctx.getTypes().erasure(parameterTypes.get(index));
+        if (isSubtype(parameterType, RepositoryProcessor.PAGEABLE)) {
+            return ParameterKind.PAGEABLE;
+        }
+        if (isSubtype(parameterType, RepositoryProcessor.SORT)) {
+            return ParameterKind.SORT;
+        }
+        if (isSubtype(parameterType, RepositoryProcessor.SPECIFICATION)) {
+            return ParameterKind.SPECIFICATION;
+        }
+        if (isSubtype(parameterType, RepositoryProcessor.FETCHER)) {
+            return ParameterKind.FETCHER;
+        }
+        if (isSubtype(parameterType, Class.class.getName()) ||
+                isSubtype(parameterType, RepositoryProcessor.K_CLASS)) {
+            return ParameterKind.VIEW_TYPE;
+        }
+        return ParameterKind.NORMAL;
+    }
+
+    @Override
+    protected String getParameterTypeName(int index) {
+        return parameterTypes.get(index).toString();
+    }
+
+    @Override
+    protected boolean isParameterMatched(int index, ImmutableProp prop, boolean collection) {
+        TypeMirror parameterType = parameterTypes.get(index);
+        TypeMirror propType = box(prop.getElementType());
+        if (!collection) {
+            return ctx.getTypes().isSameType(box(parameterType), propType);
+        }
+        if (!(parameterType instanceof DeclaredType)) {
+            return false;
+        }
+        DeclaredType declaredType = (DeclaredType) parameterType;
+        TypeMirror rawType = ctx.getTypes().erasure(declaredType);
+        if (!isSameType(rawType, Collection.class.getName()) && !isSameType(rawType, List.class.getName())) {
+            return false;
+        }
+        return declaredType.getTypeArguments().size() == 1 &&
+                ctx.getTypes().isSameType(declaredType.getTypeArguments().get(0), propType);
+    }
+
+    @Override
+    protected String getReturnTypeName() {
+        return ctx.getTypes().erasure(returnType).toString();
+    }
+
+    @Override
+    protected ReturnKind getReturnKind() {
+        switch (returnType.getKind()) {
+            case VOID:
+                return ReturnKind.VOID;
+            case BOOLEAN:
+                return ReturnKind.BOOLEAN;
+            case INT:
+                return ReturnKind.INT;
+            case LONG:
+                return ReturnKind.LONG;
+            case DECLARED:
+                TypeMirror rawType = ctx.getTypes().erasure(returnType);
+                if (isSameType(rawType, RepositoryProcessor.PAGE) ||
+                        isSameType(rawType, RepositoryProcessor.JIMMER_PAGE)) {
+                    return ReturnKind.PAGE;
+                }
+                if (isSameType(rawType, List.class.getName()) ||
+                        isSameType(rawType, Collection.class.getName()) ||
+                        isSameType(rawType, Iterable.class.getName())) {
+                    return ReturnKind.COLLECTION;
+                }
+                if (isSameType(rawType, "java.util.Optional")) {
+                    return ReturnKind.OPTIONAL;
+                }
+                return ReturnKind.OTHER;
+            default:
+                return ReturnKind.OTHER;
+        }
+    }
+
+    @Override
+    protected boolean isReturnTypeParameterized() {
+        return returnType instanceof DeclaredType &&
+                !((DeclaredType) returnType).getTypeArguments().isEmpty();
+    }
+
+    @Override
+    protected ElementKind getReturnedElementKind() {
+        TypeMirror entityType = type.getTypeElement().asType();
+        if (returnedElementType.getKind() == TypeKind.DECLARED) {
+            if (ctx.getTypes().isSameType(returnedElementType, entityType)) {
+                return ElementKind.ENTITY;
+            }
+            if (isView(returnedElementType, entityType)) {
+                return ElementKind.VIEW;
+            }
+        } else if (returnedElementType.getKind() == TypeKind.TYPEVAR) {
+            TypeVariable typeVariable = (TypeVariable) returnedElementType;
+            if (method.equals(typeVariable.asElement().getEnclosingElement())) {
+                TypeMirror bound = typeVariable.getUpperBound();
+                if (bound instanceof DeclaredType &&
+                        isSameType(ctx.getTypes().erasure(bound), RepositoryProcessor.VIEW) &&
+                        ((DeclaredType) bound).getTypeArguments().size() == 1 &&
+                        ctx.getTypes().isSameType(((DeclaredType) bound).getTypeArguments().get(0), entityType)) {
+                    return ElementKind.TYPE_VARIABLE;
+                }
+            }
+        }
+        return ElementKind.OTHER;
+    }
+
+    @Override
+    protected boolean isReturnedElement(ImmutableProp prop) {
+        return ctx.getTypes().isSameType(returnedElementType, prop.getElementType());
+    }
+
+    @Override
+    protected String getReturnedElementTypeVariableName() {
+        return returnedElementType.toString();
+    }
+
+    @Override
+    protected boolean isViewTypeParameterMatched(int index) {
+        TypeMirror parameterType = parameterTypes.get(index);
+        return parameterType instanceof DeclaredType &&
+                ((DeclaredType) parameterType).getTypeArguments().size() == 1 &&
+                ctx.getTypes().isSameType(
+                        ((DeclaredType) parameterType).getTypeArguments().get(0),
+                        returnedElementType
+                );
+    }
+
+    @Override
+    protected boolean isSpecificationParameterValid(int index) {
+        return isParameterizedByEntity(index, RepositoryProcessor.SPECIFICATION);
+    }
+
+    @Override
+    protected boolean isFetcherParameterValid(int index) {
+        return isParameterizedByEntity(index, RepositoryProcessor.FETCHER);
+    }
+
+    private boolean isParameterizedByEntity(int index, String rawTypeName) {
+        TypeMirror parameterType = parameterTypes.get(index);
+        return parameterType instanceof DeclaredType &&
+                isSameType(ctx.getTypes().erasure(parameterType), rawTypeName) &&
+                ((DeclaredType) parameterType).getTypeArguments().size() == 1 &&
+                ctx.getTypes().isSameType(
+                        ((DeclaredType) parameterType).getTypeArguments().get(0),
+                        type.getTypeElement().asType()
+                );
+    }
+
+    private boolean isView(TypeMirror elementType, TypeMirror entityType) {
+        TypeElement viewElement = ctx.getElements().getTypeElement(RepositoryProcessor.VIEW);
+        return viewElement != null &&
+                ctx.getTypes().isSubtype(
+                        elementType,
+                        ctx.getTypes().getDeclaredType(viewElement, entityType)
+                );
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return ctx.getTypes().boxedClass((PrimitiveType) type).asType();
+        }
+        return ctx.getTypes().erasure(type);
+    }
+
+    private TypeMirror typeOf(String qualifiedName) {
+        TypeElement typeElement = ctx.getElements().getTypeElement(qualifiedName);
+        return typeElement != null ? ctx.getTypes().erasure(typeElement.asType()) : null;
+    }
+
+    private boolean isSameType(TypeMirror type, String qualifiedName) {
+        TypeMirror otherType = typeOf(qualifiedName);
+        return otherType != null && ctx.getTypes().isSameType(type, otherType);
+    }
+
+    private boolean isSubtype(TypeMirror type, String qualifiedName) {
+        TypeMirror superType = typeOf(qualifiedName);
+        return superType != null && ctx.getTypes().isSubtype(type, superType);
+    }
+}
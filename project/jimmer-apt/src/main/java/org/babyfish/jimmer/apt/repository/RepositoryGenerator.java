@@ -0,0 +1,374 @@
+package org.babyfish.jimmer.apt.repository;
+
+import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.Context;
+import org.babyfish.jimmer.apt.GeneratorException;
+import org.babyfish.jimmer.apt.immutable.generator.Constants;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.immutable.meta.ImmutableType;
+import org.babyfish.jimmer.apt.util.GeneratedAnnotation;
+import org.babyfish.jimmer.dto.compiler.query.*;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RepositoryGenerator {
+
+    /**
+     * Must be same with `GeneratedQueryMethods.IMPL_SUFFIX` of spring boot starter
+     */
+    private static final String IMPL_SUFFIX = "JimmerImpl";
+
+    private final Context ctx;
+
+    private final Messager messager;
+
+    private final TypeElement typeElement;
+
+    private final TypeMirror entityType;
+
+    private final TypeMirror idType;
+
+    private final TypeMirror repositoryType;
+
+    private TypeSpec.Builder typeBuilder;
+
+    public RepositoryGenerator(
+            Context ctx,
+            Messager messager,
+            TypeElement typeElement,
+            DeclaredType repositorySuperType
+    ) {
+        this.ctx = ctx;
+        this.messager = messager;
+        this.typeElement = typeElement;
+        this.entityType = repositorySuperType.getTypeArguments().get(0);
+        this.idType = repositorySuperType.getTypeArguments().get(1);
+        this.repositoryType = ctx.getTypes().erasure(
+                ctx.getElements().getTypeElement(RepositoryProcessor.J_REPOSITORY).asType()
+        );
+    }
+
+    public void generate() {
+        List<ExecutableElement> queryMethods = queryMethods();
+        List<CodeBlock> queryMethodBlocks = new ArrayList<>(queryMethods.size());
+        for (ExecutableElement method : queryMethods) {
+            CodeBlock block = queryMethodBlock(method);
+            if (block == null) {
+                return;
+            }
+            queryMethodBlocks.add(block);
+        }
+        typeBuilder = TypeSpec
+                .classBuilder(typeElement.getSimpleName().toString() + IMPL_SUFFIX)
+                .addModifiers(Modifier.PUBLIC)
+                .superclass(
+                        ParameterizedTypeName.get(
+                                Constants.J_REPOSITORY_IMPL_CLASS_NAME,
+                                TypeName.get(entityType),
+                                TypeName.get(idType)
+                        )
+                )
+                .addSuperinterface(ClassName.get(typeElement))
+                .addAnnotation(GeneratedAnnotation.generatedAnnotation(ClassName.get(typeElement)))
+                .addAnnotation(
+                        AnnotationSpec
+                                .builder(SuppressWarnings.class)
+                                .addMember("value", "$S", "unchecked")
+                                .build()
+                );
+        if (!queryMethods.isEmpty()) {
+            addQueryMethodsField(queryMethodBlocks);
+        }
+        addConstructor();
+        for (int i = 0; i < queryMethods.size(); i++) {
+            addQueryMethod(queryMethods.get(i), i);
+        }
+        try {
+            JavaFile
+                    .builder(
+                            ((PackageElement) typeElement.getEnclosingElement()).getQualifiedName().toString(),
+                            typeBuilder.build()
+                    )
+                    .indent("    ")
+                    .build()
+                    .writeTo(ctx.getFiler());
+        } catch (IOException ex) {
+            throw new GeneratorException(
+                    String.format(
+                            "Cannot generate repository implementation for '%s'",
+                            typeElement.getQualifiedName().toString()
+                    ),
+                    ex
+            );
+        }
+    }
+
+    /**
+     * The abstract methods which are not implemented by `JRepositoryImpl`,
+     * their names will be parsed as queries.
+     */
+    private List<ExecutableElement> queryMethods() {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(ctx.getElements().getAllMembers(typeElement))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT) ||
+                    method.getModifiers().contains(Modifier.STATIC) ||
+                    method.getModifiers().contains(Modifier.DEFAULT)) {
+                continue;
+            }
+            TypeMirror declaringType = ctx.getTypes().erasure(method.getEnclosingElement().asType());
+            if (ctx.getTypes().isSubtype(repositoryType, declaringType)) {
+                continue;
+            }
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    /**
+     * Parse the query method at compile time, so that the generated code
+     * creates the parsed query directly without parsing it at runtime.
+     *
+     * @return The code to create the query method, or null if the method cannot
+     * be parsed, in that case, the repository is implemented at runtime which
+     * reports the error when the repository is created
+     */
+    private CodeBlock queryMethodBlock(ExecutableElement method) {
+        ExecutableType methodType = (ExecutableType) ctx.getTypes().asMemberOf(
+                (DeclaredType) typeElement.asType(),
+                method
+        );
+        ImmutableType immutableType = ctx.getImmutableType(entityType);
+        AptQueryMethodCompiler compiler = new AptQueryMethodCompiler(ctx, immutableType, method, methodType);
+        QueryMethod<ImmutableProp> queryMethod;
+        try {
+            queryMethod = compiler.compile();
+        } catch (IllegalArgumentException ex) {
+            messager.printMessage(
+                    Diagnostic.Kind.WARNING,
+                    "The implementation of the repository \"" +
+                            typeElement.getQualifiedName() +
+                            "\" is not generated, because of the illegal query method \"" +
+                            method.getSimpleName() +
+                            "\": " +
+                            ex.getMessage(),
+                    method
+            );
+            return null;
+        }
+        List<? extends VariableElement> parameters = method.getParameters();
+        StringBuilder description = new StringBuilder();
+        description
+                .append(ctx.getTypes().erasure(methodType.getReturnType()))
+                .append(' ')
+                .append(typeElement.getQualifiedName())
+                .append('.')
+                .append(method.getSimpleName())
+                .append('(');
+        CodeBlock.Builder names = CodeBlock.builder();
+        CodeBlock.Builder dynamicFlags = CodeBlock.builder();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i != 0) {
+                description.append(',');
+                names.add(", ");
+                dynamicFlags.add(", ");
+            }
+            description.append(ctx.getTypes().erasure(methodType.getParameterTypes().get(i)));
+            names.add("$S", parameters.get(i).getSimpleName().toString());
+            dynamicFlags.add("$L", isDynamicParam(parameters.get(i)));
+        }
+        description.append(')');
+        CodeBlock.Builder builder = CodeBlock
+                .builder()
+                .add("new $T(\n$>", Constants.QUERY_METHOD_CLASS_NAME)
+                .add("$S,\n", description.toString())
+                .add("$T.class,\n", TypeName.get(ctx.getTypes().erasure(methodType.getReturnType())))
+                .add("new String[] { ").add(names.build()).add(" },\n")
+                .add("new boolean[] { ").add(dynamicFlags.build()).add(" },\n")
+                .add(queryBlock(queryMethod.getQuery()))
+                .add(",\n");
+        if (queryMethod.getQuery().getAction() == Query.Action.FIND &&
+                queryMethod.getQuery().getSelectedPath() == null &&
+                compiler.getReturnedElementKind() == QueryMethodCompiler.ElementKind.VIEW) {
+            builder.add("$T.class,\n", TypeName.get(ctx.getTypes().erasure(compiler.getReturnedElementType())));
+        } else {
+            builder.add("null,\n");
+        }
+        return builder
+                .add("$L,\n", queryMethod.getPageableParamIndex())
+                .add("$L,\n", queryMethod.getSortParamIndex())
+                .add("$L,\n", queryMethod.getSpecificationParamIndex())
+                .add("$L,\n", queryMethod.getFetcherParamIndex())
+                .add("$L", queryMethod.getViewTypeParamIndex())
+                .add("$<\n)")
+                .build();
+    }
+
+    private CodeBlock queryBlock(Query<ImmutableProp> query) {
+        CodeBlock.Builder builder = CodeBlock
+                .builder()
+                .add("$T.query(\n$>", Constants.GENERATED_QUERY_METHODS_CLASS_NAME)
+                .add("$T.Action.$L,\n", Constants.QUERY_CLASS_NAME, query.getAction().name())
+                .add("$L,\n", query.getLimit())
+                .add("$L,\n", query.isDistinct());
+        if (query.getSelectedPath() != null) {
+            builder.add(pathBlock(query.getSelectedPath())).add(",\n");
+        } else {
+            builder.add("null,\n");
+        }
+        if (query.getPredicate() != null) {
+            builder.add(predicateBlock(query.getPredicate()));
+        } else {
+            builder.add("null");
+        }
+        for (Query.Order<ImmutableProp> order : query.getOrders()) {
+            builder
+                    .add(",\n$T.order(", Constants.GENERATED_QUERY_METHODS_CLASS_NAME)
+                    .add(pathBlock(order.getPath()))
+                    .add(", $T.$L)", Constants.ORDER_MODE_CLASS_NAME, order.getOrderMode().name());
+        }
+        return builder.add("$<\n)").build();
+    }
+
+    private CodeBlock predicateBlock(Predicate<ImmutableProp> predicate) {
+        if (predicate instanceof PropPredicate<?>) {
+            PropPredicate<ImmutableProp> propPredicate = (PropPredicate<ImmutableProp>) predicate;
+            return CodeBlock
+                    .builder()
+                    .add("$T.prop(", Constants.GENERATED_QUERY_METHODS_CLASS_NAME)
+                    .add(pathBlock(propPredicate.getPath()))
+                    .add(
+                            ", $T.Op.$L, $L, $T.$L, $L, $L, $L, $L)",
+                            Constants.PROP_PREDICATE_CLASS_NAME,
+                            propPredicate.getOp().name(),
+                            propPredicate.isInsensitive(),
+                            Constants.LIKE_MODE_CLASS_NAME,
+                            propPredicate.getLikeMode().name(),
+                            propPredicate.getParamIndex(),
+                            propPredicate.getLogicParamIndex(),
+                            propPredicate.getParamIndex2(),
+                            propPredicate.getLogicParamIndex2()
+                    )
+                    .build();
+        }
+        String methodName;
+        List<Predicate<ImmutableProp>> subPredicates;
+        if (predicate instanceof AndPredicate<?>) {
+            methodName = "and";
+            subPredicates = ((AndPredicate<ImmutableProp>) predicate).getPredicates();
+        } else {
+            methodName = "or";
+            subPredicates = ((OrPredicate<ImmutableProp>) predicate).getPredicates();
+        }
+        CodeBlock.Builder builder = CodeBlock
+                .builder()
+                .add("$T.$L(\n$>", Constants.GENERATED_QUERY_METHODS_CLASS_NAME, methodName);
+        boolean addComma = false;
+        for (Predicate<ImmutableProp> subPredicate : subPredicates) {
+            if (addComma) {
+                builder.add(",\n");
+            } else {
+                addComma = true;
+            }
+            builder.add(predicateBlock(subPredicate));
+        }
+        return builder.add("$<\n)").build();
+    }
+
+    private CodeBlock pathBlock(Path<ImmutableProp> path) {
+        CodeBlock.Builder builder = CodeBlock
+                .builder()
+                .add(
+                        "$T.path($T.class",
+                        Constants.GENERATED_QUERY_METHODS_CLASS_NAME,
+                        TypeName.get(ctx.getTypes().erasure(entityType))
+                );
+        for (String propName : path.getPropNames()) {
+            builder.add(", $S", propName);
+        }
+        return builder.add(")").build();
+    }
+
+    private static boolean isDynamicParam(VariableElement parameter) {
+        for (AnnotationMirror annotationMirror : parameter.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(RepositoryProcessor.DYNAMIC_PARAM)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addQueryMethodsField(List<CodeBlock> queryMethodBlocks) {
+        CodeBlock.Builder builder = CodeBlock
+                .builder()
+                .add("new $T(\n$>", Constants.GENERATED_QUERY_METHODS_CLASS_NAME)
+                .add("$T.class", TypeName.get(ctx.getTypes().erasure(entityType)));
+        for (CodeBlock queryMethodBlock : queryMethodBlocks) {
+            builder.add(",\n").add(queryMethodBlock);
+        }
+        typeBuilder.addField(
+                FieldSpec
+                        .builder(
+                                Constants.GENERATED_QUERY_METHODS_CLASS_NAME,
+                                "QUERY_METHODS",
+                                Modifier.PRIVATE,
+                                Modifier.STATIC,
+                                Modifier.FINAL
+                        )
+                        .initializer(builder.add("$<\n)").build())
+                        .build()
+        );
+    }
+
+    private void addConstructor() {
+        typeBuilder.addMethod(
+                MethodSpec
+                        .constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(Constants.J_SQL_CLIENT_CLASS_NAME, "sqlClient")
+                        .addStatement("super(sqlClient, $T.class)", TypeName.get(ctx.getTypes().erasure(entityType)))
+                        .build()
+        );
+    }
+
+    private void addQueryMethod(ExecutableElement method, int index) {
+        MethodSpec.Builder builder = MethodSpec.overriding(
+                method,
+                (DeclaredType) typeElement.asType(),
+                ctx.getTypes()
+        );
+        StringBuilder sb = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) {
+            if (sb.length() != 0) {
+                sb.append(", ");
+            }
+            sb.append(parameter.getSimpleName().toString());
+        }
+        TypeName returnType = builder.build().returnType;
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            builder.addStatement(
+                    "QUERY_METHODS.execute(sqlClient, $L, new Object[] { $L })",
+                    index,
+                    sb.toString()
+            );
+        } else {
+            builder.addStatement(
+                    "return ($T) QUERY_METHODS.execute(sqlClient, $L, new Object[] { $L })",
+                    returnType,
+                    index,
+                    sb.toString()
+            );
+        }
+        typeBuilder.addMethod(builder.build());
+    }
+}
@@ -0,0 +1,136 @@
+package org.babyfish.jimmer.apt.repository;
+
+import org.babyfish.jimmer.apt.Context;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Generate the implementations of spring data repositories
+ * so that the runtime does not need to generate them by ASM.
+ *
+ * <p>Only top-level interfaces without generic parameters are handled,
+ * other repositories are still implemented at runtime.</p>
+ */
+public class RepositoryProcessor {
+
+    static final String J_REPOSITORY = "org.babyfish.jimmer.spring.repository.JRepository";
+
+    static final String PAGEABLE = "org.springframework.data.domain.Pageable";
+
+    static final String SORT = "org.springframework.data.domain.Sort";
+
+    static final String PAGE = "org.springframework.data.domain.Page";
+
+    static final String JIMMER_PAGE = "org.babyfish.jimmer.Page";
+
+    static final String SPECIFICATION = "org.babyfish.jimmer.Specification";
+
+    static final String FETCHER = "org.babyfish.jimmer.sql.fetcher.Fetcher";
+
+    static final String VIEW = "org.babyfish.jimmer.View";
+
+    static final String K_CLASS = "kotlin.reflect.KClass";
+
+    static final String DYNAMIC_PARAM = "org.babyfish.jimmer.spring.repository.DynamicParam";
+
+    private static final String NO_REPOSITORY_BEAN = "org.springframework.data.repository.NoRepositoryBean";
+
+    private final Context ctx;
+
+    private final Messager messager;
+
+    private final Collection<String> delayedTypeNames;
+
+    public RepositoryProcessor(Context ctx, Messager messager, Collection<String> delayedTypeNames) {
+        this.ctx = ctx;
+        this.messager = messager;
+        this.delayedTypeNames = delayedTypeNames;
+    }
+
+    public void process(RoundEnvironment roundEnv) {
+        TypeElement repositoryElement = ctx.getElements().getTypeElement(J_REPOSITORY);
+        if (repositoryElement == null) {
+            return;
+        }
+        TypeMirror repositoryType = ctx.getTypes().erasure(repositoryElement.asType());
+        List<TypeElement> typeElements = new ArrayList<>();
+        if (delayedTypeNames != null) {
+            for (String typeName : delayedTypeNames) {
+                TypeElement typeElement = ctx.getElements().getTypeElement(typeName);
+                if (typeElement != null) {
+                    typeElements.add(typeElement);
+                }
+            }
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                if (element instanceof TypeElement) {
+                    typeElements.add((TypeElement) element);
+                }
+            }
+        }
+        for (TypeElement typeElement : typeElements) {
+            if (isRepository(typeElement, repositoryType)) {
+                DeclaredType superType = repositorySuperType(typeElement.asType(), repositoryType);
+                if (superType != null) {
+                    new RepositoryGenerator(ctx, messager, typeElement, superType).generate();
+                }
+            }
+        }
+    }
+
+    private boolean isRepository(TypeElement typeElement, TypeMirror repositoryType) {
+        if (typeElement.getKind() != ElementKind.INTERFACE ||
+                !(typeElement.getEnclosingElement() instanceof PackageElement) ||
+                !typeElement.getTypeParameters().isEmpty() ||
+                !ctx.include(typeElement)) {
+            return false;
+        }
+        if (ctx.getTypes().isSameType(ctx.getTypes().erasure(typeElement.asType()), repositoryType)) {
+            return false;
+        }
+        for (AnnotationMirror annotationMirror : typeElement.getAnnotationMirrors()) {
+            TypeElement annotationElement =
+                    (TypeElement) ctx.getTypes().asElement(annotationMirror.getAnnotationType());
+            if (annotationElement.getQualifiedName().contentEquals(NO_REPOSITORY_BEAN)) {
+                return false;
+            }
+        }
+        return ctx.getTypes().isSubtype(
+                ctx.getTypes().erasure(typeElement.asType()),
+                repositoryType
+        );
+    }
+
+    /**
+     * @return The super type `JRepository<E, ID>` whose type arguments are
+     * solidified, or null if they are not
+     */
+    private DeclaredType repositorySuperType(TypeMirror type, TypeMirror repositoryType) {
+        for (TypeMirror superType : ctx.getTypes().directSupertypes(type)) {
+            if (ctx.getTypes().isSameType(ctx.getTypes().erasure(superType), repositoryType)) {
+                DeclaredType declaredType = (DeclaredType) superType;
+                for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                    if (typeArgument.getKind() != TypeKind.DECLARED) {
+                        return null;
+                    }
+                }
+                return declaredType.getTypeArguments().isEmpty() ? null : declaredType;
+            }
+            if (ctx.getTypes().isSubtype(ctx.getTypes().erasure(superType), repositoryType)) {
+                DeclaredType declaredType = repositorySuperType(superType, repositoryType);
+                if (declaredType != null) {
+                    return declaredType;
+                }
+            }
+        }
+        return null;
+    }
+}
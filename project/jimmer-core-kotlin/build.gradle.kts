@@ -23,6 +23,7 @@ kotlin {
 
 ksp {
     arg("jimmer.source.excludes", "org.babyfish.jimmer.kt.model.JavaData")
+    arg("jimmer.jackson.generateSerializer", "true")
 }
 
 tasks.test {
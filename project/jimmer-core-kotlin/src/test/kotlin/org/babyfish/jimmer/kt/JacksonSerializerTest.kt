@@ -0,0 +1,78 @@
+package org.babyfish.jimmer.kt
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.babyfish.jimmer.jackson.ImmutableModule
+import org.babyfish.jimmer.kt.model.BookStore
+import org.babyfish.jimmer.kt.model.BookStoreDraft
+import org.babyfish.jimmer.kt.model.by
+import org.babyfish.jimmer.meta.PropId
+import org.babyfish.jimmer.runtime.DraftSpi
+import java.math.BigDecimal
+import kotlin.test.Test
+import kotlin.test.expect
+
+class JacksonSerializerTest {
+
+    @Test
+    fun testGeneratedSerializer() {
+        val store = new(BookStore::class).by {
+            name = "MANNING"
+            avgPrice = null
+        }
+        expect(true) {
+            BookStoreDraft.`$`.JacksonSerializer().isAccessible(store)
+        }
+        expect("""{"name":"MANNING","avgPrice":null}""") {
+            MAPPER.writeValueAsString(store)
+        }
+    }
+
+    @Test
+    fun testHiddenProp() {
+        val store = new(BookStore::class).by {
+            name = "MANNING"
+            avgPrice = BigDecimal("12.5")
+            (this as DraftSpi).__show(PropId.byIndex(BookStoreDraft.`$`.SLOT_NAME), false)
+        }
+        expect("""{"avgPrice":12.5}""") {
+            MAPPER.writeValueAsString(store)
+        }
+    }
+
+    @Test
+    fun testDraft() {
+        val store = new(BookStore::class).by {
+            name = "MANNING"
+            avgPrice = BigDecimal("12.5")
+        }
+        var json: String? = null
+        new(BookStore::class).by(store) {
+            expect(false) {
+                BookStoreDraft.`$`.JacksonSerializer().isAccessible(this)
+            }
+            json = MAPPER.writeValueAsString(this)
+        }
+        expect(MAPPER.writeValueAsString(store)) { json }
+    }
+
+    @Test
+    fun testGeneratedDeserializer() {
+        expect(true) {
+            BookStoreDraft.Builder.JacksonDeserializer().set(
+                BookStoreDraft.Builder(),
+                BookStoreDraft.`$`.SLOT_NAME,
+                "MANNING"
+            )
+        }
+        val json = """{"name":"MANNING","avgPrice":12.5}"""
+        val store = MAPPER.readValue(json, BookStore::class.java)
+        expect("MANNING") { store.name }
+        expect(BigDecimal("12.5")) { store.avgPrice }
+        expect(json) { MAPPER.writeValueAsString(store) }
+    }
+
+    companion object {
+
+        private val MAPPER = ObjectMapper().registerModule(ImmutableModule())
+    }
+}
@@ -25,6 +25,7 @@ dependencies {
 tasks.withType<JavaCompile>().configureEach {
     options.compilerArgs.add("-Ajimmer.source.excludes=org.babyfish.jimmer.invalid")
     options.compilerArgs.add("-Ajimmer.generate.dynamic.pojo=true")
+    options.compilerArgs.add("-Ajimmer.jackson.generateSerializer=true")
 }
 
 buildConfig {
@@ -0,0 +1,34 @@
+package org.babyfish.jimmer.impl.util;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded concurrent set of the keys whose cached value is null.
+ *
+ * <p>Once the capacity is reached, an arbitrary old key is evicted
+ * before a new key is added, so the creator of that key may be
+ * called again later; this is acceptable for negative results.</p>
+ */
+class NegativeKeySet<K> {
+
+    private static final int CAPACITY = 128;
+
+    private final Set<Object> keys = ConcurrentHashMap.newKeySet((CAPACITY * 4 + 2) / 3);
+
+    boolean contains(K key) {
+        return keys.contains(NullKey.mask(key));
+    }
+
+    void add(K key) {
+        if (keys.size() >= CAPACITY) {
+            Iterator<Object> itr = keys.iterator();
+            if (itr.hasNext()) {
+                itr.next();
+                itr.remove();
+            }
+        }
+        keys.add(NullKey.mask(key));
+    }
+}
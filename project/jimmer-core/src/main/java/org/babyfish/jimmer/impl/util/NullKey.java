@@ -0,0 +1,20 @@
+package org.babyfish.jimmer.impl.util;
+
+/**
+ * The concurrent maps used by internal caches do not accept null keys.
+ */
+final class NullKey {
+
+    private static final Object INSTANCE = new NullKey();
+
+    private NullKey() {}
+
+    static Object mask(Object key) {
+        return key != null ? key : INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "<null>";
+    }
+}
@@ -2,29 +2,26 @@ package org.babyfish.jimmer.impl.util;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /*
  * Fight with spring-dev-tools
+ *
+ * The read path is lock-free, only the creation of missing values is serialized.
  */
 public class PropCache<V> {
 
     private final Function<ImmutableProp, V> creator;
 
-    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+    private final Map<Object, V> positiveMap = new ConcurrentHashMap<>();
 
-    private final Map<ImmutableProp, V> positiveMap = new HashMap<>();
+    private final Map<Object, V> positiveMap2 = new ConcurrentHashMap<>();
 
-    private final Map<String, V> positiveMap2 = new HashMap<>();
+    private final NegativeKeySet<ImmutableProp> negativeSet;
 
-    private final Map<ImmutableProp, Void> negativeMap;
-
-    private final Map<String, Void> negativeMap2;
+    private final NegativeKeySet<String> negativeSet2;
 
     public PropCache(Function<ImmutableProp, V> creator) {
         this(creator, false);
@@ -32,69 +29,55 @@ public class PropCache<V> {
 
     public PropCache(Function<ImmutableProp, V> creator, boolean nullable) {
         this.creator = creator;
-        negativeMap = nullable ? new LRUMap<>() : null;
-        negativeMap2 = nullable ? new LRUMap<>() : null;
+        negativeSet = nullable ? new NegativeKeySet<>() : null;
+        negativeSet2 = nullable ? new NegativeKeySet<>() : null;
     }
 
     public V get(ImmutableProp key) {
-
+        Object maskedKey = NullKey.mask(key);
+        V value = positiveMap.get(maskedKey);
+        if (value != null) {
+            return value;
+        }
         String keyString = key != null ? key.toString() : null;
-        V value;
-        Lock lock;
-
-        (lock = cacheLock.readLock()).lock();
-        try {
-            if (negativeMap != null && negativeMap.containsKey(key)) {
-                return null;
-            }
-            if (negativeMap2 != null && negativeMap2.containsKey(keyString)) {
-                negativeMap.put(key, null);
+        value = getByReloadedKey(key, keyString);
+        if (value != null || negativeSet != null && negativeSet.contains(key)) {
+            return value;
+        }
+        synchronized (this) {
+            value = getByReloadedKey(key, keyString);
+            if (value != null || negativeSet != null && negativeSet.contains(key)) {
+                return value;
             }
-            value = positiveMap.get(key);
-            if (value == null) {
-                value = positiveMap2.get(keyString);
-                if (value != null) {
-                    positiveMap.put(key, value);
-                }
+            value = creator.apply(key);
+            if (value != null) {
+                positiveMap2.put(NullKey.mask(keyString), value);
+                positiveMap.put(maskedKey, value);
+            } else if (negativeSet != null) {
+                negativeSet.add(key);
+                negativeSet2.add(keyString);
+            } else {
+                throw new IllegalStateException(
+                        "The creator cannot return null because current type cache does not accept null values"
+                );
             }
-        } finally {
-            lock.unlock();
         }
+        return value;
+    }
 
-        if (value == null) {
-            (lock = cacheLock.writeLock()).lock();
-            try {
-                if (negativeMap != null && negativeMap.containsKey(key)) {
-                    return null;
-                }
-                if (negativeMap2 != null && negativeMap2.containsKey(keyString)) {
-                    negativeMap.put(key, null);
-                }
-                value = positiveMap.get(key);
-                if (value == null) {
-                    value = positiveMap2.get(keyString);
-                    if (value != null) {
-                        positiveMap.put(key, value);
-                    } else {
-                        value = creator.apply(key);
-                        if (value != null) {
-                            positiveMap.put(key, value);
-                            positiveMap2.put(keyString, value);
-                        } else if (negativeMap != null) {
-                            negativeMap.put(key, null);
-                            negativeMap2.put(keyString, null);
-                        } else {
-                            throw new IllegalStateException(
-                                    "The creator cannot return null because current type cache does not accept null values"
-                            );
-                        }
-                    }
-                }
-            } finally {
-                lock.unlock();
-            }
+    /*
+     * The declaring type may be reloaded by spring-dev-tools,
+     * so the values are shared by the properties with the same name.
+     */
+    private V getByReloadedKey(ImmutableProp key, String keyString) {
+        if (negativeSet2 != null && negativeSet2.contains(keyString)) {
+            negativeSet.add(key);
+            return null;
+        }
+        V value = positiveMap2.get(NullKey.mask(keyString));
+        if (value != null) {
+            positiveMap.put(NullKey.mask(key), value);
         }
-
         return value;
     }
 }
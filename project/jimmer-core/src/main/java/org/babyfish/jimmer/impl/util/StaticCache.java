@@ -2,15 +2,15 @@ package org.babyfish.jimmer.impl.util;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * Internal until class, it should not be used by programmer directly.
  *
+ * <p>The read path is lock-free, only the creation of
+ * missing values is serialized.</p>
+ *
  * @param <K> Key Type
  * @param <V> Value Type
  */
@@ -18,11 +18,17 @@ public class StaticCache<K, V> {
 
     private final Function<K, V> creator;
 
-    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-    
-    private final Map<K, V> positiveMap = new HashMap<>();
+    private final Map<Object, V> positiveMap = new ConcurrentHashMap<>();
+
+    private final NegativeKeySet<K> negativeSet;
+
+    /*
+     * Values whose `onCreated` may still be running,
+     * visible to the creating thread only, guarded by `this`.
+     */
+    private final Map<Object, V> pendingMap = new HashMap<>();
 
-    private final Map<K, Void> negativeMap;
+    private int creatingDepth;
 
     public StaticCache(Function<K, V> creator) {
         this(creator, true);
@@ -30,56 +36,59 @@ public class StaticCache<K, V> {
 
     public StaticCache(Function<K, V> creator, boolean nullable) {
         this.creator = creator;
-        this.negativeMap = nullable ? new LRUMap<>() : null;
+        this.negativeSet = nullable ? new NegativeKeySet<>() : null;
     }
-    
-    public V get(K key) {
-
-        V value;
-        Lock lock;
 
-        (lock = cacheLock.readLock()).lock();
-        try {
-            if (negativeMap != null && negativeMap.containsKey(key)) {
-                return null;
-            }
-            value = positiveMap.get(key);
-        } finally {
-            lock.unlock();
+    public V get(K key) {
+        V value = positiveMap.get(NullKey.mask(key));
+        if (value != null) {
+            return value;
         }
-
-        if (value == null) {
-            (lock = cacheLock.writeLock()).lock();
-            try {
-                return getWithoutLock(key);
-            } finally {
-                lock.unlock();
-            }
+        if (negativeSet != null && negativeSet.contains(key)) {
+            return null;
+        }
+        synchronized (this) {
+            return getWithoutLock(key);
         }
-        return value;
     }
 
+    /**
+     * Can only be called when the current thread is creating value,
+     * for example, by the creator or {@link #onCreated(Object, Object)}
+     */
     protected final V getWithoutLock(K key) {
-        if (negativeMap != null && negativeMap.containsKey(key)) {
+        Object maskedKey = NullKey.mask(key);
+        if (negativeSet != null && negativeSet.contains(key)) {
             return null;
         }
-        V value = positiveMap.get(key);
+        V value = positiveMap.get(maskedKey);
         if (value == null) {
-            value = creator.apply(key);
-            if (value != null) {
-                positiveMap.put(key, value);
-                try {
-                    onCreated(key, value);
-                } catch (RuntimeException | Error ex) {
-                    positiveMap.remove(key);
-                    throw ex;
+            value = pendingMap.get(maskedKey);
+        }
+        if (value == null) {
+            creatingDepth++;
+            try {
+                value = creator.apply(key);
+                if (value != null) {
+                    pendingMap.put(maskedKey, value);
+                    try {
+                        onCreated(key, value);
+                    } catch (RuntimeException | Error ex) {
+                        pendingMap.remove(maskedKey);
+                        throw ex;
+                    }
+                } else if (negativeSet != null) {
+                    negativeSet.add(key);
+                } else {
+                    throw new IllegalStateException(
+                            "The creator cannot return null because current static cache does not accept null values"
+                    );
+                }
+            } finally {
+                if (--creatingDepth == 0) {
+                    positiveMap.putAll(pendingMap);
+                    pendingMap.clear();
                 }
-            } else if (negativeMap != null) {
-                negativeMap.put(key, null);
-            } else {
-                throw new IllegalStateException(
-                        "The creator cannot return null because current static cache does not accept null values"
-                );
             }
         }
         return value;
@@ -0,0 +1,61 @@
+package org.babyfish.jimmer.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+import java.io.IOException;
+
+/**
+ * Bean serializer of immutable object whose properties
+ * are written by the generated {@link ImmutableFieldSerializer}.
+ *
+ * <p>Everything decided by jackson is kept, the generated code
+ * is only used when neither json view nor filter is used, otherwise
+ * the default behavior of {@link BeanSerializer} is used.</p>
+ */
+class ImmutableBeanSerializer extends BeanSerializer {
+
+    private final ImmutableFieldSerializer fieldSerializer;
+
+    ImmutableBeanSerializer(BeanSerializerBase src, ImmutableFieldSerializer fieldSerializer) {
+        super(src);
+        this.fieldSerializer = fieldSerializer;
+    }
+
+    @Override
+    protected void serializeFields(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if ((_filteredProps != null && provider.getActiveView() != null) ||
+                _anyGetterWriter != null ||
+                !fieldSerializer.isAccessible(bean)) {
+            super.serializeFields(bean, gen, provider);
+            return;
+        }
+        BeanPropertyWriter[] props = _props;
+        int i = 0;
+        try {
+            for (int len = props.length; i < len; ++i) {
+                BeanPropertyWriter prop = props[i];
+                if (prop instanceof ImmutablePropertyWriter) {
+                    ImmutablePropertyWriter writer = (ImmutablePropertyWriter) prop;
+                    fieldSerializer.serialize(bean, writer.getPropIndex(), writer, gen, provider);
+                } else if (prop != null) {
+                    prop.serializeAsField(bean, gen, provider);
+                }
+            }
+        } catch (Exception ex) {
+            wrapAndThrow(provider, ex, bean, props[i].getName());
+        } catch (StackOverflowError ex) {
+            JsonMappingException mappingException = JsonMappingException.from(
+                    gen,
+                    "Infinite recursion (StackOverflowError)",
+                    ex
+            );
+            mappingException.prependPath(bean, props[i].getName());
+            throw mappingException;
+        }
+    }
+}
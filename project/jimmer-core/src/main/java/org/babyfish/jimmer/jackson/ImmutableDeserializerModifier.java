@@ -0,0 +1,97 @@
+package org.babyfish.jimmer.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import org.babyfish.jimmer.Draft;
+import org.babyfish.jimmer.impl.util.ClassCache;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+class ImmutableDeserializerModifier extends BeanDeserializerModifier {
+
+    private static final ClassCache<ImmutableFieldDeserializer> FIELD_DESERIALIZER_CACHE =
+            new ClassCache<>(ImmutableDeserializerModifier::createFieldDeserializer);
+
+    /**
+     * Immutable objects are deserialized by the draft builders
+     * returned by {@link ImmutableAnnotationIntrospector#findPOJOBuilder},
+     * so the bean of this modifier is the builder.
+     */
+    @Override
+    public BeanDeserializerBuilder updateBuilder(
+            DeserializationConfig config,
+            BeanDescription beanDesc,
+            BeanDeserializerBuilder builder
+    ) {
+        Class<?> builderClass = beanDesc.getBeanClass();
+        Class<?> draftClass = builderClass.getDeclaringClass();
+        if (draftClass == null ||
+                !Draft.class.isAssignableFrom(draftClass) ||
+                !builderClass.getSimpleName().equals("Builder")) {
+            return builder;
+        }
+        ImmutableFieldDeserializer fieldDeserializer = FIELD_DESERIALIZER_CACHE.get(builderClass);
+        if (fieldDeserializer == null) {
+            return builder;
+        }
+        ImmutableType type = ImmutableType.get(draftClass);
+        List<SettableBeanProperty> properties = new ArrayList<>();
+        for (Iterator<SettableBeanProperty> itr = builder.getProperties(); itr.hasNext(); ) {
+            properties.add(itr.next());
+        }
+        for (SettableBeanProperty property : properties) {
+            AnnotatedMember member = property.getMember();
+            if (!(member instanceof AnnotatedMethod)) {
+                continue;
+            }
+            ImmutableProp prop = type.getProps().get(member.getName());
+            if (prop != null) {
+                builder.addOrReplaceProperty(
+                        new ImmutableSettableProperty(property, fieldDeserializer, prop.getId().asIndex()),
+                        true
+                );
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * The field deserializer is generated only when the option
+     * `jimmer.jackson.generateSerializer` of annotation processor(Java)
+     * or ksp(Kotlin) is `true`, otherwise it does not exist
+     */
+    private static ImmutableFieldDeserializer createFieldDeserializer(Class<?> builderClass) {
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(
+                    builderClass.getName() + '$' + ImmutableFieldDeserializer.GENERATED_CLASS_NAME,
+                    true,
+                    builderClass.getClassLoader()
+            );
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+        if (!ImmutableFieldDeserializer.class.isAssignableFrom(generatedClass)) {
+            return null;
+        }
+        try {
+            return (ImmutableFieldDeserializer) generatedClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(
+                    "Cannot create the generated jackson deserializer \"" +
+                            generatedClass.getName() +
+                            "\"",
+                    ex
+            );
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.babyfish.jimmer.jackson;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Field deserializer of immutable object generated by
+ * the annotation processor(Java) or ksp(Kotlin) when the
+ * option `jimmer.jackson.generateSerializer` is `true`.
+ *
+ * <p>The property names, converters and null handling are still
+ * decided by jackson, the generated code only passes the deserialized
+ * value to the setter of the draft builder directly, so that the
+ * reflection based mutators are not used.</p>
+ *
+ * <p>This interface is used by generated code, please don't use it directly.</p>
+ */
+public interface ImmutableFieldDeserializer {
+
+    /**
+     * Nested class name of the generated implementation in the
+     * draft builder, it must be same with the annotation processor and ksp.
+     */
+    String GENERATED_CLASS_NAME = "JacksonDeserializer";
+
+    /**
+     * Set a deserialized property value to the draft builder
+     *
+     * @param builder The draft builder
+     * @param propIndex The property id
+     * @param value The value deserialized by jackson
+     * @return Whether the property is set, false means
+     * the builder has no setter for this property
+     */
+    boolean set(Object builder, int propIndex, @Nullable Object value);
+}
@@ -0,0 +1,71 @@
+package org.babyfish.jimmer.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Field serializer of immutable object generated by
+ * the annotation processor(Java) or ksp(Kotlin) when the
+ * option `jimmer.jackson.generateSerializer` is `true`.
+ *
+ * <p>The property names, property order, converters and
+ * inclusion rules are still decided by jackson, the generated code
+ * only reads the loaded state, visibility and value of each property
+ * from the fields of the implementation class directly, so that the
+ * reflection based accessors are not used.</p>
+ *
+ * <p>This interface is used by generated code, please don't use it directly.</p>
+ */
+public interface ImmutableFieldSerializer {
+
+    /**
+     * Nested class name of the generated implementation,
+     * it must be same with the annotation processor and ksp.
+     */
+    String GENERATED_CLASS_NAME = "JacksonSerializer";
+
+    /**
+     * @return Whether the fields of the object can be read directly,
+     * for example, draft object cannot be.
+     */
+    boolean isAccessible(Object bean);
+
+    /**
+     * Write a property if it is loaded and visible
+     *
+     * @param bean The object which is accepted by {@link #isAccessible(Object)}
+     * @param propIndex The property id
+     * @param writer The writer of property, which is configured by jackson
+     */
+    void serialize(
+            Object bean,
+            int propIndex,
+            FieldWriter writer,
+            JsonGenerator gen,
+            SerializerProvider provider
+    ) throws Exception;
+
+    interface FieldWriter {
+
+        void write(Object bean, Object value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        void write(Object bean, String value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        void write(Object bean, boolean value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        void write(Object bean, int value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        void write(Object bean, long value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        void write(Object bean, float value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        void write(Object bean, double value, JsonGenerator gen, SerializerProvider provider) throws Exception;
+
+        /**
+         * Write the property by the default way of jackson,
+         * it is used by the properties without backing fields
+         * such as id view or java formula
+         */
+        void writeDefault(Object bean, JsonGenerator gen, SerializerProvider provider) throws Exception;
+    }
+}
@@ -20,6 +20,7 @@ public class ImmutableModule extends SimpleModule {
     public void setupModule(SetupContext ctx) {
         super.setupModule(ctx);
         ctx.addBeanSerializerModifier(new ImmutableSerializerModifier());
+        ctx.addBeanDeserializerModifier(new ImmutableDeserializerModifier());
         ctx.insertAnnotationIntrospector(new ImmutableAnnotationIntrospector());
     }
 }
@@ -1,20 +1,32 @@
 package org.babyfish.jimmer.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
 import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 
-class ImmutablePropertyWriter extends BeanPropertyWriter {
+class ImmutablePropertyWriter extends BeanPropertyWriter implements ImmutableFieldSerializer.FieldWriter {
 
     private final PropId propId;
 
+    // null: unknown, TRUE: raw value can be written by generator directly
+    private Boolean direct;
+
     public ImmutablePropertyWriter(BeanPropertyWriter base, PropId propId) {
         super(base);
         this.propId = propId;
     }
 
+    int getPropIndex() {
+        return propId.asIndex();
+    }
+
     @Override
     public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
         ImmutableSpi spi = (ImmutableSpi) bean;
@@ -30,4 +42,132 @@ class ImmutablePropertyWriter extends BeanPropertyWriter {
             super.serializeAsElement(bean, gen, prov);
         }
     }
+
+    /**
+     * Same as {@link BeanPropertyWriter#serializeAsField(Object, JsonGenerator, SerializerProvider)},
+     * but the value is read by generated code, not reflection.
+     */
+    @Override
+    public void write(Object bean, Object value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (value == null) {
+            if (_suppressableValue != null && prov.includeFilterSuppressNulls(_suppressableValue)) {
+                return;
+            }
+            if (_nullSerializer != null) {
+                gen.writeFieldName(_name);
+                _nullSerializer.serialize(null, gen, prov);
+            }
+            return;
+        }
+        JsonSerializer<Object> ser = _serializer;
+        if (ser == null) {
+            Class<?> cls = value.getClass();
+            PropertySerializerMap m = _dynamicSerializers;
+            ser = m.serializerFor(cls);
+            if (ser == null) {
+                ser = _findAndAddDynamic(m, cls, prov);
+            }
+        }
+        if (_suppressableValue != null) {
+            if (MARKER_FOR_EMPTY == _suppressableValue) {
+                if (ser.isEmpty(prov, value)) {
+                    return;
+                }
+            } else if (_suppressableValue.equals(value)) {
+                return;
+            }
+        }
+        if (value == bean && _handleSelfReference(bean, gen, prov, ser)) {
+            return;
+        }
+        gen.writeFieldName(_name);
+        if (_typeSerializer == null) {
+            ser.serialize(value, gen, prov);
+        } else {
+            ser.serializeWithType(value, gen, prov, _typeSerializer);
+        }
+    }
+
+    @Override
+    public void write(Object bean, String value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (value != null && isDirect(StringSerializer.class)) {
+            gen.writeFieldName(_name);
+            gen.writeString(value);
+        } else {
+            write(bean, (Object) value, gen, prov);
+        }
+    }
+
+    @Override
+    public void write(Object bean, boolean value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isDirect(BooleanSerializer.class)) {
+            gen.writeFieldName(_name);
+            gen.writeBoolean(value);
+        } else {
+            write(bean, (Object) value, gen, prov);
+        }
+    }
+
+    @Override
+    public void write(Object bean, int value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isDirect(NumberSerializers.IntegerSerializer.class)) {
+            gen.writeFieldName(_name);
+            gen.writeNumber(value);
+        } else {
+            write(bean, (Object) value, gen, prov);
+        }
+    }
+
+    @Override
+    public void write(Object bean, long value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isDirect(NumberSerializers.LongSerializer.class)) {
+            gen.writeFieldName(_name);
+            gen.writeNumber(value);
+        } else {
+            write(bean, (Object) value, gen, prov);
+        }
+    }
+
+    @Override
+    public void write(Object bean, float value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isDirect(NumberSerializers.FloatSerializer.class)) {
+            gen.writeFieldName(_name);
+            gen.writeNumber(value);
+        } else {
+            write(bean, (Object) value, gen, prov);
+        }
+    }
+
+    @Override
+    public void write(Object bean, double value, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        if (isDirect(NumberSerializers.DoubleSerializer.class)) {
+            gen.writeFieldName(_name);
+            gen.writeNumber(value);
+        } else {
+            write(bean, (Object) value, gen, prov);
+        }
+    }
+
+    @Override
+    public void writeDefault(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        serializeAsField(bean, gen, prov);
+    }
+
+    /**
+     * Only the standard serializers of jackson write the raw value as it is,
+     * other serializers such as `ToStringSerializer` chosen by `@JsonFormat`
+     * or custom serializers must be used as usual.
+     */
+    private boolean isDirect(Class<?> standardSerializerType) {
+        Boolean direct = this.direct;
+        if (direct == null) {
+            // The serializer has been resolved before the first serialization
+            direct = _serializer != null &&
+                    _serializer.getClass() == standardSerializerType &&
+                    _typeSerializer == null &&
+                    _suppressableValue == null;
+            this.direct = direct;
+        }
+        return direct;
+    }
 }
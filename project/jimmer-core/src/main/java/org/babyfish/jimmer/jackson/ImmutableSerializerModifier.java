@@ -1,9 +1,12 @@
 package org.babyfish.jimmer.jackson;
 
 import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.babyfish.jimmer.impl.util.ClassCache;
 import org.babyfish.jimmer.impl.util.StringUtil;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
@@ -15,6 +18,9 @@ import java.util.ListIterator;
 
 class ImmutableSerializerModifier extends BeanSerializerModifier {
 
+    private static final ClassCache<ImmutableFieldSerializer> FIELD_SERIALIZER_CACHE =
+            new ClassCache<>(ImmutableSerializerModifier::createFieldSerializer);
+
     @Override
     public List<BeanPropertyWriter> changeProperties(
             SerializationConfig config,
@@ -39,4 +45,58 @@ class ImmutableSerializerModifier extends BeanSerializerModifier {
         }
         return beanProperties;
     }
+
+    @Override
+    public JsonSerializer<?> modifySerializer(
+            SerializationConfig config,
+            BeanDescription beanDesc,
+            JsonSerializer<?> serializer
+    ) {
+        // Only the serializer created by jackson itself can be optimized,
+        // `ImmutableSpi` is checked by `changeProperties`
+        if (serializer.getClass() != BeanSerializer.class) {
+            return serializer;
+        }
+        Class<?> beanClass = beanDesc.getBeanClass();
+        Class<?> declaringClass = beanClass.getDeclaringClass();
+        if (declaringClass == null || ImmutableType.tryGet(beanClass) == null) {
+            return serializer;
+        }
+        ImmutableFieldSerializer fieldSerializer = FIELD_SERIALIZER_CACHE.get(declaringClass);
+        if (fieldSerializer == null) {
+            return serializer;
+        }
+        return new ImmutableBeanSerializer((BeanSerializer) serializer, fieldSerializer);
+    }
+
+    /**
+     * The field serializer is generated only when the option
+     * `jimmer.jackson.generateSerializer` of annotation processor(Java)
+     * or ksp(Kotlin) is `true`, otherwise it does not exist
+     */
+    private static ImmutableFieldSerializer createFieldSerializer(Class<?> producerClass) {
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(
+                    producerClass.getName() + '$' + ImmutableFieldSerializer.GENERATED_CLASS_NAME,
+                    true,
+                    producerClass.getClassLoader()
+            );
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+        if (!ImmutableFieldSerializer.class.isAssignableFrom(generatedClass)) {
+            return null;
+        }
+        try {
+            return (ImmutableFieldSerializer) generatedClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(
+                    "Cannot create the generated jackson serializer \"" +
+                            generatedClass.getName() +
+                            "\"",
+                    ex
+            );
+        }
+    }
 }
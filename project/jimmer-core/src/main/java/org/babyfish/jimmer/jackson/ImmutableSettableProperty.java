@@ -0,0 +1,69 @@
+package org.babyfish.jimmer.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.NullsConstantProvider;
+
+import java.io.IOException;
+
+/**
+ * Settable property of draft builder whose value
+ * is set by the generated {@link ImmutableFieldDeserializer}.
+ *
+ * <p>The value is still deserialized by the value deserializer
+ * configured by jackson, only the reflection based setter
+ * invocation is replaced.</p>
+ */
+class ImmutableSettableProperty extends SettableBeanProperty.Delegating {
+
+    private final ImmutableFieldDeserializer fieldDeserializer;
+
+    private final int propIndex;
+
+    ImmutableSettableProperty(
+            SettableBeanProperty delegate,
+            ImmutableFieldDeserializer fieldDeserializer,
+            int propIndex
+    ) {
+        super(delegate);
+        this.fieldDeserializer = fieldDeserializer;
+        this.propIndex = propIndex;
+    }
+
+    @Override
+    protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+        return new ImmutableSettableProperty(d, fieldDeserializer, propIndex);
+    }
+
+    @Override
+    public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+        deserializeSetAndReturn(p, ctxt, instance);
+    }
+
+    @Override
+    public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL) && NullsConstantProvider.isSkipper(_nullProvider)) {
+            return instance;
+        }
+        return setAndReturn(instance, deserialize(p, ctxt));
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws IOException {
+        setAndReturn(instance, value);
+    }
+
+    @Override
+    public Object setAndReturn(Object instance, Object value) throws IOException {
+        boolean done;
+        try {
+            done = fieldDeserializer.set(instance, propIndex, value);
+        } catch (RuntimeException ex) {
+            _throwAsIOE(ex, value);
+            return instance;
+        }
+        return done ? instance : delegate.setAndReturn(instance, value);
+    }
+}
@@ -1,13 +1,17 @@
 package org.babyfish.jimmer.sql.collection;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Array;
 import java.util.*;
 
 public final class TypedList<E> implements List<E>, RandomAccess {
 
     private final String sqlElementType;
 
+    private final Object primitiveArr;
+
     private final E[] arr;
 
     private final int from;
@@ -16,6 +20,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
 
     public TypedList(String sqlElementType, E[] arr) {
         this.sqlElementType = sqlElementType;
+        this.primitiveArr = null;
         this.arr = arr;
         this.from = 0;
         this.to = arr != null ? arr.length : 0;
@@ -23,15 +28,61 @@ public final class TypedList<E> implements List<E>, RandomAccess {
 
     private TypedList(String sqlElementType, E[] arr, int from, int to) {
         this.sqlElementType = sqlElementType;
+        this.primitiveArr = null;
         this.arr = arr;
         this.from = from;
         this.to = to;
     }
 
+    private TypedList(String sqlElementType, Object primitiveArr) {
+        this.sqlElementType = sqlElementType;
+        this.primitiveArr = primitiveArr;
+        this.arr = null;
+        this.from = 0;
+        this.to = Array.getLength(primitiveArr);
+    }
+
+    /**
+     * Create typed list by an object array or a primitive array.
+     *
+     * <p>A primitive array such as {@code float[]} is not boxed
+     * when the list is used as JDBC parameter, its elements are
+     * boxed only when they are accessed by the methods of {@link List},
+     * the boxed elements are not cached so that this list is immutable.</p>
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> TypedList<E> of(String sqlElementType, Object arr) {
+        if (arr == null || !arr.getClass().isArray()) {
+            throw new IllegalArgumentException("The argument `arr` is not array");
+        }
+        if (arr.getClass().getComponentType().isPrimitive()) {
+            return new TypedList<>(sqlElementType, arr);
+        }
+        return new TypedList<>(sqlElementType, (E[]) arr);
+    }
+
     public String getSqlElementType() {
         return sqlElementType;
     }
 
+    /**
+     * @return The primitive array backing this list,
+     * or null if this list is backed by an object array
+     */
+    @Nullable
+    public Object getPrimitiveArray() {
+        return primitiveArr;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int index) {
+        E[] arr = this.arr;
+        if (arr != null) {
+            return arr[index];
+        }
+        return (E) Array.get(primitiveArr, index);
+    }
+
     @Override
     public int size() {
         return to - from;
@@ -45,7 +96,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
     @Override
     public E get(int index) {
         try {
-            return arr[from + index];
+            return element(from + index);
         } catch (ArrayIndexOutOfBoundsException ex) {
             throw new IndexOutOfBoundsException(ex.getMessage());
         }
@@ -69,7 +120,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
     @Override
     public int indexOf(Object o) {
         for (int i = from; i < to; i++) {
-            if (Objects.equals(arr[i], o)) {
+            if (Objects.equals(element(i), o)) {
                 return from + i;
             }
         }
@@ -79,7 +130,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
     @Override
     public int lastIndexOf(Object o) {
         for (int i = to - 1; i >= from; --i) {
-            if (Objects.equals(arr[i], o)) {
+            if (Objects.equals(element(i), o)) {
                 return from + i;
             }
         }
@@ -89,6 +140,14 @@ public final class TypedList<E> implements List<E>, RandomAccess {
     @NotNull
     @Override
     public Object[] toArray() {
+        E[] arr = this.arr;
+        if (arr == null) {
+            Object[] boxedArr = new Object[to - from];
+            for (int i = from; i < to; i++) {
+                boxedArr[i - from] = element(i);
+            }
+            return boxedArr;
+        }
         if (from == 0 && to == arr.length) {
             return arr;
         }
@@ -99,7 +158,14 @@ public final class TypedList<E> implements List<E>, RandomAccess {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T[] toArray(@NotNull T[] a) {
-        System.arraycopy((T[])arr, from, a, 0, Math.min(a.length, to - from));
+        int len = Math.min(a.length, to - from);
+        if (arr != null) {
+            System.arraycopy(arr, from, a, 0, len);
+        } else {
+            for (int i = 0; i < len; i++) {
+                a[i] = (T) element(from + i);
+            }
+        }
         return a;
     }
 
@@ -193,6 +259,11 @@ public final class TypedList<E> implements List<E>, RandomAccess {
         if (fromIndex > toIndex) {
             throw new IllegalArgumentException("Illegal index range, \"fromIndex\" cannot be greater than \"toIndex\"");
         }
+        if (primitiveArr != null) {
+            Object subArr = Array.newInstance(primitiveArr.getClass().getComponentType(), toIndex - fromIndex);
+            System.arraycopy(primitiveArr, from + fromIndex, subArr, 0, toIndex - fromIndex);
+            return new TypedList<>(sqlElementType, subArr);
+        }
         return new TypedList<>(sqlElementType, arr, from + fromIndex, from + toIndex);
     }
 
@@ -214,7 +285,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
             if (index >= to) {
                 throw new NoSuchElementException();
             }
-            return arr[index++];
+            return element(index++);
         }
 
         @Override
@@ -227,7 +298,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
             if (index <= from) {
                 throw new NoSuchElementException();
             }
-            return arr[--index];
+            return element(--index);
         }
 
         @Override
@@ -260,7 +331,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
     public int hashCode() {
         int hashCode = 1;
         for (int i = from; i < to; i++) {
-            E e = arr[i];
+            E e = element(i);
             hashCode = 31 * hashCode + (e == null ? 0 : e.hashCode());
         }
         return hashCode;
@@ -280,7 +351,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
         }
         Iterator<?> itr = other.iterator();
         for (int i = from; i < to; i++) {
-            if (!Objects.equals(arr[i], itr.next())) {
+            if (!Objects.equals(element(i), itr.next())) {
                 return false;
             }
         }
@@ -295,7 +366,7 @@ public final class TypedList<E> implements List<E>, RandomAccess {
         StringBuilder builder = new StringBuilder();
         builder.append('[');
         for (int i = from; i < to; i++) {
-            E e = arr[i];
+            E e = element(i);
             builder.append(e == this ? "(this Collection)" : e);
             if (i + 1 < to) {
                 builder.append(',').append(' ');
@@ -0,0 +1,42 @@
+package org.babyfish.jimmer;
+
+import org.babyfish.jimmer.model.Book;
+import org.babyfish.jimmer.model.BookDraft;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashCodeTest {
+
+    @Test
+    public void testCachedHashCodeIsNotInherited() {
+
+        Book book = BookDraft.$.produce(b -> {
+            b.setName("book");
+            b.applyStore(s -> {
+                s.setName("store");
+            });
+        });
+        int hash = book.hashCode();
+        int shallowHash = ((ImmutableSpi) book).__hashCode(true);
+        Assertions.assertEquals(hash, book.hashCode());
+        Assertions.assertEquals(shallowHash, ((ImmutableSpi) book).__hashCode(true));
+
+        int[] draftHashes = new int[2];
+        Book book2 = BookDraft.$.produce(book, b -> {
+            draftHashes[0] = b.hashCode();
+            b.setName("book!");
+            draftHashes[1] = b.hashCode();
+        });
+        Assertions.assertEquals(hash, draftHashes[0]);
+        Assertions.assertNotEquals(draftHashes[0], draftHashes[1]);
+        Assertions.assertEquals(draftHashes[1], book2.hashCode());
+        Assertions.assertNotEquals(book, book2);
+
+        Book book3 = BookDraft.$.produce(book2, b -> {
+            b.setName("book");
+        });
+        Assertions.assertEquals(hash, book3.hashCode());
+        Assertions.assertEquals(book, book3);
+    }
+}
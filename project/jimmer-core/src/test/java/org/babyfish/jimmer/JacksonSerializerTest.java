@@ -0,0 +1,75 @@
+package org.babyfish.jimmer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.jackson.ImmutableModule;
+import org.babyfish.jimmer.model.Book;
+import org.babyfish.jimmer.model.BookDraft;
+import org.babyfish.jimmer.model.BookProps;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JacksonSerializerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new ImmutableModule());
+
+    @Test
+    public void testGeneratedSerializer() throws JsonProcessingException {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setName("SQL in Action").setStore(null).setPrice(49);
+        });
+        Assertions.assertTrue(new BookDraft.Producer.JacksonSerializer().isAccessible(book));
+        Assertions.assertEquals(
+                "{\"name\":\"SQL in Action\",\"store\":null,\"price\":49}",
+                MAPPER.writeValueAsString(book)
+        );
+    }
+
+    @Test
+    public void testGeneratedDeserializer() throws JsonProcessingException {
+        Assertions.assertTrue(
+                new BookDraft.Builder.JacksonDeserializer().set(
+                        new BookDraft.Builder(),
+                        BookDraft.Producer.SLOT_NAME,
+                        "SQL in Action"
+                )
+        );
+        String json = "{\"name\":\"SQL in Action\",\"store\":null,\"price\":49}";
+        Book book = MAPPER.readValue(json, Book.class);
+        Assertions.assertEquals("SQL in Action", book.name());
+        Assertions.assertNull(book.store());
+        Assertions.assertEquals(49, book.price());
+        Assertions.assertEquals(json, MAPPER.writeValueAsString(book));
+    }
+
+    @Test
+    public void testHiddenProp() throws JsonProcessingException {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setName("SQL in Action").setPrice(49);
+            ((DraftSpi) draft).__show(BookProps.NAME.unwrap().getId(), false);
+        });
+        Assertions.assertEquals(
+                "{\"price\":49}",
+                MAPPER.writeValueAsString(book)
+        );
+    }
+
+    @Test
+    public void testDraft() throws JsonProcessingException {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setName("SQL in Action").setPrice(49);
+        });
+        String[] json = new String[1];
+        BookDraft.$.produce(book, draft -> {
+            Assertions.assertFalse(new BookDraft.Producer.JacksonSerializer().isAccessible(draft));
+            try {
+                json[0] = MAPPER.writeValueAsString(draft);
+            } catch (JsonProcessingException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        Assertions.assertEquals(MAPPER.writeValueAsString(book), json[0]);
+    }
+}
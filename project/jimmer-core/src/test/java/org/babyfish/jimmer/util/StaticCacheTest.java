@@ -0,0 +1,132 @@
+package org.babyfish.jimmer.util;
+
+import org.babyfish.jimmer.impl.util.ClassCache;
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.babyfish.jimmer.impl.util.TypeCache;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.model.Author;
+import org.babyfish.jimmer.model.Book;
+import org.babyfish.jimmer.model.BookStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StaticCacheTest {
+
+    private static final int THREAD_COUNT = 64;
+
+    @Test
+    public void testCreateOnce() throws Exception {
+        Map<Integer, AtomicInteger> counterMap = new ConcurrentHashMap<>();
+        StaticCache<Integer, String> cache = new StaticCache<>(key -> {
+            counterMap.computeIfAbsent(key, it -> new AtomicInteger()).incrementAndGet();
+            return key % 2 == 0 ? "value-" + key : null;
+        });
+        List<Map<Integer, String>> results = runConcurrently(() -> {
+            Map<Integer, String> map = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                map.put(i, cache.get(i));
+            }
+            return map;
+        });
+        for (Map<Integer, String> map : results) {
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals(i % 2 == 0 ? "value-" + i : null, map.get(i));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(1, counterMap.get(i).get(), "creator count of " + i);
+        }
+    }
+
+    @Test
+    public void testNonNullable() {
+        StaticCache<String, String> cache = new StaticCache<>(key -> null, false);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("a"));
+    }
+
+    @Test
+    public void testRecursiveCreation() throws Exception {
+        List<String> initialized = Collections.synchronizedList(new ArrayList<>());
+        ClassCache<Node> cache = new ClassCache<Node>(Node::new, false) {
+            @Override
+            protected void onCreated(Class<?> key, Node value) {
+                if (key.getSuperclass() != null) {
+                    value.parent = getWithoutLock(key.getSuperclass());
+                }
+                initialized.add(key.getName());
+            }
+        };
+        List<Node> nodes = runConcurrently(() -> cache.get(ArrayList.class));
+        for (Node node : nodes) {
+            Assertions.assertSame(nodes.get(0), node);
+            Assertions.assertNotNull(node.parent);
+        }
+        Assertions.assertEquals(
+                new HashSet<>(initialized).size(),
+                initialized.size(),
+                "each class is initialized only once"
+        );
+    }
+
+    @Test
+    public void testTypeCache() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        TypeCache<String> cache = new TypeCache<>(type -> {
+            counter.incrementAndGet();
+            return type.getJavaClass().getSimpleName();
+        });
+        List<ImmutableType> types = Arrays.asList(
+                ImmutableType.get(Book.class),
+                ImmutableType.get(BookStore.class),
+                ImmutableType.get(Author.class)
+        );
+        List<List<String>> results = runConcurrently(() -> {
+            List<String> list = new ArrayList<>();
+            for (ImmutableType type : types) {
+                list.add(cache.get(type));
+            }
+            return list;
+        });
+        for (List<String> list : results) {
+            Assertions.assertEquals(Arrays.asList("Book", "BookStore", "Author"), list);
+        }
+        Assertions.assertEquals(3, counter.get());
+    }
+
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    return task.call();
+                }));
+            }
+            latch.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class Node {
+
+        final Class<?> type;
+
+        Node parent;
+
+        Node(Class<?> type) {
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+import java.util.List;
+
+public class AndPredicate<P> implements Predicate<P> {
+
+    private final List<Predicate<P>> predicates;
+
+    private AndPredicate(List<Predicate<P>> predicates) {
+        this.predicates = predicates;
+    }
+
+    public List<Predicate<P>> getPredicates() {
+        return predicates;
+    }
+
+    public static <P> Predicate<P> of(List<Predicate<P>> predicates) {
+        if (predicates.isEmpty()) {
+            throw new IllegalArgumentException("predicates cannot be empty");
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        return new AndPredicate<>(predicates);
+    }
+
+    @Override
+    public String toString() {
+        return "AndPredicate{" +
+                "predicates=" + predicates +
+                '}';
+    }
+}
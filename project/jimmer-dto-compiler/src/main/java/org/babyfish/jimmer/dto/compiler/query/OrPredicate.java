@@ -0,0 +1,33 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+import java.util.List;
+
+public class OrPredicate<P> implements Predicate<P> {
+
+    private final List<Predicate<P>> predicates;
+
+    private OrPredicate(List<Predicate<P>> predicates) {
+        this.predicates = predicates;
+    }
+
+    public List<Predicate<P>> getPredicates() {
+        return predicates;
+    }
+
+    public static <P> Predicate<P> of(List<Predicate<P>> predicates) {
+        if (predicates.isEmpty()) {
+            throw new IllegalArgumentException("predicates cannot be empty");
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        return new OrPredicate<>(predicates);
+    }
+
+    @Override
+    public String toString() {
+        return "OrPredicate{" +
+                "predicates=" + predicates +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+import java.util.List;
+
+public class Path<P> {
+
+    private final Source source;
+
+    private final List<P> props;
+
+    private final List<String> propNames;
+
+    private final boolean scalar;
+
+    Path(Source source, List<P> props, List<String> propNames, boolean scalar) {
+        this.source = source;
+        this.props = props;
+        this.propNames = propNames;
+        this.scalar = scalar;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public List<P> getProps() {
+        return props;
+    }
+
+    public List<String> getPropNames() {
+        return propNames;
+    }
+
+    public P getLastProp() {
+        return props.get(props.size() - 1);
+    }
+
+    public boolean isScalar() {
+        return scalar;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(".", propNames);
+    }
+}
@@ -0,0 +1,99 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class PathParser<T, P> {
+
+    private final QueryMethodCompiler<T, P> compiler;
+
+    private final boolean allowCollection;
+
+    private final List<P> props;
+
+    private final List<String> propNames;
+
+    PathParser(QueryMethodCompiler<T, P> compiler, boolean allowCollection) {
+        this.compiler = compiler;
+        this.allowCollection = allowCollection;
+        this.props = new ArrayList<>();
+        this.propNames = new ArrayList<>();
+    }
+
+    public Path<P> parse(Source source, T type) {
+        if (!parse0(source, type)) {
+            throw new IllegalArgumentException(
+                    "Cannot resolve the property name \"" +
+                            source +
+                            "\" by \"" +
+                            compiler.getTypeName(type) +
+                            "\""
+            );
+        }
+        return new Path<>(
+                source,
+                Collections.unmodifiableList(props),
+                Collections.unmodifiableList(propNames),
+                compiler.isScalar(props.get(props.size() - 1))
+        );
+    }
+
+    private boolean parse0(Source source, T type) {
+        List<P> props = compiler.getOrderedProps(type);
+        for (P prop : props) {
+            if (!compiler.isReferenceList(prop) || allowCollection) {
+                if (parse0(source, type, prop)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean parse0(Source source, T declaringType, P prop) {
+        Source restSource = trimByProp(source, compiler.getName(prop));
+        if (restSource == null) {
+            return false;
+        }
+        props.add(prop);
+        propNames.add(compiler.getName(prop));
+        T targetType = compiler.getTargetType(prop);
+        if (!restSource.isEmpty() && targetType == null) {
+            throw new IllegalArgumentException(
+                    "Cannot resolve the property name \"" +
+                            source +
+                            "\" by \"" +
+                            compiler.getTypeName(declaringType) +
+                            "\""
+            );
+        }
+        if (!restSource.isEmpty()) {
+            return parse0(restSource, targetType);
+        }
+        return true;
+    }
+
+    private static Source trimByProp(Source source, String name) {
+        int len = name.length();
+        if (source.length() < len) {
+            return null;
+        }
+        boolean toLowerCase = true;
+        for (int i = 0; i < len; i++) {
+            char ch = source.charAt(i);
+            char expectedCh = name.charAt(i);
+            boolean matched =
+                    toLowerCase ?
+                            Character.toLowerCase(ch) == expectedCh :
+                            ch == expectedCh;
+            if (!matched) {
+                return null;
+            }
+            if (Character.isLowerCase(ch)) {
+                toLowerCase = false;
+            }
+        }
+        return source.subSource(len, source.length());
+    }
+}
@@ -0,0 +1,3 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+public interface Predicate<P> {}
@@ -0,0 +1,135 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+/**
+ * The property predicate of query method.
+ *
+ * <p>The constant names of {@link Op} and {@link LikeMode} are same with
+ * the runtime types so that the generated code can reference them by name.</p>
+ */
+public class PropPredicate<P> implements Predicate<P> {
+
+    private final Path<P> path;
+
+    private final Op op;
+
+    private final boolean insensitive;
+
+    private final LikeMode likeMode;
+
+    private final int paramIndex;
+
+    private final int logicParamIndex;
+
+    private final int paramIndex2;
+
+    private final int logicParamIndex2;
+
+    PropPredicate(Path<P> path, Op op, boolean insensitive, LikeMode likeMode) {
+        this(path, op, insensitive, likeMode, -1, -1, -1, -1);
+    }
+
+    private PropPredicate(
+            Path<P> path,
+            Op op,
+            boolean insensitive,
+            LikeMode likeMode,
+            int paramIndex,
+            int logicParamIndex,
+            int paramIndex2,
+            int logicParamIndex2
+    ) {
+        this.path = path;
+        this.op = op;
+        this.insensitive = insensitive;
+        this.likeMode = likeMode;
+        this.paramIndex = paramIndex;
+        this.logicParamIndex = logicParamIndex;
+        this.paramIndex2 = paramIndex2;
+        this.logicParamIndex2 = logicParamIndex2;
+    }
+
+    public Path<P> getPath() {
+        return path;
+    }
+
+    public Op getOp() {
+        return op;
+    }
+
+    public boolean isInsensitive() {
+        return insensitive;
+    }
+
+    public LikeMode getLikeMode() {
+        return likeMode;
+    }
+
+    public int getParamIndex() {
+        return paramIndex;
+    }
+
+    public int getLogicParamIndex() {
+        return logicParamIndex;
+    }
+
+    public int getParamIndex2() {
+        return paramIndex2;
+    }
+
+    public int getLogicParamIndex2() {
+        return logicParamIndex2;
+    }
+
+    PropPredicate<P> resolve(int paramIndex, int logicParamIndex, int paramIndex2, int logicParamIndex2) {
+        return new PropPredicate<>(
+                path,
+                op,
+                insensitive,
+                likeMode,
+                paramIndex,
+                logicParamIndex,
+                paramIndex2,
+                logicParamIndex2
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedPredicate{" +
+                "path=" + path +
+                ", op=" + op +
+                ", insensitive=" + insensitive +
+                ", likeMode=" + likeMode +
+                ", paramIndex=" + paramIndex +
+                ", logicParamIndex=" + logicParamIndex +
+                ", paramIndex2=" + paramIndex2 +
+                ", logicParamIndex2=" + logicParamIndex2 +
+                '}';
+    }
+
+    public enum Op {
+        TRUE,
+        FALSE,
+        EQ,
+        NE,
+        LT,
+        LE,
+        GT,
+        GE,
+        NULL,
+        NOT_NULL,
+        IN,
+        NOT_IN,
+        BETWEEN,
+        NOT_BETWEEN,
+        LIKE,
+        NOT_LIKE
+    }
+
+    public enum LikeMode {
+        EXACT,
+        START,
+        END,
+        ANYWHERE
+    }
+}
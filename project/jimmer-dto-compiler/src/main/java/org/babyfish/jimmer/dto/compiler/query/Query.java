@@ -0,0 +1,119 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+import java.util.List;
+
+public class Query<P> {
+
+    private final Action action;
+
+    private final int limit;
+
+    private final boolean distinct;
+
+    private final Path<P> selectedPath;
+
+    private final Predicate<P> predicate;
+
+    private final List<Order<P>> orders;
+
+    Query(
+            Action action,
+            int limit,
+            boolean distinct,
+            Path<P> selectedPath,
+            Predicate<P> predicate,
+            List<Order<P>> orders
+    ) {
+        this.action = action;
+        this.limit = limit;
+        this.distinct = distinct;
+        this.selectedPath = selectedPath;
+        this.predicate = predicate;
+        this.orders = orders;
+    }
+
+    Query(Query<P> base, Predicate<P> predicate) {
+        this.action = base.action;
+        this.limit = base.limit;
+        this.distinct = base.distinct;
+        this.selectedPath = base.selectedPath;
+        this.predicate = predicate;
+        this.orders = base.orders;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isDistinct() {
+        return distinct;
+    }
+
+    public Path<P> getSelectedPath() {
+        return selectedPath;
+    }
+
+    public Predicate<P> getPredicate() {
+        return predicate;
+    }
+
+    public List<Order<P>> getOrders() {
+        return orders;
+    }
+
+    @Override
+    public String toString() {
+        return "Query{" +
+                "action=" + action +
+                ", limit=" + limit +
+                ", distinct=" + distinct +
+                ", selectedPath=" + selectedPath +
+                ", predicate=" + predicate +
+                ", orders=" + orders +
+                '}';
+    }
+
+    public enum Action {
+        FIND,
+        COUNT,
+        EXISTS,
+        DELETE
+    }
+
+    public enum OrderMode {
+        ASC,
+        DESC
+    }
+
+    public static class Order<P> {
+
+        private final Path<P> path;
+
+        private final OrderMode orderMode;
+
+        Order(Path<P> path, OrderMode orderMode) {
+            this.path = path;
+            this.orderMode = orderMode;
+        }
+
+        public Path<P> getPath() {
+            return path;
+        }
+
+        public OrderMode getOrderMode() {
+            return orderMode;
+        }
+
+        @Override
+        public String toString() {
+            return "Order{" +
+                    "path=" + path +
+                    ", orderMode=" + orderMode +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+public class QueryMethod<P> {
+
+    private final Query<P> query;
+
+    private final int pageableParamIndex;
+
+    private final int sortParamIndex;
+
+    private final int specificationParamIndex;
+
+    private final int fetcherParamIndex;
+
+    private final int viewTypeParamIndex;
+
+    QueryMethod(
+            Query<P> query,
+            int pageableParamIndex,
+            int sortParamIndex,
+            int specificationParamIndex,
+            int fetcherParamIndex,
+            int viewTypeParamIndex
+    ) {
+        this.query = query;
+        this.pageableParamIndex = pageableParamIndex;
+        this.sortParamIndex = sortParamIndex;
+        this.specificationParamIndex = specificationParamIndex;
+        this.fetcherParamIndex = fetcherParamIndex;
+        this.viewTypeParamIndex = viewTypeParamIndex;
+    }
+
+    public Query<P> getQuery() {
+        return query;
+    }
+
+    public int getPageableParamIndex() {
+        return pageableParamIndex;
+    }
+
+    public int getSortParamIndex() {
+        return sortParamIndex;
+    }
+
+    public int getSpecificationParamIndex() {
+        return specificationParamIndex;
+    }
+
+    public int getFetcherParamIndex() {
+        return fetcherParamIndex;
+    }
+
+    public int getViewTypeParamIndex() {
+        return viewTypeParamIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryMethod{" +
+                "query=" + query +
+                ", pageableParamIndex=" + pageableParamIndex +
+                ", sortParamIndex=" + sortParamIndex +
+                ", fetcherParamIndex=" + fetcherParamIndex +
+                ", viewTypeParamIndex=" + viewTypeParamIndex +
+                '}';
+    }
+}
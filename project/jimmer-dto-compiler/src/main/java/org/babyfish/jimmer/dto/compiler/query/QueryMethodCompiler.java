@@ -0,0 +1,479 @@
+package org.babyfish.jimmer.dto.compiler.query;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compile the abstract spring-data query method of a repository interface
+ * at compile time, so that the repository implementation generated by
+ * the annotation processor(Java) or ksp(Kotlin) does not need to parse
+ * the method name by reflection at runtime.
+ *
+ * <p>The grammar and the validations are same with the runtime parser
+ * of the spring-boot-starter, the annotation processor and ksp only
+ * need to describe their own type systems.</p>
+ *
+ * @param <T> The immutable type of the annotation processor or ksp
+ * @param <P> The immutable property of the annotation processor or ksp
+ */
+public abstract class QueryMethodCompiler<T, P> {
+
+    static final String PAGEABLE = "org.springframework.data.domain.Pageable";
+
+    static final String PAGE = "org.springframework.data.domain.Page";
+
+    static final String JIMMER_PAGE = "org.babyfish.jimmer.Page";
+
+    static final String SORT = "org.springframework.data.domain.Sort";
+
+    static final String VIEW = "org.babyfish.jimmer.View";
+
+    private static final Comparator<String> NAME_LEN_DESC_COMPARATOR =
+            Comparator.comparing(String::length).reversed();
+
+    private final Map<T, List<P>> orderedPropMap = new HashMap<>();
+
+    private final T type;
+
+    private final String methodName;
+
+    private final int parameterCount;
+
+    private int pageableParamIndex;
+
+    private int sortParamIndex;
+
+    private int specificationParamIndex;
+
+    private int fetcherParamIndex;
+
+    private int viewTypeParamIndex;
+
+    private int paramIndex = -1;
+
+    private int logicParamIndex = -1;
+
+    protected QueryMethodCompiler(T type, String methodName, int parameterCount) {
+        this.type = type;
+        this.methodName = methodName;
+        this.parameterCount = parameterCount;
+    }
+
+    protected abstract Collection<P> getProps(T type);
+
+    protected abstract String getName(P prop);
+
+    protected abstract String getTypeName(T type);
+
+    /**
+     * @return The target entity or embeddable type, or null for scalar property
+     */
+    protected abstract T getTargetType(P prop);
+
+    protected abstract boolean isScalar(P prop);
+
+    protected abstract boolean isScalarList(P prop);
+
+    /**
+     * @return Whether the property is a persistent one-to-many or many-to-many association
+     */
+    protected abstract boolean isReferenceList(P prop);
+
+    protected abstract boolean isBoolean(P prop);
+
+    protected abstract String getElementTypeName(P prop, boolean boxed);
+
+    protected abstract ParameterKind getParameterKind(int index);
+
+    protected abstract String getParameterTypeName(int index);
+
+    /**
+     * @param collection Whether the parameter should be {@code Collection<E>}
+     *                   or {@code List<E>} whose element type is the boxed type
+     *                   of the property
+     */
+    protected abstract boolean isParameterMatched(int index, P prop, boolean collection);
+
+    protected abstract String getReturnTypeName();
+
+    protected abstract ReturnKind getReturnKind();
+
+    protected abstract boolean isReturnTypeParameterized();
+
+    /**
+     * The element type is the first type argument of parameterized return type,
+     * otherwise, the return type itself.
+     */
+    protected abstract ElementKind getReturnedElementKind();
+
+    protected abstract boolean isReturnedElement(P prop);
+
+    protected abstract String getReturnedElementTypeVariableName();
+
+    /**
+     * @return Whether the type argument of {@code Class<V>} or {@code KClass<V>}
+     * parameter is the type variable of returned element type
+     */
+    protected abstract boolean isViewTypeParameterMatched(int index);
+
+    protected abstract boolean isSpecificationParameterValid(int index);
+
+    protected abstract boolean isFetcherParameterValid(int index);
+
+    public QueryMethod<P> compile() {
+        this.pageableParamIndex = implicitParameterIndex(ParameterKind.PAGEABLE);
+        this.sortParamIndex = implicitParameterIndex(ParameterKind.SORT);
+        this.specificationParamIndex = implicitParameterIndex(ParameterKind.SPECIFICATION);
+        this.fetcherParamIndex = implicitParameterIndex(ParameterKind.FETCHER);
+        this.viewTypeParamIndex = implicitParameterIndex(ParameterKind.VIEW_TYPE);
+        if (pageableParamIndex != -1 && sortParamIndex != -1) {
+            throw new IllegalArgumentException(
+                    "Cannot have parameters of type \"" +
+                            PAGEABLE +
+                            "\" and \"" +
+                            SORT +
+                            "\" at the same time"
+            );
+        }
+        ElementKind elementKind = getReturnedElementKind();
+        Query<P> query = new QueryParser<>(this, type).parse(
+                new Source(methodName),
+                elementKind != ElementKind.ENTITY
+        );
+        if (query.getPredicate() != null) {
+            query = new Query<>(query, resolve(query.getPredicate()));
+        }
+        while (++paramIndex < parameterCount) {
+            if (getParameterKind(paramIndex) == ParameterKind.NORMAL) {
+                throw new IllegalArgumentException("Too many parameters");
+            }
+        }
+        ReturnKind returnKind = getReturnKind();
+        if (returnKind == ReturnKind.PAGE && pageableParamIndex == -1) {
+            throw new IllegalArgumentException(
+                    "Return type \"" +
+                            getReturnTypeName() +
+                            "\" requires parameter whose type is \"" +
+                            PAGEABLE +
+                            "\""
+            );
+        }
+        if (returnKind != ReturnKind.PAGE && pageableParamIndex != -1) {
+            throw new IllegalArgumentException(
+                    "The parameter whose type is \"" +
+                            PAGEABLE +
+                            "\" requires the return type \"" +
+                            PAGE +
+                            "\" or \"" +
+                            JIMMER_PAGE +
+                            "\""
+            );
+        }
+        switch (query.getAction()) {
+            case FIND:
+                validateFind(query, returnKind, elementKind);
+                break;
+            case EXISTS:
+                if (returnKind != ReturnKind.BOOLEAN) {
+                    throw new IllegalArgumentException("The return type must be boolean");
+                }
+                break;
+            case COUNT:
+                if (returnKind != ReturnKind.INT && returnKind != ReturnKind.LONG) {
+                    throw new IllegalArgumentException("The return type must be int or long");
+                }
+                break;
+            case DELETE:
+                if (returnKind != ReturnKind.INT && returnKind != ReturnKind.VOID) {
+                    throw new IllegalArgumentException("The return type must be int or void");
+                }
+                break;
+        }
+        if (specificationParamIndex != -1) {
+            if (query.getAction() == Query.Action.DELETE) {
+                throw new IllegalArgumentException("The method must be query method when there is a specification parameter");
+            }
+            if (!isSpecificationParameterValid(specificationParamIndex)) {
+                throw new IllegalArgumentException(
+                        "The type of specification parameter must be \"org.babyfish.jimmer.Specification<" +
+                                getTypeName(type) +
+                                ">\""
+                );
+            }
+        }
+        if (fetcherParamIndex != -1) {
+            if (query.getAction() != Query.Action.FIND) {
+                throw new IllegalArgumentException("The method must be object finding method when there is a fetcher parameter");
+            }
+            if (query.getSelectedPath() != null) {
+                throw new IllegalArgumentException("Cannot explicitly select columns when there is a fetcher parameter");
+            }
+            if (!isFetcherParameterValid(fetcherParamIndex)) {
+                throw new IllegalArgumentException(
+                        "The type of fetcher parameter must be \"org.babyfish.jimmer.sql.fetcher.Fetcher<" +
+                                getTypeName(type) +
+                                ">\""
+                );
+            }
+        }
+        if (viewTypeParamIndex != -1 && query.getAction() != Query.Action.FIND) {
+            throw new IllegalArgumentException("The method must be query method when there is a view type parameter");
+        }
+        if (pageableParamIndex != -1 && query.getAction() != Query.Action.FIND) {
+            throw new IllegalArgumentException("The method must be query method when there is a pageable parameter");
+        }
+        if (sortParamIndex != -1 && query.getAction() != Query.Action.FIND) {
+            throw new IllegalArgumentException("The method must be query method when there is a sort parameter");
+        }
+        return new QueryMethod<>(
+                query,
+                pageableParamIndex,
+                sortParamIndex,
+                specificationParamIndex,
+                fetcherParamIndex,
+                viewTypeParamIndex
+        );
+    }
+
+    private void validateFind(Query<P> query, ReturnKind returnKind, ElementKind elementKind) {
+        if ((returnKind == ReturnKind.PAGE ||
+                returnKind == ReturnKind.COLLECTION ||
+                returnKind == ReturnKind.OPTIONAL) &&
+                !isReturnTypeParameterized()
+        ) {
+            throw new IllegalArgumentException(
+                    "Return type must be parameterized type when raw return type is " +
+                            "\"java.util.List\", \"java.util.Collection\", \"java.lang.Iterable\", \"" +
+                            PAGE +
+                            "\", \"" +
+                            JIMMER_PAGE +
+                            "\" or \"java.util.Optional\""
+            );
+        }
+        if (query.getSelectedPath() != null) {
+            P selectedProp = query.getSelectedPath().getLastProp();
+            if (!isReturnedElement(selectedProp)) {
+                throw new IllegalArgumentException(
+                        "The returned element type must be \"" +
+                                getElementTypeName(selectedProp, false) +
+                                "\""
+                );
+            }
+        } else if (elementKind == ElementKind.OTHER) {
+            String entityTypeName = getTypeName(type);
+            throw new IllegalArgumentException(
+                    "The returned element type must be \"" +
+                            entityTypeName +
+                            "\", a class implements \"" +
+                            VIEW +
+                            "<" +
+                            entityTypeName +
+                            ">\" or a method level type variable extends \"" +
+                            VIEW +
+                            "<" +
+                            entityTypeName +
+                            ">\""
+            );
+        }
+        if (query.getSelectedPath() == null && elementKind == ElementKind.TYPE_VARIABLE) {
+            String typeVariableName = getReturnedElementTypeVariableName();
+            if (viewTypeParamIndex == -1) {
+                throw new IllegalArgumentException(
+                        "A parameter whose type is \"Class<" +
+                                typeVariableName +
+                                ">\" or \"KClass<" +
+                                typeVariableName +
+                                ">\" is required"
+                );
+            }
+            if (!isViewTypeParameterMatched(viewTypeParamIndex)) {
+                throw new IllegalArgumentException(
+                        "The type argument of parameters[" +
+                                viewTypeParamIndex +
+                                "] must be the type variable \"" +
+                                typeVariableName +
+                                "\""
+                );
+            }
+        } else if (viewTypeParamIndex != -1) {
+            throw new IllegalArgumentException(
+                    "The parameters[" + viewTypeParamIndex + "] is illegal"
+            );
+        }
+    }
+
+    List<P> getOrderedProps(T type) {
+        return orderedPropMap.computeIfAbsent(type, this::createOrderedProps);
+    }
+
+    private List<P> createOrderedProps(T type) {
+        return getProps(type)
+                .stream()
+                .filter(it -> !isScalarList(it))
+                .sorted(Comparator.comparing(this::getName, NAME_LEN_DESC_COMPARATOR))
+                .collect(Collectors.toList());
+    }
+
+    private Predicate<P> resolve(Predicate<P> predicate) {
+        if (predicate instanceof AndPredicate<?>) {
+            return AndPredicate.of(
+                    ((AndPredicate<P>)predicate)
+                            .getPredicates()
+                            .stream()
+                            .map(this::resolve)
+                            .collect(Collectors.toList())
+            );
+        } else if (predicate instanceof OrPredicate<?>) {
+            return OrPredicate.of(
+                    ((OrPredicate<P>)predicate)
+                            .getPredicates()
+                            .stream()
+                            .map(this::resolve)
+                            .collect(Collectors.toList())
+            );
+        } else if (predicate instanceof PropPredicate<?>) {
+            return resolve((PropPredicate<P>) predicate);
+        } else {
+            throw new AssertionError("Internal bug, unexpected prop predicate: " + predicate);
+        }
+    }
+
+    private Predicate<P> resolve(PropPredicate<P> propPredicate) {
+        if (!propPredicate.getPath().isScalar() &&
+                propPredicate.getOp() != PropPredicate.Op.NULL &&
+                propPredicate.getOp() != PropPredicate.Op.NOT_NULL) {
+            throw new IllegalArgumentException(
+                    "Illegal property \"" +
+                            propPredicate.getPath() +
+                            "\" of \"" +
+                            propPredicate.getPath().getSource() +
+                            "\", it cannot be reference property when the predicate is nether `IsNull` nor `IsNotNull`"
+            );
+        }
+        switch (propPredicate.getOp()) {
+            case TRUE:
+            case FALSE:
+                if (!isBoolean(propPredicate.getPath().getLastProp())) {
+                    throw new IllegalArgumentException(
+                            "Illegal property \"" +
+                                    propPredicate.getPath() +
+                                    "\", its type must be boolean when the predicate is `IsTrue` or `IsFalse`"
+                    );
+                }
+                return propPredicate.resolve(-1, -1, -1, -1);
+            case NULL:
+            case NOT_NULL:
+                return propPredicate.resolve(-1, -1, -1, -1);
+            case BETWEEN:
+            case NOT_BETWEEN:
+                int index = nextParam(propPredicate);
+                int logicIndex = ++logicParamIndex;
+                int index2 = nextParam(propPredicate);
+                return propPredicate.resolve(index, logicIndex, index2, ++logicParamIndex);
+            default:
+                return propPredicate.resolve(nextParam(propPredicate), ++logicParamIndex, -1, -1);
+        }
+    }
+
+    private int nextParam(PropPredicate<P> predicate) {
+        paramIndex++;
+        while (paramIndex < parameterCount && getParameterKind(paramIndex) != ParameterKind.NORMAL) {
+            paramIndex++;
+        }
+        if (paramIndex >= parameterCount) {
+            throw new IllegalArgumentException(
+                    "No enough parameters for the property \"" +
+                            predicate.getPath() +
+                            "\" of \"" +
+                            predicate.getPath().getSource() +
+                            "\""
+            );
+        }
+        P prop = predicate.getPath().getLastProp();
+        boolean isCollection =
+                predicate.getOp() == PropPredicate.Op.IN ||
+                predicate.getOp() == PropPredicate.Op.NOT_IN;
+        if (!isParameterMatched(paramIndex, prop, isCollection)) {
+            throw new IllegalArgumentException(
+                    "This type of " +
+                            (isCollection ? "the collection whose element is the " : "") +
+                            "property \"" +
+                            predicate.getPath() +
+                            "\" is \"" +
+                            (isCollection ?
+                                    "Collection<" + getElementTypeName(prop, true) + '>' :
+                                    getElementTypeName(prop, false)
+                            ) +
+                            "\", but the type of parameters[" +
+                            paramIndex +
+                            "] of java method is \"" +
+                            getParameterTypeName(paramIndex) +
+                            "\""
+            );
+        }
+        return paramIndex;
+    }
+
+    private int implicitParameterIndex(ParameterKind kind) {
+        int index = -1;
+        for (int i = 0; i < parameterCount; i++) {
+            if (getParameterKind(i) == kind) {
+                if (index != -1) {
+                    throw new IllegalArgumentException(
+                            "Both parameters[" +
+                                    index +
+                                    "] and parameters[" +
+                                    i +
+                                    "] are of type \"" +
+                                    getParameterTypeName(i) +
+                                    "\""
+                    );
+                }
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    public enum ParameterKind {
+        NORMAL,
+        PAGEABLE,
+        SORT,
+        SPECIFICATION,
+        FETCHER,
+        /**
+         * {@code Class<V>} or {@code KClass<V>}
+         */
+        VIEW_TYPE
+    }
+
+    public enum ReturnKind {
+        /**
+         * Page of spring-data or jimmer
+         */
+        PAGE,
+        /**
+         * {@code List}, {@code Collection} or {@code Iterable}
+         */
+        COLLECTION,
+        OPTIONAL,
+        BOOLEAN,
+        INT,
+        LONG,
+        VOID,
+        OTHER
+    }
+
+    public enum ElementKind {
+        ENTITY,
+        /**
+         * A class implements {@code View<E>}
+         */
+        VIEW,
+        /**
+         * A method level type variable extends {@code View<E>}
+         */
+        TYPE_VARIABLE,
+        OTHER
+    }
+}
@@ -37,6 +37,9 @@ class Context(
     val isBuddyIgnoreResourceGeneration: Boolean =
         environment.options["jimmer.buddy.ignoreResourceGeneration"]?.trim() == "true"
 
+    val isJacksonSerializerGeneration: Boolean =
+        environment.options["jimmer.jackson.generateSerializer"]?.trim() == "true"
+
     private val includes: Array<String>? =
         environment.options["jimmer.source.includes"]
             ?.takeIf { it.isNotEmpty() }
@@ -14,6 +14,7 @@ import org.babyfish.jimmer.ksp.client.ExportDocProcessor
 import org.babyfish.jimmer.ksp.dto.DtoProcessor
 import org.babyfish.jimmer.ksp.error.ErrorProcessor
 import org.babyfish.jimmer.ksp.immutable.ImmutableProcessor
+import org.babyfish.jimmer.ksp.repository.RepositoryProcessor
 import org.babyfish.jimmer.ksp.transactional.TxProcessor
 import java.util.regex.Pattern
 
@@ -63,6 +64,10 @@ class JimmerProcessor(
 
     private var delayedClientTypeNames: Collection<String>? = null
 
+    private var repositoryGenerated = false
+
+    private var delayedRepositoryTypeNames: Collection<String>? = null
+
     override fun process(resolver: Resolver): List<KSAnnotated> {
         return try {
             val ctx = Context(resolver, environment)
@@ -96,6 +101,7 @@ class JimmerProcessor(
                     delayedClientTypeNames = resolver.getAllFiles().flatMap {  file ->
                         file.declarations.filterIsInstance<KSClassDeclaration>().map { it.fullName }
                     }.toList()
+                    delayedRepositoryTypeNames = delayedClientTypeNames
                     return processedDeclarations
                 }
             }
@@ -108,6 +114,11 @@ class JimmerProcessor(
                 ).process()
                 delayedClientTypeNames = null
             }
+            if (!repositoryGenerated) {
+                repositoryGenerated = true
+                RepositoryProcessor(ctx, delayedRepositoryTypeNames).process()
+                delayedRepositoryTypeNames = null
+            }
             return processedDeclarations
         } catch (ex: MetaException) {
             environment.logger.error(ex.message!!, ex.declaration)
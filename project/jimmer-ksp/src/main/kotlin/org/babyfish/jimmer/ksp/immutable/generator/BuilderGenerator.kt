@@ -1,11 +1,13 @@
 package org.babyfish.jimmer.ksp.immutable.generator
 
 import com.squareup.kotlinpoet.*
+import org.babyfish.jimmer.ksp.Context
 import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
 import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
 import org.babyfish.jimmer.ksp.util.generatedAnnotation
 
 class BuilderGenerator(
+    private val ctx: Context,
     private val type: ImmutableType,
     private val parent: TypeSpec.Builder,
     private val excludedUserTypePrefixes: List<String>
@@ -32,6 +34,9 @@ class BuilderGenerator(
             }
         }
         addBuildFun()
+        if (ctx.isJacksonSerializerGeneration) {
+            JacksonDeserializerGenerator(type, this).generate()
+        }
     }
 
     private fun TypeSpec.Builder.addField() {
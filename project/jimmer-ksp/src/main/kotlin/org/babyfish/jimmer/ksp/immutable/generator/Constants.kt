@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonCreator
 import com.fasterxml.jackson.annotation.JsonIgnore
 import com.fasterxml.jackson.annotation.JsonProperty
 import com.fasterxml.jackson.annotation.JsonPropertyOrder
+import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.databind.JsonSerializer
+import com.fasterxml.jackson.databind.SerializerProvider
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize
 import com.fasterxml.jackson.databind.annotation.JsonNaming
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder
@@ -17,6 +19,8 @@ import org.babyfish.jimmer.impl.util.DtoPropAccessor
 import org.babyfish.jimmer.impl.validation.Validator
 import org.babyfish.jimmer.internal.FixedInputField
 import org.babyfish.jimmer.internal.GeneratedBy
+import org.babyfish.jimmer.jackson.ImmutableFieldDeserializer
+import org.babyfish.jimmer.jackson.ImmutableFieldSerializer
 import org.babyfish.jimmer.meta.ImmutablePropCategory
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.meta.PropId
@@ -58,6 +62,11 @@ internal val JSON_SERIALIZE_CLASS_NAME = JsonSerialize::class.asClassName()
 internal val JSON_SERIALIZER_CLASS_NAME = JsonSerializer::class.asClassName()
 internal val JSON_DESERIALIZE_CLASS_NAME = JsonDeserialize::class.asClassName()
 internal val JSON_POJO_BUILDER_CLASS_NAME = JsonPOJOBuilder::class.asClassName()
+internal val JSON_GENERATOR_CLASS_NAME = JsonGenerator::class.asClassName()
+internal val SERIALIZER_PROVIDER_CLASS_NAME = SerializerProvider::class.asClassName()
+internal val IMMUTABLE_FIELD_SERIALIZER_CLASS_NAME = ImmutableFieldSerializer::class.asClassName()
+internal val FIELD_WRITER_CLASS_NAME = ImmutableFieldSerializer.FieldWriter::class.asClassName()
+internal val IMMUTABLE_FIELD_DESERIALIZER_CLASS_NAME = ImmutableFieldDeserializer::class.asClassName()
 internal val JSON_NAMING_CLASS_NAME = JsonNaming::class.asClassName()
 internal val GENERATED_BY_CLASS_NAME = GeneratedBy::class.asClassName()
 internal val FIXED_INPUT_FIELD_CLASS_NAME = FixedInputField::class.asClassName()
@@ -274,6 +283,46 @@ internal val PROPAGATION_CLASS_NAME = ClassName(
     "Propagation"
 )
 
+internal val K_SQL_CLIENT_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.sql.kt",
+    "KSqlClient"
+)
+
+internal val K_REPOSITORY_IMPL_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.spring.repository.support",
+    "KRepositoryImpl"
+)
+
+internal val GENERATED_QUERY_METHODS_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.spring.repository.support",
+    "GeneratedQueryMethods"
+)
+
+internal val QUERY_METHOD_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.spring.repository.parser",
+    "QueryMethod"
+)
+
+internal val QUERY_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.spring.repository.parser",
+    "Query"
+)
+
+internal val PROP_PREDICATE_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.spring.repository.parser",
+    "PropPredicate"
+)
+
+internal val LIKE_MODE_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.sql.ast",
+    "LikeMode"
+)
+
+internal val ORDER_MODE_CLASS_NAME = ClassName(
+    "org.babyfish.jimmer.sql.ast.query",
+    "OrderMode"
+)
+
 internal const val KEY_FULL_NAME = "org.babyfish.jimmer.sql.Key"
 internal const val JIMMER_MODULE = "JimmerModule"
 
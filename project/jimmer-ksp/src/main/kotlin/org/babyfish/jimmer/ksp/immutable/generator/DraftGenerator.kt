@@ -92,9 +92,9 @@ class DraftGenerator(
                             addAssociatedIdProp(prop)
                         }
                     }
-                    ProducerGenerator(type, this).generate()
+                    ProducerGenerator(ctx, type, this).generate()
                     if (!type.isMappedSuperclass) {
-                        BuilderGenerator(type, this, excludedUserTypePrefixes).generate()
+                        BuilderGenerator(ctx, type, this, excludedUserTypePrefixes).generate()
                     }
                 }
                 .build()
@@ -144,7 +144,8 @@ class DraftImplGenerator(
                 .builder("hashCode")
                 .returns(INT)
                 .addModifiers(KModifier.OVERRIDE)
-                .addStatement("return %L.hashCode()", UNMODIFIED)
+                .addComment("`__modified` is still changing, its hash code cannot be cached")
+                .addStatement("return __modified?.__computeHashCode() ?: __base!!.hashCode()")
                 .build()
         )
         addFunction(
@@ -153,7 +154,13 @@ class DraftImplGenerator(
                 .addParameter("shallow", BOOLEAN)
                 .returns(INT)
                 .addModifiers(KModifier.OVERRIDE)
-                .addStatement("return %L.__hashCode(shallow)", UNMODIFIED)
+                .addStatement("val modified = __modified")
+                .beginControlFlow("if (modified !== null)")
+                .addStatement(
+                    "return if (shallow) modified.__computeShallowHashCode() else modified.__computeHashCode()"
+                )
+                .endControlFlow()
+                .addStatement("return __base!!.__hashCode(shallow)")
                 .build()
         )
     }
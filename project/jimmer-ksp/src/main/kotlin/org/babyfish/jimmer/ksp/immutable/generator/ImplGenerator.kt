@@ -37,6 +37,7 @@ class ImplGenerator(
                             .initializer("null")
                             .build()
                     )
+                    addHashCodeCaches()
                     for (prop in type.properties.values) {
                         addFields(prop)
                     }
@@ -51,6 +52,8 @@ class ImplGenerator(
                     addIsVisibleFun(String::class)
                     addHashCodeFun(true)
                     addHashCodeFun(false)
+                    addComputeHashCodeFun(true)
+                    addComputeHashCodeFun(false)
                     addParameterizedHashCode()
                     addEqualsFun(true)
                     addEqualsFun(false)
@@ -61,6 +64,26 @@ class ImplGenerator(
         )
     }
 
+    /**
+     * Immutable objects never change after `__resolve`,
+     * so their hash codes are cached lazily, 0 means not computed.
+     * Draft never uses them because the `__modified` of draft
+     * is still changing, see `__computeHashCode`.
+     */
+    private fun TypeSpec.Builder.addHashCodeCaches() {
+        for (cacheName in arrayOf(HASH_CODE_CACHE, SHALLOW_HASH_CODE_CACHE)) {
+            addProperty(
+                PropertySpec
+                    .builder(cacheName, INT)
+                    .addModifiers(KModifier.PRIVATE)
+                    .addAnnotation(Transient::class)
+                    .initializer("0")
+                    .mutable()
+                    .build()
+            )
+        }
+    }
+
     private fun TypeSpec.Builder.addFields(prop: ImmutableProp) {
         prop.valueFieldName?.let {
             addProperty(
@@ -228,7 +251,11 @@ class ImplGenerator(
                 .builder("clone")
                 .addModifiers(KModifier.PUBLIC, KModifier.OVERRIDE)
                 .returns(type.draftClassName(PRODUCER, IMPL))
-                .addStatement("return super.clone() as %T", type.draftClassName(PRODUCER, IMPL))
+                .addComment("The cloned object will be changed by draft")
+                .beginControlFlow("return (super.clone() as %T).also", type.draftClassName(PRODUCER, IMPL))
+                .addStatement("it.%L = 0", HASH_CODE_CACHE)
+                .addStatement("it.%L = 0", SHALLOW_HASH_CODE_CACHE)
+                .endControlFlow()
                 .build()
         )
     }
@@ -384,6 +411,7 @@ class ImplGenerator(
     }
 
     private fun TypeSpec.Builder.addHashCodeFun(shallow: Boolean) {
+        val cacheName = if (shallow) SHALLOW_HASH_CODE_CACHE else HASH_CODE_CACHE
         addFunction(
             FunSpec
                 .builder(if (shallow) "__shallowHashCode" else "hashCode")
@@ -393,6 +421,22 @@ class ImplGenerator(
                     }
                 }
                 .returns(INT)
+                .addStatement("var hash = %L", cacheName)
+                .beginControlFlow("if (hash == 0)")
+                .addStatement("hash = %L()", if (shallow) "__computeShallowHashCode" else "__computeHashCode")
+                .addStatement("%L = hash", cacheName)
+                .endControlFlow()
+                .addStatement("return hash")
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addComputeHashCodeFun(shallow: Boolean) {
+        addFunction(
+            FunSpec
+                .builder(if (shallow) "__computeShallowHashCode" else "__computeHashCode")
+                .addModifiers(KModifier.INTERNAL)
+                .returns(INT)
                 .addCode(
                     CodeBlock
                         .builder()
@@ -457,10 +501,21 @@ class ImplGenerator(
                     CodeBlock
                         .builder()
                         .apply {
+                            val cacheName = if (shallow) SHALLOW_HASH_CODE_CACHE else HASH_CODE_CACHE
+                            beginControlFlow("if (this === other)")
+                            addStatement("return true")
+                            endControlFlow()
                             addStatement("val __other = other as? %T", type.draftClassName(PRODUCER, IMPLEMENTOR))
                             beginControlFlow("if (__other === null)")
                             addStatement("return false")
                             endControlFlow()
+                            beginControlFlow("if (__other is %T)", type.draftClassName(PRODUCER, IMPL))
+                            addStatement("val __hash = %L", cacheName)
+                            addStatement("val __otherHash = __other.%L", cacheName)
+                            beginControlFlow("if (__hash != 0 && __otherHash != 0 && __hash != __otherHash)")
+                            addStatement("return false")
+                            endControlFlow()
+                            endControlFlow()
                             for (prop in type.properties.values) {
                                 beginControlFlow(
                                     "if (__isVisible(%T.byIndex(%L)) != __other.__isVisible(%T.byIndex(%L)))",
@@ -537,4 +592,11 @@ class ImplGenerator(
                 .build()
         )
     }
-}
\ No newline at end of file
+
+    companion object {
+
+        private const val HASH_CODE_CACHE = "__hashCodeCache"
+
+        private const val SHALLOW_HASH_CODE_CACHE = "__shallowHashCodeCache"
+    }
+}
@@ -0,0 +1,68 @@
+package org.babyfish.jimmer.ksp.immutable.generator
+
+import com.squareup.kotlinpoet.*
+import org.babyfish.jimmer.jackson.ImmutableFieldDeserializer
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
+import org.babyfish.jimmer.ksp.util.generatedAnnotation
+
+/**
+ * Generate the field deserializer used by `ImmutableModule` of jackson,
+ * it is nested in the draft builder and generated only when the ksp option
+ * `jimmer.jackson.generateSerializer` is `true`
+ */
+class JacksonDeserializerGenerator(
+    private val type: ImmutableType,
+    private val parent: TypeSpec.Builder
+) {
+    fun generate() {
+        parent.addType(
+            TypeSpec
+                .classBuilder(ImmutableFieldDeserializer.GENERATED_CLASS_NAME)
+                .addAnnotation(generatedAnnotation(type))
+                .addSuperinterface(IMMUTABLE_FIELD_DESERIALIZER_CLASS_NAME)
+                .apply {
+                    addSetFun()
+                }
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addSetFun() {
+        addFunction(
+            FunSpec
+                .builder("set")
+                .addModifiers(KModifier.OVERRIDE)
+                .addAnnotation(
+                    AnnotationSpec
+                        .builder(Suppress::class)
+                        .addMember("%S", "UNCHECKED_CAST")
+                        .build()
+                )
+                .addParameter("builder", ANY)
+                .addParameter("propIndex", INT)
+                .addParameter("value", ANY.copy(nullable = true))
+                .returns(BOOLEAN)
+                .addStatement("val __builder = builder as %T", type.draftClassName("Builder"))
+                .beginControlFlow("when (propIndex)")
+                .apply {
+                    for (prop in type.propsOrderById) {
+                        if (prop.isKotlinFormula || prop.manyToManyViewBaseProp !== null) {
+                            // The builder has no setter for them
+                            continue
+                        }
+                        addStatement(
+                            "%T.%L -> __builder.%N(value as %T)",
+                            type.draftClassName("$"),
+                            prop.slotName,
+                            prop.name,
+                            prop.typeName().copy(nullable = true)
+                        )
+                    }
+                    addStatement("else -> return false")
+                }
+                .endControlFlow()
+                .addStatement("return true")
+                .build()
+        )
+    }
+}
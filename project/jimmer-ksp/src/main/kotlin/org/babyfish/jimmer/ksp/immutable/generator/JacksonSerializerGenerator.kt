@@ -0,0 +1,80 @@
+package org.babyfish.jimmer.ksp.immutable.generator
+
+import com.squareup.kotlinpoet.*
+import org.babyfish.jimmer.jackson.ImmutableFieldSerializer
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
+import org.babyfish.jimmer.ksp.util.generatedAnnotation
+
+/**
+ * Generate the field serializer used by `ImmutableModule` of jackson,
+ * it is generated only when the ksp option `jimmer.jackson.generateSerializer`
+ * is `true`
+ */
+class JacksonSerializerGenerator(
+    private val type: ImmutableType,
+    private val parent: TypeSpec.Builder
+) {
+    fun generate() {
+        parent.addType(
+            TypeSpec
+                .classBuilder(ImmutableFieldSerializer.GENERATED_CLASS_NAME)
+                .addAnnotation(generatedAnnotation(type))
+                .addSuperinterface(IMMUTABLE_FIELD_SERIALIZER_CLASS_NAME)
+                .apply {
+                    addIsAccessibleFun()
+                    addSerializeFun()
+                }
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addIsAccessibleFun() {
+        addFunction(
+            FunSpec
+                .builder("isAccessible")
+                .addModifiers(KModifier.OVERRIDE)
+                .addParameter("bean", ANY)
+                .returns(BOOLEAN)
+                .addStatement("return bean is %T", type.draftClassName(PRODUCER, IMPL))
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addSerializeFun() {
+        addFunction(
+            FunSpec
+                .builder("serialize")
+                .addModifiers(KModifier.OVERRIDE)
+                .addParameter("bean", ANY)
+                .addParameter("propIndex", INT)
+                .addParameter("writer", FIELD_WRITER_CLASS_NAME)
+                .addParameter("gen", JSON_GENERATOR_CLASS_NAME)
+                .addParameter("provider", SERIALIZER_PROVIDER_CLASS_NAME)
+                .addStatement("val __impl = bean as %T", type.draftClassName(PRODUCER, IMPL))
+                .beginControlFlow("when (propIndex)")
+                .apply {
+                    for (prop in type.propsOrderById) {
+                        // id view, many-to-many view and kotlin formula,
+                        // their values are not stored in fields
+                        val valueFieldName = prop.valueFieldName ?: continue
+                        val loadedFieldName = prop.loadedFieldName
+                        beginControlFlow(
+                            "%L -> if (%L && __impl.__visibility?.visible(%L) != false)",
+                            prop.slotName,
+                            if (loadedFieldName !== null) {
+                                "__impl.$loadedFieldName"
+                            } else {
+                                "__impl.$valueFieldName !== null"
+                            },
+                            prop.slotName
+                        )
+                        addStatement("writer.write(bean, __impl.%L, gen, provider)", valueFieldName)
+                        endControlFlow()
+                    }
+                    addStatement("else -> writer.writeDefault(bean, gen, provider)")
+                }
+                .endControlFlow()
+                .build()
+        )
+    }
+}
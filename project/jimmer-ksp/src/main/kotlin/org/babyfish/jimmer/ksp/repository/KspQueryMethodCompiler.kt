@@ -0,0 +1,244 @@
+package org.babyfish.jimmer.ksp.repository
+
+import com.google.devtools.ksp.getAllSuperTypes
+import com.google.devtools.ksp.symbol.*
+import com.squareup.kotlinpoet.ClassName
+import com.squareup.kotlinpoet.ksp.toClassName
+import org.babyfish.jimmer.dto.compiler.query.QueryMethodCompiler
+import org.babyfish.jimmer.dto.compiler.query.QueryMethodCompiler.ElementKind
+import org.babyfish.jimmer.dto.compiler.query.QueryMethodCompiler.ParameterKind
+import org.babyfish.jimmer.dto.compiler.query.QueryMethodCompiler.ReturnKind
+import org.babyfish.jimmer.ksp.Context
+import org.babyfish.jimmer.ksp.fullName
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableType
+
+/**
+ * The erased java types are parsed from the JVM method descriptor,
+ * because the runtime parser of spring-boot-starter validates the
+ * java view of the kotlin function too.
+ */
+internal class KspQueryMethodCompiler(
+    private val ctx: Context,
+    private val type: ImmutableType,
+    private val function: KSFunctionDeclaration,
+    private val memberFunction: KSFunction,
+    descriptor: String
+) : QueryMethodCompiler<ImmutableType, ImmutableProp>(
+    type,
+    function.simpleName.asString(),
+    function.parameters.size
+) {
+    /**
+     * The erased java parameter types and the erased
+     * java return type as the last element
+     */
+    val javaTypeNames: List<String> = javaTypeNames(descriptor)
+
+    private val parameterTypes: List<KSType?> = memberFunction.parameterTypes
+
+    private val returnType: KSType? = memberFunction.returnType
+
+    private val returnedElementType: KSType? =
+        returnType?.arguments?.firstOrNull()?.type?.resolve() ?: returnType
+
+    /**
+     * The view type when the returned element is a class implements `View<E>`
+     */
+    val viewClassName: ClassName?
+        get() = if (elementKind == ElementKind.VIEW) {
+            (returnedElementType!!.declaration as KSClassDeclaration).toClassName()
+        } else {
+            null
+        }
+
+    private val elementKind: ElementKind by lazy {
+        val declaration = returnedElementType?.declaration
+        when {
+            declaration is KSTypeParameter ->
+                if (declaration.parentDeclaration == function &&
+                    declaration.bounds.firstOrNull()?.resolve()?.let { isParameterizedByEntity(it, VIEW) } == true
+                ) {
+                    ElementKind.TYPE_VARIABLE
+                } else {
+                    ElementKind.OTHER
+                }
+            declaration !is KSClassDeclaration -> ElementKind.OTHER
+            declaration.fullName == type.qualifiedName -> ElementKind.ENTITY
+            declaration.getAllSuperTypes().any { isParameterizedByEntity(it, VIEW) } -> ElementKind.VIEW
+            else -> ElementKind.OTHER
+        }
+    }
+
+    override fun getProps(type: ImmutableType): Collection<ImmutableProp> =
+        type.properties.values
+
+    override fun getName(prop: ImmutableProp): String =
+        prop.name
+
+    override fun getTypeName(type: ImmutableType): String =
+        type.qualifiedName
+
+    override fun getTargetType(prop: ImmutableProp): ImmutableType? =
+        prop.targetType
+
+    override fun isScalar(prop: ImmutableProp): Boolean =
+        prop.targetType?.isEntity != true
+
+    override fun isScalarList(prop: ImmutableProp): Boolean =
+        prop.isScalarList
+
+    override fun isReferenceList(prop: ImmutableProp): Boolean =
+        prop.isReferenceList && prop.isAssociation(true) && !prop.isTransient && !prop.isRemote
+
+    override fun isBoolean(prop: ImmutableProp): Boolean =
+        prop.targetClassName.canonicalName == "kotlin.Boolean"
+
+    override fun getElementTypeName(prop: ImmutableProp, boxed: Boolean): String =
+        prop.targetClassName.canonicalName
+
+    override fun getParameterKind(index: Int): ParameterKind {
+        val parameterType = parameterTypes[index] ?: return ParameterKind.NORMAL
+        return when {
+            isSubtype(parameterType, PAGEABLE) -> ParameterKind.PAGEABLE
+            isSubtype(parameterType, SORT) -> ParameterKind.SORT
+            isSubtype(parameterType, SPECIFICATION) -> ParameterKind.SPECIFICATION
+            isSubtype(parameterType, FETCHER) -> ParameterKind.FETCHER
+            isSubtype(parameterType, "java.lang.Class") ||
+                isSubtype(parameterType, "kotlin.reflect.KClass") -> ParameterKind.VIEW_TYPE
+            else -> ParameterKind.NORMAL
+        }
+    }
+
+    override fun getParameterTypeName(index: Int): String =
+        javaTypeNames[index]
+
+    override fun isParameterMatched(index: Int, prop: ImmutableProp, collection: Boolean): Boolean {
+        val parameterType = parameterTypes[index] ?: return false
+        val propTypeName = prop.targetClassName.canonicalName
+        if (!collection) {
+            return realDeclaration(parameterType).fullName == propTypeName
+        }
+        val rawTypeName = realDeclaration(parameterType).fullName
+        if (rawTypeName != "kotlin.collections.Collection" && rawTypeName != "kotlin.collections.List") {
+            return false
+        }
+        return parameterType.arguments.singleOrNull()?.type?.resolve()?.let {
+            realDeclaration(it).fullName == propTypeName
+        } ?: false
+    }
+
+    override fun getReturnTypeName(): String =
+        javaTypeNames.last()
+
+    override fun getReturnKind(): ReturnKind =
+        when (javaTypeNames.last()) {
+            "void" -> ReturnKind.VOID
+            "boolean" -> ReturnKind.BOOLEAN
+            "int" -> ReturnKind.INT
+            "long" -> ReturnKind.LONG
+            PAGE, JIMMER_PAGE -> ReturnKind.PAGE
+            "java.util.List", "java.util.Collection", "java.lang.Iterable" -> ReturnKind.COLLECTION
+            "java.util.Optional" -> ReturnKind.OPTIONAL
+            else -> ReturnKind.OTHER
+        }
+
+    override fun isReturnTypeParameterized(): Boolean =
+        returnType?.arguments?.isNotEmpty() == true
+
+    override fun getReturnedElementKind(): ElementKind =
+        elementKind
+
+    override fun isReturnedElement(prop: ImmutableProp): Boolean =
+        returnedElementType?.let { realDeclaration(it).fullName } == prop.targetClassName.canonicalName
+
+    override fun getReturnedElementTypeVariableName(): String =
+        returnedElementType?.declaration?.simpleName?.asString() ?: ""
+
+    override fun isViewTypeParameterMatched(index: Int): Boolean =
+        parameterTypes[index]
+            ?.arguments
+            ?.singleOrNull()
+            ?.type
+            ?.resolve()
+            ?.declaration
+            ?.let { it is KSTypeParameter && it == returnedElementType?.declaration }
+            ?: false
+
+    override fun isSpecificationParameterValid(index: Int): Boolean =
+        parameterTypes[index]?.let { isParameterizedByEntity(it, SPECIFICATION) } ?: false
+
+    override fun isFetcherParameterValid(index: Int): Boolean =
+        parameterTypes[index]?.let { isParameterizedByEntity(it, FETCHER) } ?: false
+
+    private fun isParameterizedByEntity(type: KSType, qualifiedName: String): Boolean =
+        type.declaration.fullName == qualifiedName &&
+            type.arguments.singleOrNull()?.type?.resolve()?.declaration?.fullName == this.type.qualifiedName
+
+    private fun isSubtype(type: KSType, qualifiedName: String): Boolean {
+        val superType = ctx.resolver.getClassDeclarationByName(qualifiedName)?.asStarProjectedType()
+            ?: return false
+        val declaration = realDeclaration(type) as? KSClassDeclaration ?: return false
+        return superType.isAssignableFrom(declaration.asStarProjectedType())
+    }
+
+    companion object {
+
+        private const val PAGEABLE = "org.springframework.data.domain.Pageable"
+
+        private const val SORT = "org.springframework.data.domain.Sort"
+
+        private const val PAGE = "org.springframework.data.domain.Page"
+
+        private const val JIMMER_PAGE = "org.babyfish.jimmer.Page"
+
+        private const val SPECIFICATION = "org.babyfish.jimmer.Specification"
+
+        private const val FETCHER = "org.babyfish.jimmer.sql.fetcher.Fetcher"
+
+        private const val VIEW = "org.babyfish.jimmer.View"
+
+        private fun realDeclaration(type: KSType): KSDeclaration =
+            type.declaration.let {
+                if (it is KSTypeAlias) it.findActualType() else it
+            }
+
+        private fun javaTypeNames(descriptor: String): List<String> {
+            val names = mutableListOf<String>()
+            var index = 0
+            while (index < descriptor.length) {
+                val ch = descriptor[index]
+                if (ch == '(' || ch == ')') {
+                    index++
+                    continue
+                }
+                var dimensions = 0
+                while (descriptor[index] == '[') {
+                    dimensions++
+                    index++
+                }
+                val name = when (descriptor[index]) {
+                    'V' -> "void"
+                    'Z' -> "boolean"
+                    'C' -> "char"
+                    'B' -> "byte"
+                    'S' -> "short"
+                    'I' -> "int"
+                    'J' -> "long"
+                    'F' -> "float"
+                    'D' -> "double"
+                    'L' -> {
+                        val end = descriptor.indexOf(';', index)
+                        descriptor.substring(index + 1, end).replace('/', '.').also {
+                            index = end
+                        }
+                    }
+                    else -> throw IllegalArgumentException("Illegal JVM method descriptor \"$descriptor\"")
+                }
+                index++
+                names += name + "[]".repeat(dimensions)
+            }
+            return names
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package org.babyfish.jimmer.ksp.repository
+
+import com.google.devtools.ksp.KspExperimental
+import com.google.devtools.ksp.getAllSuperTypes
+import com.google.devtools.ksp.isAbstract
+import com.google.devtools.ksp.isInternal
+import com.google.devtools.ksp.processing.CodeGenerator
+import com.google.devtools.ksp.processing.Dependencies
+import com.google.devtools.ksp.symbol.*
+import com.squareup.kotlinpoet.*
+import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
+import com.squareup.kotlinpoet.ksp.toClassName
+import com.squareup.kotlinpoet.ksp.toTypeName
+import com.squareup.kotlinpoet.ksp.toTypeParameterResolver
+import com.squareup.kotlinpoet.ksp.toTypeVariableName
+import org.babyfish.jimmer.dto.compiler.query.*
+import org.babyfish.jimmer.ksp.Context
+import org.babyfish.jimmer.ksp.fullName
+import org.babyfish.jimmer.ksp.immutable.generator.GENERATED_QUERY_METHODS_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.K_REPOSITORY_IMPL_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.K_SQL_CLIENT_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.LIKE_MODE_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.ORDER_MODE_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.PROP_PREDICATE_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.QUERY_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.generator.QUERY_METHOD_CLASS_NAME
+import org.babyfish.jimmer.ksp.immutable.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.util.generatedAnnotation
+import org.babyfish.jimmer.ksp.util.suppressAllAnnotation
+import java.io.OutputStreamWriter
+
+class RepositoryGenerator(
+    private val codeGenerator: CodeGenerator,
+    private val ctx: Context,
+    private val declaration: KSClassDeclaration,
+    repositorySuperType: KSType
+) {
+    private val simpleName = declaration.simpleName.asString() + IMPL_SUFFIX
+
+    private val entityType = repositorySuperType.arguments[0].type!!.resolve()
+
+    private val idType = repositorySuperType.arguments[1].type!!.resolve()
+
+    /**
+     * KRepository and its super interfaces, their functions
+     * are implemented by `KRepositoryImpl`
+     */
+    private val excludedTypeNames: Set<String> =
+        (repositorySuperType.declaration as KSClassDeclaration).let { repositoryDeclaration ->
+            repositoryDeclaration
+                .getAllSuperTypes()
+                .mapNotNull { it.declaration.qualifiedName?.asString() }
+                .toSet() + repositoryDeclaration.fullName
+        }
+
+    fun generate(allFiles: List<KSFile>) {
+        val functions = queryFunctions() ?: return
+        val queryMethodBlocks = functions.map { queryMethodBlock(it) ?: return }
+        codeGenerator.createNewFile(
+            Dependencies(false, *allFiles.toTypedArray()),
+            declaration.packageName.asString(),
+            simpleName
+        ).use {
+            val fileSpec = FileSpec
+                .builder(
+                    declaration.packageName.asString(),
+                    simpleName
+                ).apply {
+                    indent("    ")
+                    addAnnotation(suppressAllAnnotation())
+                    addType(functions, queryMethodBlocks)
+                }.build()
+            val writer = OutputStreamWriter(it, Charsets.UTF_8)
+            fileSpec.writeTo(writer)
+            writer.flush()
+        }
+    }
+
+    /**
+     * The abstract functions which are not implemented by `KRepositoryImpl`,
+     * their names will be parsed as queries.
+     *
+     * @return The query functions, or null if the repository cannot be
+     * implemented at compile time so that it is left to runtime
+     */
+    private fun queryFunctions(): List<KSFunctionDeclaration>? {
+        for (prop in declaration.getAllProperties()) {
+            if (prop.isAbstract() && !isExcluded(prop)) {
+                return null
+            }
+        }
+        val functions = mutableListOf<KSFunctionDeclaration>()
+        for (function in declaration.getAllFunctions()) {
+            if (!function.isAbstract || isExcluded(function)) {
+                continue
+            }
+            if (Modifier.SUSPEND in function.modifiers) {
+                return null
+            }
+            functions += function
+        }
+        return functions
+    }
+
+    private fun isExcluded(declaration: KSDeclaration): Boolean =
+        declaration.parentDeclaration?.qualifiedName?.asString() in excludedTypeNames
+
+    private fun FileSpec.Builder.addType(
+        functions: List<KSFunctionDeclaration>,
+        queryMethodBlocks: List<CodeBlock>
+    ) {
+        addType(
+            TypeSpec.classBuilder(simpleName)
+                .apply {
+                    if (declaration.isInternal()) {
+                        addModifiers(KModifier.INTERNAL)
+                    }
+                    addAnnotation(generatedAnnotation(declaration.toClassName()))
+                    primaryConstructor(
+                        FunSpec
+                            .constructorBuilder()
+                            .addParameter("sql", K_SQL_CLIENT_CLASS_NAME)
+                            .build()
+                    )
+                    superclass(
+                        K_REPOSITORY_IMPL_CLASS_NAME.parameterizedBy(
+                            entityType.toTypeName(),
+                            idType.toTypeName()
+                        )
+                    )
+                    addSuperclassConstructorParameter("sql")
+                    addSuperclassConstructorParameter(
+                        "%T::class",
+                        (entityType.declaration as KSClassDeclaration).toClassName()
+                    )
+                    addSuperinterface(declaration.toClassName())
+                    functions.forEachIndexed { index, function ->
+                        addFunction(function, index)
+                    }
+                    if (functions.isNotEmpty()) {
+                        addCompanionObject(queryMethodBlocks)
+                    }
+                }
+                .build()
+        )
+    }
+
+    /**
+     * Parse the query function at compile time, so that the generated code
+     * creates the parsed query directly without parsing it at runtime.
+     *
+     * @return The code to create the query method, or null if the function cannot
+     * be parsed, in that case, the repository is implemented at runtime which
+     * reports the error when the repository is created
+     */
+    @OptIn(KspExperimental::class)
+    private fun queryMethodBlock(function: KSFunctionDeclaration): CodeBlock? {
+        val memberFunction = function.asMemberOf(declaration.asStarProjectedType())
+        val compiler = KspQueryMethodCompiler(
+            ctx,
+            ctx.typeOf(entityType.declaration as KSClassDeclaration),
+            function,
+            memberFunction,
+            ctx.resolver.mapToJvmSignature(function) ?: return null
+        )
+        val queryMethod = try {
+            compiler.compile()
+        } catch (ex: IllegalArgumentException) {
+            ctx.environment.logger.warn(
+                "The implementation of the repository \"${declaration.fullName}\" is not generated, " +
+                    "because of the illegal query function \"${function.simpleName.asString()}\": ${ex.message}",
+                function
+            )
+            return null
+        }
+        val javaTypeNames = compiler.javaTypeNames
+        val description = "${javaTypeNames.last()} ${declaration.fullName}.${function.simpleName.asString()}(" +
+            javaTypeNames.subList(0, javaTypeNames.size - 1).joinToString(",") +
+            ")"
+        return CodeBlock
+            .builder()
+            .add("%T(\n⇥", QUERY_METHOD_CLASS_NAME)
+            .add("%S,\n", description)
+            .add(returnClassBlock(memberFunction.returnType, javaTypeNames.last()))
+            .add(",\n")
+            .add(
+                "arrayOf<String>(%L),\n",
+                function.parameters.joinToString { "\"${it.name!!.asString()}\"" }
+            )
+            .add(
+                "booleanArrayOf(%L),\n",
+                function.parameters.joinToString { isDynamicParam(it).toString() }
+            )
+            .add(queryBlock(queryMethod.query))
+            .add(",\n")
+            .apply {
+                val viewClassName = compiler.viewClassName
+                if (queryMethod.query.action == Query.Action.FIND &&
+                    queryMethod.query.selectedPath === null &&
+                    viewClassName !== null
+                ) {
+                    add("%T::class.java,\n", viewClassName)
+                } else {
+                    add("null,\n")
+                }
+            }
+            .add("%L,\n", queryMethod.pageableParamIndex)
+            .add("%L,\n", queryMethod.sortParamIndex)
+            .add("%L,\n", queryMethod.specificationParamIndex)
+            .add("%L,\n", queryMethod.fetcherParamIndex)
+            .add("%L", queryMethod.viewTypeParamIndex)
+            .add("⇤\n)")
+            .build()
+    }
+
+    /**
+     * The erased java return type which is used by runtime to decide the result
+     */
+    private fun returnClassBlock(returnType: KSType?, javaTypeName: String): CodeBlock {
+        val declaration = returnType?.declaration
+        return when {
+            javaTypeName == "void" ->
+                CodeBlock.of("%T.TYPE", ClassName("java.lang", "Void"))
+            javaTypeName.endsWith("[]") && returnType !== null ->
+                CodeBlock.of("%T::class.java", returnType.toClassName())
+            declaration is KSClassDeclaration && javaTypeName.contains('.') ->
+                CodeBlock.of("%T::class.javaObjectType", declaration.toClassName())
+            declaration is KSClassDeclaration ->
+                CodeBlock.of("%T::class.javaPrimitiveType!!", declaration.toClassName())
+            else ->
+                CodeBlock.of("%T::class.java", ClassName.bestGuess(javaTypeName))
+        }
+    }
+
+    private fun queryBlock(query: Query<ImmutableProp>): CodeBlock =
+        CodeBlock
+            .builder()
+            .add("%T.query(\n⇥", GENERATED_QUERY_METHODS_CLASS_NAME)
+            .add("%T.Action.%L,\n", QUERY_CLASS_NAME, query.action.name)
+            .add("%L,\n", query.limit)
+            .add("%L,\n", query.isDistinct)
+            .apply {
+                val selectedPath = query.selectedPath
+                if (selectedPath !== null) {
+                    add(pathBlock(selectedPath)).add(",\n")
+                } else {
+                    add("null,\n")
+                }
+                val predicate = query.predicate
+                if (predicate !== null) {
+                    add(predicateBlock(predicate))
+                } else {
+                    add("null")
+                }
+                for (order in query.orders) {
+                    add(",\n%T.order(", GENERATED_QUERY_METHODS_CLASS_NAME)
+                    add(pathBlock(order.path))
+                    add(", %T.%L)", ORDER_MODE_CLASS_NAME, order.orderMode.name)
+                }
+            }
+            .add("⇤\n)")
+            .build()
+
+    private fun predicateBlock(predicate: Predicate<ImmutableProp>): CodeBlock {
+        if (predicate is PropPredicate<ImmutableProp>) {
+            return CodeBlock
+                .builder()
+                .add("%T.prop(", GENERATED_QUERY_METHODS_CLASS_NAME)
+                .add(pathBlock(predicate.path))
+                .add(
+                    ", %T.Op.%L, %L, %T.%L, %L, %L, %L, %L)",
+                    PROP_PREDICATE_CLASS_NAME,
+                    predicate.op.name,
+                    predicate.isInsensitive,
+                    LIKE_MODE_CLASS_NAME,
+                    predicate.likeMode.name,
+                    predicate.paramIndex,
+                    predicate.logicParamIndex,
+                    predicate.paramIndex2,
+                    predicate.logicParamIndex2
+                )
+                .build()
+        }
+        val (functionName, subPredicates) = when (predicate) {
+            is AndPredicate<ImmutableProp> -> "and" to predicate.predicates
+            is OrPredicate<ImmutableProp> -> "or" to predicate.predicates
+            else -> error("Internal bug, unexpected predicate: $predicate")
+        }
+        return CodeBlock
+            .builder()
+            .add("%T.%L(\n⇥", GENERATED_QUERY_METHODS_CLASS_NAME, functionName)
+            .apply {
+                subPredicates.forEachIndexed { index, subPredicate ->
+                    if (index != 0) {
+                        add(",\n")
+                    }
+                    add(predicateBlock(subPredicate))
+                }
+            }
+            .add("⇤\n)")
+            .build()
+    }
+
+    private fun pathBlock(path: Path<ImmutableProp>): CodeBlock =
+        CodeBlock
+            .builder()
+            .add(
+                "%T.path(%T::class.java",
+                GENERATED_QUERY_METHODS_CLASS_NAME,
+                (entityType.declaration as KSClassDeclaration).toClassName()
+            )
+            .apply {
+                for (propName in path.propNames) {
+                    add(", %S", propName)
+                }
+            }
+            .add(")")
+            .build()
+
+    private fun TypeSpec.Builder.addCompanionObject(queryMethodBlocks: List<CodeBlock>) {
+        addType(
+            TypeSpec
+                .companionObjectBuilder()
+                .addModifiers(KModifier.PRIVATE)
+                .addProperty(
+                    PropertySpec
+                        .builder("QUERY_METHODS", GENERATED_QUERY_METHODS_CLASS_NAME)
+                        .initializer(
+                            CodeBlock
+                                .builder()
+                                .add("%T(\n⇥", GENERATED_QUERY_METHODS_CLASS_NAME)
+                                .add("%T::class.java", (entityType.declaration as KSClassDeclaration).toClassName())
+                                .apply {
+                                    for (queryMethodBlock in queryMethodBlocks) {
+                                        add(",\n").add(queryMethodBlock)
+                                    }
+                                }
+                                .add("⇤\n)")
+                                .build()
+                        )
+                        .build()
+                )
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addFunction(function: KSFunctionDeclaration, index: Int) {
+        val typeParameterResolver = function.typeParameters.toTypeParameterResolver()
+        val memberFunction = function.asMemberOf(declaration.asStarProjectedType())
+        val returnType = memberFunction.returnType
+        addFunction(
+            FunSpec.builder(function.simpleName.asString())
+                .apply {
+                    addModifiers(KModifier.OVERRIDE)
+                    for (typeParameter in function.typeParameters) {
+                        addTypeVariable(typeParameter.toTypeVariableName(typeParameterResolver))
+                    }
+                    function.parameters.forEachIndexed { i, parameter ->
+                        addParameter(
+                            ParameterSpec
+                                .builder(
+                                    parameter.name!!.asString(),
+                                    memberFunction.parameterTypes[i]!!.toTypeName(typeParameterResolver)
+                                )
+                                .apply {
+                                    if (parameter.isVararg) {
+                                        addModifiers(KModifier.VARARG)
+                                    }
+                                }
+                                .build()
+                        )
+                    }
+                    val args = function.parameters.joinToString { it.name!!.asString() }
+                    if (returnType === null || returnType.declaration.qualifiedName?.asString() == "kotlin.Unit") {
+                        addStatement(
+                            "QUERY_METHODS.execute(this.sql.javaClient, %L, arrayOf<Any?>(%L))",
+                            index,
+                            args
+                        )
+                    } else {
+                        val returnTypeName = returnType.toTypeName(typeParameterResolver)
+                        returns(returnTypeName)
+                        addStatement(
+                            "return QUERY_METHODS.execute(this.sql.javaClient, %L, arrayOf<Any?>(%L)) as %T",
+                            index,
+                            args,
+                            returnTypeName
+                        )
+                    }
+                }
+                .build()
+        )
+    }
+
+    companion object {
+
+        private const val DYNAMIC_PARAM = "org.babyfish.jimmer.spring.repository.DynamicParam"
+
+        private fun isDynamicParam(parameter: KSValueParameter): Boolean =
+            parameter.annotations.any {
+                it.annotationType.resolve().declaration.fullName == DYNAMIC_PARAM
+            }
+
+        /**
+         * Must be same with `GeneratedQueryMethods.IMPL_SUFFIX` of spring boot starter
+         */
+        private const val IMPL_SUFFIX = "JimmerImpl"
+    }
+}
@@ -0,0 +1,72 @@
+package org.babyfish.jimmer.ksp.repository
+
+import com.google.devtools.ksp.getAllSuperTypes
+import com.google.devtools.ksp.symbol.ClassKind
+import com.google.devtools.ksp.symbol.KSClassDeclaration
+import com.google.devtools.ksp.symbol.KSType
+import org.babyfish.jimmer.ksp.Context
+import org.babyfish.jimmer.ksp.annotation
+import org.babyfish.jimmer.ksp.fullName
+
+/**
+ * Generate the implementations of spring data repositories
+ * so that the runtime does not need to generate them by ASM.
+ *
+ * Only top-level interfaces without generic parameters are handled,
+ * other repositories are still implemented at runtime.
+ */
+class RepositoryProcessor(
+    private val ctx: Context,
+    private val delayedTypeNames: Collection<String>?
+) {
+    fun process() {
+        ctx.resolver.getClassDeclarationByName(K_REPOSITORY) ?: return
+        val declarations = if (delayedTypeNames !== null) {
+            delayedTypeNames.mapNotNull { ctx.resolver.getClassDeclarationByName(it) }
+        } else {
+            ctx.resolver.getNewFiles().flatMap { file ->
+                file.declarations.filterIsInstance<KSClassDeclaration>()
+            }.toList()
+        }
+        val repositoryDeclarations = declarations.filter { isRepository(it) }
+        if (repositoryDeclarations.isEmpty()) {
+            return
+        }
+        val allFiles = ctx.resolver.getAllFiles().toList()
+        for (declaration in repositoryDeclarations) {
+            val superType = repositorySuperType(declaration) ?: continue
+            RepositoryGenerator(ctx.environment.codeGenerator, ctx, declaration, superType).generate(allFiles)
+        }
+    }
+
+    private fun isRepository(declaration: KSClassDeclaration): Boolean =
+        declaration.classKind == ClassKind.INTERFACE &&
+            declaration.parentDeclaration === null &&
+            declaration.typeParameters.isEmpty() &&
+            declaration.fullName != K_REPOSITORY &&
+            declaration.annotation(NO_REPOSITORY_BEAN) === null &&
+            ctx.include(declaration)
+
+    /**
+     * The super type `KRepository<E, ID>` whose type arguments are
+     * solidified, or null if it is not a repository or they are not
+     */
+    private fun repositorySuperType(declaration: KSClassDeclaration): KSType? {
+        val superType = declaration
+            .getAllSuperTypes()
+            .firstOrNull { it.declaration.qualifiedName?.asString() == K_REPOSITORY }
+            ?: return null
+        if (superType.arguments.size != 2 ||
+            superType.arguments.any { it.type?.resolve()?.declaration !is KSClassDeclaration }) {
+            return null
+        }
+        return superType
+    }
+
+    companion object {
+
+        internal const val K_REPOSITORY = "org.babyfish.jimmer.spring.repository.KRepository"
+
+        private const val NO_REPOSITORY_BEAN = "org.springframework.data.repository.NoRepositoryBean"
+    }
+}
@@ -17,6 +17,8 @@ dependencies {
     compileOnly(libs.spring.graphql)
     compileOnly(libs.jakartaee.api)
     compileOnly(libs.springdoc.openapi.common)
+    compileOnly(libs.micrometer.core)
+    compileOnly(libs.opentelemetry.api)
 
     annotationProcessor(libs.spring.boot.configurationProcessor)
     testAnnotationProcessor(projects.jimmerApt)
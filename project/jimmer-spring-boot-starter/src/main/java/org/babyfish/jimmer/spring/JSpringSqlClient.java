@@ -31,6 +31,7 @@ import org.babyfish.jimmer.sql.meta.DatabaseNamingStrategy;
 import org.babyfish.jimmer.sql.meta.DatabaseSchemaStrategy;
 import org.babyfish.jimmer.sql.meta.DefaultDatabaseSchemaStrategy;
 import org.babyfish.jimmer.sql.meta.MetaStringResolver;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
 import org.babyfish.jimmer.sql.runtime.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -102,6 +103,7 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         Dialect dialect = getOptionalBean(Dialect.class);
         DialectDetector dialectDetector = getOptionalBean(DialectDetector.class);
         Executor executor = getOptionalBean(Executor.class);
+        JimmerMetrics metrics = getOptionalBean(JimmerMetrics.class);
         SqlFormatter sqlFormatter = getOptionalBean(SqlFormatter.class);
         ObjectMapper objectMapper = getOptionalBean(ObjectMapper.class);
         CacheFactory cacheFactory = getOptionalBean(CacheFactory.class);
@@ -159,6 +161,10 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         }
 
         builder.setTriggerType(properties.getTriggerType());
+        builder.setAsyncBinLogTriggers(
+                properties.getBinLogTriggerParallelism(),
+                properties.getBinLogTriggerQueueCapacity()
+        );
         builder.setDefaultReferenceFetchType(properties.getDefaultReferenceFetchType());
         builder.setMaxJoinFetchDepth(properties.getMaxJoinFetchDepth());
         builder.setDefaultDissociateActionCheckable(properties.isDefaultDissociationActionCheckable());
@@ -169,7 +175,11 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         builder.setInListPaddingEnabled(properties.isInListPaddingEnabled());
         builder.setExpandedInListPaddingEnabled(properties.isExpandedInListPaddingEnabled());
         builder.setOffsetOptimizingThreshold(properties.getOffsetOptimizingThreshold());
+        builder.setInListToTableThreshold(properties.getInListToTableThreshold());
+        builder.setSqlTemplateCacheCapacity(properties.getSqlTemplateCacheCapacity());
+        builder.setStatementCacheSize(properties.getStatementCacheSize());
         builder.setReverseSortOptimizationEnabled(properties.isReverseSortOptimizationEnabled());
+        builder.setReaderCompilationEnabled(properties.isReaderCompilationEnabled());
         builder.setForeignKeyEnabledByDefault(properties.isForeignKeyEnabledByDefault());
         builder.setMaxCommandJoinCount(properties.getMaxCommandJoinCount());
         builder.setMutationTransactionRequired(properties.isMutationTransactionRequired());
@@ -183,6 +193,7 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         } else {
             builder.setExecutor(executor);
         }
+        builder.setMetrics(metrics);
         if (sqlFormatter != null) {
             builder.setSqlFormatter(sqlFormatter);
         } else if (properties.isPrettySql()) {
@@ -78,6 +78,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -91,6 +92,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -104,6 +106,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.multiViewLocalCacheMaximumSize)
                 .duration(args.multiViewLocalCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -113,9 +116,11 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V>forObject(type)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .refreshDuration(args.refreshAheadDuration)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -131,9 +136,11 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V>forProp(prop)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .refreshDuration(args.refreshAheadDuration)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -149,6 +156,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V>forProp(prop)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.multiVewDuration)
                 .randomPercent(args.randomDurationPercent)
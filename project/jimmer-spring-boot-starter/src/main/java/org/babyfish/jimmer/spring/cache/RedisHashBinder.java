@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,6 +29,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             @NotNull Duration duration,
             int randomPercent,
@@ -38,6 +40,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                 prop,
                 tracker,
                 objectMapper,
+                valueSerializerFactory,
                 keyPrefixProvider,
                 duration,
                 randomPercent
@@ -128,6 +131,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                     prop,
                     tracker,
                     objectMapper,
+                    valueSerializerFactory,
                     keyPrefixProvider,
                     duration,
                     randomPercent,
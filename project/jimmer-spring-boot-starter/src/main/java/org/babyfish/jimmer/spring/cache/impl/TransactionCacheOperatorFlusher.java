@@ -12,13 +12,27 @@ public class TransactionCacheOperatorFlusher {
 
     private final List<TransactionCacheOperator> operators;
 
+    private final int drainParallelism;
+
     private final ThreadLocal<Boolean> dirtyLocal = new ThreadLocal<>();
 
     public TransactionCacheOperatorFlusher(List<TransactionCacheOperator> operators) {
+        this(operators, 0);
+    }
+
+    /**
+     * @param drainParallelism The count of threads used by the scheduled draining,
+     *                         0 means the parallelism of each operator is used
+     */
+    public TransactionCacheOperatorFlusher(List<TransactionCacheOperator> operators, int drainParallelism) {
         if (operators.isEmpty()) {
             throw new IllegalArgumentException("`operators` cannot be empty");
         }
+        if (drainParallelism < 0) {
+            throw new IllegalArgumentException("`drainParallelism` cannot be negative");
+        }
         this.operators = operators;
+        this.drainParallelism = drainParallelism;
     }
 
     @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
@@ -30,7 +44,7 @@ public class TransactionCacheOperatorFlusher {
     public void afterCommit(DatabaseEvent e) {
         if (dirtyLocal.get() != null) {
             dirtyLocal.remove();
-            flush();
+            execute(false);
         }
     }
 
@@ -39,18 +53,17 @@ public class TransactionCacheOperatorFlusher {
             initialDelay = 0
     )
     public void retry() {
-        flush();
+        execute(true);
     }
 
-    private void flush() {
+    private void execute(boolean drain) {
         if (operators.size() == 1) {
-            TransactionCacheOperator operator = operators.get(0);
-            operator.flush();
+            execute(operators.get(0), drain);
         } else {
             Throwable throwable = null;
             for (TransactionCacheOperator operator : operators) {
                 try {
-                    operator.flush();
+                    execute(operator, drain);
                 } catch (RuntimeException | Error ex) {
                     if (throwable == null) {
                         throwable = ex;
@@ -65,4 +78,16 @@ public class TransactionCacheOperatorFlusher {
             }
         }
     }
+
+    private void execute(TransactionCacheOperator operator, boolean drain) {
+        if (drain) {
+            if (drainParallelism > 0) {
+                operator.drain(drainParallelism);
+            } else {
+                operator.drain();
+            }
+        } else {
+            operator.flush();
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package org.babyfish.jimmer.spring.cfg;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.metrics.Meter;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
+import org.babyfish.jimmer.sql.metrics.MicrometerMetrics;
+import org.babyfish.jimmer.sql.metrics.OpenTelemetryMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates {@link JimmerMetrics} when a micrometer {@link MeterRegistry}
+ * or an OpenTelemetry {@link Meter} is present, the sql client uses it automatically.
+ *
+ * <ul>
+ *     <li>{@code jimmer.metrics.enabled}: Set it to false to disable metrics, default true</li>
+ *     <li>{@code jimmer.metrics.sql-tagged}: Whether the SQL text is used as tag, default false</li>
+ * </ul>
+ */
+@AutoConfiguration(
+        before = JimmerAutoConfiguration.class,
+        afterName = {
+                "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+                "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+        }
+)
+@ConditionalOnProperty(
+        name = "jimmer.metrics.enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class JimmerMetricsAutoConfiguration {
+
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class MicrometerConfiguration {
+
+        @ConditionalOnMissingBean(JimmerMetrics.class)
+        @Bean
+        public JimmerMetrics jimmerMetrics(
+                MeterRegistry registry,
+                @Value("${jimmer.metrics.sql-tagged:false}") boolean sqlTagged
+        ) {
+            return new MicrometerMetrics(registry, sqlTagged);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(Meter.class)
+    @ConditionalOnBean(Meter.class)
+    @ConditionalOnMissingBean(MeterRegistry.class)
+    static class OpenTelemetryConfiguration {
+
+        @ConditionalOnMissingBean(JimmerMetrics.class)
+        @Bean
+        public JimmerMetrics jimmerMetrics(
+                Meter meter,
+                @Value("${jimmer.metrics.sql-tagged:false}") boolean sqlTagged
+        ) {
+            return new OpenTelemetryMetrics(meter, sqlTagged);
+        }
+    }
+}
@@ -43,6 +43,10 @@ public class JimmerProperties {
     @NotNull
     private final TriggerType triggerType;
 
+    private final int binLogTriggerParallelism;
+
+    private final int binLogTriggerQueueCapacity;
+
     private final boolean defaultDissociationActionCheckable;
 
     @NotNull
@@ -50,6 +54,8 @@ public class JimmerProperties {
 
     private final int transactionCacheOperatorFixedDelay;
 
+    private final int transactionCacheOperatorDrainParallelism;
+
     @NotNull
     private final EnumType.Strategy defaultEnumStrategy;
 
@@ -66,8 +72,16 @@ public class JimmerProperties {
 
     private final int offsetOptimizingThreshold;
 
+    private final int inListToTableThreshold;
+
+    private final int sqlTemplateCacheCapacity;
+
+    private final int statementCacheSize;
+
     private final boolean reverseSortOptimizationEnabled;
 
+    private final boolean readerCompilationEnabled;
+
     private final boolean isForeignKeyEnabledByDefault;
 
     private final int maxCommandJoinCount;
@@ -104,9 +118,12 @@ public class JimmerProperties {
             @Nullable DatabaseValidationMode databaseValidationMode,
             @Deprecated @Nullable DatabaseValidation databaseValidation,
             @Nullable TriggerType triggerType,
+            @Nullable Integer binLogTriggerParallelism,
+            @Nullable Integer binLogTriggerQueueCapacity,
             @Nullable Boolean defaultDissociationActionCheckable, // Default value is true, so use `Boolean`
             @Nullable IdOnlyTargetCheckingLevel idOnlyTargetCheckingLevel,
             @Nullable Integer transactionCacheOperatorFixedDelay,
+            @Nullable Integer transactionCacheOperatorDrainParallelism,
             @Nullable EnumType.Strategy defaultEnumStrategy,
             @Nullable String defaultSchema,
             @Nullable Integer defaultBatchSize,
@@ -114,7 +131,11 @@ public class JimmerProperties {
             boolean inListPaddingEnabled,
             boolean expandedInListPaddingEnabled,
             @Nullable Integer offsetOptimizingThreshold,
+            @Nullable Integer inListToTableThreshold,
+            @Nullable Integer sqlTemplateCacheCapacity,
+            @Nullable Integer statementCacheSize,
             boolean reverseSortOptimizationEnabled,
+            boolean readerCompilationEnabled,
             @Nullable Boolean isForeignKeyEnabledByDefault, // Default value is true, so use `Boolean`
             @Nullable Integer maxCommandJoinCount,
             boolean mutationTransactionRequired,
@@ -205,6 +226,14 @@ public class JimmerProperties {
             this.databaseValidationMode = DatabaseValidationMode.NONE;
         }
         this.triggerType = triggerType != null ? triggerType : TriggerType.BINLOG_ONLY;
+        this.binLogTriggerParallelism =
+                binLogTriggerParallelism != null ?
+                        binLogTriggerParallelism :
+                        0;
+        this.binLogTriggerQueueCapacity =
+                binLogTriggerQueueCapacity != null ?
+                        binLogTriggerQueueCapacity :
+                        1024;
         this.defaultDissociationActionCheckable =
                 defaultDissociationActionCheckable != null ?
                         defaultDissociationActionCheckable :
@@ -217,6 +246,15 @@ public class JimmerProperties {
                 transactionCacheOperatorFixedDelay != null ?
                         transactionCacheOperatorFixedDelay :
                         5000;
+        this.transactionCacheOperatorDrainParallelism =
+                transactionCacheOperatorDrainParallelism != null ?
+                        transactionCacheOperatorDrainParallelism :
+                        0;
+        if (this.transactionCacheOperatorDrainParallelism < 0) {
+            throw new IllegalArgumentException(
+                    "`jimmer.transaction-cache-operator-drain-parallelism` cannot be negative"
+            );
+        }
         this.defaultEnumStrategy =
                 defaultEnumStrategy != null ?
                         defaultEnumStrategy :
@@ -236,7 +274,20 @@ public class JimmerProperties {
                 offsetOptimizingThreshold != null ?
                         offsetOptimizingThreshold :
                         Integer.MAX_VALUE;
+        this.inListToTableThreshold =
+                inListToTableThreshold != null ?
+                        inListToTableThreshold :
+                        Integer.MAX_VALUE;
+        this.sqlTemplateCacheCapacity =
+                sqlTemplateCacheCapacity != null ?
+                        sqlTemplateCacheCapacity :
+                        0;
+        this.statementCacheSize =
+                statementCacheSize != null ?
+                        statementCacheSize :
+                        0;
         this.reverseSortOptimizationEnabled = reverseSortOptimizationEnabled;
+        this.readerCompilationEnabled = readerCompilationEnabled;
         this.isForeignKeyEnabledByDefault =
                 isForeignKeyEnabledByDefault != null ?
                     isForeignKeyEnabledByDefault :
@@ -264,7 +315,7 @@ public class JimmerProperties {
             this.errorTranslator = errorTranslator;
         }
         if (client == null) {
-            this.client = new Client(null, null, null);
+            this.client = new Client(null, null, null, false);
         } else {
             this.client = client;
         }
@@ -310,6 +361,34 @@ public class JimmerProperties {
         return triggerType;
     }
 
+    /**
+     * The count of threads dispatching the events of binlog triggers.
+     *
+     * @return 0 means the events are dispatched synchronously
+     */
+    public int getBinLogTriggerParallelism() {
+        return binLogTriggerParallelism;
+    }
+
+    /**
+     * The max count of pending binlog events of each dispatching thread,
+     * it is only used when {@link #getBinLogTriggerParallelism()} is greater than 0.
+     */
+    public int getBinLogTriggerQueueCapacity() {
+        return binLogTriggerQueueCapacity;
+    }
+
+    /**
+     * The count of threads used by the scheduled draining of
+     * {@link org.babyfish.jimmer.sql.cache.TransactionCacheOperator}.
+     *
+     * @return 0 means the parallelism specified by the constructor
+     * of the transaction cache operator is used
+     */
+    public int getTransactionCacheOperatorDrainParallelism() {
+        return transactionCacheOperatorDrainParallelism;
+    }
+
     public boolean isDefaultDissociationActionCheckable() {
         return defaultDissociationActionCheckable;
     }
@@ -372,10 +451,45 @@ public class JimmerProperties {
         return offsetOptimizingThreshold;
     }
 
+    /**
+     * When the size of an {@code in} list reaches this threshold,
+     * it is rendered as a derived table such as {@code unnest(?, ?)}
+     * instead of several {@code in} lists.
+     *
+     * @return {@link Integer#MAX_VALUE} means disabled
+     */
+    public int getInListToTableThreshold() {
+        return inListToTableThreshold;
+    }
+
+    /**
+     * The capacity of the rendered SQL template cache
+     * for simple single table root queries.
+     *
+     * @return 0 means the cache is disabled
+     */
+    public int getSqlTemplateCacheCapacity() {
+        return sqlTemplateCacheCapacity;
+    }
+
+    /**
+     * The max count of prepared statements cached by each JDBC connection
+     * until the connection is released.
+     *
+     * @return 0 means the cache is disabled
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
     public boolean isReverseSortOptimizationEnabled() {
         return reverseSortOptimizationEnabled;
     }
 
+    public boolean isReaderCompilationEnabled() {
+        return readerCompilationEnabled;
+    }
+
     /**
      * This configuration is only useful for {@link org.babyfish.jimmer.sql.JoinColumn}
      * of local associations (not remote associations across microservice boundaries)
@@ -466,15 +580,21 @@ public class JimmerProperties {
                 ", inlineSqlVariables=" + inlineSqlVariables +
                 ", databaseValidationMode=" + databaseValidationMode +
                 ", triggerType=" + triggerType +
+                ", binLogTriggerParallelism=" + binLogTriggerParallelism +
+                ", binLogTriggerQueueCapacity=" + binLogTriggerQueueCapacity +
                 ", defaultDissociationActionCheckable=" + defaultDissociationActionCheckable +
                 ", idOnlyTargetCheckingLevel=" + idOnlyTargetCheckingLevel +
                 ", transactionCacheOperatorFixedDelay=" + transactionCacheOperatorFixedDelay +
+                ", transactionCacheOperatorDrainParallelism=" + transactionCacheOperatorDrainParallelism +
                 ", defaultEnumStrategy=" + defaultEnumStrategy +
                 ", defaultBatchSize=" + defaultBatchSize +
                 ", defaultListBatchSize=" + defaultListBatchSize +
                 ", inListPaddingEnabled=" + inListPaddingEnabled +
                 ", expandedInListPaddingEnabled=" + expandedInListPaddingEnabled +
                 ", offsetOptimizingThreshold=" + offsetOptimizingThreshold +
+                ", inListToTableThreshold=" + inListToTableThreshold +
+                ", sqlTemplateCacheCapacity=" + sqlTemplateCacheCapacity +
+                ", statementCacheSize=" + statementCacheSize +
                 ", isForeignKeyEnabledByDefault=" + isForeignKeyEnabledByDefault +
                 ", maxCommandJoinCount=" + maxCommandJoinCount +
                 ", targetTransferable=" + targetTransferable +
@@ -576,12 +696,16 @@ public class JimmerProperties {
         @NotNull
         private final Openapi openapi;
 
+        private final boolean warmUp;
+
         public Client(
                 @Nullable String uriPrefix,
                 @Nullable TypeScript ts,
-                @Nullable Openapi openapi
+                @Nullable Openapi openapi,
+                boolean warmUp
         ) {
             this.uriPrefix = uriPrefix;
+            this.warmUp = warmUp;
             if (ts == null) {
                 this.ts = new TypeScript(null, "Api", 4, false, null, false);
             } else {
@@ -609,11 +733,21 @@ public class JimmerProperties {
             return openapi;
         }
 
+        /**
+         * Whether to generate the openapi document and typescript
+         * code of default groups in a background thread
+         * when the application is ready
+         */
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
         @Override
         public String toString() {
             return "Client{" +
                     "ts=" + ts +
                     ", openapi=" + openapi +
+                    ", warmUp=" + warmUp +
                     '}';
         }
 
@@ -17,14 +17,14 @@ import java.util.List;
 @Import({TransactionCacheOperatorFlusherConfig.class, MicroServiceExchangeConfig.class})
 public class SqlClientConfig {
 
-    @Bean(name = "sqlClient")
+    @Bean(name = "sqlClient", destroyMethod = "close")
     @ConditionalOnMissingBean({JSqlClient.class, KSqlClient.class})
     @ConditionalOnExpression("'java'.equalsIgnoreCase(environment.getProperty('jimmer.language')) || !environment.containsProperty('jimmer.language')")
     public JSqlClient javaSqlClient(ApplicationContext ctx) {
         return SqlClients.java(ctx);
     }
 
-    @Bean(name = "sqlClient")
+    @Bean(name = "sqlClient", destroyMethod = "close")
     @ConditionalOnMissingBean({JSqlClient.class, KSqlClient.class})
     @ConditionalOnExpression("'kotlin'.equalsIgnoreCase(environment.getProperty('jimmer.language'))")
     public KSqlClient kotlinSqlClient(ApplicationContext ctx) {
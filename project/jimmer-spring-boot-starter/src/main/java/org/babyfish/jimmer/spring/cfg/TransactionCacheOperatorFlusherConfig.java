@@ -16,8 +16,12 @@ public class TransactionCacheOperatorFlusherConfig {
 
     @Bean
     public TransactionCacheOperatorFlusher transactionCacheOperatorFlusher(
-            List<TransactionCacheOperator> transactionCacheOperators
+            List<TransactionCacheOperator> transactionCacheOperators,
+            JimmerProperties properties
     ) {
-        return new TransactionCacheOperatorFlusher(transactionCacheOperators);
+        return new TransactionCacheOperatorFlusher(
+                transactionCacheOperators,
+                properties.getTransactionCacheOperatorDrainParallelism()
+        );
     }
 }
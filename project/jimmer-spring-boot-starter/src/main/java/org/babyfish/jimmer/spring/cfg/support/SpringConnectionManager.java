@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.spring.cfg.support;
 
+import org.babyfish.jimmer.sql.runtime.StatementCache;
 import org.babyfish.jimmer.sql.transaction.Propagation;
 import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
 import org.jetbrains.annotations.NotNull;
@@ -49,11 +50,11 @@ public class SpringConnectionManager implements DataSourceAwareConnectionManager
 
     @Override
     public final <R> R execute(@Nullable Connection con, Function<Connection, R> block) {
-        if (con != null) return block.apply(con);
+        if (con != null) return StatementCache.execute(con, block);
 
         Connection newConnection = DataSourceUtils.getConnection(dataSource);
         try {
-            return block.apply(newConnection);
+            return StatementCache.execute(newConnection, block);
         } finally {
             DataSourceUtils.releaseConnection(newConnection, dataSource);
         }
@@ -0,0 +1,226 @@
+package org.babyfish.jimmer.spring.client;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The files generated by {@link OpenApiController} and {@link TypeScriptController}.
+ *
+ * <p>The metadata of the application never changes at runtime, so each file
+ * is generated only once for each `groups` parameter. The gzip version is
+ * generated together, and the strong ETag is used to support `If-None-Match`.</p>
+ */
+class ClientArtifactCache {
+
+    /**
+     * The `groups` is specified by the http request,
+     * the cache cannot grow unlimitedly
+     */
+    private static final int MAX_CACHED_GROUPS_COUNT = 64;
+
+    private static final Pattern COMMA_PATTERN = Pattern.compile("\\s*,\\s*");
+
+    private final String contentType;
+
+    private final Generator generator;
+
+    private final ConcurrentMap<String, CompletableFuture<Artifact>> futureMap =
+            new ConcurrentHashMap<>();
+
+    ClientArtifactCache(String contentType, Generator generator) {
+        this.contentType = contentType;
+        this.generator = generator;
+    }
+
+    /**
+     * Generate the artifact of default groups in a background thread
+     */
+    void warmUp() {
+        Thread thread = new Thread(() -> get(null), "jimmer-client-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    ResponseEntity<StreamingResponseBody> response(
+            @Nullable String groups,
+            @Nullable String ifNoneMatch,
+            @Nullable String acceptEncoding
+    ) {
+        Artifact artifact = get(groups);
+        boolean gzip = artifact.gzipBytes != null && acceptsGzip(acceptEncoding);
+        String eTag = gzip ? artifact.gzipETag : artifact.eTag;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl("no-cache");
+        headers.setVary(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING));
+        if (artifact.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        byte[] bytes = gzip ? artifact.gzipBytes : artifact.bytes;
+        headers.add(HttpHeaders.CONTENT_TYPE, contentType);
+        headers.setContentLength(bytes.length);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        StreamingResponseBody body = out -> out.write(bytes);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    Artifact get(@Nullable String groups) {
+        String key = normalizeGroups(groups);
+        CompletableFuture<Artifact> future = futureMap.get(key);
+        if (future == null) {
+            if (futureMap.size() >= MAX_CACHED_GROUPS_COUNT) {
+                return create(key);
+            }
+            CompletableFuture<Artifact> newFuture = new CompletableFuture<>();
+            future = futureMap.putIfAbsent(key, newFuture);
+            if (future == null) {
+                // Other threads requiring the same groups wait for this thread
+                try {
+                    newFuture.complete(create(key));
+                } catch (RuntimeException | Error ex) {
+                    futureMap.remove(key, newFuture);
+                    newFuture.completeExceptionally(ex);
+                    throw ex;
+                }
+                future = newFuture;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Artifact create(String groups) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try {
+            generator.generate(groups.isEmpty() ? null : groups, bout);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Artifact(bout.toByteArray());
+    }
+
+    /**
+     * "b, a,a" and "a,b" are same groups
+     */
+    private static String normalizeGroups(@Nullable String groups) {
+        if (groups == null || groups.isEmpty()) {
+            return "";
+        }
+        return String.join(",", new TreeSet<>(Arrays.asList(COMMA_PATTERN.split(groups.trim()))));
+    }
+
+    private static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : COMMA_PATTERN.split(acceptEncoding.trim())) {
+            String[] codingAndParams = part.split("\\s*;\\s*");
+            if (codingAndParams[0].equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < codingAndParams.length; i++) {
+                    if (codingAndParams[i].replace(" ", "").matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    interface Generator {
+
+        /**
+         * @param groups The groups, null means all groups
+         */
+        void generate(@Nullable String groups, OutputStream out) throws IOException;
+    }
+
+    static class Artifact {
+
+        final byte[] bytes;
+
+        final String eTag;
+
+        @Nullable
+        final byte[] gzipBytes;
+
+        final String gzipETag;
+
+        Artifact(byte[] bytes) {
+            this.bytes = bytes;
+            String hash = hash(bytes);
+            this.eTag = '"' + hash + '"';
+            this.gzipETag = '"' + hash + "-gzip\"";
+            byte[] gzipBytes = gzip(bytes);
+            this.gzipBytes = gzipBytes.length < bytes.length ? gzipBytes : null;
+        }
+
+        /**
+         * Weak comparison is used by `If-None-Match`,
+         * and both the plain and gzip versions are same content
+         */
+        boolean matches(@Nullable String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : COMMA_PATTERN.split(ifNoneMatch.trim())) {
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(eTag) || tag.equals(gzipETag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String hash(byte[] bytes) {
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new AssertionError("SHA-256 is always supported by JVM", ex);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(messageDigest.digest(bytes));
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream bout = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(bout)) {
+                out.write(bytes);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return bout.toByteArray();
+        }
+    }
+}
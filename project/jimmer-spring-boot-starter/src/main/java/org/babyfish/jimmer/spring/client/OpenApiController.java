@@ -3,10 +3,13 @@ package org.babyfish.jimmer.spring.client;
 import org.babyfish.jimmer.client.generator.openapi.OpenApiGenerator;
 import org.babyfish.jimmer.client.runtime.Metadata;
 import org.babyfish.jimmer.spring.cfg.JimmerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
@@ -19,32 +22,41 @@ public class OpenApiController {
 
     private final JimmerProperties properties;
 
+    private final ClientArtifactCache cache;
+
     public OpenApiController(JimmerProperties properties) {
         this.properties = properties;
+        this.cache = new ClientArtifactCache("application/yml", (groups, out) -> {
+            Metadata metadata = Metadatas.create(
+                    false,
+                    groups,
+                    properties.getClient().getUriPrefix()
+            );
+            OpenApiGenerator generator = new OpenApiGenerator(metadata, properties.getClient().getOpenapi().getProperties()) {
+                @Override
+                protected int errorHttpStatus() {
+                    return properties.getErrorTranslator().getHttpStatus();
+                }
+            };
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            generator.generate(writer);
+            writer.flush();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.getClient().isWarmUp()) {
+            cache.warmUp();
+        }
     }
 
     @GetMapping("${jimmer.client.openapi.path}")
     public ResponseEntity<StreamingResponseBody> download(
-            @RequestParam(name = "groups", required = false) String groups
+            @RequestParam(name = "groups", required = false) String groups,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        Metadata metadata = Metadatas.create(
-                false,
-                groups,
-                properties.getClient().getUriPrefix()
-        );
-        OpenApiGenerator generator = new OpenApiGenerator(metadata, properties.getClient().getOpenapi().getProperties()) {
-            @Override
-            protected int errorHttpStatus() {
-                return properties.getErrorTranslator().getHttpStatus();
-            }
-        };
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Type", "application/yml");
-        StreamingResponseBody body = out -> {
-            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-            generator.generate(writer);
-            writer.flush();
-        };
-        return ResponseEntity.ok().headers(headers).body(body);
+        return cache.response(groups, ifNoneMatch, acceptEncoding);
     }
 }
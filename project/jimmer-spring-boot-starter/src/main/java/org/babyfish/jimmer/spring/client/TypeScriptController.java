@@ -3,6 +3,8 @@ package org.babyfish.jimmer.spring.client;
 import org.babyfish.jimmer.client.generator.ts.TypeScriptContext;
 import org.babyfish.jimmer.client.runtime.Metadata;
 import org.babyfish.jimmer.spring.cfg.JimmerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -14,31 +16,42 @@ public class TypeScriptController {
 
     private final JimmerProperties properties;
 
+    private final ClientArtifactCache cache;
+
     public TypeScriptController(JimmerProperties properties) {
         this.properties = properties;
+        this.cache = new ClientArtifactCache("application/zip", (groups, out) -> {
+            JimmerProperties.Client.TypeScript ts = properties.getClient().getTs();
+            Metadata metadata = Metadatas.create(
+                    true,
+                    groups,
+                    properties.getClient().getUriPrefix()
+            );
+            TypeScriptContext ctx = new TypeScriptContext(
+                    metadata,
+                    ts.getIndent(),
+                    ts.isMutable(),
+                    ts.getApiName(),
+                    ts.getNullRenderMode(),
+                    ts.isEnumTsStyle()
+            );
+            ctx.renderAll(out);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (properties.getClient().isWarmUp()) {
+            cache.warmUp();
+        }
     }
 
     @GetMapping("${jimmer.client.ts.path}")
     public ResponseEntity<StreamingResponseBody> download(
-            @RequestParam(name = "groups", required = false) String groups
+            @RequestParam(name = "groups", required = false) String groups,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
-        JimmerProperties.Client.TypeScript ts = properties.getClient().getTs();
-        Metadata metadata = Metadatas.create(
-                true,
-                groups,
-                properties.getClient().getUriPrefix()
-        );
-        TypeScriptContext ctx = new TypeScriptContext(
-                metadata,
-                ts.getIndent(),
-                ts.isMutable(),
-                ts.getApiName(),
-                ts.getNullRenderMode(),
-                ts.isEnumTsStyle()
-        );
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Type", "application/zip");
-        StreamingResponseBody body = ctx::renderAll;
-        return ResponseEntity.ok().headers(headers).body(body);
+        return cache.response(groups, ifNoneMatch, acceptEncoding);
     }
 }
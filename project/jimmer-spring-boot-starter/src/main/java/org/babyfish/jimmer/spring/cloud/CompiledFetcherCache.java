@@ -0,0 +1,69 @@
+package org.babyfish.jimmer.spring.cloud;
+
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.compiler.FetcherCompiler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of the fetchers compiled by {@link FetcherCompiler},
+ * the key is the digest of fetcher text.
+ */
+class CompiledFetcherCache {
+
+    private final Map<String, Fetcher<?>> fetcherMap;
+
+    CompiledFetcherCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("`maxSize` must be positive number");
+        }
+        this.fetcherMap = new LinkedHashMap<String, Fetcher<?>>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Fetcher<?>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return The cached fetcher or null if the digest is unknown
+     * or has been evicted
+     */
+    @Nullable
+    Fetcher<?> get(String digest) {
+        synchronized (fetcherMap) {
+            return fetcherMap.get(digest);
+        }
+    }
+
+    /**
+     * Get the cached fetcher by the digest of text,
+     * or compile the text and cache the result
+     *
+     * @param digest The digest sent by client, or null
+     *               if the client does not send it.
+     */
+    Fetcher<?> get(@Nullable String digest, String fetcherText) {
+        String expectedDigest = MicroServiceRequestBody.digest(fetcherText);
+        if (digest != null && !digest.equals(expectedDigest)) {
+            throw new IllegalArgumentException(
+                    "The fetcher digest \"" +
+                            digest +
+                            "\" does not match the fetcher \"" +
+                            fetcherText +
+                            "\""
+            );
+        }
+        Fetcher<?> fetcher = get(expectedDigest);
+        if (fetcher == null) {
+            // Compile outside the lock, the duplicated compilation is harmless
+            fetcher = FetcherCompiler.compile(fetcherText);
+            synchronized (fetcherMap) {
+                fetcherMap.put(expectedDigest, fetcher);
+            }
+        }
+        return fetcher;
+    }
+}
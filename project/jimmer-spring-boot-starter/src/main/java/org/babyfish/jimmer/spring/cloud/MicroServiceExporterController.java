@@ -11,9 +11,10 @@ import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
-import org.babyfish.jimmer.sql.fetcher.compiler.FetcherCompiler;
 import org.babyfish.jimmer.sql.runtime.MicroServiceExporter;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
@@ -38,13 +39,22 @@ public class MicroServiceExporterController {
 
     public static final String FETCHER = "fetcher";
 
+    public static final int DEFAULT_FETCHER_CACHE_SIZE = 512;
+
     private final MicroServiceExporter exporter;
 
     private final ObjectMapper mapper;
 
+    private final CompiledFetcherCache fetcherCache;
+
     public MicroServiceExporterController(JSqlClient sqlClient, ObjectMapper mapper) {
+        this(sqlClient, mapper, DEFAULT_FETCHER_CACHE_SIZE);
+    }
+
+    public MicroServiceExporterController(JSqlClient sqlClient, ObjectMapper mapper, int fetcherCacheSize) {
         this.exporter = new MicroServiceExporter(sqlClient);
         this.mapper = mapper;
+        this.fetcherCache = new CompiledFetcherCache(fetcherCacheSize);
     }
 
     @GetMapping(value = BY_IDS, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -52,7 +62,7 @@ public class MicroServiceExporterController {
             @RequestParam(IDS) String idArrStr,
             @RequestParam(FETCHER) String fetcherStr
     ) throws IOException {
-        Fetcher<?> fetcher = FetcherCompiler.compile(fetcherStr);
+        Fetcher<?> fetcher = fetcherCache.get(null, fetcherStr);
         Class<?> idType = fetcher.getImmutableType().getIdProp().getElementClass();
         List<?> ids = mapper.readValue(
                 idArrStr,
@@ -73,7 +83,7 @@ public class MicroServiceExporterController {
             @RequestParam(TARGET_IDS) String targetIdArrStr,
             @RequestParam(FETCHER) String fetcherStr
     ) throws Exception {
-        Fetcher<?> fetcher = FetcherCompiler.compile(fetcherStr);
+        Fetcher<?> fetcher = fetcherCache.get(null, fetcherStr);
         ImmutableProp immutableProp = fetcher.getImmutableType().getProp(prop);
         Class<?> targetIdType = immutableProp.getTargetType().getIdProp().getElementClass();
         List<?> targetIds = mapper.readValue(
@@ -92,4 +102,90 @@ public class MicroServiceExporterController {
                 fetcher
         );
     }
+
+    /**
+     * The binary version of {@link #findByIds(String, String)} used by {@link SpringCloudExchange},
+     * the response status is {@link HttpStatus#PRECONDITION_FAILED} if only the fetcher digest
+     * is sent but it is unknown, so that the client must send the fetcher text again,
+     * and it is {@link HttpStatus#BAD_REQUEST} if the body is malformed.
+     */
+    @PostMapping(
+            value = BY_IDS,
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<List<ImmutableSpi>> findByIds(
+            @RequestBody byte[] body
+    ) {
+        MicroServiceRequestBody requestBody;
+        try {
+            requestBody = MicroServiceRequestBody.decode(body);
+        } catch (IOException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Fetcher<?> fetcher = fetcher(requestBody);
+        if (fetcher == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        List<?> ids;
+        try {
+            ids = requestBody.ids(
+                    fetcher.getImmutableType().getIdProp().getElementClass(),
+                    mapper
+            );
+        } catch (IOException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(exporter.findByIds(ids, fetcher));
+    }
+
+    /**
+     * The binary version of {@link #findByAssociatedIds(String, String, String)}
+     * used by {@link SpringCloudExchange}
+     */
+    @PostMapping(
+            value = BY_ASSOCIATED_IDS,
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<List<Tuple2<Object, ImmutableSpi>>> findByAssociatedIds(
+            @RequestParam(PROP) String prop,
+            @RequestBody byte[] body
+    ) {
+        MicroServiceRequestBody requestBody;
+        try {
+            requestBody = MicroServiceRequestBody.decode(body);
+        } catch (IOException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        Fetcher<?> fetcher = fetcher(requestBody);
+        if (fetcher == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        ImmutableProp immutableProp = fetcher.getImmutableType().getProp(prop);
+        List<?> targetIds;
+        try {
+            targetIds = requestBody.ids(
+                    immutableProp.getTargetType().getIdProp().getElementClass(),
+                    mapper
+            );
+        } catch (IOException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(
+                exporter.findByAssociatedIds(
+                        immutableProp,
+                        targetIds,
+                        fetcher
+                )
+        );
+    }
+
+    private Fetcher<?> fetcher(MicroServiceRequestBody requestBody) {
+        String fetcherText = requestBody.getFetcherText();
+        if (fetcherText != null) {
+            return fetcherCache.get(requestBody.getFetcherDigest(), fetcherText);
+        }
+        return fetcherCache.get(requestBody.getFetcherDigest());
+    }
 }
@@ -0,0 +1,279 @@
+package org.babyfish.jimmer.spring.cloud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.SimpleType;
+import org.babyfish.jimmer.impl.util.Classes;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Binary request body of the POST endpoints of {@link MicroServiceExporterController}
+ *
+ * <ul>
+ *     <li>The fetcher is addressed by its digest, its text is only
+ *     sent when the exporter does not know the digest</li>
+ *     <li>Integer, string and uuid ids are written as binary values,
+ *     other ids are written as json</li>
+ * </ul>
+ *
+ * <p>The body is sent by other micro services but it is still untrusted,
+ * every length read from it is validated against the remaining bytes before
+ * allocation, an {@link IOException} is thrown for malformed body.</p>
+ */
+final class MicroServiceRequestBody {
+
+    private static final byte IDS_JSON = 0;
+
+    private static final byte IDS_LONG = 1;
+
+    private static final byte IDS_STRING = 2;
+
+    private static final byte IDS_UUID = 3;
+
+    private final String fetcherDigest;
+
+    @Nullable
+    private final String fetcherText;
+
+    private final DataInputStream idsInput;
+
+    private MicroServiceRequestBody(
+            String fetcherDigest,
+            @Nullable String fetcherText,
+            DataInputStream idsInput
+    ) {
+        this.fetcherDigest = fetcherDigest;
+        this.fetcherText = fetcherText;
+        this.idsInput = idsInput;
+    }
+
+    public String getFetcherDigest() {
+        return fetcherDigest;
+    }
+
+    @Nullable
+    public String getFetcherText() {
+        return fetcherText;
+    }
+
+    public static String digest(String fetcherText) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new AssertionError("SHA-256 is always supported by JVM", ex);
+        }
+        byte[] bytes = messageDigest.digest(fetcherText.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static byte[] encode(
+            String fetcherDigest,
+            @Nullable String fetcherText,
+            Collection<?> ids,
+            ObjectMapper mapper
+    ) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(64 + ids.size() * 9);
+        DataOutputStream out = new DataOutputStream(bout);
+        out.writeUTF(fetcherDigest);
+        if (fetcherText != null) {
+            byte[] bytes = fetcherText.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else {
+            out.writeInt(-1);
+        }
+        byte kind = idsKind(ids);
+        out.writeByte(kind);
+        if (kind == IDS_JSON) {
+            byte[] bytes = mapper.writeValueAsBytes(ids);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else {
+            out.writeInt(ids.size());
+            for (Object id : ids) {
+                switch (kind) {
+                    case IDS_LONG:
+                        writeVarLong(out, ((Number) id).longValue());
+                        break;
+                    case IDS_STRING:
+                        out.writeUTF((String) id);
+                        break;
+                    default:
+                        out.writeLong(((UUID) id).getMostSignificantBits());
+                        out.writeLong(((UUID) id).getLeastSignificantBits());
+                        break;
+                }
+            }
+        }
+        out.flush();
+        return bout.toByteArray();
+    }
+
+    public static MicroServiceRequestBody decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        String fetcherDigest = in.readUTF();
+        int fetcherLength = in.readInt();
+        String fetcherText = null;
+        if (fetcherLength != -1) {
+            byte[] bytes = new byte[validLength(in, fetcherLength, 1, "fetcher text")];
+            in.readFully(bytes);
+            fetcherText = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new MicroServiceRequestBody(fetcherDigest, fetcherText, in);
+    }
+
+    /**
+     * Read the ids, it can only be called once because the
+     * type of ids is unknown before the fetcher is resolved
+     */
+    public List<?> ids(Class<?> idType, ObjectMapper mapper) throws IOException {
+        DataInputStream in = idsInput;
+        Class<?> boxedType = Classes.boxTypeOf(idType);
+        byte kind = in.readByte();
+        if (kind == IDS_JSON) {
+            byte[] bytes = new byte[validLength(in, in.readInt(), 1, "json ids")];
+            in.readFully(bytes);
+            return mapper.readValue(
+                    bytes,
+                    CollectionType.construct(
+                            List.class,
+                            null,
+                            null,
+                            null,
+                            SimpleType.constructUnsafe(boxedType)
+                    )
+            );
+        }
+        int minBytesPerId;
+        switch (kind) {
+            case IDS_LONG:
+                minBytesPerId = 1;
+                break;
+            case IDS_STRING:
+                // The length of `writeUTF`
+                minBytesPerId = 2;
+                break;
+            case IDS_UUID:
+                minBytesPerId = 16;
+                break;
+            default:
+                throw new IOException("Illegal kind of ids: " + kind);
+        }
+        int size = validLength(in, in.readInt(), minBytesPerId, "ids");
+        List<Object> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Object id;
+            switch (kind) {
+                case IDS_LONG:
+                    id = toIntegralType(readVarLong(in), boxedType);
+                    break;
+                case IDS_STRING:
+                    id = in.readUTF();
+                    break;
+                default:
+                    id = new UUID(in.readLong(), in.readLong());
+                    break;
+            }
+            ids.add(id);
+        }
+        if (!ids.isEmpty() && ids.get(0).getClass() != boxedType) {
+            return mapper.convertValue(
+                    ids,
+                    CollectionType.construct(
+                            List.class,
+                            null,
+                            null,
+                            null,
+                            SimpleType.constructUnsafe(boxedType)
+                    )
+            );
+        }
+        return ids;
+    }
+
+    /**
+     * @param minBytesPerElement The minimum bytes of each element,
+     *                           so that the length cannot exceed the remaining bytes
+     */
+    private static int validLength(
+            DataInputStream in,
+            int length,
+            int minBytesPerElement,
+            String name
+    ) throws IOException {
+        // The stream is based on byte array, so `available()` is exact
+        if (length < 0 || length > in.available() / minBytesPerElement) {
+            throw new IOException("Illegal length of " + name + ": " + length);
+        }
+        return length;
+    }
+
+    private static byte idsKind(Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return IDS_JSON;
+        }
+        Class<?> type = null;
+        for (Object id : ids) {
+            if (id == null) {
+                return IDS_JSON;
+            }
+            if (type == null) {
+                type = id.getClass();
+            } else if (type != id.getClass()) {
+                return IDS_JSON;
+            }
+        }
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+            return IDS_LONG;
+        }
+        if (type == String.class) {
+            return IDS_STRING;
+        }
+        if (type == UUID.class) {
+            return IDS_UUID;
+        }
+        return IDS_JSON;
+    }
+
+    private static Object toIntegralType(long value, Class<?> boxedType) {
+        if (boxedType == Integer.class) {
+            return (int) value;
+        }
+        if (boxedType == Short.class) {
+            return (short) value;
+        }
+        if (boxedType == Byte.class) {
+            return (byte) value;
+        }
+        return value;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        // Zigzag encoding, so that small negative numbers are short too
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new IOException("Malformed variable-length long");
+    }
+}
@@ -1,6 +1,5 @@
 package org.babyfish.jimmer.spring.cloud;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.babyfish.jimmer.impl.util.Classes;
@@ -9,17 +8,49 @@ import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.runtime.MicroServiceExchange;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Collection;
-import java.util.List;
+import java.io.IOException;
+import java.util.*;
 
+/**
+ * Exchange data with {@link MicroServiceExporterController} of other micro services.
+ *
+ * <p>The ids and fetcher are sent in binary request body, the fetcher is
+ * addressed by its digest once the remote micro service has compiled it,
+ * so that its text is not sent again and again. If the remote micro service
+ * is an older version without the POST endpoints, the GET endpoints are used.</p>
+ */
 public class SpringCloudExchange implements MicroServiceExchange {
 
+    private static final int MAX_KNOWN_FETCHER_COUNT = 512;
+
     private final RestTemplate restTemplate;
 
     private final ObjectMapper mapper;
 
+    /**
+     * The pairs of micro service name and fetcher digest which
+     * have been sent to the remote micro services, it is just a hint
+     * because the remote cache is bounded and there may be several
+     * instances of one micro service.
+     */
+    private final Set<String> knownFetcherKeys =
+            Collections.newSetFromMap(
+                    new LinkedHashMap<String, Boolean>(16, .75F, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                            return size() > MAX_KNOWN_FETCHER_COUNT;
+                        }
+                    }
+            );
+
     public SpringCloudExchange(RestTemplate restTemplate, ObjectMapper mapper) {
         this.restTemplate = restTemplate;
         this.mapper = mapper;
@@ -30,19 +61,14 @@ public class SpringCloudExchange implements MicroServiceExchange {
             String microServiceName,
             Collection<?> ids,
             Fetcher<?> fetcher
-    ) throws JsonProcessingException {
-        String json = restTemplate.getForObject(
-                "http://" +
-                        microServiceName +
-                        MicroServiceExporterController.BY_IDS +
-                        "?" +
-                        MicroServiceExporterController.IDS +
-                        "={ids}&" +
-                        MicroServiceExporterController.FETCHER +
-                        "={fetcher}",
-                String.class,
-                mapper.writeValueAsString(ids),
-                fetcher.toString()
+    ) throws IOException {
+        String json = exchange(
+                microServiceName,
+                MicroServiceExporterController.BY_IDS,
+                null,
+                MicroServiceExporterController.IDS,
+                ids,
+                fetcher
         );
         return mapper.readValue(
                 json,
@@ -59,22 +85,14 @@ public class SpringCloudExchange implements MicroServiceExchange {
             ImmutableProp prop,
             Collection<?> targetIds,
             Fetcher<?> fetcher
-    ) throws JsonProcessingException {
-        String json = restTemplate.getForObject(
-                "http://" +
-                        microServiceName +
-                        MicroServiceExporterController.BY_ASSOCIATED_IDS +
-                        "?" +
-                        MicroServiceExporterController.PROP +
-                        "={prop}&" +
-                        MicroServiceExporterController.TARGET_IDS +
-                        "={targetIds}&" +
-                        MicroServiceExporterController.FETCHER +
-                        "={fetcher}",
-                String.class,
+    ) throws IOException {
+        String json = exchange(
+                microServiceName,
+                MicroServiceExporterController.BY_ASSOCIATED_IDS,
                 prop.getName(),
-                mapper.writeValueAsString(targetIds),
-                fetcher.toString()
+                MicroServiceExporterController.TARGET_IDS,
+                targetIds,
+                fetcher
         );
         TypeFactory typeFactory = mapper.getTypeFactory();
         return mapper.readValue(
@@ -89,4 +107,98 @@ public class SpringCloudExchange implements MicroServiceExchange {
                 )
         );
     }
+
+    private String exchange(
+            String microServiceName,
+            String path,
+            @Nullable String prop,
+            String idsParameterName,
+            Collection<?> ids,
+            Fetcher<?> fetcher
+    ) throws IOException {
+        String url = "http://" + microServiceName + path;
+        Map<String, String> uriVariables = new HashMap<>();
+        String query = "";
+        if (prop != null) {
+            query = MicroServiceExporterController.PROP + "={prop}";
+            uriVariables.put("prop", prop);
+        }
+        try {
+            return post(
+                    microServiceName,
+                    query.isEmpty() ? url : url + '?' + query,
+                    uriVariables,
+                    ids,
+                    fetcher
+            );
+        } catch (HttpClientErrorException ex) {
+            int status = ex.getRawStatusCode();
+            if (status != HttpStatus.NOT_FOUND.value() && status != HttpStatus.METHOD_NOT_ALLOWED.value()) {
+                throw ex;
+            }
+            // The remote micro service is an older version
+            // without the POST endpoints, use the legacy GET endpoints
+        }
+        uriVariables.put("ids", mapper.writeValueAsString(ids));
+        uriVariables.put("fetcher", fetcher.toString());
+        return restTemplate.getForObject(
+                url +
+                        '?' +
+                        (query.isEmpty() ? "" : query + '&') +
+                        idsParameterName +
+                        "={ids}&" +
+                        MicroServiceExporterController.FETCHER +
+                        "={fetcher}",
+                String.class,
+                uriVariables
+        );
+    }
+
+    private String post(
+            String microServiceName,
+            String url,
+            Map<String, ?> uriVariables,
+            Collection<?> ids,
+            Fetcher<?> fetcher
+    ) throws IOException {
+        String fetcherText = fetcher.toString();
+        String fetcherDigest = MicroServiceRequestBody.digest(fetcherText);
+        String fetcherKey = microServiceName + ':' + fetcherDigest;
+        boolean known;
+        synchronized (knownFetcherKeys) {
+            known = knownFetcherKeys.contains(fetcherKey);
+        }
+        if (known) {
+            try {
+                return restTemplate.postForObject(
+                        url,
+                        entity(MicroServiceRequestBody.encode(fetcherDigest, null, ids, mapper)),
+                        String.class,
+                        uriVariables
+                );
+            } catch (HttpClientErrorException ex) {
+                if (ex.getRawStatusCode() != HttpStatus.PRECONDITION_FAILED.value()) {
+                    throw ex;
+                }
+                // The fetcher is unknown by the remote instance, send its text
+            }
+        }
+        String json = restTemplate.postForObject(
+                url,
+                entity(MicroServiceRequestBody.encode(fetcherDigest, fetcherText, ids, mapper)),
+                String.class,
+                uriVariables
+        );
+        synchronized (knownFetcherKeys) {
+            knownFetcherKeys.add(fetcherKey);
+        }
+        return json;
+    }
+
+    private static HttpEntity<byte[]> entity(byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        return new HttpEntity<>(body, headers);
+    }
 }
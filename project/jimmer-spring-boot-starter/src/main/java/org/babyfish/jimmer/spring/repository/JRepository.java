@@ -7,8 +7,10 @@ import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.Input;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.*;
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -104,6 +106,24 @@ public interface JRepository<E, ID> extends PagingAndSortingRepository<E, ID> {
     
     Page<E> findAll(Pageable pageable, Fetcher<E> fetcher);
 
+    /**
+     * Keyset pagination, the next slice is located by the sorting values
+     * of the last row of the previous slice rather than offset.
+     *
+     * <p>The sorted properties must be the non-null scalar properties of
+     * the entity and must contain the id property.</p>
+     *
+     * @param afterCursor The {@link KeysetSlice#getNextCursor()} of the previous slice,
+     *                    null means fetching the first slice
+     *
+     * @see org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#fetchSlice(String, int, java.sql.Connection)
+     */
+    default KeysetSlice<E> findSlice(@Nullable String afterCursor, int pageSize, Sort sort) {
+        return findSlice(afterCursor, pageSize, null, sort);
+    }
+
+    KeysetSlice<E> findSlice(@Nullable String afterCursor, int pageSize, Fetcher<E> fetcher, Sort sort);
+
     @Override
     default boolean existsById(@NotNull ID id) {
         return findNullable(id) != null;
@@ -17,6 +17,31 @@ public abstract class PropPredicate implements Predicate {
         return new PropPredicateParser(ctx, allowCollection, allIgnoreCase).parse(source, type);
     }
 
+    /**
+     * Create the resolved predicate which has been parsed at compile time
+     */
+    public static PropPredicate of(
+            Path path,
+            Op op,
+            boolean insensitive,
+            LikeMode likeMode,
+            int paramIndex,
+            int logicParamIndex,
+            int paramIndex2,
+            int logicParamIndex2
+    ) {
+        return new Resolved(
+                path,
+                op,
+                insensitive,
+                likeMode,
+                paramIndex,
+                logicParamIndex,
+                paramIndex2,
+                logicParamIndex2
+        );
+    }
+
     public PropPredicate(
             Path path,
             Op op,
@@ -10,6 +10,12 @@ public class QueryMethod {
 
     private final Method javaMethod;
 
+    private final String description;
+
+    private final Class<?> returnType;
+
+    private final String[] parameterNames;
+
     private final Query query;
 
     private final Class<?> viewType;
@@ -37,6 +43,9 @@ public class QueryMethod {
             int viewTypeParamIndex
     ) {
         this.javaMethod = javaMethod;
+        this.description = javaMethod.toString();
+        this.returnType = javaMethod.getReturnType();
+        this.parameterNames = null;
         this.query = query;
         this.viewType = viewType;
         this.pageableParamIndex = pageableParamIndex;
@@ -52,14 +61,54 @@ public class QueryMethod {
         this.dynamicFlags = arr;
     }
 
+    /**
+     * Used by the repository implementation generated at compile time,
+     * whose query method is parsed by the annotation processor or ksp
+     * so that the java method is not required.
+     */
+    public QueryMethod(
+            String description,
+            Class<?> returnType,
+            String[] parameterNames,
+            boolean[] dynamicFlags,
+            Query query,
+            Class<?> viewType,
+            int pageableParamIndex,
+            int sortParamIndex,
+            int specificationParamIndex,
+            int fetcherParamIndex,
+            int viewTypeParamIndex
+    ) {
+        this.javaMethod = null;
+        this.description = description;
+        this.returnType = returnType;
+        this.parameterNames = parameterNames;
+        this.query = query;
+        this.viewType = viewType;
+        this.pageableParamIndex = pageableParamIndex;
+        this.sortParamIndex = sortParamIndex;
+        this.specificationParamIndex = specificationParamIndex;
+        this.fetcherParamIndex = fetcherParamIndex;
+        this.viewTypeParamIndex = viewTypeParamIndex;
+        this.dynamicFlags = dynamicFlags;
+    }
+
     public static QueryMethod of(Context ctx, ImmutableType type, Method method) {
         return QueryMethodParser.parse(ctx, type, method);
     }
 
+    /**
+     * @return The java method, or null if this query method
+     * is parsed at compile time
+     */
     public Method getJavaMethod() {
         return javaMethod;
     }
 
+    public Class<?> getReturnType() {
+        return returnType;
+    }
+
     public Query getQuery() {
         return query;
     }
@@ -97,9 +146,9 @@ public class QueryMethod {
                 "The parameters[" +
                         index +
                         "](" +
-                        javaMethod.getParameters()[index].getName() +
+                        (parameterNames != null ? parameterNames[index] : javaMethod.getParameters()[index].getName()) +
                         ") of \"" +
-                        javaMethod +
+                        description +
                         "\" cannot be null. If you want to use dynamic queries, " +
                         "that is, ignore this parameter, please annotate this " +
                         "parameter with \"@" +
@@ -111,7 +160,7 @@ public class QueryMethod {
     @Override
     public String toString() {
         return "QueryMethod{" +
-                "javaMethod=" + javaMethod +
+                "javaMethod=" + description +
                 ", query=" + query +
                 ", viewType=" + viewType +
                 ", pageableParamIndex=" + pageableParamIndex +
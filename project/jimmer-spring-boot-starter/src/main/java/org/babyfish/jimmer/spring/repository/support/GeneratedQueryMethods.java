@@ -0,0 +1,226 @@
+package org.babyfish.jimmer.spring.repository.support;
+
+import kotlin.jvm.JvmClassMappingKt;
+import kotlin.reflect.KClass;
+import org.babyfish.jimmer.Specification;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.spring.repository.parser.*;
+import org.babyfish.jimmer.sql.ast.LikeMode;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Query methods of the repository implementation generated by
+ * the annotation processor(Java) or ksp(Kotlin) at compile time.
+ *
+ * <p>Unlike the implementation generated by ASM at runtime, the method
+ * names have been parsed and validated at compile time, the generated
+ * code creates the parsed queries by the static methods of this class
+ * so that neither reflection nor parsing is required at runtime.</p>
+ *
+ * <p>This class is used by generated code, please don't use it directly.</p>
+ */
+public final class GeneratedQueryMethods {
+
+    /**
+     * The suffix of the repository implementation generated at compile time,
+     * it must be same with the annotation processor and ksp.
+     */
+    public static final String IMPL_SUFFIX = "JimmerImpl";
+
+    private final ImmutableType immutableType;
+
+    private final Entry[] entries;
+
+    public GeneratedQueryMethods(Class<?> entityType, QueryMethod ... queryMethods) {
+        this.immutableType = ImmutableType.get(entityType);
+        Entry[] entries = new Entry[queryMethods.length];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = createEntry(queryMethods[i]);
+        }
+        this.entries = entries;
+    }
+
+    public List<QueryMethod> getQueryMethods() {
+        List<QueryMethod> queryMethods = new ArrayList<>(entries.length);
+        for (Entry entry : entries) {
+            queryMethods.add(entry.queryMethod);
+        }
+        return Collections.unmodifiableList(queryMethods);
+    }
+
+    public static String implementationClassName(Class<?> repositoryInterface) {
+        return repositoryInterface.getName() + IMPL_SUFFIX;
+    }
+
+    /**
+     * Execute the query method
+     *
+     * @param index The index of query method passed to the constructor
+     * @param args The arguments of the java method
+     */
+    public Object execute(JSqlClientImplementor sqlClient, int index, Object[] args) {
+        Entry entry = entries[index];
+        QueryMethod queryMethod = entry.queryMethod;
+        Object[] logicArgs = new Object[entry.logicParamIndices.length];
+        for (int i = 0; i < logicArgs.length; i++) {
+            logicArgs[i] = args[entry.logicParamIndices[i]];
+        }
+        Class<?> viewType;
+        if (queryMethod.getViewTypeParamIndex() != -1) {
+            Object arg = args[queryMethod.getViewTypeParamIndex()];
+            viewType = arg instanceof KClass<?> ?
+                    JvmClassMappingKt.getJavaClass((KClass<?>) arg) :
+                    (Class<?>) arg;
+        } else {
+            viewType = queryMethod.getViewType();
+        }
+        return QueryExecutors.execute(
+                sqlClient,
+                immutableType,
+                queryMethod,
+                (Pageable) arg(args, queryMethod.getPageableParamIndex()),
+                (Sort) arg(args, queryMethod.getSortParamIndex()),
+                (Specification<?>) arg(args, queryMethod.getSpecificationParamIndex()),
+                (Fetcher<?>) arg(args, queryMethod.getFetcherParamIndex()),
+                viewType,
+                logicArgs
+        );
+    }
+
+    public static Path path(Class<?> entityType, String ... propNames) {
+        ImmutableType type = ImmutableType.get(entityType);
+        List<ImmutableProp> props = new ArrayList<>(propNames.length);
+        for (String propName : propNames) {
+            ImmutableProp prop = type.getProps().get(propName);
+            if (prop == null) {
+                throw new IllegalStateException(
+                        "There is no property \"" +
+                                propName +
+                                "\" in \"" +
+                                type +
+                                "\", the generated repository implementation is out of date, " +
+                                "please recompile it"
+                );
+            }
+            props.add(prop);
+            type = prop.getTargetType();
+        }
+        return new Path(new Source(String.join(".", propNames)), Collections.unmodifiableList(props));
+    }
+
+    public static Predicate prop(
+            Path path,
+            PropPredicate.Op op,
+            boolean insensitive,
+            LikeMode likeMode,
+            int paramIndex,
+            int logicParamIndex,
+            int paramIndex2,
+            int logicParamIndex2
+    ) {
+        return PropPredicate.of(
+                path,
+                op,
+                insensitive,
+                likeMode,
+                paramIndex,
+                logicParamIndex,
+                paramIndex2,
+                logicParamIndex2
+        );
+    }
+
+    public static Predicate and(Predicate ... predicates) {
+        return AndPredicate.of(Collections.unmodifiableList(Arrays.asList(predicates)));
+    }
+
+    public static Predicate or(Predicate ... predicates) {
+        return OrPredicate.of(Collections.unmodifiableList(Arrays.asList(predicates)));
+    }
+
+    public static Query.Order order(Path path, OrderMode orderMode) {
+        return new Query.Order(path, orderMode);
+    }
+
+    public static Query query(
+            Query.Action action,
+            int limit,
+            boolean distinct,
+            Path selectedPath,
+            Predicate predicate,
+            Query.Order ... orders
+    ) {
+        return new Query(
+                action,
+                limit,
+                distinct,
+                selectedPath,
+                predicate,
+                Collections.unmodifiableList(Arrays.asList(orders))
+        );
+    }
+
+    private static Entry createEntry(QueryMethod queryMethod) {
+        List<PropPredicate> propPredicates = new ArrayList<>();
+        collectPropPredicates(queryMethod.getQuery().getPredicate(), propPredicates);
+        int count = 0;
+        for (PropPredicate p : propPredicates) {
+            if (p.getLogicParamIndex() != -1) {
+                count++;
+            }
+            if (p.getLogicParamIndex2() != -1) {
+                count++;
+            }
+        }
+        int[] logicParamIndices = new int[count];
+        for (PropPredicate p : propPredicates) {
+            if (p.getLogicParamIndex() != -1) {
+                logicParamIndices[p.getLogicParamIndex()] = p.getParamIndex();
+            }
+            if (p.getLogicParamIndex2() != -1) {
+                logicParamIndices[p.getLogicParamIndex2()] = p.getParamIndex2();
+            }
+        }
+        return new Entry(queryMethod, logicParamIndices);
+    }
+
+    private static void collectPropPredicates(Predicate predicate, List<PropPredicate> propPredicates) {
+        if (predicate instanceof PropPredicate) {
+            propPredicates.add((PropPredicate) predicate);
+        } else if (predicate instanceof AndPredicate) {
+            for (Predicate subPredicate : ((AndPredicate)predicate).getPredicates()) {
+                collectPropPredicates(subPredicate, propPredicates);
+            }
+        } else if (predicate instanceof OrPredicate) {
+            for (Predicate subPredicate : ((OrPredicate)predicate).getPredicates()) {
+                collectPropPredicates(subPredicate, propPredicates);
+            }
+        }
+    }
+
+    private static Object arg(Object[] args, int index) {
+        return index != -1 ? args[index] : null;
+    }
+
+    private static class Entry {
+
+        final QueryMethod queryMethod;
+
+        final int[] logicParamIndices;
+
+        Entry(QueryMethod queryMethod, int[] logicParamIndices) {
+            this.queryMethod = queryMethod;
+            this.logicParamIndices = logicParamIndices;
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice;
 import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
@@ -207,6 +208,11 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
                 .fetchPage(pageable.getPageNumber(), pageable.getPageSize(), SpringPageFactory.getInstance());
     }
 
+    @Override
+    public KeysetSlice<E> findSlice(@Nullable String afterCursor, int pageSize, Fetcher<E> fetcher, Sort sort) {
+        return this.<E>createQuery(fetcher, null, null, sort).fetchSlice(afterCursor, pageSize);
+    }
+
     @Override
     public long count() {
         return createQuery(null, null, null, null).fetchUnlimitedCount();
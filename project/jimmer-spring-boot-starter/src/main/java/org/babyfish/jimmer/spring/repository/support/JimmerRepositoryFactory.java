@@ -94,15 +94,17 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
             );
         }
 
-        Class<?> clazz = null;
-        try {
-            clazz = Class.forName(
+        // 1. Implementation generated by annotation processor or ksp at compile time
+        // 2. Implementation generated by ASM at runtime, it may have been defined
+        Class<?> clazz = loadClass(
+                GeneratedQueryMethods.implementationClassName(repositoryInterface),
+                repositoryInterface
+        );
+        if (clazz == null) {
+            clazz = loadClass(
                     ClassCodeWriter.implementationClassName(repositoryInterface),
-                    true,
-                    repositoryInterface.getClassLoader()
+                    repositoryInterface
             );
-        } catch (ClassNotFoundException ex) {
-            // Do nothing
         }
         if (clazz == null) {
             ClassCodeWriter writer = jRepository ?
@@ -127,6 +129,22 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
         }
     }
 
+    private static Class<?> loadClass(String className, Class<?> repositoryInterface) {
+        try {
+            return Class.forName(className, true, repositoryInterface.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            return null;
+        } catch (ExceptionInInitializerError ex) {
+            // The parsed query methods of the generated class are resolved by its static
+            // initializer, it fails if the entity has been changed after compilation
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+    }
+
     @NotNull
     @Override
     protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
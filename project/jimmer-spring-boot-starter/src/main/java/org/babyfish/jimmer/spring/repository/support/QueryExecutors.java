@@ -51,7 +51,7 @@ public class QueryExecutors {
             int rowCount = Mutations.createDelete(sqlClient, type, (d, table) -> {
                 d.where(astPredicate(table, queryData.getPredicate(), args, queryMethod));
             }).execute();
-            return queryMethod.getJavaMethod().getReturnType() == int.class ? rowCount : null;
+            return queryMethod.getReturnType() == int.class ? rowCount : null;
         } else {
             ConfigurableRootQuery<?, Object> query = Queries
                     .createQuery(sqlClient, type, ExecutionPurpose.QUERY, FilterLevel.DEFAULT, (q, table) -> {
@@ -96,7 +96,7 @@ public class QueryExecutors {
                         }
                         return q.select((Table<Object>)table);
                     });
-            Class<?> returnType = queryMethod.getJavaMethod().getReturnType();
+            Class<?> returnType = queryMethod.getReturnType();
             switch (queryData.getAction()) {
                 case FIND:
                     if (returnType == Page.class) {
@@ -26,4 +26,10 @@ class JTransactionalSqlClient extends AbstractJSqlClientDelegate implements Tran
     public EntityManager getEntityManager() {
         return EMPTY_ENTITY_MANAGER;
     }
+
+    /**
+     * The sql clients of transactions are not owned by this object
+     */
+    @Override
+    public void close() {}
 }
@@ -0,0 +1,73 @@
+package org.babyfish.jimmer.spring.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ClientArtifactCacheTest {
+
+    @Test
+    public void testGenerateOnce() {
+        List<String> generatedGroups = new ArrayList<>();
+        ClientArtifactCache cache = cache(generatedGroups);
+        ClientArtifactCache.Artifact artifact = cache.get(null);
+        Assertions.assertSame(artifact, cache.get(""));
+        Assertions.assertSame(cache.get("b, a"), cache.get("a,b,a"));
+        Assertions.assertNotSame(artifact, cache.get("a,b"));
+        Assertions.assertEquals("[null, a,b]", generatedGroups.toString());
+    }
+
+    @Test
+    public void testETag() {
+        ClientArtifactCache cache = cache(new ArrayList<>());
+        ResponseEntity<StreamingResponseBody> response = cache.response(null, null, null);
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        String eTag = response.getHeaders().getETag();
+        Assertions.assertNotNull(eTag);
+        Assertions.assertEquals(
+                HttpStatus.NOT_MODIFIED,
+                cache.response(null, eTag, null).getStatusCode()
+        );
+        Assertions.assertEquals(
+                HttpStatus.NOT_MODIFIED,
+                cache.response(null, "\"other\", W/" + eTag, null).getStatusCode()
+        );
+        Assertions.assertEquals(
+                HttpStatus.OK,
+                cache.response("a", eTag, null).getStatusCode()
+        );
+    }
+
+    @Test
+    public void testGzip() {
+        ClientArtifactCache cache = cache(new ArrayList<>());
+        ResponseEntity<StreamingResponseBody> response = cache.response(null, null, "deflate, gzip;q=1.0");
+        Assertions.assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertNotEquals(
+                cache.response(null, null, null).getHeaders().getETag(),
+                response.getHeaders().getETag()
+        );
+        Assertions.assertNull(
+                cache.response(null, null, "gzip;q=0").getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)
+        );
+    }
+
+    private static ClientArtifactCache cache(List<String> generatedGroups) {
+        return new ClientArtifactCache("application/yml", (groups, out) -> {
+            generatedGroups.add(groups);
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                builder.append("groups: ").append(groups).append('\n');
+            }
+            out.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+}
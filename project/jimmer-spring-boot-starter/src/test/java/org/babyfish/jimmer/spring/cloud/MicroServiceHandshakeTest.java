@@ -0,0 +1,173 @@
+package org.babyfish.jimmer.spring.cloud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.jackson.ImmutableModule;
+import org.babyfish.jimmer.spring.java.model.BookFetcher;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.RequestMatcher;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+public class MicroServiceHandshakeTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new ImmutableModule());
+
+    private static final String BY_IDS_URL = "http://book-service" + MicroServiceExporterController.BY_IDS;
+
+    private static final Fetcher<?> FETCHER = BookFetcher.$.name();
+
+    @Test
+    public void testUnknownDigest() {
+        MicroServiceExporterController controller = new MicroServiceExporterController(
+                JSqlClient.newBuilder().build(),
+                MAPPER
+        );
+        byte[] body = encode(false);
+        Assertions.assertEquals(
+                HttpStatus.PRECONDITION_FAILED,
+                controller.findByIds(body).getStatusCode()
+        );
+        Assertions.assertEquals(
+                HttpStatus.PRECONDITION_FAILED,
+                controller.findByAssociatedIds("store", body).getStatusCode()
+        );
+    }
+
+    @Test
+    public void testMalformedBody() {
+        MicroServiceExporterController controller = new MicroServiceExporterController(
+                JSqlClient.newBuilder().build(),
+                MAPPER
+        );
+        byte[] body = encode(true);
+        // Overwrite the length of fetcher text, which follows the digest
+        int lengthOffset = 2 + MicroServiceRequestBody.digest(FETCHER.toString()).length();
+        ByteBuffer.wrap(body).putInt(lengthOffset, Integer.MAX_VALUE);
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST,
+                controller.findByIds(body).getStatusCode()
+        );
+        Assertions.assertEquals(
+                HttpStatus.BAD_REQUEST,
+                controller.findByIds(new byte[] { 0, 1 }).getStatusCode()
+        );
+    }
+
+    @Test
+    public void testHandshake() throws IOException {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        SpringCloudExchange exchange = new SpringCloudExchange(restTemplate, MAPPER);
+
+        // Nothing is known at first, so the fetcher text is sent
+        server.expect(requestTo(BY_IDS_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(fetcherTextSent(true))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        // The digest is known now, the fetcher text is not sent
+        server.expect(requestTo(BY_IDS_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(fetcherTextSent(false))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        // The remote instance has evicted the digest, it answers 412,
+        // so the fetcher text is sent again
+        server.expect(requestTo(BY_IDS_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(fetcherTextSent(false))
+                .andRespond(withStatus(HttpStatus.PRECONDITION_FAILED));
+        server.expect(requestTo(BY_IDS_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(fetcherTextSent(true))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(
+                    Collections.emptyList(),
+                    exchange.findByIds("book-service", Collections.singletonList(UUID.randomUUID()), FETCHER)
+            );
+        }
+        server.verify();
+    }
+
+    @Test
+    public void testLegacyGetEndpoint() throws IOException {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        SpringCloudExchange exchange = new SpringCloudExchange(restTemplate, MAPPER);
+
+        server.expect(requestTo(BY_IDS_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.METHOD_NOT_ALLOWED));
+        server.expect(requestTo(startsWith(BY_IDS_URL + '?' + MicroServiceExporterController.IDS + '=')))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(decodedQueryParam(MicroServiceExporterController.IDS, "[1,2]"))
+                .andExpect(decodedQueryParam(MicroServiceExporterController.FETCHER, FETCHER.toString()))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        Assertions.assertEquals(
+                Collections.emptyList(),
+                exchange.findByIds("book-service", Arrays.asList(1L, 2L), FETCHER)
+        );
+        server.verify();
+    }
+
+    private static byte[] encode(boolean withFetcherText) {
+        String fetcherText = FETCHER.toString();
+        try {
+            return MicroServiceRequestBody.encode(
+                    MicroServiceRequestBody.digest(fetcherText),
+                    withFetcherText ? fetcherText : null,
+                    Collections.singletonList(UUID.randomUUID()),
+                    MAPPER
+            );
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static RequestMatcher decodedQueryParam(String name, String value) {
+        return request -> {
+            String encodedValue = UriComponentsBuilder
+                    .fromUri(request.getURI())
+                    .build(true)
+                    .getQueryParams()
+                    .getFirst(name);
+            Assertions.assertNotNull(encodedValue, name);
+            Assertions.assertEquals(value, UriUtils.decode(encodedValue, StandardCharsets.UTF_8));
+        };
+    }
+
+    private static RequestMatcher fetcherTextSent(boolean sent) {
+        return request -> {
+            MicroServiceRequestBody body = MicroServiceRequestBody.decode(
+                    ((MockClientHttpRequest) request).getBodyAsBytes()
+            );
+            Assertions.assertEquals(MicroServiceRequestBody.digest(FETCHER.toString()), body.getFetcherDigest());
+            if (sent) {
+                Assertions.assertEquals(FETCHER.toString(), body.getFetcherText());
+            } else {
+                Assertions.assertNull(body.getFetcherText());
+            }
+        };
+    }
+}
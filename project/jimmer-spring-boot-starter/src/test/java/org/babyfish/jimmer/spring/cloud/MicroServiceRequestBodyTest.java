@@ -0,0 +1,114 @@
+package org.babyfish.jimmer.spring.cloud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class MicroServiceRequestBodyTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testLongIds() throws IOException {
+        MicroServiceRequestBody body = roundTrip(
+                "digest",
+                "org.babyfish.jimmer.spring.java.model.Book { name }",
+                Arrays.asList(1L, -2L, 300000000000L)
+        );
+        Assertions.assertEquals("digest", body.getFetcherDigest());
+        Assertions.assertEquals(
+                "org.babyfish.jimmer.spring.java.model.Book { name }",
+                body.getFetcherText()
+        );
+        Assertions.assertEquals(
+                Arrays.asList(1L, -2L, 300000000000L),
+                body.ids(long.class, MAPPER)
+        );
+    }
+
+    @Test
+    public void testIntIds() throws IOException {
+        MicroServiceRequestBody body = roundTrip("digest", null, Arrays.asList(1, 2, 3));
+        Assertions.assertNull(body.getFetcherText());
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), body.ids(int.class, MAPPER));
+    }
+
+    @Test
+    public void testStringAndUuidIds() throws IOException {
+        Assertions.assertEquals(
+                Arrays.asList("a", "b"),
+                roundTrip("digest", null, Arrays.asList("a", "b")).ids(String.class, MAPPER)
+        );
+        List<UUID> uuids = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
+        Assertions.assertEquals(
+                uuids,
+                roundTrip("digest", null, uuids).ids(UUID.class, MAPPER)
+        );
+    }
+
+    @Test
+    public void testJsonIds() throws IOException {
+        Assertions.assertEquals(
+                Collections.singletonList(new BigDecimal("1.5")),
+                roundTrip("digest", null, Collections.singletonList(new BigDecimal("1.5")))
+                        .ids(BigDecimal.class, MAPPER)
+        );
+        Assertions.assertEquals(
+                Collections.emptyList(),
+                roundTrip("digest", null, Collections.emptyList()).ids(long.class, MAPPER)
+        );
+    }
+
+    @Test
+    public void testIllegalLengths() throws IOException {
+        byte[] bytes = MicroServiceRequestBody.encode("digest", null, Arrays.asList(1L, 2L), MAPPER);
+        // digest: 2 + 6 bytes, fetcher length: 4 bytes, kind: 1 byte, then the size of ids
+        ByteBuffer.wrap(bytes).putInt(13, Integer.MAX_VALUE);
+        MicroServiceRequestBody body = MicroServiceRequestBody.decode(bytes);
+        Assertions.assertThrows(IOException.class, () -> body.ids(long.class, MAPPER));
+
+        byte[] jsonBytes = MicroServiceRequestBody.encode(
+                "digest",
+                null,
+                Collections.singletonList(new BigDecimal("1.5")),
+                MAPPER
+        );
+        ByteBuffer.wrap(jsonBytes).putInt(13, -2);
+        MicroServiceRequestBody jsonBody = MicroServiceRequestBody.decode(jsonBytes);
+        Assertions.assertThrows(IOException.class, () -> jsonBody.ids(BigDecimal.class, MAPPER));
+
+        byte[] fetcherBytes = MicroServiceRequestBody.encode("digest", "Book { name }", Collections.emptyList(), MAPPER);
+        ByteBuffer.wrap(fetcherBytes).putInt(8, Integer.MAX_VALUE);
+        Assertions.assertThrows(IOException.class, () -> MicroServiceRequestBody.decode(fetcherBytes));
+    }
+
+    @Test
+    public void testDigest() {
+        Assertions.assertEquals(
+                MicroServiceRequestBody.digest("Book { name }"),
+                MicroServiceRequestBody.digest("Book { name }")
+        );
+        Assertions.assertNotEquals(
+                MicroServiceRequestBody.digest("Book { name }"),
+                MicroServiceRequestBody.digest("Book { name price }")
+        );
+    }
+
+    private static MicroServiceRequestBody roundTrip(
+            String digest,
+            String fetcherText,
+            List<?> ids
+    ) throws IOException {
+        return MicroServiceRequestBody.decode(
+                MicroServiceRequestBody.encode(digest, fetcherText, ids, MAPPER)
+        );
+    }
+}
@@ -0,0 +1,106 @@
+package org.babyfish.jimmer.spring.repository;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.spring.java.dal.BookRepository;
+import org.babyfish.jimmer.spring.java.model.Book;
+import org.babyfish.jimmer.spring.kotlin.TreeNodeRepository;
+import org.babyfish.jimmer.spring.repository.parser.Context;
+import org.babyfish.jimmer.spring.repository.parser.QueryMethod;
+import org.babyfish.jimmer.spring.repository.support.GeneratedQueryMethods;
+import org.babyfish.jimmer.spring.repository.support.JimmerRepositoryFactory;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.kt.KSqlClientKt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class GeneratedRepositoryTest {
+
+    @Test
+    public void testJavaRepository() {
+        JimmerRepositoryFactory factory = new JimmerRepositoryFactory(JSqlClient.newBuilder().build());
+        BookRepository repository = factory.getRepository(BookRepository.class);
+        Object target = AopProxyUtils.getSingletonTarget(repository);
+        Assertions.assertNotNull(target);
+        Assertions.assertEquals(
+                GeneratedQueryMethods.implementationClassName(BookRepository.class),
+                target.getClass().getName()
+        );
+    }
+
+    @Test
+    public void testKotlinRepository() {
+        JimmerRepositoryFactory factory = new JimmerRepositoryFactory(
+                KSqlClientKt.toKSqlClient(JSqlClient.newBuilder().build())
+        );
+        TreeNodeRepository repository = factory.getRepository(TreeNodeRepository.class);
+        Object target = AopProxyUtils.getSingletonTarget(repository);
+        Assertions.assertNotNull(target);
+        Assertions.assertEquals(
+                GeneratedQueryMethods.implementationClassName(TreeNodeRepository.class),
+                target.getClass().getName()
+        );
+    }
+
+    @Test
+    public void testIllegalQueryMethod() {
+        // The implementation is not generated because the method name cannot be parsed at compile time
+        Assertions.assertThrows(
+                ClassNotFoundException.class,
+                () -> Class.forName(
+                        GeneratedQueryMethods.implementationClassName(IllegalBookRepository.class),
+                        false,
+                        IllegalBookRepository.class.getClassLoader()
+                )
+        );
+        // The repository is implemented at runtime which reports the error
+        JimmerRepositoryFactory factory = new JimmerRepositoryFactory(JSqlClient.newBuilder().build());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> factory.getRepository(IllegalBookRepository.class)
+        );
+    }
+
+    @Test
+    public void testGeneratedQueryMethodsMatchRuntimeParser() throws Exception {
+        Class<?> implClass = Class.forName(GeneratedQueryMethods.implementationClassName(BookRepository.class));
+        Field field = implClass.getDeclaredField("QUERY_METHODS");
+        field.setAccessible(true);
+        Map<String, QueryMethod> generatedMap = new HashMap<>();
+        for (QueryMethod queryMethod : ((GeneratedQueryMethods) field.get(null)).getQueryMethods()) {
+            generatedMap.put(queryMethod.toString().split(", query=")[0], queryMethod);
+        }
+        int count = 0;
+        for (Method method : BookRepository.class.getDeclaredMethods()) {
+            if (method.isDefault() || method.isSynthetic()) {
+                continue;
+            }
+            QueryMethod parsed = QueryMethod.of(new Context(), ImmutableType.get(Book.class), method);
+            String description = "QueryMethod{javaMethod=" +
+                    method.getReturnType().getTypeName() +
+                    ' ' +
+                    BookRepository.class.getName() +
+                    '.' +
+                    method.getName() +
+                    Arrays.stream(method.getParameterTypes())
+                            .map(Class::getTypeName)
+                            .collect(Collectors.joining(",", "(", ")"));
+            QueryMethod generated = generatedMap.get(description);
+            Assertions.assertNotNull(generated, description);
+            Assertions.assertEquals(
+                    parsed.toString().split(", query=")[1],
+                    generated.toString().split(", query=")[1]
+            );
+            Assertions.assertEquals(parsed.getReturnType(), generated.getReturnType());
+            count++;
+        }
+        Assertions.assertEquals(generatedMap.size(), count);
+    }
+}
@@ -0,0 +1,14 @@
+package org.babyfish.jimmer.spring.repository;
+
+import org.babyfish.jimmer.spring.java.model.Book;
+
+import java.util.List;
+
+/**
+ * Its implementation is generated by the annotation processor,
+ * but the method name cannot be parsed
+ */
+public interface IllegalBookRepository extends JRepository<Book, Long> {
+
+    List<Book> findByUnknownProperty(String unknownProperty);
+}
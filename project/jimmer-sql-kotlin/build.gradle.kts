@@ -10,8 +10,10 @@ dependencies {
     api(projects.jimmerCoreKotlin)
     api(projects.jimmerSql)
     implementation(libs.apache.commons.lang3)
+    compileOnly(libs.kotlinx.coroutines.core)
 
     testImplementation(libs.kotlin.test)
+    testImplementation(libs.kotlinx.coroutines.core)
     kspTest(projects.jimmerKsp)
     testAnnotationProcessor(projects.jimmerKsp)
 
@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.sql.ast.table.Table
 import org.babyfish.jimmer.sql.event.AssociationListener
+import org.babyfish.jimmer.sql.event.EntityEvent
 import org.babyfish.jimmer.sql.event.EntityListener
 import java.sql.Connection
 import kotlin.reflect.KClass
@@ -40,6 +41,8 @@ interface KTriggers {
 
     fun fireEntityTableChange(oldRow: Any, newRow: Any, con: Connection? = null, reason: Any? = null)
 
+    fun fireEntityTableChanges(events: List<EntityEvent<*>>)
+
     fun fireMiddleTableDelete(prop: ImmutableProp, sourceId: Any, targetId: Any, con: Connection? = null, reason: Any? = null)
 
     fun fireMiddleTableInsert(prop: ImmutableProp, sourceId: Any, targetId: Any, con: Connection? = null, reason: Any? = null)
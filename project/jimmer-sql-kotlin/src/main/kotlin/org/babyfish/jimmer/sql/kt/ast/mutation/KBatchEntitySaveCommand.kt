@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.kt.ast.mutation
 
 import org.babyfish.jimmer.View
+import org.babyfish.jimmer.sql.ast.mutation.ChunkBoundary
 import org.babyfish.jimmer.sql.fetcher.Fetcher
 import java.sql.Connection
 import kotlin.reflect.KClass
@@ -18,4 +19,20 @@ interface KBatchEntitySaveCommand<E: Any> {
     fun execute(con: Connection?, fetcher: Fetcher<E>?): KBatchSaveResult<E>
 
     fun <V: View<E>> execute(con: Connection?, viewType: KClass<V>): KBatchSaveResult.View<E, V>
-}
\ No newline at end of file
+
+    /**
+     * Save the entities chunk by chunk, so that the memory is
+     * bounded by the chunk size, not the count of entities.
+     *
+     * The entities are iterated only once and lazily,
+     * for example, `sql.saveEntitiesCommand(sequence.asIterable())`
+     *
+     * @see org.babyfish.jimmer.sql.ast.mutation.BatchEntitySaveCommand.executeChunked
+     */
+    fun executeChunked(
+        chunkSize: Int,
+        boundary: ChunkBoundary = ChunkBoundary.NONE,
+        con: Connection? = null,
+        chunkHandler: ((KBatchSaveResult<E>) -> Unit)? = null
+    ): KChunkedSaveResult
+}
@@ -0,0 +1,8 @@
+package org.babyfish.jimmer.sql.kt.ast.mutation
+
+interface KChunkedSaveResult : KMutationResult {
+
+    val entityCount: Int
+
+    val chunkCount: Int
+}
@@ -2,10 +2,14 @@ package org.babyfish.jimmer.sql.kt.ast.mutation.impl
 
 import org.babyfish.jimmer.View
 import org.babyfish.jimmer.sql.ast.mutation.BatchEntitySaveCommand
+import org.babyfish.jimmer.sql.ast.mutation.BatchSaveResult
+import org.babyfish.jimmer.sql.ast.mutation.ChunkBoundary
 import org.babyfish.jimmer.sql.fetcher.Fetcher
 import org.babyfish.jimmer.sql.kt.ast.mutation.KBatchEntitySaveCommand
 import org.babyfish.jimmer.sql.kt.ast.mutation.KBatchSaveResult
+import org.babyfish.jimmer.sql.kt.ast.mutation.KChunkedSaveResult
 import java.sql.Connection
+import java.util.function.Consumer
 import kotlin.reflect.KClass
 
 internal class KBatchEntitySaveCommandImpl<E: Any>(
@@ -29,4 +33,21 @@ internal class KBatchEntitySaveCommandImpl<E: Any>(
 
     override fun <V : View<E>> execute(con: Connection?, viewType: KClass<V>): KBatchSaveResult.View<E, V> =
         KBatchSaveResultImpl.ViewImpl(javaCommand.execute(con, viewType.java))
-}
\ No newline at end of file
+
+    override fun executeChunked(
+        chunkSize: Int,
+        boundary: ChunkBoundary,
+        con: Connection?,
+        chunkHandler: ((KBatchSaveResult<E>) -> Unit)?
+    ): KChunkedSaveResult =
+        KChunkedSaveResultImpl(
+            javaCommand.executeChunked(
+                con,
+                chunkSize,
+                boundary,
+                chunkHandler?.let { handler ->
+                    Consumer<BatchSaveResult<E>> { handler(KBatchSaveResultImpl(it)) }
+                }
+            )
+        )
+}
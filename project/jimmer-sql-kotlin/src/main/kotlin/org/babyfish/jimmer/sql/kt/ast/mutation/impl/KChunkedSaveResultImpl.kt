@@ -0,0 +1,15 @@
+package org.babyfish.jimmer.sql.kt.ast.mutation.impl
+
+import org.babyfish.jimmer.sql.ast.mutation.ChunkedSaveResult
+import org.babyfish.jimmer.sql.kt.ast.mutation.KChunkedSaveResult
+
+internal class KChunkedSaveResultImpl(
+    javaResult: ChunkedSaveResult
+) : KMutationResultImpl(javaResult), KChunkedSaveResult {
+
+    override val entityCount: Int
+        get() = (javaResult as ChunkedSaveResult).entityCount
+
+    override val chunkCount: Int
+        get() = (javaResult as ChunkedSaveResult).chunkCount
+}
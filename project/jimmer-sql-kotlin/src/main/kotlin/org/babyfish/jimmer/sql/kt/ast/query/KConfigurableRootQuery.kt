@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt.ast.query
 import org.babyfish.jimmer.Page
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.lang.NewChain
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice
 import org.babyfish.jimmer.sql.ast.query.PageFactory
 import org.babyfish.jimmer.sql.kt.ast.expression.constant
 import org.babyfish.jimmer.sql.kt.ast.expression.rowCount
@@ -52,6 +53,22 @@ interface KConfigurableRootQuery<P: KPropsLike, R> : KTypedRootQuery<R> {
         con: Connection? = null
     ) : Slice<R>
 
+    /**
+     * Keyset pagination, the next slice is located by the sorting
+     * values of the last row of the previous slice rather than offset.
+     *
+     * The order by expressions must be the non-null scalar properties
+     * of the root table and must contain the id property.
+     *
+     * @param afterCursor The [KeysetSlice.getNextCursor] of the previous slice,
+     * null means fetching the first slice
+     */
+    fun fetchSlice(
+        afterCursor: String?,
+        pageSize: Int,
+        con: Connection? = null
+    ) : KeysetSlice<R>
+
     @NewChain
     fun <X> reselect(
         block: KMutableRootQuery<P>.() -> KConfigurableRootQuery<P, X>
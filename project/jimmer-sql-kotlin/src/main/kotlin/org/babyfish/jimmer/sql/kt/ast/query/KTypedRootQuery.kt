@@ -4,6 +4,7 @@ import org.babyfish.jimmer.sql.exception.EmptyResultException
 import org.babyfish.jimmer.sql.exception.TooManyResultsException
 import org.babyfish.jimmer.sql.kt.ast.KExecutable
 import java.sql.Connection
+import java.util.stream.Stream
 
 interface KTypedRootQuery<R> : KExecutable<List<R>> {
 
@@ -30,4 +31,16 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = -1,
         block: (R) -> Unit
     )
+
+    /**
+     * Open a cursor and return a lazy stream of the rows,
+     * the associations are loaded chunk by chunk.
+     *
+     * The returned stream must be closed, for example, by `use`,
+     * and the connection must be kept open until then.
+     */
+    fun stream(
+        con: Connection,
+        batchSize: Int = -1
+    ): Stream<R>
 }
\ No newline at end of file
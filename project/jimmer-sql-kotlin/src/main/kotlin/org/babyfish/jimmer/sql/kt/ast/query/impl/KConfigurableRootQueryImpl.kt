@@ -5,6 +5,7 @@ import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImpl
 import org.babyfish.jimmer.sql.ast.impl.query.PageSource
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery
 import org.babyfish.jimmer.sql.ast.query.PageFactory
 import org.babyfish.jimmer.sql.ast.table.Table
@@ -117,6 +118,9 @@ internal class KConfigurableRootQueryImpl<P: KPropsLike, R>(
     override fun fetchSlice(limit: Int, offset: Int, con: Connection?): Slice<R> =
         javaQuery.fetchSlice(limit, offset, con)
 
+    override fun fetchSlice(afterCursor: String?, pageSize: Int, con: Connection?): KeysetSlice<R> =
+        javaQuery.fetchSlice(afterCursor, pageSize, con)
+
     override fun <X> reselect(
         block: KMutableRootQuery<P>.() -> KConfigurableRootQuery<P, X>
     ): KConfigurableRootQuery<P, X> {
@@ -25,6 +25,7 @@ import org.babyfish.jimmer.sql.kt.impl.KSqlClientImpl
 import org.babyfish.jimmer.sql.meta.DatabaseNamingStrategy
 import org.babyfish.jimmer.sql.meta.DatabaseSchemaStrategy
 import org.babyfish.jimmer.sql.meta.IdGenerator
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics
 import org.babyfish.jimmer.sql.runtime.*
 import java.sql.Connection
 import java.time.ZoneId
@@ -130,6 +131,14 @@ class KSqlClientDsl constructor(
         javaBuilder.setExecutorContextPrefixes(prefixes)
     }
 
+    fun setExecutorContextSamplingRate(rate: Double) {
+        javaBuilder.setExecutorContextSamplingRate(rate)
+    }
+
+    fun setMetrics(metrics: JimmerMetrics?) {
+        javaBuilder.setMetrics(metrics)
+    }
+
     fun setSqlFormatter(fFormatter: SqlFormatter) {
         javaBuilder.setSqlFormatter(fFormatter)
     }
@@ -237,6 +246,10 @@ class KSqlClientDsl constructor(
         javaBuilder.setTriggerType(triggerType)
     }
 
+    fun setAsyncBinLogTriggers(parallelism: Int, queueCapacity: Int) {
+        javaBuilder.setAsyncBinLogTriggers(parallelism, queueCapacity)
+    }
+
     fun addFilters(vararg filters: KFilter<*>) {
         javaBuilder.addFilters(filters.map { it.toJavaFilter() })
     }
@@ -374,10 +387,34 @@ class KSqlClientDsl constructor(
         javaBuilder.setOffsetOptimizingThreshold(threshold)
     }
 
+    fun setInListToTableThreshold(threshold: Int) {
+        javaBuilder.setInListToTableThreshold(threshold)
+    }
+
+    fun setSqlTemplateCacheCapacity(capacity: Int) {
+        javaBuilder.setSqlTemplateCacheCapacity(capacity)
+    }
+
+    fun setStatementCacheSize(size: Int) {
+        javaBuilder.setStatementCacheSize(size)
+    }
+
     fun setReverseSortOptimizationEnabled(enabled: Boolean) {
         javaBuilder.setReverseSortOptimizationEnabled(enabled)
     }
 
+    fun setReaderCompilationEnabled(enabled: Boolean) {
+        javaBuilder.setReaderCompilationEnabled(enabled)
+    }
+
+    fun setFetcherExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setFetcherExecutor(executor)
+    }
+
+    fun setCacheRefreshExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setCacheRefreshExecutor(executor)
+    }
+
     fun setMicroServiceName(microServiceName: String) {
         javaBuilder.setMicroServiceName(microServiceName)
     }
@@ -398,7 +435,7 @@ class KSqlClientDsl constructor(
             if (proceeded) {
                 throw IllegalStateException("ConnectionManagerDsl cannot be proceeded twice")
             }
-            result = javaBlock.apply(con)
+            result = StatementCache.execute(con, javaBlock)
             proceeded = true
         }
 
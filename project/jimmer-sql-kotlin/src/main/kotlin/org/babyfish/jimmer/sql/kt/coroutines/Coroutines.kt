@@ -0,0 +1,81 @@
+package org.babyfish.jimmer.sql.kt.coroutines
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.trySendBlocking
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.withContext
+import org.babyfish.jimmer.Page
+import org.babyfish.jimmer.Slice
+import org.babyfish.jimmer.sql.kt.ast.KExecutable
+import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
+import org.babyfish.jimmer.sql.kt.ast.query.KTypedRootQuery
+import java.sql.Connection
+import kotlin.coroutines.CoroutineContext
+
+/*
+ * JDBC is blocking, all these functions switch to `context` before
+ * touching the database so that the calling coroutine never blocks
+ * an event-loop thread.
+ *
+ * `context` is `Dispatchers.IO` by default, a dedicated bounded dispatcher
+ * whose size matches the connection pool, such as
+ * `Executors.newFixedThreadPool(poolSize).asCoroutineDispatcher()`,
+ * or a dispatcher based on virtual threads can be specified instead.
+ *
+ * If `con` is null, the connection is borrowed from the connection manager
+ * by the thread of `context`, so a connection manager based on thread local
+ * transactions cannot see the transaction of the calling thread.
+ */
+
+suspend fun <R> KExecutable<R>.executeAsync(
+    con: Connection? = null,
+    context: CoroutineContext = Dispatchers.IO
+): R =
+    withContext(context) {
+        execute(con)
+    }
+
+suspend fun <R> KConfigurableRootQuery<*, R>.fetchPageAsync(
+    pageIndex: Int,
+    pageSize: Int,
+    con: Connection? = null,
+    context: CoroutineContext = Dispatchers.IO
+): Page<R> =
+    withContext(context) {
+        fetchPage(pageIndex, pageSize, con)
+    }
+
+suspend fun <R> KConfigurableRootQuery<*, R>.fetchSliceAsync(
+    limit: Int,
+    offset: Int,
+    con: Connection? = null,
+    context: CoroutineContext = Dispatchers.IO
+): Slice<R> =
+    withContext(context) {
+        fetchSlice(limit, offset, con)
+    }
+
+/**
+ * Stream the query result by [KTypedRootQuery.forEach].
+ *
+ * The rows are read chunk by chunk, object fetchers load the
+ * associations of each chunk by batch before its rows are emitted.
+ * The reading thread is suspended when the collector is slower
+ * than the database, and the cursor is closed when the collector
+ * is cancelled.
+ *
+ * @param batchSize The JDBC fetch size and the size of chunk,
+ * non-positive value means the default batch size of the sql client
+ */
+fun <R> KTypedRootQuery<R>.executeFlow(
+    con: Connection? = null,
+    batchSize: Int = -1,
+    context: CoroutineContext = Dispatchers.IO
+): Flow<R> =
+    channelFlow {
+        forEach(con, batchSize) {
+            trySendBlocking(it).getOrThrow()
+        }
+    }.flowOn(context)
@@ -4,7 +4,15 @@ import org.babyfish.jimmer.sql.kt.KSqlClient
 import org.babyfish.jimmer.sql.kt.loader.KLoaders
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
 
-interface KSqlClientImplementor : KSqlClient {
+interface KSqlClientImplementor : KSqlClient, AutoCloseable {
 
     val loaders: KLoaders
-}
\ No newline at end of file
+
+    /**
+     * Stop the background threads of the java client,
+     * see [JSqlClientImplementor.close]
+     */
+    override fun close() {
+        javaClient.close()
+    }
+}
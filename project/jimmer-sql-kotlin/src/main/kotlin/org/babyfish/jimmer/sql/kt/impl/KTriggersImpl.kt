@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.runtime.ImmutableSpi
 import org.babyfish.jimmer.sql.event.Triggers
 import org.babyfish.jimmer.sql.event.AssociationListener
+import org.babyfish.jimmer.sql.event.EntityEvent
 import org.babyfish.jimmer.sql.event.EntityListener
 import org.babyfish.jimmer.sql.kt.KTriggers
 import java.sql.Connection
@@ -42,6 +43,10 @@ internal class KTriggersImpl(
         javaTriggers.fireEntityTableChange(oldRow, newRow, con, reason)
     }
 
+    override fun fireEntityTableChanges(events: List<EntityEvent<*>>) {
+        javaTriggers.fireEntityTableChanges(events)
+    }
+
     override fun fireMiddleTableDelete(prop: ImmutableProp, sourceId: Any, targetId: Any, con: Connection?, reason: Any?) {
         javaTriggers.fireMiddleTableDelete(prop, sourceId, targetId, con, reason)
     }
@@ -0,0 +1,82 @@
+package org.babyfish.jimmer.sql.kt.query
+
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.babyfish.jimmer.sql.kt.ast.expression.asc
+import org.babyfish.jimmer.sql.kt.ast.expression.desc
+import org.babyfish.jimmer.sql.kt.common.AbstractQueryTest
+import org.babyfish.jimmer.sql.kt.coroutines.executeAsync
+import org.babyfish.jimmer.sql.kt.coroutines.executeFlow
+import org.babyfish.jimmer.sql.kt.coroutines.fetchPageAsync
+import org.babyfish.jimmer.sql.kt.model.classic.book.Book
+import org.babyfish.jimmer.sql.kt.model.classic.book.edition
+import org.babyfish.jimmer.sql.kt.model.classic.book.fetchBy
+import org.babyfish.jimmer.sql.kt.model.classic.book.name
+import org.junit.Test
+import kotlin.test.expect
+
+class CoroutineTest : AbstractQueryTest() {
+
+    private val query =
+        sqlClient.createQuery(Book::class) {
+            orderBy(table.name.asc(), table.edition.desc())
+            select(
+                table.fetchBy {
+                    name()
+                    edition()
+                    authors {
+                        firstName()
+                        lastName()
+                    }
+                }
+            )
+        }
+
+    @Test
+    fun testExecuteAsync() {
+        jdbc { con ->
+            val expected = query.execute(con)
+            val actual = runBlocking {
+                query.executeAsync(con)
+            }
+            expect(expected.toString()) { actual.toString() }
+        }
+    }
+
+    @Test
+    fun testFetchPageAsync() {
+        jdbc { con ->
+            val expected = query.fetchPage(1, 4, con)
+            val actual = runBlocking {
+                query.fetchPageAsync(1, 4, con)
+            }
+            expect(expected.toString()) { actual.toString() }
+        }
+    }
+
+    @Test
+    fun testExecuteFlow() {
+        jdbc { con ->
+            val expected = query.execute(con)
+            clearExecutions()
+            val actual = runBlocking {
+                query.executeFlow(con, batchSize = 5).toList()
+            }
+            expect(expected.toString()) { actual.toString() }
+            // 12 books, 1 statement for books and 1 statement for authors of each chunk
+            expect(4) { executions.size }
+        }
+    }
+
+    @Test
+    fun testCancelFlow() {
+        jdbc { con ->
+            val expected = query.execute(con).take(3)
+            val actual = runBlocking {
+                query.executeFlow(con, batchSize = 5).take(3).toList()
+            }
+            expect(expected.toString()) { actual.toString() }
+        }
+    }
+}
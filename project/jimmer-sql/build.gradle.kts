@@ -20,6 +20,8 @@ dependencies {
     compileOnly(libs.spring.data.redis)
     compileOnly(libs.quarkus.redis.client)
     compileOnly(libs.redisson)
+    compileOnly(libs.micrometer.core)
+    compileOnly(libs.opentelemetry.api)
     compileOnly(libs.antlr) {
         exclude("com.ibm.icu", "icu4j")
     }
@@ -45,6 +47,7 @@ dependencies {
     testImplementation(libs.javax.validation.api)
     testImplementation(libs.hibernate.validation)
     testImplementation(libs.antlr)
+    testImplementation(libs.micrometer.core)
     // testImplementation(files("/Users/chentao/Downloads/ojdbc8-21.9.0.0.jar"))
 }
 
@@ -28,6 +28,7 @@ import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.meta.DatabaseSchemaStrategy;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.MetaStringResolver;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
 import org.babyfish.jimmer.sql.runtime.*;
 import org.babyfish.jimmer.sql.transaction.AbstractTxConnectionManager;
 import org.babyfish.jimmer.sql.transaction.Propagation;
@@ -324,6 +325,34 @@ public interface JSqlClient extends SubQueryProvider, DeprecatedMoreSaveOperatio
         @OldChain
         Builder setExecutorContextPrefixes(Collection<String> prefixes);
 
+        /**
+         * The probability that the call frames of a SQL statement
+         * are captured when {@link #setExecutorContextPrefixes(Collection)}
+         * is configured, the default value is 1.
+         *
+         * <p>Capturing call frames is not free, a value such as 0.1 keeps
+         * the business call frames in the SQL logs of a part of the statements
+         * while the other statements are executed without that cost.</p>
+         */
+        @OldChain
+        Builder setExecutorContextSamplingRate(double rate);
+
+        /**
+         * Record the execution time of SQL statements and batches,
+         * the hit ratio of cache binders and the waiting time of cache lockers.
+         *
+         * <p>The executor is automatically wrapped by
+         * {@link org.babyfish.jimmer.sql.runtime.ExecutorForMetrics}
+         * when this is configured.</p>
+         *
+         * @param metrics The metrics implementation, such as
+         *                {@link org.babyfish.jimmer.sql.metrics.MicrometerMetrics}
+         *                or {@link org.babyfish.jimmer.sql.metrics.OpenTelemetryMetrics},
+         *                null means no metrics
+         */
+        @OldChain
+        Builder setMetrics(JimmerMetrics metrics);
+
         @OldChain
         Builder setSqlFormatter(SqlFormatter formatter);
 
@@ -428,9 +457,127 @@ public interface JSqlClient extends SubQueryProvider, DeprecatedMoreSaveOperatio
         @OldChain
         Builder setOffsetOptimizingThreshold(int threshold);
 
+        /**
+         * When the size of an {@code in} list reaches this threshold,
+         * the list is rendered as a derived table instead of
+         * several {@code in} lists whose size are limited by
+         * {@link Dialect#getMaxInListSize()}, for example
+         *
+         * <pre>{@code
+         *  exists(
+         *      select * from unnest(?, ?) tb_in_(c1, c2)
+         *      where tb_in_.c1 = tb_1_.A and tb_in_.c2 = tb_1_.B
+         *  )
+         * }</pre>
+         *
+         * <p>This affects multi-column {@code in} predicates, and single-column
+         * {@code in} predicates of dialects that do not support
+         * {@link Dialect#isAnyEqualityOfArraySupported()}.
+         * For {@code not in}, the conditions of the derived table are
+         * {@code (tb_in_.c1 = tb_1_.A or tb_1_.A is null)}, so that
+         * null columns are treated as same as {@code not in} lists.
+         * It is used by both queries and mutations, and only takes effect when
+         * {@link Dialect#renderInListTable} is supported by the dialect.</p>
+         *
+         * <p>The default value is {@link Integer#MAX_VALUE}, which means disabled.</p>
+         *
+         * @return An integer which is not less than 2
+         */
+        @OldChain
+        Builder setInListToTableThreshold(int threshold);
+
+        /**
+         * Set the capacity of the rendered SQL template cache,
+         * default value is 0, which means the cache is disabled.
+         *
+         * <p>If it is enabled, simple single table root queries
+         * with the same shape (selections, ordering, pagination
+         * and the where clause except its parameter values)
+         * only render their where clause, the rest of the SQL
+         * is reused from previous executions.</p>
+         *
+         * <p>Queries with joins, sub queries, group by, having
+         * or pretty formatted SQL are always rendered completely.</p>
+         */
+        @OldChain
+        Builder setSqlTemplateCacheCapacity(int capacity);
+
+        /**
+         * Set the max count of prepared statements cached by each JDBC connection,
+         * default value is 0, which means the cache is disabled.
+         *
+         * <p>If it is enabled, the statements executed by the same connection,
+         * for example, the statements of a save command which touches many
+         * association levels or the batch loading of object fetchers,
+         * reuse the prepared statements of the same SQL. The least recently used
+         * statements are closed when the count exceeds this size, and all of them
+         * are closed when the connection is given back by the connection manager.</p>
+         *
+         * <p>It is useful for the JDBC drivers without client-side statement cache.</p>
+         *
+         * @see org.babyfish.jimmer.sql.runtime.StatementCache
+         */
+        @OldChain
+        Builder setStatementCacheSize(int size);
+
         @OldChain
         Builder setReverseSortOptimizationEnabled(boolean enabled);
 
+        /**
+         * If it is enabled, the entity readers generate bytecode for each
+         * entity type and fetcher shape, which reads the simple scalar columns
+         * by typed getters such as {@link java.sql.ResultSet#getLong(int)}
+         * and calls the typed setters of the draft directly, without boxing
+         * and property id dispatching.
+         *
+         * <p>Properties whose values are read by scalar providers, embedded
+         * or reference properties are still read by the original readers.</p>
+         *
+         * <p>This option is disabled by default</p>
+         */
+        @OldChain
+        Builder setReaderCompilationEnabled(boolean enabled);
+
+        /**
+         * Set the executor used by object fetchers to load the independent
+         * associations and calculated properties of the same level concurrently.
+         *
+         * <p>Only the database loading is executed by this executor, each loading
+         * uses a connection borrowed from the slave connection manager
+         * (or the connection manager if there is no slave connection manager),
+         * so this option is only meaningful when the connection manager is
+         * based on a connection pool. Object fetchers executed in a transaction
+         * ignore this executor because other connections cannot see the
+         * uncommitted data.</p>
+         *
+         * <p>The thread which executes the query keeps its own connection
+         * while it waits for the threads of this executor, so the connection pool
+         * must be larger than the count of the concurrent queries plus
+         * the thread count of this executor, otherwise the queries and
+         * this executor wait for each other until the pool times out.
+         * Please use a bounded executor whose thread count is less than
+         * the pool size, not an unbounded executor such as a cached thread pool.</p>
+         *
+         * <p>By default, it is null, all properties are loaded one by one
+         * by the current thread.</p>
+         */
+        @OldChain
+        Builder setFetcherExecutor(java.util.concurrent.Executor executor);
+
+        /**
+         * Set the executor used to refresh the logically expired values of
+         * the caches created by {@link org.babyfish.jimmer.sql.cache.CacheCreator#withRefreshAhead(java.time.Duration)}.
+         *
+         * <p>Each refreshing uses a connection borrowed from the slave connection manager
+         * (or the connection manager if there is no slave connection manager),
+         * so that the stale values are returned without waiting for the refreshing.</p>
+         *
+         * <p>By default, it is null, the stale values are refreshed by
+         * the current thread before they are returned.</p>
+         */
+        @OldChain
+        Builder setCacheRefreshExecutor(java.util.concurrent.Executor executor);
+
         @OldChain
         Builder setMaxCommandJoinCount(int maxMutationSubQueryDepth);
 
@@ -463,6 +610,25 @@ public interface JSqlClient extends SubQueryProvider, DeprecatedMoreSaveOperatio
         @OldChain
         Builder setTriggerType(TriggerType triggerType);
 
+        /**
+         * Dispatch the events of binlog triggers to listeners by background threads,
+         * so that the binlog consumer is not blocked by slow listeners.
+         *
+         * <p>The events of the same entity id are handled by the same thread in the
+         * order they are fired. The caller of {@link org.babyfish.jimmer.sql.event.binlog.BinLog}
+         * is blocked when the queue of the thread is full. The exceptions raised by
+         * listeners are logged because they cannot be thrown to the caller.</p>
+         *
+         * <p>This option does not affect the triggers of transaction,
+         * see {@link #setTriggerType(TriggerType)}</p>
+         *
+         * @param parallelism The count of dispatching threads,
+         *                    default value is 0, which means synchronous dispatching
+         * @param queueCapacity The max count of pending events of each thread
+         */
+        @OldChain
+        Builder setAsyncBinLogTriggers(int parallelism, int queueCapacity);
+
         @OldChain
         Builder setLogicalDeletedBehavior(LogicalDeletedBehavior behavior);
 
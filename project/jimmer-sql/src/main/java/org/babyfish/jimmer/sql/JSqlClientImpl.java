@@ -51,6 +51,7 @@ import org.babyfish.jimmer.sql.filter.impl.LogicalDeletedFilterProvider;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
 import org.babyfish.jimmer.sql.loader.graphql.impl.LoadersImpl;
 import org.babyfish.jimmer.sql.meta.*;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
 import org.babyfish.jimmer.sql.runtime.*;
 import org.babyfish.jimmer.sql.transaction.Propagation;
 import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
@@ -82,6 +83,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final SqlFormatter sqlFormatter;
 
+    private final double executorContextSamplingRate;
+
+    private final JimmerMetrics metrics;
+
     private final ReferenceFetchType defaultReferenceFetchType;
 
     private final int maxJoinFetchDepth;
@@ -102,8 +107,20 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final int offsetOptimizingThreshold;
 
+    private final int inListToTableThreshold;
+
+    private final SqlTemplateCache sqlTemplateCache;
+
+    private final int statementCacheSize;
+
     private final boolean reverseSortOptimizationEnabled;
 
+    private final boolean readerCompilationEnabled;
+
+    private final java.util.concurrent.Executor fetcherExecutor;
+
+    private final java.util.concurrent.Executor cacheRefreshExecutor;
+
     private final int maxCommandJoinCount;
 
     private final boolean mutationTransactionRequired;
@@ -165,6 +182,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
             Executor executor,
             List<String> executorContextPrefixes,
             SqlFormatter sqlFormatter,
+            double executorContextSamplingRate,
+            JimmerMetrics metrics,
             ReferenceFetchType defaultReferenceFetchType,
             int maxJoinFetchDepth,
             ZoneId zoneId,
@@ -175,7 +194,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
             boolean inListPaddingEnabled,
             boolean expandedInListPaddingEnabled,
             int offsetOptimizingThreshold,
+            int inListToTableThreshold,
+            SqlTemplateCache sqlTemplateCache,
+            int statementCacheSize,
             boolean reverseSortOptimizationEnabled,
+            boolean readerCompilationEnabled,
+            java.util.concurrent.Executor fetcherExecutor,
+            java.util.concurrent.Executor cacheRefreshExecutor,
             int maxCommandJoinCount,
             boolean mutationTransactionRequired,
             boolean targetTransferable,
@@ -207,15 +232,20 @@ class JSqlClientImpl implements JSqlClientImplementor {
                         ConnectionManager.EXTERNAL_ONLY;
         this.slaveConnectionManager = slaveConnectionManager;
         this.dialect = dialect;
+        if (executor == null) {
+            executor = DefaultExecutor.INSTANCE;
+        }
         this.executor =
-                executor != null ?
-                        executor :
-                        DefaultExecutor.INSTANCE;
+                metrics != null ?
+                        ExecutorForMetrics.wrap(executor, metrics) :
+                        executor;
         this.executorContextPrefixes =
                 executorContextPrefixes != null ?
                         Collections.unmodifiableList(executorContextPrefixes) :
                         null;
         this.sqlFormatter = sqlFormatter;
+        this.executorContextSamplingRate = executorContextSamplingRate;
+        this.metrics = metrics;
         this.defaultReferenceFetchType = defaultReferenceFetchType;
         this.maxJoinFetchDepth = maxJoinFetchDepth;
         this.zoneId = zoneId != null ? zoneId : ZoneId.systemDefault();
@@ -226,7 +256,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.inListPaddingEnabled = inListPaddingEnabled;
         this.expandedInListPaddingEnabled = expandedInListPaddingEnabled;
         this.offsetOptimizingThreshold = offsetOptimizingThreshold;
+        this.inListToTableThreshold = inListToTableThreshold;
+        this.sqlTemplateCache = sqlTemplateCache;
+        this.statementCacheSize = statementCacheSize;
         this.reverseSortOptimizationEnabled = reverseSortOptimizationEnabled;
+        this.readerCompilationEnabled = readerCompilationEnabled;
+        this.fetcherExecutor = fetcherExecutor;
+        this.cacheRefreshExecutor = cacheRefreshExecutor;
         this.maxCommandJoinCount = maxCommandJoinCount;
         this.mutationTransactionRequired = mutationTransactionRequired;
         this.targetTransferable = targetTransferable;
@@ -291,6 +327,17 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return executorContextPrefixes;
     }
 
+    @Override
+    public double getExecutorContextSamplingRate() {
+        return executorContextSamplingRate;
+    }
+
+    @Nullable
+    @Override
+    public JimmerMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public SqlFormatter getSqlFormatter() {
         return sqlFormatter;
@@ -392,11 +439,44 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return offsetOptimizingThreshold;
     }
 
+    @Override
+    public int getInListToTableThreshold() {
+        return inListToTableThreshold;
+    }
+
+    @Nullable
+    @Override
+    public SqlTemplateCache getSqlTemplateCache() {
+        return sqlTemplateCache;
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
     @Override
     public boolean isReverseSortOptimizationEnabled() {
         return reverseSortOptimizationEnabled;
     }
 
+    @Override
+    public boolean isReaderCompilationEnabled() {
+        return readerCompilationEnabled;
+    }
+
+    @Nullable
+    @Override
+    public java.util.concurrent.Executor getFetcherExecutor() {
+        return fetcherExecutor;
+    }
+
+    @Nullable
+    @Override
+    public java.util.concurrent.Executor getCacheRefreshExecutor() {
+        return cacheRefreshExecutor;
+    }
+
     @Override
     public int getMaxCommandJoinCount() {
         return maxCommandJoinCount;
@@ -655,6 +735,12 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return loaders;
     }
 
+    @Override
+    public void close() {
+        // Only the binlog triggers have background threads
+        triggers.close();
+    }
+
     @Override
     public EntityManager getEntityManager() {
         return entityManager;
@@ -679,6 +765,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 executor,
                 executorContextPrefixes,
                 sqlFormatter,
+                executorContextSamplingRate,
+                metrics,
                 defaultReferenceFetchType,
                 maxJoinFetchDepth,
                 zoneId,
@@ -689,7 +777,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
+                inListToTableThreshold,
+                sqlTemplateCache,
+                statementCacheSize,
                 reverseSortOptimizationEnabled,
+                readerCompilationEnabled,
+                fetcherExecutor,
+                cacheRefreshExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -734,6 +828,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 executor,
                 executorContextPrefixes,
                 sqlFormatter,
+                executorContextSamplingRate,
+                metrics,
                 defaultReferenceFetchType,
                 maxJoinFetchDepth,
                 zoneId,
@@ -744,7 +840,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
+                inListToTableThreshold,
+                sqlTemplateCache,
+                statementCacheSize,
                 reverseSortOptimizationEnabled,
+                readerCompilationEnabled,
+                fetcherExecutor,
+                cacheRefreshExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -784,6 +886,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 executor,
                 executorContextPrefixes,
                 sqlFormatter,
+                executorContextSamplingRate,
+                metrics,
                 defaultReferenceFetchType,
                 maxJoinFetchDepth,
                 zoneId,
@@ -794,7 +898,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
+                inListToTableThreshold,
+                sqlTemplateCache,
+                statementCacheSize,
                 reverseSortOptimizationEnabled,
+                readerCompilationEnabled,
+                fetcherExecutor,
+                cacheRefreshExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -837,6 +947,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 executor,
                 executorContextPrefixes,
                 sqlFormatter,
+                executorContextSamplingRate,
+                metrics,
                 defaultReferenceFetchType,
                 maxJoinFetchDepth,
                 zoneId,
@@ -847,7 +959,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
+                inListToTableThreshold,
+                sqlTemplateCache,
+                statementCacheSize,
                 reverseSortOptimizationEnabled,
+                readerCompilationEnabled,
+                fetcherExecutor,
+                cacheRefreshExecutor,
                 maxCommandJoinCount,
                 mutationTransactionRequired,
                 targetTransferable,
@@ -987,6 +1105,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private List<String> executorContextPrefixes;
 
+        private double executorContextSamplingRate = 1.0;
+
+        private JimmerMetrics metrics;
+
         private SqlFormatter sqlFormatter = SqlFormatter.SIMPLE;
 
         private ReferenceFetchType defaultReferenceFetchType = ReferenceFetchType.SELECT;
@@ -1033,8 +1155,20 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private int offsetOptimizingThreshold = Integer.MAX_VALUE;
 
+        private int inListToTableThreshold = Integer.MAX_VALUE;
+
+        private int sqlTemplateCacheCapacity;
+
+        private int statementCacheSize;
+
         private boolean reverseSortOptimizationEnabled;
 
+        private boolean readerCompilationEnabled;
+
+        private java.util.concurrent.Executor fetcherExecutor;
+
+        private java.util.concurrent.Executor cacheRefreshExecutor;
+
         private int maxCommandJoinCount = 2;
 
         private boolean mutationTransactionRequired;
@@ -1047,6 +1181,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private TriggerType triggerType = TriggerType.BINLOG_ONLY;
 
+        private int binLogTriggerParallelism;
+
+        private int binLogTriggerQueueCapacity;
+
         private TriggersImpl triggers;
 
         private TriggersImpl transactionTriggers;
@@ -1159,6 +1297,25 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public Builder setExecutorContextSamplingRate(double rate) {
+            if (!(rate > 0 && rate <= 1)) {
+                throw new IllegalArgumentException(
+                        "The executor context sampling rate must be greater than 0 and not greater than 1"
+                );
+            }
+            this.executorContextSamplingRate = rate;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setMetrics(JimmerMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
         @Override
         @OldChain
         public Builder setSqlFormatter(SqlFormatter sqlFormatter) {
@@ -1468,12 +1625,57 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public Builder setInListToTableThreshold(int threshold) {
+            if (threshold < 2) {
+                throw new IllegalArgumentException("`threshold` cannot be less than 2");
+            }
+            inListToTableThreshold = threshold;
+            return this;
+        }
+
+        @Override
+        public JSqlClient.Builder setSqlTemplateCacheCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("`capacity` cannot be negative number");
+            }
+            sqlTemplateCacheCapacity = capacity;
+            return this;
+        }
+
+        @Override
+        public JSqlClient.Builder setStatementCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("`size` cannot be negative number");
+            }
+            statementCacheSize = size;
+            return this;
+        }
+
         @Override
         public JSqlClient.Builder setReverseSortOptimizationEnabled(boolean enabled) {
             reverseSortOptimizationEnabled = enabled;
             return this;
         }
 
+        @Override
+        public JSqlClient.Builder setReaderCompilationEnabled(boolean enabled) {
+            readerCompilationEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public JSqlClient.Builder setFetcherExecutor(java.util.concurrent.Executor executor) {
+            fetcherExecutor = executor;
+            return this;
+        }
+
+        @Override
+        public JSqlClient.Builder setCacheRefreshExecutor(java.util.concurrent.Executor executor) {
+            cacheRefreshExecutor = executor;
+            return this;
+        }
+
         @Override
         public JSqlClient.Builder setMaxCommandJoinCount(int maxCommandJoinCount) {
             if (maxCommandJoinCount < 0 || maxCommandJoinCount > 8) {
@@ -1538,6 +1740,19 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public Builder setAsyncBinLogTriggers(int parallelism, int queueCapacity) {
+            if (parallelism < 0) {
+                throw new IllegalArgumentException("`parallelism` cannot be negative number");
+            }
+            if (parallelism > 0 && queueCapacity < 1) {
+                throw new IllegalArgumentException("`queueCapacity` must be greater than 0");
+            }
+            this.binLogTriggerParallelism = parallelism;
+            this.binLogTriggerQueueCapacity = queueCapacity;
+            return this;
+        }
+
         @Override
         public Builder setLogicalDeletedBehavior(LogicalDeletedBehavior behavior) {
             this.logicalDeletedBehavior = behavior != null ? behavior : LogicalDeletedBehavior.DEFAULT;
@@ -1885,6 +2100,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     executor,
                     executorContextPrefixes,
                     sqlFormatter,
+                    executorContextSamplingRate,
+                    metrics,
                     defaultReferenceFetchType,
                     maxJoinFetchDepth,
                     zoneId,
@@ -1895,7 +2112,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     inListPaddingEnabled,
                     expandedInListPaddingEnabled,
                     offsetOptimizingThreshold,
+                    inListToTableThreshold,
+                    sqlTemplateCacheCapacity > 0 ? new SqlTemplateCache(sqlTemplateCacheCapacity) : null,
+                    statementCacheSize,
                     reverseSortOptimizationEnabled,
+                    readerCompilationEnabled,
+                    fetcherExecutor,
+                    cacheRefreshExecutor,
                     maxCommandJoinCount,
                     mutationTransactionRequired,
                     targetTransferable,
@@ -1950,11 +2173,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
                         transactionTriggers = triggers = new TriggersImpl(true);
                         break;
                     case BOTH:
-                        triggers = new TriggersImpl(false);
+                        triggers = new TriggersImpl(false, binLogTriggerParallelism, binLogTriggerQueueCapacity);
                         transactionTriggers = new TriggersImpl(true);
                         break;
                     default:
-                        triggers = new TriggersImpl(false);
+                        triggers = new TriggersImpl(false, binLogTriggerParallelism, binLogTriggerQueueCapacity);
                         break;
                 }
             }
@@ -276,7 +276,12 @@ public class EntitiesImpl implements Entities {
                                     con,
                                     (Class<E>) immutableType.getJavaClass()
                             ),
-                            true
+                            true,
+                            otherCon -> CacheLoader.objectLoader(
+                                    sqlClient,
+                                    otherCon,
+                                    (Class<E>) immutableType.getJavaClass()
+                            )
                     )
             ).values();
             List<E> entities = new ArrayList<>(cachedEntities.size());
@@ -399,7 +404,12 @@ public class EntitiesImpl implements Entities {
                                     con,
                                     (Class<E>) immutableType.getJavaClass()
                             ),
-                            true
+                            true,
+                            otherCon -> CacheLoader.objectLoader(
+                                    sqlClient,
+                                    otherCon,
+                                    (Class<E>) immutableType.getJavaClass()
+                            )
                     )
             ).values();
             List<E> entities = new ArrayList<>(cachedEntities.size());
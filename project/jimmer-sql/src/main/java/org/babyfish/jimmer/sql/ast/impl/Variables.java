@@ -5,7 +5,6 @@ import org.babyfish.jimmer.meta.EmbeddedLevel;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
-import org.babyfish.jimmer.sql.ast.impl.util.ArrayUtils;
 import org.babyfish.jimmer.sql.collection.TypedList;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.meta.SingleColumn;
@@ -92,7 +91,7 @@ public class Variables {
             if (storage instanceof SingleColumn) {
                 SingleColumn singleColumn = (SingleColumn) storage;
                 if (singleColumn.getSqlElementType() != null) {
-                    value = new TypedList<>(singleColumn.getSqlElementType(), ArrayUtils.toObject(value));
+                    value = TypedList.of(singleColumn.getSqlElementType(), value);
                 }
             }
         }
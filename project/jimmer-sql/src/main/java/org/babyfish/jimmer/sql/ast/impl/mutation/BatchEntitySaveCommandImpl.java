@@ -11,12 +11,16 @@ import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.DtoMetadata;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
-import org.babyfish.jimmer.sql.runtime.ExceptionTranslator;
-import org.babyfish.jimmer.sql.runtime.Executor;
-import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.*;
+import org.babyfish.jimmer.sql.transaction.Propagation;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.sql.Savepoint;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class BatchEntitySaveCommandImpl<E>
         extends AbstractEntitySaveCommandImpl
@@ -35,28 +39,13 @@ public class BatchEntitySaveCommandImpl<E>
     }
 
     private static Cfg initialCfg(JSqlClientImplementor sqlClient, Connection con, Iterable<?> entities) {
-        ImmutableType type = null;
-        for (Object entity : entities) {
-            if (!(entity instanceof ImmutableSpi)) {
-                throw new IllegalArgumentException(
-                        "All the elements of entities must be immutable object"
-                );
-            }
-            if (!((ImmutableSpi) entity).__type().isEntity()) {
-                throw new IllegalArgumentException(
-                        "All the elements must be entity object"
-                );
-            }
-            if (entity instanceof DraftSpi) {
-                throw new IllegalArgumentException("Each element of entity cannot be draft object");
+        // Other iterables may be lazy or even one-shot,
+        // they are validated when they are iterated.
+        if (entities instanceof Collection<?>) {
+            ImmutableType type = null;
+            for (Object entity : entities) {
+                type = validateEntity(entity, type);
             }
-            ImmutableType entityType = ((ImmutableSpi) entity).__type();
-            if (type != null && entityType != type) {
-                throw new IllegalArgumentException(
-                        "All the elements of entities must belong to same immutable type"
-                );
-            }
-            type = entityType;
         }
         Cfg cfg = new RootCfg(sqlClient, entities);
         if (con != null) {
@@ -65,6 +54,29 @@ public class BatchEntitySaveCommandImpl<E>
         return cfg;
     }
 
+    private static ImmutableType validateEntity(Object entity, ImmutableType type) {
+        if (!(entity instanceof ImmutableSpi)) {
+            throw new IllegalArgumentException(
+                    "All the elements of entities must be immutable object"
+            );
+        }
+        if (!((ImmutableSpi) entity).__type().isEntity()) {
+            throw new IllegalArgumentException(
+                    "All the elements must be entity object"
+            );
+        }
+        if (entity instanceof DraftSpi) {
+            throw new IllegalArgumentException("Each element of entity cannot be draft object");
+        }
+        ImmutableType entityType = ((ImmutableSpi) entity).__type();
+        if (type != null && entityType != type) {
+            throw new IllegalArgumentException(
+                    "All the elements of entities must belong to same immutable type"
+            );
+        }
+        return entityType;
+    }
+
     @Override
     public BatchEntitySaveCommand<E> setMode(SaveMode mode) {
         return new BatchEntitySaveCommandImpl<>(new ModeCfg(cfg, mode));
@@ -217,7 +229,9 @@ public class BatchEntitySaveCommandImpl<E>
             return (Collection<E>) iterable;
         }
         List<E> list = new ArrayList<>();
+        ImmutableType type = null;
         for (E e : iterable) {
+            type = validateEntity(e, type);
             list.add(e);
         }
         return list;
@@ -276,4 +290,121 @@ public class BatchEntitySaveCommandImpl<E>
         );
         return saver.saveAll(entities);
     }
+
+    @Override
+    public ChunkedSaveResult executeChunked(
+            Connection con,
+            int chunkSize,
+            ChunkBoundary boundary,
+            @Nullable Consumer<BatchSaveResult<E>> chunkHandler
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive");
+        }
+        OptionsImpl options = options();
+        ConnectionManager connectionManager = options.getSqlClient().getConnectionManager();
+        Connection specifiedCon = con == null ? options.getConnection() : con;
+        if (boundary == ChunkBoundary.TRANSACTION) {
+            if (specifiedCon != null) {
+                throw new IllegalArgumentException(
+                        "The connection cannot be specified when the chunk boundary is \"" +
+                                ChunkBoundary.TRANSACTION +
+                                "\""
+                );
+            }
+            if (!(connectionManager instanceof TxConnectionManager)) {
+                throw new IllegalStateException(
+                        "The chunk boundary \"" +
+                                ChunkBoundary.TRANSACTION +
+                                "\" requires the connection manager \"" +
+                                TxConnectionManager.class.getName() +
+                                "\""
+                );
+            }
+            TxConnectionManager txConnectionManager = (TxConnectionManager) connectionManager;
+            return executeChunks(
+                    chunkSize,
+                    chunk -> txConnectionManager.executeTransaction(
+                            Propagation.REQUIRES_NEW,
+                            c -> executeChunk(c, chunk, false)
+                    ),
+                    chunkHandler
+            );
+        }
+        return connectionManager.execute(
+                specifiedCon,
+                c -> executeChunks(
+                        chunkSize,
+                        chunk -> executeChunk(c, chunk, boundary == ChunkBoundary.SAVEPOINT),
+                        chunkHandler
+                )
+        );
+    }
+
+    private ChunkedSaveResult executeChunks(
+            int chunkSize,
+            Function<List<E>, BatchSaveResult<E>> chunkExecutor,
+            @Nullable Consumer<BatchSaveResult<E>> chunkHandler
+    ) {
+        OptionsImpl options = options();
+        Iterable<E> iterable = options.getArument();
+        Map<AffectedTable, Integer> affectedRowCountMap = new LinkedHashMap<>();
+        List<E> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+        ImmutableType type = null;
+        int entityCount = 0;
+        int chunkCount = 0;
+        Iterator<E> itr = iterable.iterator();
+        while (true) {
+            boolean hasNext = itr.hasNext();
+            if (hasNext) {
+                E entity = itr.next();
+                type = validateEntity(entity, type);
+                chunk.add(entity);
+            }
+            if (chunk.size() == chunkSize || (!hasNext && !chunk.isEmpty())) {
+                BatchSaveResult<E> result = chunkExecutor.apply(chunk);
+                for (Map.Entry<AffectedTable, Integer> e : result.getAffectedRowCountMap().entrySet()) {
+                    affectedRowCountMap.merge(e.getKey(), e.getValue(), Integer::sum);
+                }
+                entityCount += chunk.size();
+                chunkCount++;
+                chunk.clear();
+                if (chunkHandler != null) {
+                    chunkHandler.accept(result);
+                }
+            }
+            if (!hasNext) {
+                break;
+            }
+        }
+        return new ChunkedSaveResult(affectedRowCountMap, entityCount, chunkCount);
+    }
+
+    private BatchSaveResult<E> executeChunk(Connection con, List<E> chunk, boolean savepoint) {
+        OptionsImpl options = options();
+        if (options.isTransactionRequired()) {
+            Executor.validateMutationConnection(con);
+        }
+        // Each chunk uses a new saver, so that nothing of
+        // the previous chunks can be referenced by the save context
+        Saver saver = new Saver(
+                options,
+                con,
+                ImmutableType.get(chunk.get(0).getClass()),
+                null
+        );
+        if (!savepoint) {
+            return saver.saveAll(chunk);
+        }
+        Savepoint sp = SavepointManager.set(con);
+        BatchSaveResult<E> result;
+        try {
+            result = saver.saveAll(chunk);
+        } catch (RuntimeException | Error ex) {
+            SavepointManager.rollback(() -> con, sp);
+            throw ex;
+        }
+        SavepointManager.release(() -> con, sp);
+        return result;
+    }
 }
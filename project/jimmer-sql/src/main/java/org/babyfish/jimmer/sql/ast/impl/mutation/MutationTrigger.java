@@ -10,6 +10,7 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.event.EntityEvent;
 import org.babyfish.jimmer.sql.event.Triggers;
 
 import java.sql.Connection;
@@ -53,18 +54,24 @@ public class MutationTrigger {
     public void submit(JSqlClient sqlClient, Connection con) {
         if (!changedList.isEmpty()) {
             Triggers triggers = sqlClient.getTriggers(true);
+            List<EntityEvent<?>> entityEvents = new ArrayList<>();
             for (MutationTrigger.ChangedData changedData : this.changedList) {
                 if (changedData instanceof MutationTrigger.EntityChangedData) {
                     MutationTrigger.EntityChangedData data = (MutationTrigger.EntityChangedData) changedData;
-                    Internal.requiresNewDraftContext(ctx -> {
-                        triggers.fireEntityTableChange(
-                                toLonely((ImmutableSpi) data.oldEntity),
-                                toLonely((ImmutableSpi) data.newEntity),
-                                con
-                        );
-                        return null;
-                    });
+                    if (data.oldEntity == null && data.newEntity == null) {
+                        continue;
+                    }
+                    entityEvents.add(
+                            new EntityEvent<>(
+                                    toLonely((ImmutableSpi) data.oldEntity),
+                                    toLonely((ImmutableSpi) data.newEntity),
+                                    con,
+                                    null
+                            )
+                    );
                 } else {
+                    // Consecutive entity changes are fired together
+                    fireEntityTableChanges(triggers, entityEvents);
                     MutationTrigger.AssociationChangedData data = (MutationTrigger.AssociationChangedData) changedData;
                     if (data.detachedTargetId == null) {
                         triggers.fireMiddleTableInsert(data.prop, data.sourceId, data.attachedTargetId, con);
@@ -73,6 +80,17 @@ public class MutationTrigger {
                     }
                 }
             }
+            fireEntityTableChanges(triggers, entityEvents);
+        }
+    }
+
+    private static void fireEntityTableChanges(Triggers triggers, List<EntityEvent<?>> entityEvents) {
+        if (!entityEvents.isEmpty()) {
+            Internal.requiresNewDraftContext(ctx -> {
+                triggers.fireEntityTableChanges(entityEvents);
+                return null;
+            });
+            entityEvents.clear();
         }
     }
 
@@ -104,6 +104,14 @@ class Operator {
             }
         }
 
+        if (identityIdGenerator == null &&
+                batch.originalMode() != SaveMode.UPSERT &&
+                batch.entities().size() > 1 &&
+                !ctx.options.isBatchForbidden() &&
+                bulkInsert(batch, defaultGetters, sequenceIdGenerator, userIdGenerator != null)) {
+            return;
+        }
+
         MetadataStrategy strategy = sqlClient.getMetadataStrategy();
         BatchSqlBuilder builder = new BatchSqlBuilder(
                 sqlClient,
@@ -192,6 +200,138 @@ class Operator {
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
     }
 
+    /**
+     * Insert rows by {@link Dialect#bulkInsert(Connection, String, Iterable)},
+     * it is executed by the {@link Executor} like other statements
+     *
+     * @return false if the bulk insert is not supported,
+     * the caller should use insert statements
+     */
+    private boolean bulkInsert(
+            Batch<DraftSpi> batch,
+            List<PropertyGetter> defaultGetters,
+            @Nullable SequenceIdGenerator sequenceIdGenerator,
+            boolean isUserId
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        try {
+            if (!dialect.isBulkInsertSupported(ctx.con)) {
+                return false;
+            }
+        } catch (SQLException ex) {
+            throw new ExecutionException("Cannot determine whether bulk insert is supported", ex);
+        }
+
+        ImmutableType type = ctx.path.getType();
+        if (sequenceIdGenerator != null) {
+            List<Object> ids = ctx.allocateIds(sequenceIdGenerator, batch.entities().size());
+            if (ids == null) {
+                return false;
+            }
+            if (ids.size() != batch.entities().size()) {
+                throw new ExecutionException(
+                        "The sequence \"" +
+                                sequenceIdGenerator.getSequenceName() +
+                                "\" returns " +
+                                ids.size() +
+                                " id(s), but " +
+                                batch.entities().size() +
+                                " id(s) are required"
+                );
+            }
+            PropId idPropId = type.getIdProp().getId();
+            Iterator<Object> idItr = ids.iterator();
+            for (EntityCollection.Item<DraftSpi> item : batch.entities().items()) {
+                Object id = idItr.next();
+                item.getEntity().__set(idPropId, id);
+                for (DraftSpi draft : item.getOriginalEntities()) {
+                    draft.__set(idPropId, id);
+                }
+            }
+        }
+
+        List<PropertyGetter> getters = new ArrayList<>();
+        if (sequenceIdGenerator != null || isUserId) {
+            getters.addAll(Shape.fullOf(sqlClient, type.getJavaClass()).getIdGetters());
+        }
+        for (PropertyGetter getter : batch.shape().getGetters()) {
+            if (getter.isInsertable(Collections.emptyList(), null)) {
+                getters.add(getter);
+            }
+        }
+        int defaultOffset = getters.size();
+        for (PropertyGetter defaultGetter : defaultGetters) {
+            if (defaultGetter.isInsertable(Collections.emptyList(), null)) {
+                getters.add(defaultGetter);
+            }
+        }
+        List<String> columnNames = new ArrayList<>(getters.size());
+        for (PropertyGetter getter : getters) {
+            columnNames.add(getter.metadata().getColumnName());
+        }
+
+        MutationTrigger trigger = ctx.trigger;
+        if (trigger != null) {
+            for (DraftSpi draft : batch.entities()) {
+                trigger.modifyEntityTable(null, draft);
+            }
+        }
+        Iterable<Object[]> rows = () -> new Iterator<Object[]>() {
+
+            private final Iterator<DraftSpi> draftItr = batch.entities().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return draftItr.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                DraftSpi draft = draftItr.next();
+                Object[] row = new Object[getters.size()];
+                for (int i = 0; i < row.length; i++) {
+                    PropertyGetter getter = getters.get(i);
+                    row[i] = DbLiteral.toSqlValue(
+                            i < defaultOffset ?
+                                    getter.get(draft) :
+                                    getter.metadata().getDefaultValue(),
+                            sqlClient
+                    );
+                }
+                return row;
+            }
+        };
+
+        long rowCount = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        ctx.con,
+                        dialect.getBulkInsertSql(
+                                type.getTableName(sqlClient.getMetadataStrategy()),
+                                columnNames
+                        ),
+                        Collections.emptyList(),
+                        null,
+                        ExecutionPurpose.MUTATE,
+                        ctx.options.getExceptionTranslator(),
+                        (con, args) -> {
+                            Savepoint savepoint = SavepointManager.setIfNeeded(con, sqlClient);
+                            try {
+                                return dialect.bulkInsert(con, args.sql, rows);
+                            } catch (SQLException ex) {
+                                SavepointManager.rollback(() -> con, savepoint);
+                                throw ex;
+                            } finally {
+                                SavepointManager.release(() -> con, savepoint);
+                            }
+                        }
+                )
+        );
+        AffectedRows.add(ctx.affectedRowCountMap, type, (int) rowCount);
+        return true;
+    }
+
     public void update(
             Map<Object, ImmutableSpi> originalIdObjMap,
             Map<KeyMatcher.Group, Map<Object, ImmutableSpi>> originalKeyObjMap,
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.ast.impl.mutation;
 
+import org.babyfish.jimmer.impl.util.Classes;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
@@ -13,12 +14,11 @@ import org.babyfish.jimmer.sql.meta.UserIdGenerator;
 import org.babyfish.jimmer.sql.meta.impl.IdentityIdGenerator;
 import org.babyfish.jimmer.sql.meta.impl.SequenceIdGenerator;
 import org.babyfish.jimmer.sql.runtime.*;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
 
 class SaveContext extends MutationContext {
 
@@ -185,6 +185,46 @@ class SaveContext extends MutationContext {
         );
     }
 
+    /**
+     * Allocate ids from sequence by one round trip
+     *
+     * @return The allocated ids, or null if the dialect
+     * cannot select multiple ids from sequence by one sql
+     */
+    @Nullable
+    public List<Object> allocateIds(SequenceIdGenerator idGenerator, int count) {
+        JSqlClientImplementor sqlClient = options.getSqlClient();
+        String sql = sqlClient.getDialect().getSelectIdsFromSequenceSql(
+                idGenerator.getSequenceName(),
+                count
+        );
+        if (sql == null) {
+            return null;
+        }
+        Class<?> idType = Classes.boxTypeOf(path.getType().getIdProp().getReturnClass());
+        return sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sql,
+                        Collections.emptyList(),
+                        sqlClient.getSqlFormatter().isPretty() ? Collections.emptyList() : null,
+                        ExecutionPurpose.MUTATE,
+                        options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            List<Object> ids = new ArrayList<>(count);
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                while (rs.next()) {
+                                    ids.add(rs.getObject(1, idType));
+                                }
+                            }
+                            return ids;
+                        }
+                )
+        );
+    }
+
     public SaveContext prop(ImmutableProp prop) {
         return new SaveContext(this, prop, null);
     }
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
@@ -8,25 +9,33 @@ import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
 import org.babyfish.jimmer.sql.ast.impl.base.*;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.table.*;
+import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.query.TypedBaseQuery;
+import org.babyfish.jimmer.sql.ast.query.TypedSubQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.dialect.OracleDialect;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 import org.babyfish.jimmer.sql.meta.*;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplementor {
 
+    private static final Object TABLE_SELECTION_KEY = new Object();
+
     private final TypedQueryData data;
 
     private AbstractMutableQueryImpl mutableQuery;
@@ -72,6 +81,9 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
                 }
                 visitBaseTable(mutableQuery.getTableLikeImplementor(), visitor);
             }
+            if (data.keysetPredicate != null) {
+                ((Ast) data.keysetPredicate).accept(visitor);
+            }
         } finally {
             astContext.popStatement();
         }
@@ -147,6 +159,202 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
         }
     }
 
+    /**
+     * Render the query by the shared {@link SqlTemplateCache}.
+     *
+     * <p>Only the where clause is rendered, the rest of the sql
+     * is taken from the template of the queries with the same shape.
+     * The where clause is always rendered because it binds the parameters
+     * and is a part of the cache key.</p>
+     *
+     * @return The rendered result, or null if the shape of this query
+     * cannot be cached and the query must be rendered by {@link #renderTo(AbstractSqlBuilder)}
+     */
+    @Nullable
+    protected final Tuple3<String, List<Object>, List<Integer>> renderByTemplate(
+            SqlTemplateCache cache,
+            AstContext astContext
+    ) {
+        JSqlClientImplementor sqlClient = astContext.getSqlClient();
+        if (sqlClient.getSqlFormatter().isPretty() ||
+                data.oldSelections != null ||
+                data.keysetPredicate != null ||
+                idOnlyPropExprByOffset() != null) {
+            return null;
+        }
+        astContext.pushStatement(mutableQuery);
+        try {
+            List<Object> shapeKey = shapeKey(astContext);
+            if (shapeKey == null) {
+                return null;
+            }
+            SqlBuilder whereBuilder = new SqlBuilder(astContext);
+            mutableQuery.renderWhere(whereBuilder);
+            Tuple3<String, List<Object>, List<Integer>> whereResult = whereBuilder.build();
+            String whereSql = whereResult.get_1();
+            if (whereSql.isEmpty() && mutableQuery.getPredicate(astContext) != null) {
+                return null;
+            }
+            shapeKey.add(whereSql);
+            SqlTemplateCache.Template template = cache.get(shapeKey);
+            if (template == SqlTemplateCache.Template.UNSUPPORTED) {
+                return null;
+            }
+            String sql;
+            List<Object> variables;
+            if (template != null) {
+                sql = template.toSql(whereSql);
+                variables = whereResult.get_2();
+            } else {
+                SqlBuilder builder = new SqlBuilder(astContext);
+                renderWithoutPaging(builder, null, null);
+                Tuple3<String, List<Object>, List<Integer>> result = builder.build();
+                sql = result.get_1();
+                variables = result.get_2();
+                cache.put(shapeKey, createTemplate(sql, variables, whereResult));
+            }
+            if (!data.withoutSortingAndPaging && (data.offset != 0 || data.limit != Integer.MAX_VALUE)) {
+                PaginationContextImpl ctx = new PaginationContextImpl(
+                        sqlClient.getSqlFormatter(),
+                        data.limit,
+                        data.offset,
+                        sql,
+                        variables,
+                        null,
+                        false
+                );
+                sqlClient.getDialect().paginate(ctx);
+                Tuple3<String, List<Object>, List<Integer>> result = ctx.build();
+                sql = result.get_1();
+                variables = result.get_2();
+            }
+            if (data.forUpdate) {
+                sql += " for update";
+            }
+            return new Tuple3<>(sql, variables, null);
+        } finally {
+            astContext.popStatement();
+        }
+    }
+
+    private static SqlTemplateCache.Template createTemplate(
+            String sql,
+            List<Object> variables,
+            Tuple3<String, List<Object>, List<Integer>> whereResult
+    ) {
+        String whereSql = whereResult.get_1();
+        if (!variables.equals(whereResult.get_2())) {
+            return SqlTemplateCache.Template.UNSUPPORTED;
+        }
+        if (whereSql.isEmpty()) {
+            return new SqlTemplateCache.Template(sql, "");
+        }
+        int index = sql.indexOf(whereSql);
+        if (index == -1 || index != sql.lastIndexOf(whereSql)) {
+            return SqlTemplateCache.Template.UNSUPPORTED;
+        }
+        return new SqlTemplateCache.Template(
+                sql.substring(0, index),
+                sql.substring(index + whereSql.length())
+        );
+    }
+
+    /**
+     * Simple queries only: single table without joins, sub queries,
+     * base tables, group by or having. Otherwise, returns null.
+     */
+    @Nullable
+    private List<Object> shapeKey(AstContext astContext) {
+        if (!(mutableQuery.getTableLikeImplementor() instanceof TableImplementor<?>) ||
+                mutableQuery.isGroupByClauseUsed() ||
+                !mutableQuery.getHavingPredicates().isEmpty()) {
+            return null;
+        }
+        TableImplementor<?> tableImplementor = (TableImplementor<?>) mutableQuery.getTableLikeImplementor();
+        if (tableImplementor.hasBaseTable()) {
+            return null;
+        }
+        RealTable realTable = tableImplementor.realTable(astContext);
+        if (realTable.iterator().hasNext()) {
+            return null;
+        }
+        List<Object> key = new ArrayList<>();
+        key.add(tableImplementor.getImmutableType());
+        key.add(realTable.getAlias());
+        key.add(data.distinct);
+        key.add(data.hint);
+        key.add(data.withoutSortingAndPaging);
+        key.add(data.reverseSorting);
+        for (Selection<?> selection : data.selections) {
+            Object selectionKey = selectionKey(selection, tableImplementor, astContext);
+            if (selectionKey == null) {
+                return null;
+            }
+            key.add(selectionKey);
+        }
+        if (!data.withoutSortingAndPaging) {
+            for (Order order : mutableQuery.getOrders()) {
+                Object propKey = propKey(order.getExpression(), tableImplementor, astContext);
+                if (propKey == null) {
+                    return null;
+                }
+                key.add(propKey);
+                key.add(order.getOrderMode());
+                key.add(order.getNullOrderMode());
+            }
+        }
+        Predicate predicate = mutableQuery.getPredicate(astContext);
+        if (predicate != null) {
+            SingleTableVisitor visitor = new SingleTableVisitor(astContext, tableImplementor);
+            ((Ast) predicate).accept(visitor);
+            if (!visitor.isSingleTable()) {
+                return null;
+            }
+        }
+        return key;
+    }
+
+    @Nullable
+    private static Object selectionKey(
+            Selection<?> selection,
+            TableImplementor<?> tableImplementor,
+            AstContext astContext
+    ) {
+        if (selection instanceof Table<?>) {
+            if (TableProxies.resolve((Table<?>) selection, astContext) == tableImplementor) {
+                return TABLE_SELECTION_KEY;
+            }
+            return null;
+        }
+        if (selection instanceof FetcherSelectionImpl<?>) {
+            FetcherSelectionImpl<?> fetcherSelection = (FetcherSelectionImpl<?>) selection;
+            if (fetcherSelection.getEmbeddedPropExpression() == null &&
+                    fetcherSelection.getTable() != null &&
+                    TableProxies.resolve(fetcherSelection.getTable(), astContext) == tableImplementor) {
+                return fetcherSelection.getFetcher();
+            }
+            return null;
+        }
+        return propKey(selection, tableImplementor, astContext);
+    }
+
+    @Nullable
+    private static Object propKey(
+            Selection<?> selection,
+            TableImplementor<?> tableImplementor,
+            AstContext astContext
+    ) {
+        if (!(selection instanceof PropExpressionImplementor<?>)) {
+            return null;
+        }
+        PropExpressionImplementor<?> propExpr = (PropExpressionImplementor<?>) selection;
+        if (propExpr.getBase() != null ||
+                TableProxies.resolve(propExpr.getTable(), astContext) != tableImplementor) {
+            return null;
+        }
+        return Arrays.asList(propExpr.getProp(), propExpr.isRawId());
+    }
+
     @Override
     public boolean hasVirtualPredicate() {
         return mutableQuery.hasVirtualPredicate();
@@ -243,7 +451,7 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
             fakeRenderExportedForeignKeys(mutableQuery.getTableLikeImplementor(),builder);
         }
         builder.leave();
-            mutableQuery.renderTo(builder, data.withoutSortingAndPaging, data.reverseSorting);
+            mutableQuery.renderTo(builder, data.withoutSortingAndPaging, data.reverseSorting, data.keysetPredicate);
     }
 
     private void renderSelections(SqlBuilder builder) {
@@ -330,7 +538,7 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
         }
     }
 
-    private PropExpressionImplementor<?> idOnlyPropExprByOffset() {
+    PropExpressionImplementor<?> idOnlyPropExprByOffset() {
         if (data.offset >= mutableQuery.getSqlClient().getOffsetOptimizingThreshold()) {
             return data.getIdOnlyExpression();
         }
@@ -422,6 +630,40 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
         }
     }
 
+    private static class SingleTableVisitor extends AstVisitor {
+
+        private final TableImplementor<?> tableImplementor;
+
+        private boolean singleTable = true;
+
+        SingleTableVisitor(AstContext ctx, TableImplementor<?> tableImplementor) {
+            super(ctx);
+            this.tableImplementor = tableImplementor;
+        }
+
+        public boolean isSingleTable() {
+            return singleTable;
+        }
+
+        @Override
+        public void visitTableReference(RealTable table, @Nullable ImmutableProp prop, boolean rawId) {
+            if (table.getTableLikeImplementor() != tableImplementor) {
+                singleTable = false;
+            }
+        }
+
+        @Override
+        public void visitTableFetcher(RealTable table, Fetcher<?> fetcher) {
+            singleTable = false;
+        }
+
+        @Override
+        public boolean visitSubQuery(TypedSubQuery<?> subQuery) {
+            singleTable = false;
+            return false;
+        }
+    }
+
     private static class OffsetOptimizationWriter {
 
         private static final String ALIAS = "optimize_";
@@ -15,6 +15,7 @@ import org.babyfish.jimmer.sql.ast.table.spi.TableLike;
 import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -270,27 +271,32 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
-    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging, boolean reverseOrder) {
+    void renderTo(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder,
+            @Nullable Predicate keysetPredicate
+    ) {
         TableLikeImplementor<?> tableLikeImplementor = getTableLikeImplementor();
         if (tableLikeImplementor instanceof BaseTableImplementor) {
             SqlBuilder tmpBuilder = builder.createTempBuilder();
-            renderClausesAfterTable(tmpBuilder, withoutSortingAndPaging, reverseOrder);
+            renderClausesAfterTable(tmpBuilder, withoutSortingAndPaging, reverseOrder, keysetPredicate);
             tableLikeImplementor.renderTo(builder);
             builder.appendTempBuilder(tmpBuilder);
         } else {
             tableLikeImplementor.renderTo(builder);
-            renderClausesAfterTable(builder, withoutSortingAndPaging, reverseOrder);
+            renderClausesAfterTable(builder, withoutSortingAndPaging, reverseOrder, keysetPredicate);
         }
     }
 
-    private void renderClausesAfterTable(SqlBuilder builder, boolean withoutSortingAndPaging, boolean reverseOrder) {
-        Predicate predicate = getPredicate(builder.getAstContext());
+    private void renderClausesAfterTable(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder,
+            @Nullable Predicate keysetPredicate
+    ) {
         Predicate havingPredicate = getHavingPredicate(builder.getAstContext());
-        if (predicate != null) {
-            builder.enter(SqlBuilder.ScopeType.WHERE);
-            ((Ast) predicate).renderTo(builder);
-            builder.leave();
-        }
+        renderWhere(builder, keysetPredicate);
         if (!groupByExpressions.isEmpty()) {
             builder.enter(SqlBuilder.ScopeType.GROUP_BY);
             for (Expression<?> expression : groupByExpressions) {
@@ -330,6 +336,22 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
+    void renderWhere(SqlBuilder builder) {
+        renderWhere(builder, null);
+    }
+
+    private void renderWhere(SqlBuilder builder, @Nullable Predicate keysetPredicate) {
+        Predicate predicate = getPredicate(builder.getAstContext());
+        if (keysetPredicate != null) {
+            predicate = predicate != null ? Predicate.and(predicate, keysetPredicate) : keysetPredicate;
+        }
+        if (predicate != null) {
+            builder.enter(SqlBuilder.ScopeType.WHERE);
+            ((Ast) predicate).renderTo(builder);
+            builder.leave();
+        }
+    }
+
     protected boolean isGroupByClauseUsed() {
         return !this.groupByExpressions.isEmpty();
     }
@@ -12,6 +12,7 @@ import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -22,6 +23,7 @@ import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         extends AbstractConfigurableTypedQueryImpl
@@ -139,6 +141,34 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         return new Slice<>(rows.subList(0, rows.size() - 1), offset == 0, false);
     }
 
+    @Override
+    public KeysetSlice<R> fetchSlice(@Nullable String afterCursor, int pageSize, @Nullable Connection con) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize cannot be less than 1");
+        }
+        TypedQueryData data = getData();
+        if (data.limit != Integer.MAX_VALUE || data.offset != 0 ||
+                data.withoutSortingAndPaging || data.reverseSorting || data.keysetPredicate != null) {
+            throw new IllegalStateException(
+                    "Keyset pagination cannot be used by the query whose sorting or pagination has been changed"
+            );
+        }
+        Keyset keyset = Keyset.of(getMutableQuery());
+        ConfigurableRootQuery<T, R> query = this;
+        if (afterCursor != null) {
+            query = new ConfigurableRootQueryImpl<>(
+                    data.keyset(keyset.predicate(afterCursor)),
+                    getMutableQuery()
+            );
+        }
+        List<R> rows = query.limit(pageSize + 1).execute(con);
+        if (rows.size() <= pageSize) {
+            return new KeysetSlice<>(rows, afterCursor == null, null);
+        }
+        rows = rows.subList(0, pageSize);
+        return new KeysetSlice<>(rows, afterCursor == null, keyset.cursor(rows.get(pageSize - 1)));
+    }
+
     @Override
     public <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -349,6 +379,29 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         );
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException("The connection of stream cannot be null");
+        }
+        TypedQueryData data = getData();
+        if (data.limit == 0) {
+            return Stream.empty();
+        }
+        JSqlClientImplementor sqlClient = getMutableQuery().getSqlClient();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                data.selections,
+                getMutableQuery().getPurpose(),
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize()
+        );
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
         if (!getMutableQuery().isFrozen()) {
             getMutableQuery().applyVirtualPredicates(builder.getAstContext());
@@ -357,6 +410,14 @@ public class ConfigurableRootQueryImpl<T extends TableLike<?>, R>
         UseTableVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
         visitor.allocateAliases();
+        SqlTemplateCache templateCache = getMutableQuery().getSqlClient().getSqlTemplateCache();
+        if (templateCache != null) {
+            Tuple3<String, List<Object>, List<Integer>> sqlResult =
+                    renderByTemplate(templateCache, builder.getAstContext());
+            if (sqlResult != null) {
+                return sqlResult;
+            }
+        }
         renderTo(builder);
         return builder.build();
     }
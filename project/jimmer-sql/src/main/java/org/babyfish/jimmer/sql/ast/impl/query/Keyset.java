@@ -0,0 +1,273 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.meta.EmbeddedLevel;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.ast.ComparableExpression;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.impl.*;
+import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableLikeImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableProxies;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The sorting of a root query which can be used by keyset pagination.
+ *
+ * <p>The cursor is the base64 encoded json array of the sorting values
+ * of the last row, it is opaque to the caller.</p>
+ */
+class Keyset {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final ImmutableType type;
+
+    private final List<Order> orders;
+
+    private Keyset(ImmutableType type, List<Order> orders) {
+        this.type = type;
+        this.orders = orders;
+    }
+
+    static Keyset of(MutableRootQueryImpl<?> mutableQuery) {
+        TableLikeImplementor<?> tableLikeImplementor = mutableQuery.getTableLikeImplementor();
+        if (!(tableLikeImplementor instanceof TableImplementor<?>)) {
+            throw new IllegalStateException(
+                    "Keyset pagination is not supported by the query based on base table"
+            );
+        }
+        TableImplementor<?> tableImplementor = (TableImplementor<?>) tableLikeImplementor;
+        List<Order> orders = mutableQuery.getOrders();
+        if (orders.isEmpty()) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires the query to have order by clause"
+            );
+        }
+        AstContext astContext = new AstContext(mutableQuery.getSqlClient());
+        astContext.pushStatement(mutableQuery);
+        boolean hasId = false;
+        try {
+            for (Order order : orders) {
+                ImmutableProp prop = keyProp(order.getExpression(), tableImplementor, astContext);
+                if (prop == null) {
+                    throw new IllegalStateException(
+                            "Keyset pagination only accepts the order by expressions which are " +
+                                    "the non-null scalar properties of the root table, but \"" +
+                                    order.getExpression() +
+                                    "\" is not"
+                    );
+                }
+                hasId |= prop.isId();
+            }
+        } finally {
+            astContext.popStatement();
+        }
+        if (!hasId) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires the id property of \"" +
+                            tableImplementor.getImmutableType() +
+                            "\" to be used by the order by clause, " +
+                            "otherwise, the sorting is not unique"
+            );
+        }
+        return new Keyset(tableImplementor.getImmutableType(), orders);
+    }
+
+    private static ImmutableProp keyProp(
+            Expression<?> expression,
+            TableImplementor<?> tableImplementor,
+            AstContext astContext
+    ) {
+        if (!(expression instanceof PropExpressionImplementor<?>) ||
+                !(expression instanceof ComparableExpression<?>)) {
+            return null;
+        }
+        PropExpressionImplementor<?> propExpr = (PropExpressionImplementor<?>) expression;
+        if (propExpr.getBase() != null ||
+                TableProxies.resolve(propExpr.getTable(), astContext) != tableImplementor) {
+            return null;
+        }
+        ImmutableProp prop = propExpr.getProp();
+        if (!prop.isColumnDefinition() ||
+                !prop.isScalar(TargetLevel.ENTITY) ||
+                prop.isEmbedded(EmbeddedLevel.SCALAR) ||
+                prop.isNullable()) {
+            return null;
+        }
+        return prop;
+    }
+
+    String cursor(Object row) {
+        if (!(row instanceof ImmutableSpi) || ((ImmutableSpi) row).__type() != type) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires the query to select the root table \"" +
+                            type +
+                            "\" or its object fetcher"
+            );
+        }
+        ImmutableSpi spi = (ImmutableSpi) row;
+        ArrayNode arrayNode = MAPPER.createArrayNode();
+        for (Order order : orders) {
+            ImmutableProp prop = ((PropExpressionImplementor<?>) order.getExpression()).getProp();
+            if (!spi.__isLoaded(prop.getId())) {
+                throw new IllegalStateException(
+                        "Keyset pagination requires the sorting property \"" +
+                                prop +
+                                "\" to be fetched"
+                );
+            }
+            arrayNode.add(MAPPER.valueToTree(spi.__get(prop.getId())));
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    MAPPER.writeValueAsBytes(arrayNode)
+            );
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot create the keyset cursor", ex);
+        }
+    }
+
+    Predicate predicate(String cursor) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (IOException | IllegalArgumentException ex) {
+            throw illegalCursor(cursor, ex);
+        }
+        if (node == null || !node.isArray() || node.size() != orders.size()) {
+            throw illegalCursor(cursor, null);
+        }
+        List<Object> values = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            ImmutableProp prop = ((PropExpressionImplementor<?>) orders.get(i).getExpression()).getProp();
+            Object value;
+            try {
+                value = MAPPER.treeToValue(node.get(i), prop.getReturnClass());
+            } catch (IOException | IllegalArgumentException ex) {
+                throw illegalCursor(cursor, ex);
+            }
+            if (value == null) {
+                throw illegalCursor(cursor, null);
+            }
+            values.add(value);
+        }
+        return new KeysetPredicate(orders, values);
+    }
+
+    private static IllegalArgumentException illegalCursor(String cursor, Throwable cause) {
+        return new IllegalArgumentException(
+                "The keyset cursor \"" + cursor + "\" does not match the sorting of the query",
+                cause
+        );
+    }
+
+    /**
+     * Renders `(a, b) > (?, ?)` if all the orders have the same direction
+     * and the dialect supports tuple comparison, otherwise, renders
+     * `a > ? or a = ? and b > ?`
+     */
+    private static class KeysetPredicate extends AbstractPredicate {
+
+        private final List<Order> orders;
+
+        private final List<Object> values;
+
+        private final Predicate expandedPredicate;
+
+        KeysetPredicate(List<Order> orders, List<Object> values) {
+            this.orders = orders;
+            this.values = values;
+            this.expandedPredicate = expand(orders, values);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Predicate expand(List<Order> orders, List<Object> values) {
+            int size = orders.size();
+            Predicate[] orPredicates = new Predicate[size];
+            for (int i = 0; i < size; i++) {
+                Predicate[] andPredicates = new Predicate[i + 1];
+                for (int ii = 0; ii < i; ii++) {
+                    andPredicates[ii] = ((Expression<Object>) orders.get(ii).getExpression()).eq(values.get(ii));
+                }
+                Order order = orders.get(i);
+                ComparableExpression<Comparable<?>> expr =
+                        (ComparableExpression<Comparable<?>>) order.getExpression();
+                Comparable<?> value = (Comparable<?>) values.get(i);
+                andPredicates[i] = order.getOrderMode() == OrderMode.DESC ? expr.lt(value) : expr.gt(value);
+                orPredicates[i] = Predicate.and(andPredicates);
+            }
+            return Predicate.or(orPredicates);
+        }
+
+        @Override
+        public void accept(@NotNull AstVisitor visitor) {
+            ((Ast) expandedPredicate).accept(visitor);
+        }
+
+        @Override
+        public void renderTo(@NotNull AbstractSqlBuilder<?> builder) {
+            OrderMode orderMode = orders.get(0).getOrderMode();
+            boolean sameOrderMode = true;
+            for (Order order : orders) {
+                if (order.getOrderMode() != orderMode) {
+                    sameOrderMode = false;
+                    break;
+                }
+            }
+            if (orders.size() == 1 ||
+                    !sameOrderMode ||
+                    !builder.sqlClient().getDialect().isTupleComparisonSupported()) {
+                renderChild((Ast) expandedPredicate, builder);
+                return;
+            }
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (Order order : orders) {
+                builder.separator();
+                ((Ast) order.getExpression()).renderTo(builder);
+            }
+            builder.leave();
+            builder.sql(orderMode == OrderMode.DESC ? " < " : " > ");
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (int i = 0; i < orders.size(); i++) {
+                Expression<?> literal = Literals.any(values.get(i));
+                Literals.bind(literal, orders.get(i).getExpression());
+                builder.separator();
+                ((Ast) literal).renderTo(builder);
+            }
+            builder.leave();
+        }
+
+        @Override
+        protected boolean determineHasVirtualPredicate() {
+            return false;
+        }
+
+        @Override
+        protected Ast onResolveVirtualPredicate(AstContext ctx) {
+            return this;
+        }
+
+        @Override
+        public int precedence() {
+            return ExpressionPrecedences.OR;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
@@ -39,6 +40,8 @@ class TypedQueryData {
 
     final String hint;
 
+    final Predicate keysetPredicate;
+
     private PropExpressionImplementor<?> idOnlyExpression;
 
     private boolean idOnlyExpressionResolved;
@@ -54,6 +57,7 @@ class TypedQueryData {
         reverseSortOptimizationEnabled = null;
         forUpdate = false;
         hint = null;
+        keysetPredicate = null;
     }
 
     private TypedQueryData(
@@ -66,7 +70,8 @@ class TypedQueryData {
             boolean reverseSorting,
             Boolean reverseSortOptimizationEnabled,
             boolean forUpdate,
-            String hint
+            String hint,
+            Predicate keysetPredicate
     ) {
         this.selections = selections;
         this.oldSelections = oldSelections;
@@ -78,6 +83,7 @@ class TypedQueryData {
         this.reverseSortOptimizationEnabled = reverseSortOptimizationEnabled;
         this.forUpdate = forUpdate;
         this.hint = hint;
+        this.keysetPredicate = keysetPredicate;
     }
 
     public TypedQueryData reselect(List<Selection<?>> selections) {
@@ -91,7 +97,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -106,7 +113,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -121,7 +129,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -136,7 +145,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -151,7 +161,8 @@ class TypedQueryData {
                 true,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -166,7 +177,8 @@ class TypedQueryData {
                 reverseSorting,
                 enabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -181,7 +193,8 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 true,
-                hint
+                hint,
+                keysetPredicate
         );
     }
 
@@ -209,7 +222,24 @@ class TypedQueryData {
                 reverseSorting,
                 reverseSortOptimizationEnabled,
                 forUpdate,
-                hint
+                hint,
+                keysetPredicate
+        );
+    }
+
+    public TypedQueryData keyset(Predicate keysetPredicate) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                reverseSorting,
+                reverseSortOptimizationEnabled,
+                forUpdate,
+                hint,
+                keysetPredicate
         );
     }
 
@@ -18,6 +18,8 @@ public class ComparisonPredicates {
 
     private static final Map<String, String> REVERSED_OP_MAP;
 
+    private static final String IN_LIST_TABLE_ALIAS = "tb_in_";
+
     private ComparisonPredicates() {}
 
     @SuppressWarnings("unchecked")
@@ -275,6 +277,12 @@ public class ComparisonPredicates {
         }
         JSqlClientImplementor sqlClient = builder.sqlClient();
         Dialect dialect = sqlClient.getDialect();
+        if (values.size() >= sqlClient.getInListToTableThreshold() &&
+                (getters.size() > 1 || !dialect.isAnyEqualityOfArraySupported()) &&
+                dialect.isInListTableSupported(values.size(), getters.size())) {
+            renderInListTable(negative, getters, values, builder);
+            return;
+        }
         if (getters.size() > 1 && !(
                 values.size() == 1 ? dialect.isTupleComparisonSupported() : dialect.isTupleSupported()
         )) {
@@ -389,6 +397,63 @@ public class ComparisonPredicates {
         builder.leave();
     }
 
+    /*
+     * exists(
+     *     select * from <in-list table> tb_in_(c1, c2)
+     *     where tb_in_.c1 = <column1> and tb_in_.c2 = <column2>
+     * )
+     *
+     * For `not in`, null columns must behave like `(<column1>, <column2>) not in (...)`,
+     * the row is excluded unless a not null column differs from each row of the list,
+     * so that null columns match any row
+     *
+     * not exists(
+     *     select * from <in-list table> tb_in_(c1, c2)
+     *     where (tb_in_.c1 = <column1> or <column1> is null)
+     *     and (tb_in_.c2 = <column2> or <column2> is null)
+     * )
+     */
+    private static void renderInListTable(
+            boolean negative,
+            List<ValueGetter> getters,
+            Collection<?> values,
+            AbstractSqlBuilder<?> builder
+    ) {
+        for (Object value : values) {
+            for (ValueGetter getter : getters) {
+                nonNull(getter.get(value));
+            }
+        }
+        int size = getters.size();
+        builder.sql(negative ? "not exists " : "exists ").enter(AbstractSqlBuilder.ScopeType.SUB_QUERY);
+        builder.sql("select * from ");
+        builder.sqlClient().getDialect().renderInListTable(builder, getters, values);
+        builder.sql(" ").sql(IN_LIST_TABLE_ALIAS).enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (int i = 1; i <= size; i++) {
+            builder.separator().sql("c").sql(Integer.toString(i));
+        }
+        builder.leave();
+        builder.enter(AbstractSqlBuilder.ScopeType.WHERE);
+        for (int i = 0; i < size; i++) {
+            ValueGetter getter = getters.get(i);
+            builder.separator();
+            if (negative) {
+                builder.enter(AbstractSqlBuilder.ScopeType.SMART_OR);
+            }
+            builder.sql(IN_LIST_TABLE_ALIAS)
+                    .sql(".c")
+                    .sql(Integer.toString(i + 1))
+                    .sql(" = ")
+                    .sql(getter);
+            if (negative) {
+                builder.separator().sql(getter).sql(" is null");
+                builder.leave();
+            }
+        }
+        builder.leave();
+        builder.leave();
+    }
+
     public static void renderNullableIn(
             boolean negative,
             List<ValueGetter> getters,
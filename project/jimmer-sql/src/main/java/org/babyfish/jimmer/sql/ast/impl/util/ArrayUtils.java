@@ -22,6 +22,16 @@ public class ArrayUtils {
 
     private static final Double[] EMPTY_DOUBLE_ARR = new Double[0];
 
+    private static final short[] EMPTY_SHORT_PRIMITIVE_ARR = new short[0];
+
+    private static final int[] EMPTY_INT_PRIMITIVE_ARR = new int[0];
+
+    private static final long[] EMPTY_LONG_PRIMITIVE_ARR = new long[0];
+
+    private static final float[] EMPTY_FLOAT_PRIMITIVE_ARR = new float[0];
+
+    private static final double[] EMPTY_DOUBLE_PRIMITIVE_ARR = new double[0];
+
     private static final Map<Class<?>, Function<Object, Object[]>> TO_OBJECT_MAP;
 
     private ArrayUtils() {
@@ -159,6 +169,81 @@ public class ArrayUtils {
         return objArr;
     }
 
+    public static short[] toPrimitive(Short[] arr) {
+        if (arr == null) {
+            return null;
+        }
+        int len = arr.length;
+        if (len == 0) {
+            return EMPTY_SHORT_PRIMITIVE_ARR;
+        }
+        short[] primitiveArr = new short[len];
+        for (int i = len - 1; i >= 0; --i) {
+            primitiveArr[i] = arr[i];
+        }
+        return primitiveArr;
+    }
+
+    public static int[] toPrimitive(Integer[] arr) {
+        if (arr == null) {
+            return null;
+        }
+        int len = arr.length;
+        if (len == 0) {
+            return EMPTY_INT_PRIMITIVE_ARR;
+        }
+        int[] primitiveArr = new int[len];
+        for (int i = len - 1; i >= 0; --i) {
+            primitiveArr[i] = arr[i];
+        }
+        return primitiveArr;
+    }
+
+    public static long[] toPrimitive(Long[] arr) {
+        if (arr == null) {
+            return null;
+        }
+        int len = arr.length;
+        if (len == 0) {
+            return EMPTY_LONG_PRIMITIVE_ARR;
+        }
+        long[] primitiveArr = new long[len];
+        for (int i = len - 1; i >= 0; --i) {
+            primitiveArr[i] = arr[i];
+        }
+        return primitiveArr;
+    }
+
+    public static float[] toPrimitive(Float[] arr) {
+        if (arr == null) {
+            return null;
+        }
+        int len = arr.length;
+        if (len == 0) {
+            return EMPTY_FLOAT_PRIMITIVE_ARR;
+        }
+        float[] primitiveArr = new float[len];
+        for (int i = len - 1; i >= 0; --i) {
+            primitiveArr[i] = arr[i];
+        }
+        return primitiveArr;
+    }
+
+    public static double[] toPrimitive(Double[] arr) {
+        if (arr == null) {
+            return null;
+        }
+        int len = arr.length;
+        if (len == 0) {
+            return EMPTY_DOUBLE_PRIMITIVE_ARR;
+        }
+        double[] primitiveArr = new double[len];
+        for (int i = len - 1; i >= 0; --i) {
+            primitiveArr[i] = arr[i];
+        }
+        return primitiveArr;
+    }
+
     static {
         Map<Class<?>, Function<Object, Object[]>> map = new HashMap<>();
         map.put(boolean.class, arr -> toObject((boolean[])arr));
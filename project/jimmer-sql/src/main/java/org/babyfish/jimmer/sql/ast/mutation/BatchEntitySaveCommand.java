@@ -10,8 +10,10 @@ import org.babyfish.jimmer.sql.ast.Executable;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.runtime.ExceptionTranslator;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.util.function.Consumer;
 
 public interface BatchEntitySaveCommand<E>
         extends Executable<BatchSaveResult<E>>,
@@ -293,4 +295,47 @@ public interface BatchEntitySaveCommand<E>
     BatchSaveResult<E> execute(Connection con, Fetcher<E> fetcher);
 
     <V extends View<E>> BatchSaveResult.View<E, V> execute(Connection con, Class<V> viewType);
+
+    default ChunkedSaveResult executeChunked(int chunkSize) {
+        return executeChunked(null, chunkSize, ChunkBoundary.NONE, null);
+    }
+
+    default ChunkedSaveResult executeChunked(int chunkSize, ChunkBoundary boundary) {
+        return executeChunked(null, chunkSize, boundary, null);
+    }
+
+    default ChunkedSaveResult executeChunked(
+            int chunkSize,
+            ChunkBoundary boundary,
+            @Nullable Consumer<BatchSaveResult<E>> chunkHandler
+    ) {
+        return executeChunked(null, chunkSize, boundary, chunkHandler);
+    }
+
+    /**
+     * Save the entities chunk by chunk, each chunk is saved
+     * like a separated {@link #execute(Connection)}, so that
+     * the memory is bounded by the chunk size, not the count of entities.
+     *
+     * <p>The entities are iterated only once and lazily, so
+     * an unbounded source can be used, for example,
+     * {@code saveEntitiesCommand(stream::iterator)}</p>
+     *
+     * <p>The saved entities of a chunk are only visible to
+     * {@code chunkHandler}, they are discarded after it is called,
+     * so the returned result only contains the affected row counts.</p>
+     *
+     * @param con The connection, null means the connection
+     *            managed by the connection manager
+     * @param chunkSize The max count of root entities of each chunk
+     * @param boundary What happens between two chunks
+     * @param chunkHandler Optional callback which is called
+     *                     after each chunk is saved
+     */
+    ChunkedSaveResult executeChunked(
+            Connection con,
+            int chunkSize,
+            ChunkBoundary boundary,
+            @Nullable Consumer<BatchSaveResult<E>> chunkHandler
+    );
 }
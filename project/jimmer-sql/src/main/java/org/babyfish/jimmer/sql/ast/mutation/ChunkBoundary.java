@@ -0,0 +1,35 @@
+package org.babyfish.jimmer.sql.ast.mutation;
+
+import org.babyfish.jimmer.sql.transaction.Propagation;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
+
+/**
+ * What happens between two chunks of
+ * {@link BatchEntitySaveCommand#executeChunked(java.sql.Connection, int, ChunkBoundary, java.util.function.Consumer)}
+ */
+public enum ChunkBoundary {
+
+    /**
+     * All chunks are saved by the same connection,
+     * the transaction is controlled by the caller
+     */
+    NONE,
+
+    /**
+     * All chunks are saved by the same connection,
+     * but each chunk is protected by a savepoint,
+     * if a chunk fails, only the modifications of
+     * that chunk are rolled back before the exception
+     * is thrown, the chunks saved before it are kept.
+     */
+    SAVEPOINT,
+
+    /**
+     * Each chunk is saved and committed by its own transaction
+     * with the propagation {@link Propagation#REQUIRES_NEW}.
+     *
+     * <p>The connection manager must be {@link TxConnectionManager}
+     * and the connection cannot be specified explicitly.</p>
+     */
+    TRANSACTION
+}
@@ -0,0 +1,61 @@
+package org.babyfish.jimmer.sql.ast.mutation;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The result of
+ * {@link BatchEntitySaveCommand#executeChunked(java.sql.Connection, int, ChunkBoundary, java.util.function.Consumer)}.
+ *
+ * <p>Unlike {@link BatchSaveResult}, it does not hold the saved entities,
+ * only the affected row counts of all chunks are accumulated.</p>
+ */
+public class ChunkedSaveResult extends AbstractMutationResult {
+
+    private final int entityCount;
+
+    private final int chunkCount;
+
+    public ChunkedSaveResult(
+            Map<AffectedTable, Integer> affectedRowCountMap,
+            int entityCount,
+            int chunkCount
+    ) {
+        super(affectedRowCountMap);
+        this.entityCount = entityCount;
+        this.chunkCount = chunkCount;
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(affectedRowCountMap, entityCount, chunkCount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChunkedSaveResult that = (ChunkedSaveResult) o;
+        return entityCount == that.entityCount &&
+                chunkCount == that.chunkCount &&
+                affectedRowCountMap.equals(that.affectedRowCountMap);
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedSaveResult{" +
+                "totalAffectedRowCount=" + totalAffectedRowCount +
+                ", affectedRowCountMap=" + affectedRowCountMap +
+                ", entityCount=" + entityCount +
+                ", chunkCount=" + chunkCount +
+                '}';
+    }
+}
@@ -81,6 +81,30 @@ public interface ConfigurableRootQuery<T extends TableLike<?>, R> extends TypedR
         return fetchSlice(limit, offset, null);
     }
 
+    /**
+     * Keyset pagination, also known as seek pagination.
+     *
+     * <p>Unlike {@link #fetchSlice(int, int, Connection)}, the next slice is
+     * located by the sorting values of the last row of the previous slice
+     * rather than offset, so the cost of deep pages is the same as the first page.
+     * The row total count is never queried.</p>
+     *
+     * <p>The order by expressions of the query must be the non-null scalar
+     * properties of the root table, and the id property must be one of them
+     * to make the sorting unique. The query must select the root table
+     * or its object fetcher, and the sorting properties must be fetched.</p>
+     *
+     * @param afterCursor The {@link KeysetSlice#getNextCursor()} of the previous slice,
+     *                    null means fetching the first slice
+     * @param pageSize The max row count of the slice
+     * @param con The explicit jdbc connection, null means using default connection
+     */
+    KeysetSlice<R> fetchSlice(@Nullable String afterCursor, int pageSize, @Nullable Connection con);
+
+    default KeysetSlice<R> fetchSlice(@Nullable String afterCursor, int pageSize) {
+        return fetchSlice(afterCursor, pageSize, null);
+    }
+
     @NewChain
     <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -0,0 +1,61 @@
+package org.babyfish.jimmer.sql.ast.query;
+
+import org.babyfish.jimmer.Slice;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of keyset pagination, it is returned by
+ * {@link ConfigurableRootQuery#fetchSlice(String, int, java.sql.Connection)}.
+ *
+ * <p>Unlike {@link org.babyfish.jimmer.Page}, it does not fetch row total count,
+ * and unlike the offset based {@link Slice}, the cost of deep pages is the same
+ * as the first page because the next slice is located by the sorting values
+ * of the last row.</p>
+ *
+ * @param <T> The row type
+ */
+public class KeysetSlice<T> extends Slice<T> {
+
+    @Nullable
+    private final String nextCursor;
+
+    public KeysetSlice(@NotNull List<T> rows, boolean isHead, @Nullable String nextCursor) {
+        super(rows, isHead, nextCursor == null);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return The opaque cursor which can be used as the
+     * `afterCursor` argument to fetch the next slice,
+     * or null if this slice is the tail.
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+        KeysetSlice<?> that = (KeysetSlice<?>) o;
+        return Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetSlice{" +
+                "rows=" + getRows() +
+                ", isHead=" + isHead() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
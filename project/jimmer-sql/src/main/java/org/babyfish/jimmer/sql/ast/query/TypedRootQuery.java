@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -164,4 +165,35 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    /**
+     * Open a cursor and return a lazy stream of the rows.
+     *
+     * <p>Unlike {@link #forEach(Connection, int, Consumer)}, the caller
+     * controls the iteration, so the consumption can be paused
+     * or stopped at any time. The associations of the fetcher are loaded
+     * chunk by chunk, each chunk contains {@code batchSize} rows.</p>
+     *
+     * <p>The returned stream holds the statement and the result set,
+     * it must be closed, for example, by try-with-resources.
+     * The connection is not managed by jimmer here, it must be
+     * kept open until the stream is closed. For some databases such as
+     * postgres, the connection must not be in auto-commit mode, otherwise
+     * the JDBC driver reads all rows before the first one is returned.</p>
+     *
+     * @param con The JDBC connection, cannot be null
+     */
+    default Stream<R> stream(Connection con) {
+        return stream(con, -1);
+    }
+
+    /**
+     * Open a cursor and return a lazy stream of the rows.
+     *
+     * @param con The JDBC connection, cannot be null
+     * @param batchSize The chunk size, the default batch size of sql client
+     *                  is used if it is not positive
+     * @see #stream(Connection)
+     */
+    Stream<R> stream(Connection con, int batchSize);
 }
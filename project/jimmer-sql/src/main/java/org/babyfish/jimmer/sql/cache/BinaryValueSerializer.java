@@ -0,0 +1,675 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.impl.util.Classes;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.exception.SerializationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * The compact binary value serializer for remote caches.
+ *
+ * <p>Each value starts with a 5 bytes header: a magic byte and the schema version,
+ * the schema version is the checksum of the metadata of the serialized types.
+ * If the entity types are changed by a new version of the application,
+ * the values written by the old version are considered as missed
+ * and loaded again, so that rolling deployment is safe.</p>
+ *
+ * <p>Objects are written as a bitmap which contains the loaded state and the
+ * nullity of each property, followed by the non-null values ordered by property id,
+ * so that the property names are never written. Integral numbers are written as
+ * zigzag varints, the types which are not supported natively, for example,
+ * the json properties with custom classes, are still written by jackson.</p>
+ *
+ * <p>Usage</p>
+ * <pre>{@code
+ * new RedisCacheCreator(connectionFactory)
+ *     .withValueSerializerFactory(BinaryValueSerializer.FACTORY)
+ * }</pre>
+ */
+public class BinaryValueSerializer<T> extends ValueSerializer<T> {
+
+    public static final ValueSerializerFactory FACTORY = new ValueSerializerFactory() {
+
+        @Override
+        public <T> @NotNull ValueSerializer<T> createForObject(
+                @NotNull ImmutableType type,
+                @Nullable ObjectMapper objectMapper
+        ) {
+            return new BinaryValueSerializer<>(type, objectMapper);
+        }
+
+        @Override
+        public <T> @NotNull ValueSerializer<T> createForProp(
+                @NotNull ImmutableProp prop,
+                @Nullable ObjectMapper objectMapper
+        ) {
+            return new BinaryValueSerializer<>(prop, objectMapper);
+        }
+    };
+
+    private static final byte MAGIC = (byte) 0xB1;
+
+    private static final int HEADER_SIZE = 5;
+
+    private final int schemaVersion;
+
+    private final Codec codec;
+
+    public BinaryValueSerializer(@NotNull ImmutableType type) {
+        this(type, null);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop) {
+        this(prop, null);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableType type, ObjectMapper mapper) {
+        super(type, mapper);
+        CodecBuilder builder = new CodecBuilder(getObjectMapper());
+        this.codec = builder.objectCodec(type);
+        this.schemaVersion = builder.schemaVersion();
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop, ObjectMapper mapper) {
+        super(prop, mapper);
+        CodecBuilder builder = new CodecBuilder(getObjectMapper());
+        builder.descriptor.append(prop).append("->");
+        if (prop.isAssociation(TargetLevel.ENTITY)) {
+            Codec idCodec = builder.propCodec(prop.getTargetType().getIdProp());
+            this.codec = prop.isReferenceList(TargetLevel.OBJECT) ?
+                    new ListCodec(idCodec, false) :
+                    idCodec;
+        } else {
+            this.codec = builder.scalarCodec(prop.getElementClass(), prop.getElementClass());
+        }
+        this.schemaVersion = builder.schemaVersion();
+    }
+
+    @NotNull
+    @Override
+    public byte[] serialize(T value) {
+        Output out = new Output();
+        out.writeByte(MAGIC);
+        out.writeFixedInt(schemaVersion);
+        if (value == null) {
+            out.writeByte((byte) 0);
+        } else {
+            out.writeByte((byte) 1);
+            codec.write(out, value);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return The deserialized value, or null if the value is null
+     * or it is not {@link #isCompatible(byte[]) compatible}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T deserialize(byte[] value) {
+        if (value == null || !isCompatible(value)) {
+            return null;
+        }
+        Input in = new Input(value, HEADER_SIZE);
+        try {
+            if (in.readByte() == 0) {
+                return null;
+            }
+            return (T) codec.read(in);
+        } catch (SerializationException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    @Override
+    protected boolean isCompatible(@NotNull byte[] value) {
+        return value.length > HEADER_SIZE &&
+                value[0] == MAGIC &&
+                new Input(value, 1).readFixedInt() == schemaVersion;
+    }
+
+    private interface Codec {
+
+        void write(Output out, Object value);
+
+        Object read(Input in);
+    }
+
+    private static class CodecBuilder {
+
+        final ObjectMapper mapper;
+
+        final StringBuilder descriptor = new StringBuilder();
+
+        private final Map<ImmutableType, ObjectCodec> objectCodecMap = new HashMap<>();
+
+        CodecBuilder(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        int schemaVersion() {
+            CRC32 crc32 = new CRC32();
+            crc32.update(descriptor.toString().getBytes(StandardCharsets.UTF_8));
+            return (int) crc32.getValue();
+        }
+
+        ObjectCodec objectCodec(ImmutableType type) {
+            ObjectCodec codec = objectCodecMap.get(type);
+            if (codec != null) {
+                descriptor.append('@').append(type);
+                return codec;
+            }
+            codec = new ObjectCodec(type);
+            objectCodecMap.put(type, codec);
+            List<ImmutableProp> props = new ArrayList<>();
+            for (ImmutableProp prop : type.getProps().values()) {
+                if (prop.isMutable() &&
+                        prop.getIdViewBaseProp() == null &&
+                        prop.getManyToManyViewBaseProp() == null) {
+                    props.add(prop);
+                }
+            }
+            int size = props.size();
+            PropId[] propIds = new PropId[size];
+            Codec[] codecs = new Codec[size];
+            descriptor.append(type).append('{');
+            for (int i = 0; i < size; i++) {
+                ImmutableProp prop = props.get(i);
+                propIds[i] = prop.getId();
+                descriptor.append(prop.getName()).append(':');
+                codecs[i] = propCodec(prop);
+                descriptor.append(';');
+            }
+            descriptor.append('}');
+            codec.propIds = propIds;
+            codec.codecs = codecs;
+            return codec;
+        }
+
+        Codec propCodec(ImmutableProp prop) {
+            ImmutableType targetType = prop.getTargetType();
+            if (targetType != null) {
+                Codec codec = objectCodec(targetType);
+                return prop.isReferenceList(TargetLevel.OBJECT) ? new ListCodec(codec, false) : codec;
+            }
+            if (prop.isScalarList()) {
+                descriptor.append("list ");
+                return new ListCodec(scalarCodec(prop.getElementClass(), prop.getElementClass()), true);
+            }
+            return scalarCodec(prop.getReturnClass(), prop.getGenericType());
+        }
+
+        @SuppressWarnings("unchecked")
+        Codec scalarCodec(Class<?> type, Type genericType) {
+            Class<?> boxedType = Classes.boxTypeOf(type);
+            descriptor.append(boxedType.getName());
+            if (boxedType.isEnum()) {
+                Object[] constants = boxedType.getEnumConstants();
+                descriptor.append('[');
+                for (Object constant : constants) {
+                    descriptor.append(((Enum<?>) constant).name()).append(',');
+                }
+                descriptor.append(']');
+                return new EnumCodec(constants);
+            }
+            Codec codec = SCALAR_CODEC_MAP.get(boxedType);
+            if (codec != null) {
+                return codec;
+            }
+            return new JsonCodec(mapper, mapper.constructType(genericType));
+        }
+    }
+
+    private static class ObjectCodec implements Codec {
+
+        private final ImmutableType type;
+
+        PropId[] propIds;
+
+        Codec[] codecs;
+
+        ObjectCodec(ImmutableType type) {
+            this.type = type;
+        }
+
+        /*
+         * Two bits of each property in bitmap:
+         * 1. loaded
+         * 2. null
+         */
+        @Override
+        public void write(Output out, Object value) {
+            ImmutableSpi spi = (ImmutableSpi) value;
+            PropId[] propIds = this.propIds;
+            int size = propIds.length;
+            byte[] bitmap = new byte[(size * 2 + 7) / 8];
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                if (spi.__isLoaded(propIds[i])) {
+                    int bit = i * 2;
+                    bitmap[bit >> 3] |= (byte) (1 << (bit & 7));
+                    Object propValue = spi.__get(propIds[i]);
+                    if (propValue == null) {
+                        bit++;
+                        bitmap[bit >> 3] |= (byte) (1 << (bit & 7));
+                    } else {
+                        values[i] = propValue;
+                    }
+                }
+            }
+            out.writeBytes(bitmap);
+            for (int i = 0; i < size; i++) {
+                if (values[i] != null) {
+                    codecs[i].write(out, values[i]);
+                }
+            }
+        }
+
+        @Override
+        public Object read(Input in) {
+            PropId[] propIds = this.propIds;
+            int size = propIds.length;
+            byte[] bitmap = in.readBytes((size * 2 + 7) / 8);
+            return Internal.produce(type, null, draft -> {
+                DraftSpi spi = (DraftSpi) draft;
+                for (int i = 0; i < size; i++) {
+                    int bit = i * 2;
+                    if ((bitmap[bit >> 3] & (1 << (bit & 7))) != 0) {
+                        bit++;
+                        if ((bitmap[bit >> 3] & (1 << (bit & 7))) != 0) {
+                            spi.__set(propIds[i], null);
+                        } else {
+                            spi.__set(propIds[i], codecs[i].read(in));
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private static class ListCodec implements Codec {
+
+        private final Codec elementCodec;
+
+        private final boolean nullableElements;
+
+        ListCodec(Codec elementCodec, boolean nullableElements) {
+            this.elementCodec = elementCodec;
+            this.nullableElements = nullableElements;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            Collection<?> collection = (Collection<?>) value;
+            out.writeVarLong(collection.size());
+            for (Object element : collection) {
+                if (nullableElements) {
+                    if (element == null) {
+                        out.writeByte((byte) 0);
+                        continue;
+                    }
+                    out.writeByte((byte) 1);
+                }
+                elementCodec.write(out, element);
+            }
+        }
+
+        @Override
+        public Object read(Input in) {
+            int size = (int) in.readVarLong();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (nullableElements && in.readByte() == 0) {
+                    list.add(null);
+                } else {
+                    list.add(elementCodec.read(in));
+                }
+            }
+            return list;
+        }
+    }
+
+    private static class EnumCodec implements Codec {
+
+        private final Object[] constants;
+
+        EnumCodec(Object[] constants) {
+            this.constants = constants;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            out.writeVarLong(((Enum<?>) value).ordinal());
+        }
+
+        @Override
+        public Object read(Input in) {
+            return constants[(int) in.readVarLong()];
+        }
+    }
+
+    private static class JsonCodec implements Codec {
+
+        private final ObjectMapper mapper;
+
+        private final JavaType javaType;
+
+        JsonCodec(ObjectMapper mapper, JavaType javaType) {
+            this.mapper = mapper;
+            this.javaType = javaType;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            byte[] bytes;
+            try {
+                bytes = mapper.writeValueAsBytes(value);
+            } catch (JsonProcessingException ex) {
+                throw new SerializationException(ex);
+            }
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        @Override
+        public Object read(Input in) {
+            byte[] bytes = in.readBytes((int) in.readVarLong());
+            try {
+                return mapper.readValue(bytes, javaType);
+            } catch (IOException ex) {
+                throw new SerializationException(ex);
+            }
+        }
+    }
+
+    private static final Map<Class<?>, Codec> SCALAR_CODEC_MAP;
+
+    private static void codec(
+            Map<Class<?>, Codec> map,
+            Class<?> type,
+            BiConsumer<Output, Object> writer,
+            Function<Input, Object> reader
+    ) {
+        map.put(type, new Codec() {
+            @Override
+            public void write(Output out, Object value) {
+                writer.accept(out, value);
+            }
+            @Override
+            public Object read(Input in) {
+                return reader.apply(in);
+            }
+        });
+    }
+
+    static {
+        Map<Class<?>, Codec> map = new HashMap<>();
+        codec(map, Boolean.class,
+                (out, v) -> out.writeByte((byte) ((Boolean) v ? 1 : 0)),
+                in -> in.readByte() != 0
+        );
+        codec(map, Byte.class,
+                (out, v) -> out.writeByte((Byte) v),
+                Input::readByte
+        );
+        codec(map, Short.class,
+                (out, v) -> out.writeVarLong((Short) v),
+                in -> (short) in.readVarLong()
+        );
+        codec(map, Integer.class,
+                (out, v) -> out.writeVarLong((Integer) v),
+                in -> (int) in.readVarLong()
+        );
+        codec(map, Long.class,
+                (out, v) -> out.writeVarLong((Long) v),
+                Input::readVarLong
+        );
+        codec(map, Character.class,
+                (out, v) -> out.writeVarLong((Character) v),
+                in -> (char) in.readVarLong()
+        );
+        codec(map, Float.class,
+                (out, v) -> out.writeFixedInt(Float.floatToIntBits((Float) v)),
+                in -> Float.intBitsToFloat(in.readFixedInt())
+        );
+        codec(map, Double.class,
+                (out, v) -> out.writeFixedLong(Double.doubleToLongBits((Double) v)),
+                in -> Double.longBitsToDouble(in.readFixedLong())
+        );
+        codec(map, String.class,
+                (out, v) -> out.writeString((String) v),
+                Input::readString
+        );
+        codec(map, byte[].class,
+                (out, v) -> {
+                    byte[] arr = (byte[]) v;
+                    out.writeVarLong(arr.length);
+                    out.writeBytes(arr);
+                },
+                in -> in.readBytes((int) in.readVarLong())
+        );
+        codec(map, UUID.class,
+                (out, v) -> {
+                    out.writeFixedLong(((UUID) v).getMostSignificantBits());
+                    out.writeFixedLong(((UUID) v).getLeastSignificantBits());
+                },
+                in -> new UUID(in.readFixedLong(), in.readFixedLong())
+        );
+        codec(map, BigInteger.class,
+                (out, v) -> {
+                    byte[] arr = ((BigInteger) v).toByteArray();
+                    out.writeVarLong(arr.length);
+                    out.writeBytes(arr);
+                },
+                in -> new BigInteger(in.readBytes((int) in.readVarLong()))
+        );
+        codec(map, BigDecimal.class,
+                (out, v) -> {
+                    BigDecimal decimal = (BigDecimal) v;
+                    byte[] arr = decimal.unscaledValue().toByteArray();
+                    out.writeVarLong(decimal.scale());
+                    out.writeVarLong(arr.length);
+                    out.writeBytes(arr);
+                },
+                in -> {
+                    int scale = (int) in.readVarLong();
+                    return new BigDecimal(new BigInteger(in.readBytes((int) in.readVarLong())), scale);
+                }
+        );
+        codec(map, LocalDate.class,
+                (out, v) -> out.writeVarLong(((LocalDate) v).toEpochDay()),
+                in -> LocalDate.ofEpochDay(in.readVarLong())
+        );
+        codec(map, LocalTime.class,
+                (out, v) -> out.writeVarLong(((LocalTime) v).toNanoOfDay()),
+                in -> LocalTime.ofNanoOfDay(in.readVarLong())
+        );
+        codec(map, LocalDateTime.class,
+                (out, v) -> writeLocalDateTime(out, (LocalDateTime) v),
+                BinaryValueSerializer::readLocalDateTime
+        );
+        codec(map, OffsetDateTime.class,
+                (out, v) -> {
+                    OffsetDateTime dateTime = (OffsetDateTime) v;
+                    writeLocalDateTime(out, dateTime.toLocalDateTime());
+                    out.writeVarLong(dateTime.getOffset().getTotalSeconds());
+                },
+                in -> OffsetDateTime.of(
+                        readLocalDateTime(in),
+                        ZoneOffset.ofTotalSeconds((int) in.readVarLong())
+                )
+        );
+        codec(map, Instant.class,
+                (out, v) -> {
+                    out.writeVarLong(((Instant) v).getEpochSecond());
+                    out.writeVarLong(((Instant) v).getNano());
+                },
+                in -> Instant.ofEpochSecond(in.readVarLong(), in.readVarLong())
+        );
+        codec(map, java.util.Date.class,
+                (out, v) -> out.writeVarLong(((java.util.Date) v).getTime()),
+                in -> new java.util.Date(in.readVarLong())
+        );
+        SCALAR_CODEC_MAP = map;
+    }
+
+    private static void writeLocalDateTime(Output out, LocalDateTime dateTime) {
+        out.writeVarLong(dateTime.toLocalDate().toEpochDay());
+        out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+    }
+
+    private static LocalDateTime readLocalDateTime(Input in) {
+        LocalDate date = LocalDate.ofEpochDay(in.readVarLong());
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readVarLong()));
+    }
+
+    private static class Output {
+
+        private byte[] buf = new byte[64];
+
+        private int size;
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            buf[size++] = b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeFixedInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buf[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        // Zigzag varint
+        void writeVarLong(long value) {
+            long v = (value << 1) ^ (value >> 63);
+            ensureCapacity(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[size++] = (byte) v;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        private void require(int len) {
+            if (len < 0 || pos + len > buf.length) {
+                throw new SerializationException("The binary cache value is truncated");
+            }
+        }
+
+        byte readByte() {
+            require(1);
+            return buf[pos++];
+        }
+
+        byte[] readBytes(int len) {
+            require(len);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + len);
+            pos += len;
+            return bytes;
+        }
+
+        int readFixedInt() {
+            require(4);
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readFixedLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new SerializationException("Malformed varint in binary cache value");
+        }
+
+        String readString() {
+            int len = (int) readVarLong();
+            require(len);
+            String value = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return value;
+        }
+    }
+}
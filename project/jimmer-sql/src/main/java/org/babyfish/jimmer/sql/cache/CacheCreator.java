@@ -131,6 +131,59 @@ public interface CacheCreator {
             @Nullable Duration remoteDuration
     );
 
+    /**
+     * Set the factory of the serializers used by remote cache.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * @param valueSerializerFactory The factory, null means
+     *                               {@link ValueSerializerFactory#JSON}.
+     *                               For example, {@link BinaryValueSerializer#FACTORY}
+     *                               can be used to reduce the CPU cost and the size of
+     *                               serialized values.
+     * @return The created new object, or this object if the
+     * current cache creator does not support value serializer factory
+     * so that it always uses {@link ValueSerializerFactory#JSON}.
+     * {@link org.babyfish.jimmer.sql.cache.spi.AbstractCacheCreator}
+     * supports it.
+     */
+    @NewChain
+    @NotNull
+    default CacheCreator withValueSerializerFactory(@Nullable ValueSerializerFactory valueSerializerFactory) {
+        return this;
+    }
+
+    /**
+     * Enable the refresh-ahead of L2 cache.
+     *
+     * <p>This method does not modify the current object, but creates a new object.</p>
+     *
+     * @param refreshDuration The logical expiration time which must be less than
+     *                        the remote duration, null means refresh-ahead is disabled.
+     *     <p>The logical expiration timestamp is stored together with the value.
+     *     The logically expired values are still returned, one request refreshes them
+     *     by one batch and the other requests use the stale values without waiting,
+     *     so that the cached data does not disappear at the expiration time and
+     *     all the requests do not fall through to the database together.</p>
+     *
+     *     <p>The random percent of {@link #withRemoteDuration(Duration, int)}
+     *     is applied to the logical expiration time too.</p>
+     *
+     *     <p>The stale values are refreshed by the executor of
+     *     {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setCacheRefreshExecutor(java.util.concurrent.Executor)}
+     *     if it is configured, otherwise by the current request.</p>
+     * @return The created new object, or this object if the
+     * current cache creator does not support refresh-ahead
+     * so that the values are simply removed when they expire.
+     * {@link org.babyfish.jimmer.sql.cache.spi.AbstractCacheCreator}
+     * supports it.
+     */
+    @NewChain
+    @NotNull
+    default CacheCreator withRefreshAhead(@Nullable Duration refreshDuration) {
+        return this;
+    }
+
     <K, V> Cache<K, V> createForObject(ImmutableType type);
 
     <K, V> Cache<K, V> createForProp(ImmutableProp prop, boolean multiView);
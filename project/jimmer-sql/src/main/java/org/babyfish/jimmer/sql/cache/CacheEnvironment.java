@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class CacheEnvironment<K, V> {
 
@@ -15,17 +16,39 @@ public class CacheEnvironment<K, V> {
 
     private final CacheLoader<K, V> loader;
 
+    private final boolean requiresNewDraftContext;
+
+    @Nullable
+    private final Function<Connection, CacheLoader<K, V>> loaderFactory;
+
     public CacheEnvironment(
             JSqlClient sqlClient,
             Connection connection,
             CacheLoader<K, V> loader,
             boolean requiresNewDraftContext) {
+        this(sqlClient, connection, loader, requiresNewDraftContext, null);
+    }
+
+    /**
+     * @param loaderFactory Creates the loader using another connection,
+     *                      it is used to refresh the cache asynchronously
+     *                      after current connection is released.
+     *                      Null means the loader can only use current connection.
+     */
+    public CacheEnvironment(
+            JSqlClient sqlClient,
+            Connection connection,
+            CacheLoader<K, V> loader,
+            boolean requiresNewDraftContext,
+            @Nullable Function<Connection, CacheLoader<K, V>> loaderFactory) {
         this.sqlClient = Objects.requireNonNull(sqlClient, "sqlClient cannot be null");
         this.connection = Objects.requireNonNull(connection, "connection cannot be null");
         this.loader = CacheLoaderWrapper.wrap(
                 Objects.requireNonNull(loader, "loader cannot be null"),
                 requiresNewDraftContext
         );
+        this.requiresNewDraftContext = requiresNewDraftContext;
+        this.loaderFactory = loaderFactory;
     }
 
     @NotNull
@@ -43,6 +66,36 @@ public class CacheEnvironment<K, V> {
         return loader;
     }
 
+    /**
+     * @return The factory to create the loader using another connection,
+     * null means the loader can only use current connection
+     */
+    @Nullable
+    public Function<Connection, CacheLoader<K, V>> getLoaderFactory() {
+        return loaderFactory;
+    }
+
+    /**
+     * Create the environment using another connection
+     *
+     * @return The new environment, or null if the loader
+     * can only use current connection
+     */
+    @Nullable
+    public CacheEnvironment<K, V> forConnection(@NotNull Connection connection) {
+        Function<Connection, CacheLoader<K, V>> loaderFactory = this.loaderFactory;
+        if (loaderFactory == null) {
+            return null;
+        }
+        return new CacheEnvironment<>(
+                sqlClient,
+                connection,
+                loaderFactory.apply(connection),
+                requiresNewDraftContext,
+                loaderFactory
+        );
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(sqlClient, connection, loader);
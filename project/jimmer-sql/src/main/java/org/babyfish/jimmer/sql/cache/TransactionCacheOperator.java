@@ -7,16 +7,31 @@ import org.babyfish.jimmer.jackson.ImmutableModule;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.spi.AbstractCacheOperator;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.transaction.Propagation;
+import org.babyfish.jimmer.sql.transaction.TxConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.*;
-
-public class TransactionCacheOperator extends AbstractCacheOperator {
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cache operator saves the delayed cache operations into the database
+ * in the same transaction, and executes them later.
+ *
+ * <p>If parallel draining is used, the threads are owned by this object,
+ * {@link #close()} should be called when this object is no longer used.
+ * If this object is a spring bean, spring calls it automatically.</p>
+ */
+public class TransactionCacheOperator extends AbstractCacheOperator implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionCacheOperator.class);
 
@@ -49,7 +64,9 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     ID +
                     " from " +
                     TABLE_NAME +
-                    " order by " +
+                    " where " +
+                    ID +
+                    " > ? order by " +
                     ID +
                     " limit ";
 
@@ -70,6 +87,31 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     ID +
                     " in";
 
+    private static final String CLAIM_PREFIX =
+            "select " +
+                    ID +
+                    ", " +
+                    IMMUTABLE_TYPE +
+                    ", " +
+                    IMMUTABLE_PROP +
+                    ", " +
+                    CACHE_KEY +
+                    ", " +
+                    REASON +
+                    " from " +
+                    TABLE_NAME +
+                    " where " +
+                    ID +
+                    " > ? order by " +
+                    ID +
+                    " limit ";
+
+    private static final String CLAIM_SUFFIX = " for update skip locked";
+
+    private static final String COUNT =
+            "select count(*) from " +
+                    TABLE_NAME;
+
     private static final String DELETE_PREFIX =
             "delete from " +
                     TABLE_NAME +
@@ -77,10 +119,27 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     ID +
                     " in";
 
+    private static final String DELETE_BY_ARRAY =
+            "delete from " +
+                    TABLE_NAME +
+                    " where " +
+                    ID +
+                    " = any(?)";
+
+    private static final int FLUSH_ROUND_COUNT = 10;
+
+    private static final int DRAIN_BATCH_COUNT = 8;
+
     private final ObjectMapper mapper;
 
     private final int batchSize;
 
+    private final int parallelism;
+
+    private ThreadPoolExecutor drainExecutor;
+
+    private boolean closed;
+
     public TransactionCacheOperator() {
         this(null, 32);
     }
@@ -94,15 +153,30 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
     }
 
     public TransactionCacheOperator(ObjectMapper mapper, int batchSize) {
+        this(mapper, batchSize, 1);
+    }
+
+    /**
+     * @param mapper The object mapper used to serialize the cache keys, or null
+     * @param batchSize The count of delayed cache operations claimed by one batch
+     * @param parallelism The default count of threads used by {@link #drain()},
+     *                    it only takes effect when the dialect supports
+     *                    {@link Dialect#isSkipLockedSupported()}
+     */
+    public TransactionCacheOperator(ObjectMapper mapper, int batchSize, int parallelism) {
         if (batchSize < 1) {
             throw new IllegalArgumentException("`batchSize` cannot be less than 1");
         }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("`parallelism` cannot be less than 1");
+        }
         this.mapper = mapper != null ?
                 mapper :
                 new ObjectMapper()
                         .registerModule(new JavaTimeModule())
                         .registerModule(new ImmutableModule());
         this.batchSize = batchSize;
+        this.parallelism = parallelism;
     }
 
     @Override
@@ -197,36 +271,289 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
     }
 
     public void flush() {
-        for (int i = 0; i < 10; i++) {
-            if (sqlClient().getConnectionManager().execute(this::flush) < batchSize) {
+        AtomicLong lastClaimedId = new AtomicLong(Long.MIN_VALUE);
+        for (int i = 0; i < FLUSH_ROUND_COUNT; i++) {
+            if (flushInTransaction(1, lastClaimedId) < batchSize) {
                 break;
             }
         }
     }
 
-    private int flush(Connection con) {
+    /**
+     * Execute the delayed cache operations until the backlog is empty,
+     * by the parallelism specified by the constructor.
+     *
+     * @see #drain(int)
+     */
+    public void drain() {
+        drain(parallelism);
+    }
 
-        List<Long> ids = selectOperationIds(con);
-        if (ids.isEmpty()) {
-            return 0;
+    /**
+     * Execute the delayed cache operations until the backlog is empty.
+     *
+     * <p>Unlike {@link #flush()}, this method is not limited by a fixed round count.
+     * If the dialect supports {@link Dialect#isSkipLockedSupported()},
+     * each transaction claims several batches by {@code for update skip locked}
+     * and merges their duplicated keys before deleting them from cache,
+     * so that different application nodes and the {@code parallelism}
+     * threads of this operator never wait for each other.</p>
+     *
+     * @param parallelism The count of threads, the current thread is one of them
+     *                    and the others are reused by the subsequent draining
+     */
+    public void drain(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("`parallelism` cannot be less than 1");
+        }
+        JimmerMetrics metrics = sqlClient().getMetrics();
+        int backlogSize = metrics != null ? countOperations() : 0;
+        long start = System.nanoTime();
+        int batchCount = sqlClient().getDialect().isSkipLockedSupported() ? DRAIN_BATCH_COUNT : 1;
+        int drainedCount;
+        Executor executor = batchCount > 1 && parallelism > 1 ? drainExecutor(parallelism - 1) : null;
+        if (executor != null) {
+            drainedCount = drainInParallel(batchCount, parallelism, executor);
+        } else {
+            drainedCount = drain0(batchCount);
+        }
+        if (metrics != null) {
+            metrics.recordCacheOperatorDrain(backlogSize, drainedCount, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Shut down the threads used by parallel draining,
+     * this object can still drain by the current thread after it is closed.
+     */
+    @Override
+    public void close() {
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            closed = true;
+            executor = drainExecutor;
+            drainExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
         }
+    }
 
-        Map<MergedKey, Set<Object>> keyMap = getAndLockOperationKeyMap(ids, con);
+    private synchronized Executor drainExecutor(int threadCount) {
+        if (closed) {
+            return null;
+        }
+        ThreadPoolExecutor executor = drainExecutor;
+        if (executor == null) {
+            AtomicInteger threadNo = new AtomicInteger();
+            executor = new ThreadPoolExecutor(
+                    threadCount,
+                    threadCount,
+                    1,
+                    TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(
+                                runnable,
+                                "jimmer-trans-cache-operator-drainer-" + threadNo.incrementAndGet()
+                        );
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            executor.allowCoreThreadTimeOut(true);
+            drainExecutor = executor;
+        } else if (executor.getMaximumPoolSize() < threadCount) {
+            executor.setMaximumPoolSize(threadCount);
+            executor.setCorePoolSize(threadCount);
+        }
+        return executor;
+    }
+
+    private int drain0(int batchCount) {
+        AtomicLong lastClaimedId = new AtomicLong(Long.MIN_VALUE);
+        int drainedCount = 0;
+        while (true) {
+            int count = flushInTransaction(batchCount, lastClaimedId);
+            drainedCount += count;
+            if (count < batchSize * batchCount) {
+                return drainedCount;
+            }
+        }
+    }
+
+    private int drainInParallel(int batchCount, int parallelism, Executor executor) {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> drain0(batchCount), executor));
+        }
+        Throwable throwable = null;
+        int drainedCount = 0;
+        try {
+            drainedCount += drain0(batchCount);
+        } catch (RuntimeException | Error ex) {
+            throwable = ex;
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            try {
+                drainedCount += future.join();
+            } catch (CompletionException ex) {
+                if (throwable == null) {
+                    throwable = ex.getCause();
+                }
+            }
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+        return drainedCount;
+    }
+
+    /**
+     * Claiming, executing and deleting the operations must be in one transaction,
+     * otherwise the row locks are released as soon as the claiming statement
+     * is finished, and the same operations can be claimed by the other
+     * threads or application nodes again before they are deleted.
+     *
+     * <p>If the connection of the connection manager is already in a transaction,
+     * that transaction is used and it is committed by its owner.</p>
+     */
+    private int flushInTransaction(int batchCount, AtomicLong lastClaimedId) {
+        ConnectionManager connectionManager = sqlClient().getConnectionManager();
+        if (connectionManager instanceof TxConnectionManager) {
+            return ((TxConnectionManager) connectionManager).executeTransaction(
+                    Propagation.REQUIRES_NEW,
+                    con -> flush(con, batchCount, lastClaimedId)
+            );
+        }
+        return connectionManager.execute(con -> {
+            try {
+                if (!con.getAutoCommit()) {
+                    return flush(con, batchCount, lastClaimedId);
+                }
+                con.setAutoCommit(false);
+                try {
+                    int count;
+                    try {
+                        count = flush(con, batchCount, lastClaimedId);
+                    } catch (RuntimeException | Error ex) {
+                        con.rollback();
+                        throw ex;
+                    }
+                    con.commit();
+                    return count;
+                } finally {
+                    con.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                throw new ExecutionException("Failed to flush transaction cache operator", ex);
+            }
+        });
+    }
+
+    /**
+     * @param lastClaimedId The selecting or claiming starts after it and
+     *                      updates it, so that the operations which cannot be parsed
+     *                      are skipped by the subsequent batches of the same flushing
+     * @return The count of selected or claimed operations
+     */
+    private int flush(Connection con, int batchCount, AtomicLong lastClaimedId) {
+
+        List<Long> ids;
+        Map<MergedKey, Set<Object>> keyMap;
+        int count;
+        if (sqlClient().getDialect().isSkipLockedSupported()) {
+            ids = new ArrayList<>();
+            keyMap = new LinkedHashMap<>();
+            count = claimOperations(con, batchCount, lastClaimedId, ids, keyMap);
+            if (ids.isEmpty()) {
+                return count;
+            }
+        } else {
+            List<Long> selectedIds = selectOperationIds(con, lastClaimedId);
+            if (selectedIds.isEmpty()) {
+                return 0;
+            }
+            ids = new ArrayList<>(selectedIds.size());
+            keyMap = new LinkedHashMap<>();
+            lockOperations(selectedIds, con, ids, keyMap);
+            count = selectedIds.size();
+            if (ids.isEmpty()) {
+                return count;
+            }
+        }
         CacheOperator.suspending(() -> {
             executeOperations(keyMap);
         });
 
-        deleteOperations(ids, con);
-        return ids.size();
+        if (!deleteOperations(ids, con)) {
+            // Avoid draining the same operations again and again
+            return 0;
+        }
+        return count;
+    }
+
+    private int countOperations() {
+        return sqlClient().getConnectionManager().execute(con -> {
+            try (PreparedStatement stmt = con.prepareStatement(COUNT)) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            } catch (SQLException ex) {
+                LOGGER.warn("Failed to count transaction cache operations", ex);
+                return 0;
+            }
+        });
+    }
+
+    /**
+     * @return The count of claimed operations, including the ones cannot be parsed
+     */
+    private int claimOperations(
+            Connection con,
+            int batchCount,
+            AtomicLong lastClaimedId,
+            List<Long> ids,
+            Map<MergedKey, Set<Object>> keyMap
+    ) {
+        String sql = CLAIM_PREFIX + batchSize + CLAIM_SUFFIX;
+        int claimedCount = 0;
+        try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            for (int i = 0; i < batchCount; i++) {
+                stmt.setLong(1, lastClaimedId.get());
+                int count = 0;
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        long id = rs.getLong(1);
+                        lastClaimedId.set(id);
+                        count++;
+                        collectOperation(id, rs, ids, keyMap);
+                    }
+                }
+                claimedCount += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (SQLException ex) {
+            LOGGER.warn("Failed to flush transaction cache operator", ex);
+        }
+        return claimedCount;
     }
 
-    private List<Long> selectOperationIds(Connection con) {
+    private List<Long> selectOperationIds(Connection con, AtomicLong lastClaimedId) {
         String sql = SELECT_ID_PREFIX + batchSize;
         List<Long> ids = new ArrayList<>();
         try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            stmt.setLong(1, lastClaimedId.get());
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    ids.add(rs.getLong(1));
+                    long id = rs.getLong(1);
+                    lastClaimedId.set(id);
+                    ids.add(id);
                 }
             }
         } catch (SQLException ex) {
@@ -235,44 +562,78 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         return ids;
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<MergedKey, Set<Object>> getAndLockOperationKeyMap(Collection<Long> ids, Connection con) {
+    private void lockOperations(
+            Collection<Long> selectedIds,
+            Connection con,
+            List<Long> ids,
+            Map<MergedKey, Set<Object>> keyMap
+    ) {
         StringBuilder builder = new StringBuilder();
         builder.append(SELECT_PREFIX).append('(');
-        for (int i = ids.size(); i > 0; --i) {
+        for (int i = selectedIds.size(); i > 0; --i) {
             builder.append('?');
             if (i > 1) {
                 builder.append(", ");
             }
         }
         builder.append(") for update");
-        Map<MergedKey, Set<Object>> keyMap = new LinkedHashMap<>();
         try (PreparedStatement stmt = con.prepareStatement(builder.toString())) {
             int index = 0;
-            for (Long id : ids) {
+            for (Long id : selectedIds) {
                 stmt.setLong(++index, id);
             }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    ImmutableType type = typeFromString(rs.getString(2));
-                    ImmutableProp prop = propFromString(rs.getString(3));
-                    String json = rs.getString(4);
-                    Object key = mapper.readValue(
-                            json,
-                            type != null ?
-                                    (Class<Object>)type.getIdProp().getElementClass() :
-                                    (Class<Object>)prop.getDeclaringType().getIdProp().getElementClass()
-                    );
-                    String reason = rs.getString(5);
-                    keyMap
-                            .computeIfAbsent(new MergedKey(type, prop, reason), it -> new LinkedHashSet<>())
-                            .add(key);
+                    collectOperation(rs.getLong(1), rs, ids, keyMap);
                 }
             }
-        } catch (Exception ex) {
+        } catch (SQLException ex) {
             LOGGER.warn("Failed to flush transaction cache operator", ex);
         }
-        return keyMap;
+    }
+
+    /**
+     * The operations which cannot be parsed are kept in the table,
+     * they are neither executed nor deleted, so that they can be
+     * fixed or deleted manually.
+     */
+    private void collectOperation(
+            long id,
+            ResultSet rs,
+            List<Long> ids,
+            Map<MergedKey, Set<Object>> keyMap
+    ) {
+        try {
+            collectOperation(rs, keyMap);
+        } catch (Exception ex) {
+            LOGGER.error(
+                    "Failed to parse transaction cache operation " +
+                            id +
+                            ", it is kept in the table `" +
+                            TABLE_NAME +
+                            "`",
+                    ex
+            );
+            return;
+        }
+        ids.add(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectOperation(ResultSet rs, Map<MergedKey, Set<Object>> keyMap) throws Exception {
+        ImmutableType type = typeFromString(rs.getString(2));
+        ImmutableProp prop = propFromString(rs.getString(3));
+        String json = rs.getString(4);
+        Object key = mapper.readValue(
+                json,
+                type != null ?
+                        (Class<Object>)type.getIdProp().getElementClass() :
+                        (Class<Object>)prop.getDeclaringType().getIdProp().getElementClass()
+        );
+        String reason = rs.getString(5);
+        keyMap
+                .computeIfAbsent(new MergedKey(type, prop, reason), it -> new LinkedHashSet<>())
+                .add(key);
     }
 
     private void executeOperations(Map<MergedKey, Set<Object>> keyMap) {
@@ -294,7 +655,28 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         }
     }
 
-    private void deleteOperations(Collection<Long> ids, Connection con) {
+    private boolean deleteOperations(List<Long> ids, Connection con) {
+        Dialect dialect = sqlClient().getDialect();
+        try {
+            if (dialect.isAnyEqualityOfArraySupported()) {
+                try (PreparedStatement stmt = con.prepareStatement(DELETE_BY_ARRAY)) {
+                    stmt.setArray(1, con.createArrayOf(dialect.sqlType(long.class), ids.toArray()));
+                    stmt.executeUpdate();
+                }
+            } else {
+                int maxSize = dialect.getMaxInListSize();
+                for (int i = 0; i < ids.size(); i += maxSize) {
+                    deleteOperationsByInList(ids.subList(i, Math.min(i + maxSize, ids.size())), con);
+                }
+            }
+        } catch (Exception ex) {
+            LOGGER.warn("Failed to delete transaction cache operations", ex);
+            return false;
+        }
+        return true;
+    }
+
+    private void deleteOperationsByInList(Collection<Long> ids, Connection con) throws SQLException {
         StringBuilder builder = new StringBuilder();
         builder.append(DELETE_PREFIX).append('(');
         for (int i = ids.size(); i > 0; --i) {
@@ -310,8 +692,6 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                 stmt.setLong(++index, id);
             }
             stmt.executeUpdate();
-        } catch (Exception ex) {
-            LOGGER.warn("Failed to delete transaction cache operations", ex);
         }
     }
 
@@ -74,6 +74,27 @@ public class ValueSerializer<T> {
         }
     }
 
+    /**
+     * Get the object mapper used by this serializer,
+     * the {@link ImmutableModule} has been registered.
+     */
+    @NotNull
+    protected final ObjectMapper getObjectMapper() {
+        return mapper;
+    }
+
+    /**
+     * Can the serialized value be read by this serializer.
+     *
+     * <p>If it returns false, the value is ignored by the deserialization
+     * of maps, so that the cache considers it as missed and loads it again.
+     * For example, the value was written by another version of the application
+     * whose entity types are different.</p>
+     */
+    protected boolean isCompatible(@NotNull byte[] value) {
+        return true;
+    }
+
     @NotNull
     public byte[] serialize(T value) {
         if (value == null) {
@@ -119,7 +140,10 @@ public class ValueSerializer<T> {
     public <K> Map<K, T> deserialize(@NotNull Map<K, byte[]> map) {
         Map<K, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K, byte[]> e : map.entrySet()) {
-            deserializedMap.put(e.getKey(), deserialize(e.getValue()));
+            byte[] byteArr = e.getValue();
+            if (byteArr == null || isCompatible(byteArr)) {
+                deserializedMap.put(e.getKey(), deserialize(byteArr));
+            }
         }
         return deserializedMap;
     }
@@ -128,7 +152,10 @@ public class ValueSerializer<T> {
     public <K1, K2> Map<K2, T> deserialize(@NotNull Map<K1, byte[]> map, @NotNull Function<K1, K2> keyMapper) {
         Map<K2, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K1, byte[]> e : map.entrySet()) {
-            deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(e.getValue()));
+            byte[] byteArr = e.getValue();
+            if (byteArr == null || isCompatible(byteArr)) {
+                deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(byteArr));
+            }
         }
         return deserializedMap;
     }
@@ -141,7 +168,7 @@ public class ValueSerializer<T> {
         while (keyItr.hasNext() && byteArrItr.hasNext()) {
             K key = keyItr.next();
             byte[] byteArr = byteArrItr.next();
-            if (byteArr != null) {
+            if (byteArr != null && isCompatible(byteArr)) {
                 deserializedMap.put(key, deserialize(byteArr));
             }
         }
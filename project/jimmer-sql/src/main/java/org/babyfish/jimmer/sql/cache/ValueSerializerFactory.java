@@ -0,0 +1,57 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Creates the serializers used by remote cache binders
+ * to convert cached values to bytes and vice versa.
+ *
+ * <ul>
+ *     <li>{@link #JSON}: The default behavior, values are serialized by jackson</li>
+ *     <li>{@link BinaryValueSerializer#FACTORY}: Values are serialized by
+ *     a compact binary format driven by the metadata of immutable types</li>
+ * </ul>
+ *
+ * @see org.babyfish.jimmer.sql.cache.spi.AbstractCacheCreator#withValueSerializerFactory(ValueSerializerFactory)
+ */
+public interface ValueSerializerFactory {
+
+    ValueSerializerFactory JSON = new ValueSerializerFactory() {
+
+        @Override
+        public <T> @NotNull ValueSerializer<T> createForObject(
+                @NotNull ImmutableType type,
+                @Nullable ObjectMapper objectMapper
+        ) {
+            return new ValueSerializer<>(type, objectMapper);
+        }
+
+        @Override
+        public <T> @NotNull ValueSerializer<T> createForProp(
+                @NotNull ImmutableProp prop,
+                @Nullable ObjectMapper objectMapper
+        ) {
+            return new ValueSerializer<>(prop, objectMapper);
+        }
+    };
+
+    /**
+     * @param type The entity type of object cache
+     * @param objectMapper The object mapper of the remote binder, may be used by
+     *                     serializer to handle the types it does not support
+     */
+    @NotNull
+    <T> ValueSerializer<T> createForObject(@NotNull ImmutableType type, @Nullable ObjectMapper objectMapper);
+
+    /**
+     * @param prop The property of association cache or calculated cache
+     * @param objectMapper The object mapper of the remote binder, may be used by
+     *                     serializer to handle the types it does not support
+     */
+    @NotNull
+    <T> ValueSerializer<T> createForProp(@NotNull ImmutableProp prop, @Nullable ObjectMapper objectMapper);
+}
@@ -28,12 +28,25 @@ public class CaffeineHashBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             @Nullable CacheTracker tracker,
             int maximumSize,
             @NotNull Duration duration
+    ) {
+        this(type, prop, tracker, maximumSize, duration, 0);
+    }
+
+    public CaffeineHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            int maximumSize,
+            @NotNull Duration duration,
+            int randomPercent
     ) {
         super(type, prop, tracker);
-        cache = Caffeine
-                .newBuilder()
-                .maximumSize(maximumSize)
-                .expireAfterWrite(duration)
+        cache = RandomExpiry
+                .expireAfterWrite(
+                        Caffeine.newBuilder().maximumSize(maximumSize),
+                        duration,
+                        randomPercent
+                )
                 .build();
     }
 
@@ -116,6 +129,7 @@ public class CaffeineHashBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         private CacheTracker tracker;
         private int maximumSize = 100;
         private Duration duration = Duration.ofMinutes(1);
+        private int randomPercent;
 
         public Builder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -137,13 +151,19 @@ public class CaffeineHashBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             return this;
         }
 
+        public Builder<K, V> randomPercent(int randomPercent) {
+            this.randomPercent = randomPercent;
+            return this;
+        }
+
         public CaffeineHashBinder<K, V> build() {
             return new CaffeineHashBinder<>(
                     type,
                     prop,
                     tracker,
                     maximumSize,
-                    duration
+                    duration,
+                    randomPercent
             );
         }
     }
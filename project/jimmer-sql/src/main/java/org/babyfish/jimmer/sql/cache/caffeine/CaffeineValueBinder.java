@@ -28,6 +28,8 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
 
     private final Duration duration;
 
+    private final int randomPercent;
+
     // Caffeine does not support null value, use `Ref` as a wrapper
     private LoadingCache<K, Ref<V>> loadingCache;
 
@@ -37,18 +39,35 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             @Nullable CacheTracker tracker,
             int maximumSize,
             @NotNull Duration duration
+    ) {
+        this(type, prop, tracker, maximumSize, duration, 0);
+    }
+
+    protected CaffeineValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            int maximumSize,
+            @NotNull Duration duration,
+            int randomPercent
     ) {
         super(type, prop, tracker);
         this.maximumSize = maximumSize;
         this.duration = duration;
+        if (randomPercent < 0 || randomPercent > 99) {
+            throw new IllegalArgumentException("randomPercent must between 0 and 99");
+        }
+        this.randomPercent = randomPercent;
     }
 
     @Override
     public void initialize(CacheChain<K, V> chain) {
-        loadingCache = Caffeine
-                .newBuilder()
-                .maximumSize(maximumSize)
-                .expireAfterWrite(duration)
+        loadingCache = RandomExpiry
+                .expireAfterWrite(
+                        Caffeine.newBuilder().maximumSize(maximumSize),
+                        duration,
+                        randomPercent
+                )
                 .build(
                         new CacheLoader<K, Ref<V>>() {
 
@@ -142,6 +161,7 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         private CacheTracker tracker;
         private int maximumSize = 100;
         private Duration duration = Duration.ofMinutes(1);
+        private int randomPercent;
 
         public Builder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -163,13 +183,19 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             return this;
         }
 
+        public Builder<K, V> randomPercent(int randomPercent) {
+            this.randomPercent = randomPercent;
+            return this;
+        }
+
         public CaffeineValueBinder<K, V> build() {
             return new CaffeineValueBinder<>(
                     type,
                     prop,
                     tracker,
                     maximumSize,
-                    duration
+                    duration,
+                    randomPercent
             );
         }
     }
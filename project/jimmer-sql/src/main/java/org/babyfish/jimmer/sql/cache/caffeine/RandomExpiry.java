@@ -0,0 +1,53 @@
+package org.babyfish.jimmer.sql.cache.caffeine;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Expiration after write whose time is modified by a random factor,
+ * so that the values loaded by one batch are not discarded together.
+ */
+class RandomExpiry implements Expiry<Object, Object> {
+
+    private final long minNanos;
+
+    private final long maxNanos;
+
+    private RandomExpiry(Duration duration, int randomPercent) {
+        long nanos = duration.toNanos();
+        minNanos = nanos - randomPercent * (nanos / 100);
+        maxNanos = nanos + randomPercent * (nanos / 100);
+    }
+
+    static Caffeine<Object, Object> expireAfterWrite(
+            Caffeine<Object, Object> builder,
+            Duration duration,
+            int randomPercent
+    ) {
+        if (randomPercent < 0 || randomPercent > 99) {
+            throw new IllegalArgumentException("randomPercent must between 0 and 99");
+        }
+        if (randomPercent == 0) {
+            return builder.expireAfterWrite(duration);
+        }
+        return builder.expireAfter(new RandomExpiry(duration, randomPercent));
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
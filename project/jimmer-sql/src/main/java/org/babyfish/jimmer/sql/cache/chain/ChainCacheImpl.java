@@ -2,19 +2,34 @@ package org.babyfish.jimmer.sql.cache.chain;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.cache.CacheLoader;
+import org.babyfish.jimmer.sql.cache.CacheLocker;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 class ChainCacheImpl<K, V> implements Cache<K, V> {
 
-    private static final ThreadLocal<CacheLoader<?, ?>> LOADER_LOCAL =
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChainCacheImpl.class);
+
+    private static final ThreadLocal<Loading> LOADING_LOCAL =
+        new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> COALESCING_LOCAL =
         new ThreadLocal<>();
 
     protected final ImmutableType type;
@@ -66,7 +81,7 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
     @NotNull
     @Override
     public Map<K, V> getAll(@NotNull Collection<K> keys, @NotNull CacheEnvironment<K, V> env) {
-        return usingCacheLoading(env.getLoader(), () -> node.loadAll(keys));
+        return usingCacheLoading(env, () -> node.loadAll(keys));
     }
 
     @Override
@@ -99,13 +114,16 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         LoadingNode(LoadingBinder<K, V> binder, Node<K, V> next) {
             this.binder = binder;
             this.next = next;
-            binder.initialize(next);
+            binder.initialize(keys -> {
+                missed(keys.size());
+                return next.loadAll(keys);
+            });
         }
 
         @NotNull
         @Override
         public Map<K, V> loadAll(@NotNull Collection<K> keys) {
-            return binder.getAll(keys);
+            return recordLoadingAccess(binder, keys, () -> binder.getAll(keys));
         }
 
         @Override
@@ -121,22 +139,47 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
         protected final Node<K, V> next;
 
+        protected final InFlightLoads<Object, V> inFlightLoads = new InFlightLoads<>();
+
+        private final RefreshAheadBinder<K, V> refreshAheadBinder;
+
+        /**
+         * The stale keys dispatched to the cache refresh executor
+         * but not refreshed yet, they are not dispatched again.
+         */
+        private final Set<K> asyncRefreshingKeys = ConcurrentHashMap.newKeySet();
+
+        @SuppressWarnings("unchecked")
         protected SimpleNode(SimpleBinder<K, V> binder, Node<K, V> next) {
             this.binder = binder;
             this.next = next;
+            Binder<?> rawBinder = unwrap(binder);
+            this.refreshAheadBinder =
+                    rawBinder instanceof RefreshAheadBinder<?, ?> &&
+                            !(rawBinder instanceof SimpleBinder.Parameterized<?, ?>) ?
+                            (RefreshAheadBinder<K, V>) rawBinder :
+                            null;
         }
 
         @NotNull
         @Override
         public Map<K, V> loadAll(@NotNull Collection<K> keys) {
-            Map<K, V> map = binder.getAll(keys);
+            Set<K> staleKeys = null;
+            Map<K, V> map;
+            if (refreshAheadBinder != null) {
+                staleKeys = new LinkedHashSet<>();
+                map = refreshAheadBinder.getAll(keys, staleKeys);
+            } else {
+                map = binder.getAll(keys);
+            }
+            recordAccess(binder, keys.size(), map.size());
             if (map.size() < keys.size()) {
                 if (binder instanceof LockedBinder<?, ?>) {
                     LockedBinder<?, ?> lockedBinder = (LockedBinder<?, ?>) binder;
                     Set<K> missedKeys = missedKeys(keys, map);
                     try {
-                        lockedBinder.locker().locking(
-                                lockedBinder.unwrap(),
+                        locking(
+                                lockedBinder,
                                 missedKeys,
                                 lockedBinder.waitDuration(),
                                 lockedBinder.leaseDuration(),
@@ -153,12 +196,114 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
                         );
                     }
                 } else {
-                    loadAllForNext(missedKeys(keys, map), map, true);
+                    inFlightLoads.load(
+                            missedKeys(keys, map),
+                            key -> key,
+                            map,
+                            ownedKeys -> loadAllForNext(ownedKeys, map, true)
+                    );
                 }
             }
+            if (staleKeys != null && !staleKeys.isEmpty()) {
+                refreshAll(staleKeys, map);
+            }
             return map;
         }
 
+        private void refreshAll(Set<K> staleKeys, Map<K, V> map) {
+            if (!refreshAllAsync(staleKeys)) {
+                refreshAllNow(staleKeys, map);
+            }
+        }
+
+        /**
+         * The stale values are returned without waiting if
+         * {@link JSqlClient.Builder#setCacheRefreshExecutor(Executor)}
+         * is configured and the loader does not depend on the current connection,
+         * the refreshing uses a connection borrowed from the slave connection manager.
+         *
+         * @return false if the stale keys must be refreshed by current thread
+         */
+        @SuppressWarnings("unchecked")
+        private boolean refreshAllAsync(Set<K> staleKeys) {
+            Loading loading = LOADING_LOCAL.get();
+            if (loading == null || loading.env.getLoaderFactory() == null) {
+                return false;
+            }
+            CacheEnvironment<K, V> env = (CacheEnvironment<K, V>) loading.env;
+            if (!(env.getSqlClient() instanceof JSqlClientImplementor)) {
+                return false;
+            }
+            JSqlClientImplementor sqlClient = (JSqlClientImplementor) env.getSqlClient();
+            Executor executor = sqlClient.getCacheRefreshExecutor();
+            if (executor == null) {
+                return false;
+            }
+            Set<K> dispatchedKeys = new LinkedHashSet<>();
+            for (K key : staleKeys) {
+                if (asyncRefreshingKeys.add(key)) {
+                    dispatchedKeys.add(key);
+                }
+            }
+            if (dispatchedKeys.isEmpty()) {
+                return true;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        sqlClient
+                                .getSlaveConnectionManager(false)
+                                .execute(null, con -> usingCacheLoading(env.forConnection(con), () -> {
+                                    refreshAllNow(dispatchedKeys, new HashMap<>());
+                                    return null;
+                                }));
+                    } catch (RuntimeException | Error ex) {
+                        LOGGER.error("Failed to refresh stale data of cache asynchronously", ex);
+                    } finally {
+                        asyncRefreshingKeys.removeAll(dispatchedKeys);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                asyncRefreshingKeys.removeAll(dispatchedKeys);
+                return false;
+            }
+            return true;
+        }
+
+        private void refreshAllNow(Set<K> staleKeys, Map<K, V> map) {
+            if (binder instanceof LockedBinder<?, ?>) {
+                LockedBinder<?, ?> lockedBinder = (LockedBinder<?, ?>) binder;
+                try {
+                    // Never wait, other JVM is refreshing if the lock cannot be acquired
+                    locking(
+                            lockedBinder,
+                            staleKeys,
+                            Duration.ZERO,
+                            lockedBinder.leaseDuration(),
+                            locked -> {
+                                if (locked) {
+                                    loadAllForNext(staleKeys, map, true);
+                                }
+                            }
+                    );
+                } catch (ExecutionException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new ExecutionException(
+                            "Failed to refresh stale data of cache",
+                            ex
+                    );
+                }
+            } else {
+                inFlightLoads.refresh(
+                        staleKeys,
+                        key -> key,
+                        map,
+                        ownedKeys -> loadAllForNext(ownedKeys, map, true)
+                );
+            }
+        }
+
         @Override
         public void deleteAll(@NotNull Collection<K> keys, Object reason) {
             if (keys.isEmpty()) {
@@ -241,33 +386,245 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
     }
 
     protected static <R> R usingCacheLoading(
-            CacheLoader<?, ?> loader,
+            CacheEnvironment<?, ?> env,
             Supplier<R> block
     ) {
+        CacheLoader<?, ?> loader = env.getLoader();
         if (loader == null) {
             throw new IllegalArgumentException("loader cannot be null");
         }
-        CacheLoader<?, ?> oldLoader = LOADER_LOCAL.get();
-        LOADER_LOCAL.set(loader);
+        JSqlClient sqlClient = env.getSqlClient();
+        Loading oldLoading = LOADING_LOCAL.get();
+        LOADING_LOCAL.set(
+                new Loading(
+                        env,
+                        sqlClient instanceof JSqlClientImplementor ?
+                                ((JSqlClientImplementor) sqlClient).getMetrics() :
+                                null
+                )
+        );
         try {
             return block.get();
         } finally {
-            if (oldLoader != null) {
-                LOADER_LOCAL.set(oldLoader);
+            if (oldLoading != null) {
+                LOADING_LOCAL.set(oldLoading);
             } else {
-                LOADER_LOCAL.remove();
+                LOADING_LOCAL.remove();
             }
         }
     }
 
     @SuppressWarnings("unchecked")
     protected static <K, V> CacheLoader<K, V> currentCacheLoader() {
-        CacheLoader<?, ?> loader = LOADER_LOCAL.get();
-        if (loader == null) {
+        Loading loading = LOADING_LOCAL.get();
+        if (loading == null) {
             throw new IllegalStateException(
                     "Cache binder can only be called by chain cache"
             );
         }
-        return (CacheLoader<K, V>) loader;
+        return (CacheLoader<K, V>) loading.loader;
+    }
+
+    protected static void recordAccess(Binder<?> binder, int requestedCount, int hitCount) {
+        Loading loading = LOADING_LOCAL.get();
+        if (loading != null && loading.metrics != null) {
+            loading.metrics.recordCacheAccess(unwrap(binder), requestedCount, hitCount);
+        }
+    }
+
+    /**
+     * The loading binder loads the missed keys from the next node by itself,
+     * so the hit count is calculated by the keys passed to the next node
+     * during the call.
+     */
+    protected static <K, V> Map<K, V> recordLoadingAccess(
+            Binder<K> binder,
+            Collection<K> keys,
+            Supplier<Map<K, V>> block
+    ) {
+        Loading loading = LOADING_LOCAL.get();
+        if (loading == null || loading.metrics == null) {
+            return block.get();
+        }
+        int oldMissedCount = loading.missedCount;
+        loading.missedCount = 0;
+        try {
+            Map<K, V> map = block.get();
+            loading.metrics.recordCacheAccess(
+                    binder,
+                    keys.size(),
+                    Math.max(keys.size() - loading.missedCount, 0)
+            );
+            return map;
+        } finally {
+            loading.missedCount = oldMissedCount;
+        }
+    }
+
+    protected static void missed(int count) {
+        Loading loading = LOADING_LOCAL.get();
+        if (loading != null) {
+            loading.missedCount += count;
+        }
+    }
+
+    protected static void locking(
+            LockedBinder<?, ?> lockedBinder,
+            Set<?> keys,
+            @Nullable Duration waitDuration,
+            @NotNull Duration leaseDuration,
+            CacheLocker.Action action
+    ) throws Exception {
+        Loading loading = LOADING_LOCAL.get();
+        JimmerMetrics metrics = loading != null ? loading.metrics : null;
+        if (metrics == null) {
+            lockedBinder.locker().locking(
+                    lockedBinder.unwrap(),
+                    keys,
+                    waitDuration,
+                    leaseDuration,
+                    action
+            );
+            return;
+        }
+        long start = System.nanoTime();
+        lockedBinder.locker().locking(
+                lockedBinder.unwrap(),
+                keys,
+                waitDuration,
+                leaseDuration,
+                locked -> {
+                    metrics.recordCacheLock(lockedBinder.unwrap(), System.nanoTime() - start, locked);
+                    action.execute(locked);
+                }
+        );
+    }
+
+    /**
+     * In-JVM single flight of the keys missed by a simple binder
+     * without distributed lock.
+     *
+     * <p>Concurrent requests missing the same keys share one in-flight load,
+     * each request loads the keys owned by it from the next node by one batch,
+     * and waits for the keys owned by other requests.</p>
+     *
+     * <p>Nested loading during the loading of owned keys never waits for other
+     * requests, so that the requests cannot wait for each other.</p>
+     */
+    protected static class InFlightLoads<F, V> {
+
+        private final ConcurrentMap<F, CompletableFuture<V>> futureMap =
+                new ConcurrentHashMap<>();
+
+        <K> void load(
+                Set<K> missedKeys,
+                Function<K, F> flightKeyMapper,
+                Map<K, V> loadedMap,
+                Consumer<Set<K>> loader
+        ) {
+            load(missedKeys, flightKeyMapper, loadedMap, loader, true);
+        }
+
+        /**
+         * Refresh the stale keys, the keys being loaded by other
+         * requests are ignored so that their stale values are used.
+         */
+        <K> void refresh(
+                Set<K> staleKeys,
+                Function<K, F> flightKeyMapper,
+                Map<K, V> loadedMap,
+                Consumer<Set<K>> loader
+        ) {
+            load(staleKeys, flightKeyMapper, loadedMap, loader, false);
+        }
+
+        private <K> void load(
+                Set<K> keys,
+                Function<K, F> flightKeyMapper,
+                Map<K, V> loadedMap,
+                Consumer<Set<K>> loader,
+                boolean waitForOthers
+        ) {
+            if (COALESCING_LOCAL.get() != null) {
+                loader.accept(keys);
+                return;
+            }
+            Map<K, CompletableFuture<V>> ownedMap = new LinkedHashMap<>();
+            Map<K, CompletableFuture<V>> waitingMap = null;
+            for (K key : keys) {
+                CompletableFuture<V> future = new CompletableFuture<>();
+                CompletableFuture<V> existingFuture =
+                        futureMap.putIfAbsent(flightKeyMapper.apply(key), future);
+                if (existingFuture == null) {
+                    ownedMap.put(key, future);
+                } else if (waitForOthers) {
+                    if (waitingMap == null) {
+                        waitingMap = new LinkedHashMap<>();
+                    }
+                    waitingMap.put(key, existingFuture);
+                }
+            }
+            if (!ownedMap.isEmpty()) {
+                COALESCING_LOCAL.set(Boolean.TRUE);
+                try {
+                    loader.accept(ownedMap.keySet());
+                    for (Map.Entry<K, CompletableFuture<V>> e : ownedMap.entrySet()) {
+                        e.getValue().complete(loadedMap.get(e.getKey()));
+                    }
+                } catch (RuntimeException | Error ex) {
+                    for (CompletableFuture<V> future : ownedMap.values()) {
+                        future.completeExceptionally(ex);
+                    }
+                    throw ex;
+                } finally {
+                    COALESCING_LOCAL.remove();
+                    for (Map.Entry<K, CompletableFuture<V>> e : ownedMap.entrySet()) {
+                        futureMap.remove(flightKeyMapper.apply(e.getKey()), e.getValue());
+                    }
+                }
+            }
+            if (waitingMap != null) {
+                Set<K> failedKeys = null;
+                for (Map.Entry<K, CompletableFuture<V>> e : waitingMap.entrySet()) {
+                    try {
+                        loadedMap.put(e.getKey(), e.getValue().join());
+                    } catch (CompletionException | CancellationException ex) {
+                        // The failure of other request, such as the closed connection,
+                        // should not affect current request, load it by itself
+                        if (failedKeys == null) {
+                            failedKeys = new LinkedHashSet<>();
+                        }
+                        failedKeys.add(e.getKey());
+                    }
+                }
+                if (failedKeys != null) {
+                    loader.accept(failedKeys);
+                }
+            }
+        }
+    }
+
+    private static Binder<?> unwrap(Binder<?> binder) {
+        if (binder instanceof LockedBinder<?, ?>) {
+            return ((LockedBinder<?, ?>) binder).unwrap();
+        }
+        return binder;
+    }
+
+    private static class Loading {
+
+        final CacheEnvironment<?, ?> env;
+
+        final CacheLoader<?, ?> loader;
+
+        final JimmerMetrics metrics;
+
+        int missedCount;
+
+        Loading(CacheEnvironment<?, ?> env, JimmerMetrics metrics) {
+            this.env = env;
+            this.loader = env.getLoader();
+            this.metrics = metrics;
+        }
     }
 }
@@ -37,7 +37,7 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
             @NotNull CacheEnvironment<K, V> env
     ) {
         return usingCacheLoading(
-                env.getLoader(), () -> ((ParameterizedNode<K, V>)node).loadAll(keys, parameterMap)
+                env, () -> ((ParameterizedNode<K, V>)node).loadAll(keys, parameterMap)
         );
     }
 
@@ -84,13 +84,16 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
         ParameterizedLoadingNode(LoadingBinder.Parameterized<K, V> binder, ParameterizedNode<K, V> next) {
             this.binder = binder;
             this.next = next;
-            binder.initialize(next);
+            binder.initialize((keys, parameterMap) -> {
+                missed(keys.size());
+                return next.loadAll(keys, parameterMap);
+            });
         }
 
         @NotNull
         @Override
         public Map<K, V> loadAll(@NotNull Collection<K> keys) {
-            return binder.getAll(keys);
+            return recordLoadingAccess(binder, keys, () -> binder.getAll(keys));
         }
 
         @Override
@@ -99,7 +102,7 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
                 @NotNull Collection<K> keys,
                 @NotNull SortedMap<String, Object> parameterMap
         ) {
-            return binder.getAll(keys, parameterMap);
+            return recordLoadingAccess(binder, keys, () -> binder.getAll(keys, parameterMap));
         }
 
         @Override
@@ -123,13 +126,14 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
             SimpleBinder.Parameterized<K, V> parameterizedBinder =
                     (SimpleBinder.Parameterized<K, V>) binder;
             Map<K, V> map = parameterizedBinder.getAll(keys, parameterMap);
+            recordAccess(binder, keys.size(), map.size());
             if (map.size() < keys.size()) {
                 if (binder instanceof LockedBinder<?, ?>) {
                     Set<K> missedKeys = missedKeys(keys, map);
                     LockedBinder<?, ?> lockedBinder = (LockedBinder<?, ?>) binder;
                     try {
-                        lockedBinder.locker().locking(
-                                ((LockedBinder<?, ?>) binder).unwrap(),
+                        locking(
+                                lockedBinder,
                                 missedKeys,
                                 lockedBinder.waitDuration(),
                                 lockedBinder.leaseDuration(),
@@ -146,7 +150,12 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
                         );
                     }
                 } else {
-                    loadAllFromNext(missedKeys(keys, map), parameterMap, map, true);
+                    inFlightLoads.load(
+                            missedKeys(keys, map),
+                            key -> new AbstractMap.SimpleImmutableEntry<>(parameterMap, key),
+                            map,
+                            ownedKeys -> loadAllFromNext(ownedKeys, parameterMap, map, true)
+                    );
                 }
             }
             return map;
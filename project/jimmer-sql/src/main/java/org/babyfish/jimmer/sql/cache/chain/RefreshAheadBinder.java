@@ -0,0 +1,26 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Simple binder whose values have a logical expiration
+ * earlier than the physical expiration.
+ *
+ * <p>The logically expired values are still returned by the binder,
+ * the chain cache refreshes them by one batch, and the other concurrent
+ * requests use the stale values instead of waiting for the refreshing.</p>
+ */
+public interface RefreshAheadBinder<K, V> extends SimpleBinder<K, V> {
+
+    /**
+     * Get values and collect the logically expired keys.
+     *
+     * @param keys The keys
+     * @param staleKeys Output argument, the keys whose values are
+     *                  returned but logically expired
+     * @return The found values
+     */
+    Map<K, V> getAll(Collection<K> keys, Set<K> staleKeys);
+}
@@ -82,6 +82,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -95,6 +96,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -108,6 +110,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.multiViewLocalCacheMaximumSize)
                 .duration(args.multiViewLocalCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -117,9 +120,11 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V> forObject(type)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .refreshDuration(args.refreshAheadDuration)
                 .redis(args.redisDataSource)
                 .build()
                 .lock(args.locker, args.lockWaitDuration, args.lockLeaseDuration);
@@ -131,9 +136,11 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V> forProp(prop)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .refreshDuration(args.refreshAheadDuration)
                 .redis(args.redisDataSource)
                 .build()
                 .lock(args.locker, args.lockWaitDuration, args.lockLeaseDuration);
@@ -145,6 +152,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V> forProp(prop)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.multiVewDuration)
                 .randomPercent(args.randomDurationPercent)
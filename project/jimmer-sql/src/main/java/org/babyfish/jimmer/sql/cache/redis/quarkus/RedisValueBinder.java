@@ -7,6 +7,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -37,11 +38,13 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             @NotNull Duration duration,
             int randomPercent,
+            @Nullable Duration refreshDuration,
             @NotNull RedisDataSource redisDataSource) {
-        super(type, prop, tracker, objectMapper, keyPrefixProvider, duration, randomPercent);
+        super(type, prop, tracker, objectMapper, valueSerializerFactory, keyPrefixProvider, duration, randomPercent, refreshDuration);
         this.operations = redisDataSource.value(byte[].class);
     }
 
@@ -90,7 +93,7 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         return new Builder<>(null, prop);
     }
 
-    public static class Builder<K, V> extends AbstractBuilder<K, V, Builder<K, V>> {
+    public static class Builder<K, V> extends AbstractValueBuilder<K, V, Builder<K, V>> {
 
         private RedisDataSource redisDataSource;
 
@@ -107,7 +110,7 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             if (null == redisDataSource) {
                 throw new IllegalStateException("RedisDataSource has not been specified");
             }
-            return new RedisValueBinder<>(type, prop, tracker, objectMapper, keyPrefixProvider, duration, randomPercent, redisDataSource);
+            return new RedisValueBinder<>(type, prop, tracker, objectMapper, valueSerializerFactory, keyPrefixProvider, duration, randomPercent, refreshDuration, redisDataSource);
         }
     }
 }
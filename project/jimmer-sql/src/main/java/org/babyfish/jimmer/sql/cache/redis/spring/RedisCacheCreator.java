@@ -85,6 +85,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -98,6 +99,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.localCacheMaximumSize)
                 .duration(args.localCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -111,6 +113,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .subscribe(args.tracker)
                 .maximumSize(args.multiViewLocalCacheMaximumSize)
                 .duration(args.multiViewLocalCacheDuration)
+                .randomPercent(args.randomDurationPercent)
                 .build();
     }
 
@@ -120,9 +123,11 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V>forObject(type)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.duration)
                 .randomPercent(args.randomDurationPercent)
+                .refreshDuration(args.refreshAheadDuration)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -138,9 +143,11 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V>forProp(prop)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .duration(args.duration)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .randomPercent(args.randomDurationPercent)
+                .refreshDuration(args.refreshAheadDuration)
                 .redis(args.connectionFactory)
                 .build()
                 .lock(
@@ -156,6 +163,7 @@ public class RedisCacheCreator extends AbstractCacheCreator {
                 .<K, V>forProp(prop)
                 .publish(args.tracker)
                 .objectMapper(args.objectMapper)
+                .valueSerializerFactory(args.valueSerializerFactory)
                 .keyPrefixProvider(args.keyPrefixProvider)
                 .duration(args.multiVewDuration)
                 .randomPercent(args.randomDurationPercent)
@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -35,6 +36,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             @NotNull Duration duration,
             int randomPercent,
@@ -45,6 +47,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                 prop,
                 tracker,
                 objectMapper,
+                valueSerializerFactory,
                 keyPrefixProvider,
                 duration,
                 randomPercent
@@ -135,6 +138,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                     prop,
                     tracker,
                     objectMapper,
+                    valueSerializerFactory,
                     keyPrefixProvider,
                     duration,
                     randomPercent,
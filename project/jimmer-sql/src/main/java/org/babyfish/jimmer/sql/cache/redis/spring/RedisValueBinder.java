@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,9 +34,11 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             @NotNull Duration duration,
             int randomPercent,
+            @Nullable Duration refreshDuration,
             @NotNull RedisOperations<String, byte[]> operations
     ) {
         super(
@@ -43,9 +46,11 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
                 prop,
                 tracker,
                 objectMapper,
+                valueSerializerFactory,
                 keyPrefixProvider,
                 duration,
-                randomPercent
+                randomPercent,
+                refreshDuration
         );
         this.operations = operations;
     }
@@ -97,7 +102,7 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         return new Builder<>(null, prop);
     }
 
-    public static class Builder<K, V> extends AbstractBuilder<K, V, Builder<K, V>> {
+    public static class Builder<K, V> extends AbstractValueBuilder<K, V, Builder<K, V>> {
 
         private RedisOperations<String, byte[]> operations;
 
@@ -126,9 +131,11 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
                     prop,
                     tracker,
                     objectMapper,
+                    valueSerializerFactory,
                     keyPrefixProvider,
                     duration,
                     randomPercent,
+                    refreshDuration,
                     operations
             );
         }
@@ -6,6 +6,7 @@ import org.babyfish.jimmer.sql.cache.CacheCreator;
 import org.babyfish.jimmer.sql.cache.CacheLocker;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -81,6 +82,24 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         );
     }
 
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withValueSerializerFactory(@Nullable ValueSerializerFactory valueSerializerFactory) {
+        return newCacheCreator(
+                new ValueSerializerFactory_(cfg, valueSerializerFactory)
+        );
+    }
+
+    @NewChain
+    @NotNull
+    @Override
+    public CacheCreator withRefreshAhead(@Nullable Duration refreshDuration) {
+        return newCacheCreator(
+                new RefreshAhead(cfg, refreshDuration)
+        );
+    }
+
     @SuppressWarnings("unchecked")
     protected final <A extends Args> A args() {
         Args args = this.args;
@@ -176,6 +195,29 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         }
     }
 
+    private static class ValueSerializerFactory_ extends Cfg {
+
+        final ValueSerializerFactory valueSerializerFactory;
+
+        ValueSerializerFactory_(Cfg prev, ValueSerializerFactory valueSerializerFactory) {
+            super(prev);
+            this.valueSerializerFactory = valueSerializerFactory;
+        }
+    }
+
+    private static class RefreshAhead extends Cfg {
+
+        final Duration refreshDuration;
+
+        RefreshAhead(Cfg prev, Duration refreshDuration) {
+            super(prev);
+            if (refreshDuration != null && (refreshDuration.isZero() || refreshDuration.isNegative())) {
+                throw new IllegalArgumentException("refreshDuration must be null or positive");
+            }
+            this.refreshDuration = refreshDuration;
+        }
+    }
+
     private static class Lock extends Cfg {
 
         final CacheLocker locker;
@@ -242,6 +284,8 @@ public abstract class AbstractCacheCreator implements CacheCreator {
         public final int localCacheMaximumSize;
         public final Duration localCacheDuration;
         public final RemoteKeyPrefixProvider keyPrefixProvider;
+        public final ValueSerializerFactory valueSerializerFactory;
+        public final Duration refreshAheadDuration;
 
         public final CacheLocker locker;
         public final Duration lockWaitDuration;
@@ -281,6 +325,15 @@ public abstract class AbstractCacheCreator implements CacheCreator {
             RemoteKeyPrefixProvider_ keyPrefixProvider_ = cfg.as(RemoteKeyPrefixProvider_.class);
             this.keyPrefixProvider = keyPrefixProvider_ != null ? keyPrefixProvider_.keyPrefixProvider : null;
 
+            ValueSerializerFactory_ valueSerializerFactory_ = cfg.as(ValueSerializerFactory_.class);
+            this.valueSerializerFactory =
+                    valueSerializerFactory_ != null ?
+                            valueSerializerFactory_.valueSerializerFactory :
+                            null;
+
+            RefreshAhead refreshAhead = cfg.as(RefreshAhead.class);
+            this.refreshAheadDuration = refreshAhead != null ? refreshAhead.refreshDuration : null;
+
             Lock lock = cfg.as(Lock.class);
             if (lock == null || lock.locker == null) {
                 this.locker = null;
@@ -8,6 +8,7 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
 import org.babyfish.jimmer.sql.cache.ValueSerializer;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -36,6 +37,7 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             Duration duration,
             int randomPercent
@@ -66,10 +68,13 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         long millis = duration.toMillis();
         minMills = millis - randomPercent * millis / 100;
         maxMillis = millis + randomPercent * millis / 100;
+        if (valueSerializerFactory == null) {
+            valueSerializerFactory = ValueSerializerFactory.JSON;
+        }
         if (type != null) {
-            valueSerializer = new ValueSerializer<>(type, objectMapper);
+            valueSerializer = valueSerializerFactory.createForObject(type, objectMapper);
         } else {
-            valueSerializer = new ValueSerializer<>(prop, objectMapper);
+            valueSerializer = valueSerializerFactory.createForProp(prop, objectMapper);
         }
     }
 
@@ -114,6 +119,7 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         protected final ImmutableProp prop;
         protected CacheTracker tracker;
         protected ObjectMapper objectMapper;
+        protected ValueSerializerFactory valueSerializerFactory;
         protected RemoteKeyPrefixProvider keyPrefixProvider;
         protected Duration duration = Duration.ofMinutes(30);
         protected int randomPercent = 30;
@@ -135,6 +141,12 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             return (B)this;
         }
 
+        @SuppressWarnings("unchecked")
+        public B valueSerializerFactory(ValueSerializerFactory valueSerializerFactory) {
+            this.valueSerializerFactory = valueSerializerFactory;
+            return (B)this;
+        }
+
         @SuppressWarnings("unchecked")
         public B keyPrefixProvider(RemoteKeyPrefixProvider keyPrefixProvider) {
             this.keyPrefixProvider = keyPrefixProvider;
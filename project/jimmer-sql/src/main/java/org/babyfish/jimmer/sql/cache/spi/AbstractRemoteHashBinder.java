@@ -5,6 +5,7 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
 import org.babyfish.jimmer.sql.exception.SerializationException;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
 import org.jetbrains.annotations.Nullable;
@@ -27,7 +28,20 @@ public abstract class AbstractRemoteHashBinder<K, V>
             Duration duration,
             int randomPercent
     ) {
-        super(type, prop, tracker, objectMapper, keyPrefixProvider, duration, randomPercent);
+        this(type, prop, tracker, objectMapper, null, keyPrefixProvider, duration, randomPercent);
+    }
+
+    protected AbstractRemoteHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent
+    ) {
+        super(type, prop, tracker, objectMapper, valueSerializerFactory, keyPrefixProvider, duration, randomPercent);
     }
 
     @Override
@@ -5,42 +5,176 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.cache.RemoteKeyPrefixProvider;
+import org.babyfish.jimmer.sql.cache.ValueSerializerFactory;
+import org.babyfish.jimmer.sql.cache.chain.RefreshAheadBinder;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class AbstractRemoteValueBinder<K, V>
-        extends AbstractRemoteBinder<K, V> {
+        extends AbstractRemoteBinder<K, V> implements RefreshAheadBinder<K, V> {
+
+    // 0xFF never appears in UTF-8 so that it cannot be the first byte of JSON,
+    // it is different with the magic of `BinaryValueSerializer` too
+    private static final byte LOGICAL_EXPIRATION_MAGIC = (byte) 0xFF;
+
+    private static final int LOGICAL_EXPIRATION_HEADER_SIZE = 9;
+
+    private final long minRefreshMillis;
+
+    private final long maxRefreshMillis;
+
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent
+    ) {
+        this(type, prop, tracker, objectMapper, null, keyPrefixProvider, duration, randomPercent);
+    }
 
     protected AbstractRemoteValueBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
             @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
             Duration duration,
             int randomPercent
     ) {
-        super(type, prop, tracker, objectMapper, keyPrefixProvider, duration, randomPercent);
+        this(type, prop, tracker, objectMapper, valueSerializerFactory, keyPrefixProvider, duration, randomPercent, null);
+    }
+
+    /**
+     * @param refreshDuration The logical expiration time, null means refresh-ahead is disabled.
+     *                        <p>When it is specified, the logical expiration timestamp is stored
+     *                        together with the value, the logically expired values are still used
+     *                        but refreshed by one request, other requests do not wait for it.</p>
+     */
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable ValueSerializerFactory valueSerializerFactory,
+            @Nullable RemoteKeyPrefixProvider keyPrefixProvider,
+            Duration duration,
+            int randomPercent,
+            @Nullable Duration refreshDuration
+    ) {
+        super(type, prop, tracker, objectMapper, valueSerializerFactory, keyPrefixProvider, duration, randomPercent);
+        if (refreshDuration != null) {
+            if (refreshDuration.isNegative() || refreshDuration.isZero()) {
+                throw new IllegalArgumentException("refreshDuration must be positive");
+            }
+            if (refreshDuration.compareTo(duration) >= 0) {
+                throw new IllegalArgumentException("refreshDuration must be less than duration");
+            }
+            long millis = refreshDuration.toMillis();
+            minRefreshMillis = millis - randomPercent * millis / 100;
+            maxRefreshMillis = millis + randomPercent * millis / 100;
+        } else {
+            minRefreshMillis = 0;
+            maxRefreshMillis = 0;
+        }
     }
 
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
+        return getAll(keys, null);
+    }
+
+    @Override
+    public final Map<K, V> getAll(Collection<K> keys, @Nullable Set<K> staleKeys) {
         Collection<String> redisKeys = serializedKeys(keys);
         List<byte[]> values = read(redisKeys);
-        return valueSerializer.deserialize(keys, values);
+        if (values != null) {
+            long now = System.currentTimeMillis();
+            List<byte[]> rawValues = new ArrayList<>(values.size());
+            Iterator<K> keyItr = keys.iterator();
+            for (byte[] value : values) {
+                K key = keyItr.hasNext() ? keyItr.next() : null;
+                if (value != null &&
+                        value.length >= LOGICAL_EXPIRATION_HEADER_SIZE &&
+                        value[0] == LOGICAL_EXPIRATION_MAGIC
+                ) {
+                    if (staleKeys != null && readLogicalExpiration(value) <= now) {
+                        staleKeys.add(key);
+                    }
+                    value = Arrays.copyOfRange(value, LOGICAL_EXPIRATION_HEADER_SIZE, value.length);
+                }
+                rawValues.add(value);
+            }
+            values = rawValues;
+        }
+        Map<K, V> map = valueSerializer.deserialize(keys, values);
+        if (staleKeys != null && !staleKeys.isEmpty()) {
+            staleKeys.retainAll(map.keySet());
+        }
+        return map;
     }
 
     @Override
     public final void setAll(Map<K, V> map) {
         Map<String, byte[]> convertedMap = valueSerializer.serialize(map, this::serializedKey);
+        if (maxRefreshMillis != 0) {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, byte[]> e : convertedMap.entrySet()) {
+                e.setValue(withLogicalExpiration(e.getValue(), now + nextRefreshMillis()));
+            }
+        }
         write(convertedMap);
     }
 
+    protected long nextRefreshMillis() {
+        if (minRefreshMillis == maxRefreshMillis) {
+            return minRefreshMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(minRefreshMillis, maxRefreshMillis);
+    }
+
+    private static byte[] withLogicalExpiration(byte[] value, long expirationMillis) {
+        byte[] arr = new byte[LOGICAL_EXPIRATION_HEADER_SIZE + value.length];
+        arr[0] = LOGICAL_EXPIRATION_MAGIC;
+        for (int i = 8; i >= 1; --i) {
+            arr[i] = (byte) expirationMillis;
+            expirationMillis >>>= 8;
+        }
+        System.arraycopy(value, 0, arr, LOGICAL_EXPIRATION_HEADER_SIZE, value.length);
+        return arr;
+    }
+
+    private static long readLogicalExpiration(byte[] value) {
+        long expirationMillis = 0;
+        for (int i = 1; i <= 8; i++) {
+            expirationMillis = (expirationMillis << 8) | (value[i] & 0xFF);
+        }
+        return expirationMillis;
+    }
+
     protected abstract List<byte[]> read(Collection<String> keys);
 
     protected abstract void write(Map<String, byte[]> map);
+
+    protected static abstract class AbstractValueBuilder<K, V, B extends AbstractValueBuilder<K, V, B>>
+            extends AbstractBuilder<K, V, B> {
+
+        protected Duration refreshDuration;
+
+        protected AbstractValueBuilder(ImmutableType type, ImmutableProp prop) {
+            super(type, prop);
+        }
+
+        @SuppressWarnings("unchecked")
+        public B refreshDuration(Duration refreshDuration) {
+            this.refreshDuration = refreshDuration;
+            return (B)this;
+        }
+    }
 }
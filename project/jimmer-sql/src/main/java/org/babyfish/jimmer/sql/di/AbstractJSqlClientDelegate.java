@@ -28,6 +28,7 @@ import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.filter.Filters;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
 import org.babyfish.jimmer.sql.meta.*;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
 import org.babyfish.jimmer.sql.runtime.*;
 import org.babyfish.jimmer.sql.transaction.Propagation;
 import org.jetbrains.annotations.NotNull;
@@ -503,6 +504,16 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().getExecutorContextPrefixes();
     }
 
+    @Override
+    public double getExecutorContextSamplingRate() {
+        return sqlClient().getExecutorContextSamplingRate();
+    }
+
+    @Override
+    public JimmerMetrics getMetrics() {
+        return sqlClient().getMetrics();
+    }
+
     @Override
     public SqlFormatter getSqlFormatter() {
         return sqlClient().getSqlFormatter();
@@ -576,11 +587,41 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().getOffsetOptimizingThreshold();
     }
 
+    @Override
+    public int getInListToTableThreshold() {
+        return sqlClient().getInListToTableThreshold();
+    }
+
+    @Override
+    public @Nullable SqlTemplateCache getSqlTemplateCache() {
+        return sqlClient().getSqlTemplateCache();
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return sqlClient().getStatementCacheSize();
+    }
+
     @Override
     public boolean isReverseSortOptimizationEnabled() {
         return sqlClient().isReverseSortOptimizationEnabled();
     }
 
+    @Override
+    public boolean isReaderCompilationEnabled() {
+        return sqlClient().isReaderCompilationEnabled();
+    }
+
+    @Override
+    public java.util.concurrent.Executor getFetcherExecutor() {
+        return sqlClient().getFetcherExecutor();
+    }
+
+    @Override
+    public java.util.concurrent.Executor getCacheRefreshExecutor() {
+        return sqlClient().getCacheRefreshExecutor();
+    }
+
     @Override
     public int getMaxCommandJoinCount() {
         return sqlClient().getMaxCommandJoinCount();
@@ -701,4 +742,9 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
     public Loaders getLoaders() {
         return sqlClient().getLoaders();
     }
+
+    @Override
+    public void close() {
+        sqlClient().close();
+    }
 }
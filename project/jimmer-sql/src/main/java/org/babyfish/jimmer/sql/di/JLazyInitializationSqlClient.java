@@ -47,6 +47,25 @@ public abstract class JLazyInitializationSqlClient extends AbstractJSqlClientDel
 
     protected void afterCreate(JSqlClientImplementor sqlClient) {}
 
+    /**
+     * Close the created sql client, the sql client
+     * is not created if it has not been used.
+     */
+    @Override
+    public void close() {
+        Lock lock;
+        JSqlClientImplementor sqlClient;
+        (lock = readWriteLock.readLock()).lock();
+        try {
+            sqlClient = this.sqlClient;
+        } finally {
+            lock.unlock();
+        }
+        if (sqlClient != null) {
+            sqlClient.close();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T extends SqlContext> T unwrap() {
@@ -4,16 +4,20 @@ import org.babyfish.jimmer.sql.ast.SqlTimeUnit;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionPrecedences;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
+import org.babyfish.jimmer.sql.ast.impl.util.ArrayUtils;
 import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
 import org.babyfish.jimmer.sql.meta.SqlTypeStrategy;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Array;
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +40,17 @@ public interface Dialect extends SqlTypeStrategy {
         throw new ExecutionException("Sequence is not supported by '" + getClass().getName() + "'");
     }
 
+    /**
+     * Get the sql which selects `count` ids from sequence by one round trip,
+     * it is used by the bulk insert of save command.
+     *
+     * @return The sql, or null if it is not supported
+     */
+    @Nullable
+    default String getSelectIdsFromSequenceSql(String sequenceName, int count) {
+        return null;
+    }
+
     @Nullable
     default String getOverrideIdentityIdSql() {
         return null;
@@ -64,6 +79,49 @@ public interface Dialect extends SqlTypeStrategy {
         throw new UnsupportedOperationException("`Dialect.getArray` is not supported");
     }
 
+    /*
+     * The following methods read primitive arrays, dialects can override them
+     * to read the primitive values of the driver without boxing each element.
+     */
+
+    default short[] getShortArray(ResultSet rs, int col) throws SQLException {
+        return ArrayUtils.toPrimitive(getArray(rs, col, Short[].class));
+    }
+
+    default int[] getIntArray(ResultSet rs, int col) throws SQLException {
+        return ArrayUtils.toPrimitive(getArray(rs, col, Integer[].class));
+    }
+
+    default long[] getLongArray(ResultSet rs, int col) throws SQLException {
+        return ArrayUtils.toPrimitive(getArray(rs, col, Long[].class));
+    }
+
+    default float[] getFloatArray(ResultSet rs, int col) throws SQLException {
+        return ArrayUtils.toPrimitive(getArray(rs, col, Float[].class));
+    }
+
+    default double[] getDoubleArray(ResultSet rs, int col) throws SQLException {
+        return ArrayUtils.toPrimitive(getArray(rs, col, Double[].class));
+    }
+
+    /**
+     * Create JDBC array by a primitive array such as {@code float[]}
+     *
+     * @param con The JDBC connection
+     * @param sqlElementType The SQL type of array element
+     * @param primitiveArray The primitive array
+     */
+    default Array createPrimitiveArray(
+            Connection con,
+            String sqlElementType,
+            Object primitiveArray
+    ) throws SQLException {
+        return con.createArrayOf(
+                sqlElementType,
+                ArrayUtils.toObject(primitiveArray)
+        );
+    }
+
     default boolean isTupleSupported() {
         return true;
     }
@@ -119,10 +177,54 @@ public interface Dialect extends SqlTypeStrategy {
         );
     }
 
+    /**
+     * Whether {@code select ... order by ... limit ? for update skip locked}
+     * is supported, it is used by
+     * {@link org.babyfish.jimmer.sql.cache.TransactionCacheOperator}
+     * so that multiple application nodes can claim different
+     * delayed cache operations without waiting for each other.
+     */
+    default boolean isSkipLockedSupported() {
+        return false;
+    }
+
     default int getMaxInListSize() {
         return 1000;
     }
 
+    /**
+     * Whether a large {@code in} list can be rendered as a derived table
+     * by {@link #renderInListTable(AbstractSqlBuilder, List, Collection)}.
+     *
+     * @param rowCount The size of the {@code in} list
+     * @param columnCount The column count of each row
+     * @see org.babyfish.jimmer.sql.JSqlClient.Builder#setInListToTableThreshold(int)
+     */
+    default boolean isInListTableSupported(int rowCount, int columnCount) {
+        return false;
+    }
+
+    /**
+     * Render a derived table whose rows are the values of a large {@code in} list,
+     * such as {@code unnest(?, ?)} or {@code (values (?, ?), (?, ?))}.
+     * The caller renders the alias and the column names after it.
+     *
+     * @param builder The SQL builder
+     * @param getters The value getters of the columns
+     * @param values The values of the {@code in} list, their columns are not null
+     */
+    default void renderInListTable(
+            AbstractSqlBuilder<?> builder,
+            List<ValueGetter> getters,
+            Collection<?> values
+    ) {
+        throw new UnsupportedOperationException(
+                "The dialect \"" +
+                        getClass().getName() +
+                        "\" does not support rendering in-list as table"
+        );
+    }
+
     @Override
     default String arrayTypeSuffix() {
         return "[]";
@@ -176,6 +278,84 @@ public interface Dialect extends SqlTypeStrategy {
         return false;
     }
 
+    /**
+     * The JDBC fetch size of the statement opened by
+     * {@code TypedRootQuery.stream}
+     *
+     * @param batchSize The batch size specified by user
+     * @param exclusive Whether the connection is used by nothing
+     *                  else while the cursor is open,
+     *                  it is false when associations must be
+     *                  fetched chunk by chunk during iteration
+     */
+    default int getCursorFetchSize(int batchSize, boolean exclusive) {
+        return batchSize;
+    }
+
+    /**
+     * Some JDBC drivers ignore the fetch size and load all rows
+     * into memory unless the cursor is opened in a transaction.
+     *
+     * <p>The connection of a cursor belongs to the caller,
+     * jimmer does not change its auto-commit mode but logs a warning.</p>
+     */
+    default boolean isCursorTransactionRequired() {
+        return false;
+    }
+
+    /**
+     * Can the rows inserted by save command be written by
+     * {@link #bulkInsert(Connection, String, Iterable)}
+     * instead of batched insert statements
+     */
+    default boolean isBulkInsertSupported(Connection con) throws SQLException {
+        return false;
+    }
+
+    /**
+     * Get the statement of the native bulk loading API,
+     * it is passed to {@link #bulkInsert(Connection, String, Iterable)}
+     * and is shown by the {@link org.babyfish.jimmer.sql.runtime.Executor}.
+     *
+     * @param tableName The table name
+     * @param columnNames The column names
+     */
+    default String getBulkInsertSql(String tableName, List<String> columnNames) {
+        throw new UnsupportedOperationException(
+                "The current dialect \"" +
+                        getClass().getName() +
+                        "\" does not support bulk insert"
+        );
+    }
+
+    /**
+     * Write rows by the native bulk loading API of the database,
+     * it is only called when {@link #isBulkInsertSupported(Connection)} returns true.
+     *
+     * <p>This method is called by the {@link org.babyfish.jimmer.sql.runtime.Executor}
+     * of the sql client, so the operation is logged and translated like other statements.</p>
+     *
+     * @param con The JDBC connection
+     * @param sql The statement returned by {@link #getBulkInsertSql(String, List)}
+     * @param rows The rows, each element is the array of column values,
+     *             the values have already been converted to the sql types.
+     *             The rows are created lazily when they are iterated,
+     *             so they should be written while iterating,
+     *             not be collected before writing.
+     * @return The inserted row count
+     */
+    default long bulkInsert(
+            Connection con,
+            String sql,
+            Iterable<Object[]> rows
+    ) throws SQLException {
+        throw new UnsupportedOperationException(
+                "The current dialect \"" +
+                        getClass().getName() +
+                        "\" does not support bulk insert"
+        );
+    }
+
     void update(UpdateContext ctx);
 
     void upsert(UpsertContext ctx);
@@ -4,13 +4,16 @@ import org.babyfish.jimmer.impl.util.Classes;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
+import org.babyfish.jimmer.sql.collection.TypedList;
 import org.h2.value.ValueJson;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
+import java.sql.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.*;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -97,6 +100,109 @@ public class H2Dialect extends DefaultDialect {
         return rs.getObject(col, arrayType);
     }
 
+    @Override
+    public short[] getShortArray(ResultSet rs, int col) throws SQLException {
+        Object[] elements = elements(rs, col);
+        if (elements == null) {
+            return null;
+        }
+        short[] arr = new short[elements.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = ((Number) elements[i]).shortValue();
+        }
+        return arr;
+    }
+
+    @Override
+    public int[] getIntArray(ResultSet rs, int col) throws SQLException {
+        Object[] elements = elements(rs, col);
+        if (elements == null) {
+            return null;
+        }
+        int[] arr = new int[elements.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = ((Number) elements[i]).intValue();
+        }
+        return arr;
+    }
+
+    @Override
+    public long[] getLongArray(ResultSet rs, int col) throws SQLException {
+        Object[] elements = elements(rs, col);
+        if (elements == null) {
+            return null;
+        }
+        long[] arr = new long[elements.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = ((Number) elements[i]).longValue();
+        }
+        return arr;
+    }
+
+    @Override
+    public float[] getFloatArray(ResultSet rs, int col) throws SQLException {
+        Object[] elements = elements(rs, col);
+        if (elements == null) {
+            return null;
+        }
+        float[] arr = new float[elements.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = ((Number) elements[i]).floatValue();
+        }
+        return arr;
+    }
+
+    @Override
+    public double[] getDoubleArray(ResultSet rs, int col) throws SQLException {
+        Object[] elements = elements(rs, col);
+        if (elements == null) {
+            return null;
+        }
+        double[] arr = new double[elements.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = ((Number) elements[i]).doubleValue();
+        }
+        return arr;
+    }
+
+    @Override
+    public boolean isInListTableSupported(int rowCount, int columnCount) {
+        return true;
+    }
+
+    @Override
+    public void renderInListTable(
+            AbstractSqlBuilder<?> builder,
+            List<ValueGetter> getters,
+            Collection<?> values
+    ) {
+        builder.sql("unnest").enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (ValueGetter getter : getters) {
+            String sqlType = getter.metadata().getSqlTypeName();
+            Object[] arr = new Object[values.size()];
+            int index = 0;
+            for (Object value : values) {
+                arr[index++] = getter.get(value);
+            }
+            builder.separator()
+                    .sql("cast(")
+                    .rawVariable(new TypedList<>(sqlType, arr))
+                    .sql(" as ")
+                    .sql(sqlType)
+                    .sql(" array)");
+        }
+        builder.leave();
+    }
+
+    /*
+     * Unlike `getObject(col, Integer[].class)`, the elements
+     * are not converted again by H2 and copied by the caller
+     */
+    private static Object[] elements(ResultSet rs, int col) throws SQLException {
+        Array array = rs.getArray(col);
+        return array != null ? (Object[]) array.getArray() : null;
+    }
+
     @Override
     public boolean isTupleCountSupported() {
         return true;
@@ -12,6 +12,11 @@ public class MySqlDialect extends MySql5Dialect {
         return true;
     }
 
+    @Override
+    public boolean isSkipLockedSupported() {
+        return true;
+    }
+
     @Override
     public void update(UpdateContext ctx) {
         if (!ctx.isUpdatedByKey()) {
@@ -27,6 +27,16 @@ public abstract class MySqlStyleDialect extends DefaultDialect {
         return true;
     }
 
+    /**
+     * MySQL driver streams rows one by one only when the fetch size
+     * is {@link Integer#MIN_VALUE}, but no other statement can be executed
+     * by the same connection until that result set is closed.
+     */
+    @Override
+    public int getCursorFetchSize(int batchSize, boolean exclusive) {
+        return exclusive ? Integer.MIN_VALUE : batchSize;
+    }
+
     public String sqlType(Class<?> elementType) {
         if (elementType == String.class) {
             return "varchar";
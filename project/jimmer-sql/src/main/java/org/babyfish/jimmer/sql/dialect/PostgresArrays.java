@@ -0,0 +1,436 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decode one-dimensional numeric arrays of PostgreSQL into primitive arrays
+ * without boxing each element.
+ *
+ * <p>The raw column value returned by {@code ResultSet.getBytes} of the
+ * PostgreSQL driver is either binary wire format or text format
+ * such as {@code {1.5,2.5}}, both of them are supported.</p>
+ *
+ * <p>All the decode methods return null if the value cannot be decoded
+ * exactly, for example, it is multidimensional, has null elements, its element
+ * type cannot be widened to the requested primitive type, or a text element
+ * is out of range of the requested primitive type. In this case, the caller
+ * should fall back to the JDBC array.</p>
+ */
+final class PostgresArrays {
+
+    private static final int INT2_OID = 21;
+
+    private static final int INT4_OID = 23;
+
+    private static final int INT8_OID = 20;
+
+    private static final int FLOAT4_OID = 700;
+
+    private static final int FLOAT8_OID = 701;
+
+    private PostgresArrays() {}
+
+    static short[] decodeShortArray(byte[] bytes) {
+        return decode(bytes, new ShortArrayBuilder());
+    }
+
+    static int[] decodeIntArray(byte[] bytes) {
+        return decode(bytes, new IntArrayBuilder());
+    }
+
+    static long[] decodeLongArray(byte[] bytes) {
+        return decode(bytes, new LongArrayBuilder());
+    }
+
+    static float[] decodeFloatArray(byte[] bytes) {
+        return decode(bytes, new FloatArrayBuilder());
+    }
+
+    static double[] decodeDoubleArray(byte[] bytes) {
+        return decode(bytes, new DoubleArrayBuilder());
+    }
+
+    private static <A> A decode(byte[] bytes, Builder<A> builder) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        switch (bytes[0]) {
+            case 0:
+                return decodeBinary(bytes, builder);
+            case '{':
+            case '[':
+                return decodeText(bytes, builder);
+            default:
+                return null;
+        }
+    }
+
+    private static <A> A decodeBinary(byte[] bytes, Builder<A> builder) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int dimensions = buffer.getInt();
+        buffer.getInt(); // Flags of null elements
+        int oid = buffer.getInt();
+        if (!builder.accept(oid)) {
+            return null;
+        }
+        if (dimensions == 0) {
+            builder.init(0);
+            return builder.build();
+        }
+        if (dimensions != 1) {
+            return null;
+        }
+        int length = buffer.getInt();
+        buffer.getInt(); // Lower bound
+        builder.init(length);
+        for (int i = 0; i < length; i++) {
+            int elementLength = buffer.getInt();
+            if (elementLength != width(oid)) {
+                // Null element or unexpected width
+                return null;
+            }
+            switch (oid) {
+                case INT2_OID:
+                    builder.set(i, buffer.getShort());
+                    break;
+                case INT4_OID:
+                    builder.set(i, buffer.getInt());
+                    break;
+                case INT8_OID:
+                    builder.set(i, buffer.getLong());
+                    break;
+                case FLOAT4_OID:
+                    builder.set(i, buffer.getFloat());
+                    break;
+                default:
+                    builder.set(i, buffer.getDouble());
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    private static int width(int oid) {
+        switch (oid) {
+            case INT2_OID:
+                return 2;
+            case INT4_OID:
+            case FLOAT4_OID:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+
+    private static <A> A decodeText(byte[] bytes, Builder<A> builder) {
+        int start = 0;
+        if (bytes[0] == '[') {
+            // Skip the decoration of dimensions, such as "[0:2]="
+            while (start < bytes.length && bytes[start] != '=') {
+                start++;
+            }
+            start++;
+        }
+        int end = bytes.length - 1;
+        if (start >= end || bytes[start] != '{' || bytes[end] != '}') {
+            return null;
+        }
+        start++;
+        if (start == end) {
+            builder.init(0);
+            return builder.build();
+        }
+        int length = 1;
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b == ',') {
+                length++;
+            } else if (b == '{' || b == '"') {
+                // Multidimensional array or quoted element
+                return null;
+            }
+        }
+        builder.init(length);
+        int index = 0;
+        int elementStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || bytes[i] == ',') {
+                if (elementStart == i || isNull(bytes, elementStart, i)) {
+                    return null;
+                }
+                if (!builder.parse(index++, bytes, elementStart, i)) {
+                    return null;
+                }
+                elementStart = i + 1;
+            }
+        }
+        return builder.build();
+    }
+
+    private static abstract class Builder<A> {
+
+        /**
+         * @return Whether the element type can be widened
+         * to the primitive type without loss
+         */
+        abstract boolean accept(int oid);
+
+        abstract void init(int length);
+
+        /**
+         * Only called for the accepted integral element types
+         */
+        abstract void set(int index, long value);
+
+        /**
+         * Only called for the accepted floating element types
+         */
+        abstract void set(int index, double value);
+
+        /**
+         * @return False if the text element cannot be
+         * represented by the primitive type exactly
+         */
+        abstract boolean parse(int index, byte[] bytes, int start, int end);
+
+        abstract A build();
+    }
+
+    private static abstract class IntegralArrayBuilder<A> extends Builder<A> {
+
+        private final long min;
+
+        private final long max;
+
+        IntegralArrayBuilder(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void set(int index, double value) {
+            throw new AssertionError("Internal bug: floating element of integral array");
+        }
+
+        @Override
+        boolean parse(int index, byte[] bytes, int start, int end) {
+            boolean negative = bytes[start] == '-';
+            int digitStart = negative ? start + 1 : start;
+            if (digitStart == end) {
+                return false;
+            }
+            // Accumulated as negative number so that Long.MIN_VALUE can be parsed
+            long value = 0;
+            for (int i = digitStart; i < end; i++) {
+                int digit = bytes[i] - '0';
+                if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                    return false;
+                }
+                value = value * 10 - digit;
+            }
+            if (!negative) {
+                if (value == Long.MIN_VALUE) {
+                    return false;
+                }
+                value = -value;
+            }
+            if (value < min || value > max) {
+                return false;
+            }
+            set(index, value);
+            return true;
+        }
+    }
+
+    private static abstract class FloatingArrayBuilder<A> extends Builder<A> {
+
+        @Override
+        boolean parse(int index, byte[] bytes, int start, int end) {
+            String text = text(bytes, start, end);
+            double value;
+            try {
+                value = parse(text);
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+            if (Double.isInfinite(value) && !text.endsWith("Infinity")) {
+                // Out of the range of the primitive type
+                return false;
+            }
+            set(index, value);
+            return true;
+        }
+
+        abstract double parse(String text);
+    }
+
+    private static class ShortArrayBuilder extends IntegralArrayBuilder<short[]> {
+
+        private short[] arr;
+
+        ShortArrayBuilder() {
+            super(Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+
+        @Override
+        boolean accept(int oid) {
+            return oid == INT2_OID;
+        }
+
+        @Override
+        void init(int length) {
+            arr = new short[length];
+        }
+
+        @Override
+        void set(int index, long value) {
+            arr[index] = (short) value;
+        }
+
+        @Override
+        short[] build() {
+            return arr;
+        }
+    }
+
+    private static class IntArrayBuilder extends IntegralArrayBuilder<int[]> {
+
+        private int[] arr;
+
+        IntArrayBuilder() {
+            super(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        @Override
+        boolean accept(int oid) {
+            return oid == INT2_OID || oid == INT4_OID;
+        }
+
+        @Override
+        void init(int length) {
+            arr = new int[length];
+        }
+
+        @Override
+        void set(int index, long value) {
+            arr[index] = (int) value;
+        }
+
+        @Override
+        int[] build() {
+            return arr;
+        }
+    }
+
+    private static class LongArrayBuilder extends IntegralArrayBuilder<long[]> {
+
+        private long[] arr;
+
+        LongArrayBuilder() {
+            super(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        boolean accept(int oid) {
+            return oid == INT2_OID || oid == INT4_OID || oid == INT8_OID;
+        }
+
+        @Override
+        void init(int length) {
+            arr = new long[length];
+        }
+
+        @Override
+        void set(int index, long value) {
+            arr[index] = value;
+        }
+
+        @Override
+        long[] build() {
+            return arr;
+        }
+    }
+
+    private static class FloatArrayBuilder extends FloatingArrayBuilder<float[]> {
+
+        private float[] arr;
+
+        @Override
+        boolean accept(int oid) {
+            return oid == INT2_OID || oid == FLOAT4_OID;
+        }
+
+        @Override
+        void init(int length) {
+            arr = new float[length];
+        }
+
+        @Override
+        void set(int index, long value) {
+            arr[index] = value;
+        }
+
+        @Override
+        void set(int index, double value) {
+            arr[index] = (float) value;
+        }
+
+        @Override
+        double parse(String text) {
+            return Float.parseFloat(text);
+        }
+
+        @Override
+        float[] build() {
+            return arr;
+        }
+    }
+
+    private static class DoubleArrayBuilder extends FloatingArrayBuilder<double[]> {
+
+        private double[] arr;
+
+        @Override
+        boolean accept(int oid) {
+            return oid == INT2_OID || oid == INT4_OID || oid == FLOAT4_OID || oid == FLOAT8_OID;
+        }
+
+        @Override
+        void init(int length) {
+            arr = new double[length];
+        }
+
+        @Override
+        void set(int index, long value) {
+            arr[index] = value;
+        }
+
+        @Override
+        void set(int index, double value) {
+            arr[index] = value;
+        }
+
+        @Override
+        double parse(String text) {
+            return Double.parseDouble(text);
+        }
+
+        @Override
+        double[] build() {
+            return arr;
+        }
+    }
+
+    private static boolean isNull(byte[] bytes, int start, int end) {
+        return end - start == 4 &&
+                bytes[start] == 'N' &&
+                bytes[start + 1] == 'U' &&
+                bytes[start + 2] == 'L' &&
+                bytes[start + 3] == 'L';
+    }
+
+    private static String text(byte[] bytes, int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+    }
+}
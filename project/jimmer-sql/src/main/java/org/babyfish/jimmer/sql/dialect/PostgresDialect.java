@@ -6,13 +6,19 @@ import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionPrecedences;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
+import org.babyfish.jimmer.sql.collection.TypedList;
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.postgresql.util.PGobject;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.*;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +36,32 @@ public class PostgresDialect extends DefaultDialect {
         }
     };
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final boolean bulkInsert;
+
+    public PostgresDialect() {
+        this(false);
+    }
+
+    /**
+     * The rows of `copy ... from stdin` are written as CSV text, not as binary COPY.
+     * Binary COPY requires the exact server side type of each column,
+     * for example, int4 or int8, numeric or float8, timestamp or timestamptz,
+     * but save command only knows the java types of the properties.
+     * A wrong guess fails the whole COPY, while text values are cast
+     * by the server just like the parameters of insert statements.
+     *
+     * @param bulkInsert If it is true, the rows inserted by save command
+     *                   are written by `copy ... from stdin` of the
+     *                   postgres driver instead of batched insert statements,
+     *                   unless the mode is upsert, or the id is generated by identity column,
+     *                   or the connection is not the connection of postgres driver.
+     */
+    public PostgresDialect(boolean bulkInsert) {
+        this.bulkInsert = bulkInsert;
+    }
+
     @Override
     public UpdateJoin getUpdateJoin() {
         return new UpdateJoin(false, UpdateJoin.From.AS_JOIN);
@@ -40,6 +72,11 @@ public class PostgresDialect extends DefaultDialect {
         return "select nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public String getSelectIdsFromSequenceSql(String sequenceName, int count) {
+        return "select nextval('" + sequenceName + "') from generate_series(1, " + count + ")";
+    }
+
     @Override
     public String getOverrideIdentityIdSql() {
         return "overriding system value";
@@ -149,6 +186,101 @@ public class PostgresDialect extends DefaultDialect {
         return null;
     }
 
+    @Override
+    public short[] getShortArray(ResultSet rs, int col) throws SQLException {
+        byte[] bytes = rs.getBytes(col);
+        if (bytes == null) {
+            return null;
+        }
+        short[] arr = PostgresArrays.decodeShortArray(bytes);
+        return arr != null ? arr : super.getShortArray(rs, col);
+    }
+
+    @Override
+    public int[] getIntArray(ResultSet rs, int col) throws SQLException {
+        byte[] bytes = rs.getBytes(col);
+        if (bytes == null) {
+            return null;
+        }
+        int[] arr = PostgresArrays.decodeIntArray(bytes);
+        return arr != null ? arr : super.getIntArray(rs, col);
+    }
+
+    @Override
+    public long[] getLongArray(ResultSet rs, int col) throws SQLException {
+        byte[] bytes = rs.getBytes(col);
+        if (bytes == null) {
+            return null;
+        }
+        long[] arr = PostgresArrays.decodeLongArray(bytes);
+        return arr != null ? arr : super.getLongArray(rs, col);
+    }
+
+    @Override
+    public float[] getFloatArray(ResultSet rs, int col) throws SQLException {
+        byte[] bytes = rs.getBytes(col);
+        if (bytes == null) {
+            return null;
+        }
+        float[] arr = PostgresArrays.decodeFloatArray(bytes);
+        return arr != null ? arr : super.getFloatArray(rs, col);
+    }
+
+    @Override
+    public double[] getDoubleArray(ResultSet rs, int col) throws SQLException {
+        byte[] bytes = rs.getBytes(col);
+        if (bytes == null) {
+            return null;
+        }
+        double[] arr = PostgresArrays.decodeDoubleArray(bytes);
+        return arr != null ? arr : super.getDoubleArray(rs, col);
+    }
+
+    @Override
+    public Array createPrimitiveArray(
+            Connection con,
+            String sqlElementType,
+            Object primitiveArray
+    ) throws SQLException {
+        if (con.isWrapperFor(PGConnection.class)) {
+            try {
+                return con.unwrap(PGConnection.class).createArrayOf(sqlElementType, primitiveArray);
+            } catch (SQLException ex) {
+                // The driver does not support this combination of
+                // element type and primitive array, box it
+            }
+        }
+        return super.createPrimitiveArray(con, sqlElementType, primitiveArray);
+    }
+
+    @Override
+    public boolean isInListTableSupported(int rowCount, int columnCount) {
+        return true;
+    }
+
+    @Override
+    public void renderInListTable(
+            AbstractSqlBuilder<?> builder,
+            List<ValueGetter> getters,
+            Collection<?> values
+    ) {
+        builder.sql("unnest").enter(AbstractSqlBuilder.ScopeType.TUPLE);
+        for (ValueGetter getter : getters) {
+            String sqlType = getter.metadata().getSqlTypeName();
+            Object[] arr = new Object[values.size()];
+            int index = 0;
+            for (Object value : values) {
+                arr[index++] = getter.get(value);
+            }
+            builder.separator()
+                    .rawVariable(new TypedList<>(sqlType, arr))
+                    .sql("::")
+                    .sql(sqlType)
+                    .sql("[]");
+        }
+        builder.leave();
+    }
+
     public Reader<String> jsonReader() {
         return new Reader<String>() {
             @Override
@@ -199,6 +331,173 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isCursorTransactionRequired() {
+        return true;
+    }
+
+    @Override
+    public boolean isBulkInsertSupported(Connection con) throws SQLException {
+        return bulkInsert && con.isWrapperFor(PGConnection.class);
+    }
+
+    @Override
+    public String getBulkInsertSql(String tableName, List<String> columnNames) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("copy ").append(tableName).append('(');
+        boolean addComma = false;
+        for (String columnName : columnNames) {
+            if (addComma) {
+                builder.append(", ");
+            } else {
+                addComma = true;
+            }
+            builder.append(columnName);
+        }
+        builder.append(") from stdin with (format csv)");
+        return builder.toString();
+    }
+
+    @Override
+    public long bulkInsert(
+            Connection con,
+            String sql,
+            Iterable<Object[]> rows
+    ) throws SQLException {
+        CopyIn copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (Object[] row : rows) {
+                appendCsvRow(builder, row);
+                if (builder.length() >= COPY_BUFFER_SIZE) {
+                    writeToCopy(copyIn, builder);
+                }
+            }
+            writeToCopy(copyIn, builder);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder builder) throws SQLException {
+        if (builder.length() != 0) {
+            byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            builder.setLength(0);
+        }
+    }
+
+    /*
+     * Null is written as the unquoted empty field,
+     * other values are always quoted, so that the empty string
+     * is not treated as null by `copy ... with (format csv)`
+     */
+    static void appendCsvRow(StringBuilder builder, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            appendCsvValue(builder, row[i]);
+        }
+        builder.append('\n');
+    }
+
+    /*
+     * Text csv format is used instead of binary format,
+     * because binary format requires the exact server side
+     * type of each column, for example, int4 or int8.
+     */
+    private static void appendCsvValue(StringBuilder builder, Object value) {
+        if (value instanceof DbLiteral) {
+            throw new IllegalArgumentException(
+                    "The value of bulk insert cannot be \"" +
+                            DbLiteral.class.getName() +
+                            "\", it must be converted to sql value"
+            );
+        }
+        if (value instanceof PGobject) {
+            value = ((PGobject) value).getValue();
+        }
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Collection<?>) {
+            value = ((Collection<?>) value).toArray();
+        }
+        if (value instanceof Object[]) {
+            StringBuilder arrBuilder = new StringBuilder();
+            arrBuilder.append('{');
+            boolean addComma = false;
+            for (Object element : (Object[]) value) {
+                if (addComma) {
+                    arrBuilder.append(',');
+                } else {
+                    addComma = true;
+                }
+                if (element == null) {
+                    arrBuilder.append("NULL");
+                } else {
+                    arrBuilder.append('"');
+                    for (char c : textOf(element).toCharArray()) {
+                        if (c == '"' || c == '\\') {
+                            arrBuilder.append('\\');
+                        }
+                        arrBuilder.append(c);
+                    }
+                    arrBuilder.append('"');
+                }
+            }
+            arrBuilder.append('}');
+            appendQuoted(builder, arrBuilder.toString());
+        } else {
+            appendQuoted(builder, textOf(value));
+        }
+    }
+
+    private static void appendQuoted(StringBuilder builder, String text) {
+        builder.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                builder.append('"');
+            }
+            builder.append(c);
+        }
+        builder.append('"');
+    }
+
+    private static String textOf(Object value) {
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            StringBuilder builder = new StringBuilder(2 + bytes.length * 2);
+            builder.append("\\x");
+            for (byte b : bytes) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toOffsetDateTime().toString();
+        }
+        if (value instanceof java.util.Date &&
+                !(value instanceof Date) &&
+                !(value instanceof Time) &&
+                !(value instanceof Timestamp)) {
+            return new Timestamp(((java.util.Date) value).getTime()).toString();
+        }
+        if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
     @Override
     public void update(UpdateContext ctx) {
         if (!ctx.isUpdatedByKey()) {
@@ -272,6 +571,11 @@ public class PostgresDialect extends DefaultDialect {
         }
     }
 
+    @Override
+    public boolean isSkipLockedSupported() {
+        return true;
+    }
+
     @Override
     public String transCacheOperatorTableDDL() {
         return "create table JIMMER_TRANS_CACHE_OPERATOR(\n" +
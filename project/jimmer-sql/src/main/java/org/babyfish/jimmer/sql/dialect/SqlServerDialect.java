@@ -3,10 +3,13 @@ package org.babyfish.jimmer.sql.dialect;
 import org.babyfish.jimmer.sql.ast.SqlTimeUnit;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
+import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.time.*;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public class SqlServerDialect extends DefaultDialect {
@@ -203,4 +206,36 @@ public class SqlServerDialect extends DefaultDialect {
         builder.ast(otherAst, 0);
         builder.sql(")").sql(op);
     }
+
+    /*
+     * SQL Server accepts 2100 parameters at most,
+     * leave some of them to the other parts of the statement
+     */
+    @Override
+    public boolean isInListTableSupported(int rowCount, int columnCount) {
+        return rowCount * columnCount <= 2000;
+    }
+
+    @Override
+    public void renderInListTable(
+            AbstractSqlBuilder<?> builder,
+            List<ValueGetter> getters,
+            Collection<?> values
+    ) {
+        builder.sql("(values ");
+        boolean addComma = false;
+        for (Object value : values) {
+            if (addComma) {
+                builder.sql(", ");
+            } else {
+                addComma = true;
+            }
+            builder.enter(AbstractSqlBuilder.ScopeType.TUPLE);
+            for (ValueGetter getter : getters) {
+                builder.separator().rawVariable(getter.get(value));
+            }
+            builder.leave();
+        }
+        builder.sql(")");
+    }
 }
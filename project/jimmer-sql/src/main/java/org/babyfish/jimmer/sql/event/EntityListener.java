@@ -1,7 +1,26 @@
 package org.babyfish.jimmer.sql.event;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface EntityListener<E> {
 
     void onChange(EntityEvent<E> e);
+
+    /**
+     * Receive the changed rows of the same entity type in one mutation together,
+     * for example, all the rows inserted or updated by a save command
+     * of transaction triggers. The events are in the order of changes.
+     *
+     * <p>The events fired one by one, such as the events of binlog triggers,
+     * are still received by {@link #onChange(EntityEvent)}.</p>
+     *
+     * <p>By default, this method calls {@link #onChange(EntityEvent)} for each event,
+     * override it to handle the changes in bulk.</p>
+     */
+    default void onChanges(List<EntityEvent<E>> events) {
+        for (EntityEvent<E> e : events) {
+            onChange(e);
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 
 import java.sql.Connection;
+import java.util.List;
 
 public interface Triggers {
 
@@ -49,6 +50,17 @@ public interface Triggers {
 
     void fireEntityTableChange(Object oldRow, Object newRow, Connection con, Object reason);
 
+    /**
+     * Fire the changes of entity table together,
+     * the entity listeners receive them by {@link EntityListener#onChanges(List)}
+     * grouped by entity type.
+     */
+    default void fireEntityTableChanges(List<? extends EntityEvent<?>> events) {
+        for (EntityEvent<?> e : events) {
+            fireEntityTableChange(e.getOldEntity(), e.getNewEntity(), e.getConnection(), e.getReason());
+        }
+    }
+
     default void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con) {
         fireMiddleTableDelete(prop, sourceId, targetId, con, null);
     }
@@ -0,0 +1,151 @@
+package org.babyfish.jimmer.sql.event.impl;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Dispatches the events of binlog triggers to listeners by background threads.
+ *
+ * <p>The events of the same entity id are always handled by the same thread
+ * in the order they are received. Each thread has a bounded queue, the caller
+ * is blocked when the queue is full so that the binlog consumer slows down
+ * instead of exhausting the memory.</p>
+ *
+ * <p>After {@link #close()}, the queued events are still handled and the
+ * threads stop when their queues are empty, the new events are handled
+ * by the caller thread.</p>
+ */
+class AsyncEventDispatcher implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncEventDispatcher.class);
+
+    /*
+     * Wakes up the lane blocked by the empty queue after closed
+     */
+    private static final Runnable STOP = () -> {};
+
+    private final Lane[] lanes;
+
+    private volatile boolean closed;
+
+    AsyncEventDispatcher(int parallelism, int queueCapacity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("`parallelism` must be greater than 0");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("`queueCapacity` must be greater than 0");
+        }
+        Lane[] lanes = new Lane[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            lanes[i] = new Lane(this, queueCapacity, i);
+        }
+        this.lanes = lanes;
+        for (Lane lane : lanes) {
+            lane.start();
+        }
+    }
+
+    /**
+     * Whether the current thread is one of the dispatching threads,
+     * the events raised by listeners must be handled synchronously
+     * in this case.
+     */
+    boolean isDispatchingThread() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof Lane && ((Lane) thread).dispatcher == this;
+    }
+
+    void dispatch(ImmutableType type, Object id, Runnable task) {
+        if (closed) {
+            task.run();
+            return;
+        }
+        int hash = type.hashCode() * 31 + id.hashCode();
+        hash ^= hash >>> 16;
+        Lane lane = lanes[(hash & Integer.MAX_VALUE) % lanes.length];
+        try {
+            lane.queue.put(task);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while dispatching the event of binlog triggers", ex);
+        }
+    }
+
+    /**
+     * Stop the dispatching threads after the queued events are handled,
+     * and wait for them unless it is called by one of them.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Lane lane : lanes) {
+            // If the queue is full, the lane is busy and checks `closed` later
+            lane.queue.offer(STOP);
+        }
+        if (isDispatchingThread()) {
+            return;
+        }
+        try {
+            for (Lane lane : lanes) {
+                lane.join();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean isAlive() {
+        for (Lane lane : lanes) {
+            if (lane.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Lane extends Thread {
+
+        final AsyncEventDispatcher dispatcher;
+
+        final BlockingQueue<Runnable> queue;
+
+        Lane(AsyncEventDispatcher dispatcher, int queueCapacity, int index) {
+            super("jimmer-binlog-trigger-" + index);
+            this.dispatcher = dispatcher;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!dispatcher.closed || !queue.isEmpty()) {
+                Runnable task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                if (task == STOP) {
+                    continue;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException | Error ex) {
+                    LOGGER.error("Failed to handle the event of binlog triggers", ex);
+                }
+            }
+        }
+    }
+}
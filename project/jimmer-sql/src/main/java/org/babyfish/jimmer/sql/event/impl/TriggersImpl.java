@@ -21,6 +21,8 @@ public class TriggersImpl implements Triggers {
 
     private final boolean transaction;
 
+    private final AsyncEventDispatcher asyncDispatcher;
+
     private JSqlClientImplementor sqlClient;
 
     private final CopyOnWriteArrayList<EntityListener<ImmutableSpi>> globalEntityListeners =
@@ -36,7 +38,32 @@ public class TriggersImpl implements Triggers {
             new ConcurrentHashMap<>();
 
     public TriggersImpl(boolean transaction) {
+        this(transaction, 0, 0);
+    }
+
+    /**
+     * @param asyncParallelism The count of threads dispatching the events
+     *                         of binlog triggers, 0 means dispatching synchronously.
+     *                         It is ignored by transaction triggers.
+     * @param asyncQueueCapacity The queue capacity of each dispatching thread
+     */
+    public TriggersImpl(boolean transaction, int asyncParallelism, int asyncQueueCapacity) {
         this.transaction = transaction;
+        this.asyncDispatcher = !transaction && asyncParallelism > 0 ?
+                new AsyncEventDispatcher(asyncParallelism, asyncQueueCapacity) :
+                null;
+    }
+
+    /**
+     * Stop the threads dispatching the events of binlog triggers
+     * after the queued events are handled, the later events are
+     * handled synchronously.
+     */
+    public void close() {
+        AsyncEventDispatcher asyncDispatcher = this.asyncDispatcher;
+        if (asyncDispatcher != null) {
+            asyncDispatcher.close();
+        }
     }
 
     public void initialize(JSqlClientImplementor sqlClient) {
@@ -152,6 +179,62 @@ public class TriggersImpl implements Triggers {
             throw new IllegalArgumentException("newRow must be immutable");
         }
         EntityEvent<ImmutableSpi> event = new EntityEvent<>((ImmutableSpi)oldRow, (ImmutableSpi) newRow, con, reason);
+        AsyncEventDispatcher asyncDispatcher = this.asyncDispatcher;
+        if (asyncDispatcher != null && !asyncDispatcher.isDispatchingThread()) {
+            asyncDispatcher.dispatch(event.getImmutableType(), event.getId(), () -> fireEntityEvent(event));
+        } else {
+            fireEntityEvent(event);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void fireEntityTableChanges(List<? extends EntityEvent<?>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        AsyncEventDispatcher asyncDispatcher = this.asyncDispatcher;
+        if (asyncDispatcher != null && !asyncDispatcher.isDispatchingThread()) {
+            // Asynchronous dispatching only guarantees the order of each entity id
+            for (EntityEvent<?> event : events) {
+                fireEntityTableChange(event.getOldEntity(), event.getNewEntity(), event.getConnection(), event.getReason());
+            }
+            return;
+        }
+        Throwable throwable = null;
+        int size = events.size();
+        int start = 0;
+        while (start < size) {
+            // Consecutive events of the same type are received by listeners together
+            ImmutableType type = events.get(start).getImmutableType();
+            int end = start + 1;
+            while (end < size && events.get(end).getImmutableType() == type) {
+                end++;
+            }
+            List<EntityEvent<ImmutableSpi>> typedEvents = Collections.unmodifiableList(
+                    (List<EntityEvent<ImmutableSpi>>) events.subList(start, end)
+            );
+            for (EntityListener<ImmutableSpi> listener : entityListeners(type)) {
+                try {
+                    listener.onChanges(typedEvents);
+                } catch (RuntimeException | Error ex) {
+                    if (throwable == null) {
+                        throwable = ex;
+                    }
+                }
+            }
+            throwable = fireAssociationEventByEntityEvents(type, typedEvents, throwable);
+            start = end;
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+    }
+
+    private void fireEntityEvent(EntityEvent<ImmutableSpi> event) {
         List<EntityListener<ImmutableSpi>> listeners = entityListeners(event.getImmutableType());
         Throwable throwable = null;
         if (!listeners.isEmpty()) {
@@ -165,7 +248,11 @@ public class TriggersImpl implements Triggers {
                 }
             }
         }
-        throwable = fireAssociationEventByEntityEvent(event, throwable);
+        throwable = fireAssociationEventByEntityEvents(
+                event.getImmutableType(),
+                Collections.singletonList(event),
+                throwable
+        );
         if (throwable instanceof RuntimeException) {
             throw (RuntimeException)throwable;
         }
@@ -178,9 +265,18 @@ public class TriggersImpl implements Triggers {
     public void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
         ImmutableProp mappedBy = prop.getMappedBy();
         if (mappedBy != null) {
-            fireMiddleTableDeleteImpl(mappedBy, targetId, sourceId, con, reason);
+            fireMiddleTableChange(mappedBy, targetId, () -> fireMiddleTableDeleteImpl(mappedBy, targetId, sourceId, con, reason));
+        } else {
+            fireMiddleTableChange(prop, sourceId, () -> fireMiddleTableDeleteImpl(prop, sourceId, targetId, con, reason));
+        }
+    }
+
+    private void fireMiddleTableChange(ImmutableProp prop, Object sourceId, Runnable block) {
+        AsyncEventDispatcher asyncDispatcher = this.asyncDispatcher;
+        if (asyncDispatcher != null && !asyncDispatcher.isDispatchingThread()) {
+            asyncDispatcher.dispatch(prop.getDeclaringType(), sourceId, block);
         } else {
-            fireMiddleTableDeleteImpl(prop, sourceId, targetId, con, reason);
+            block.run();
         }
     }
 
@@ -225,9 +321,9 @@ public class TriggersImpl implements Triggers {
     public void fireMiddleTableInsert(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
         ImmutableProp mappedBy = prop.getMappedBy();
         if (mappedBy != null) {
-            fireMiddleTableInsertImpl(mappedBy, targetId, sourceId, con, reason);
+            fireMiddleTableChange(mappedBy, targetId, () -> fireMiddleTableInsertImpl(mappedBy, targetId, sourceId, con, reason));
         } else {
-            fireMiddleTableInsertImpl(prop, sourceId, targetId, con, reason);
+            fireMiddleTableChange(prop, sourceId, () -> fireMiddleTableInsertImpl(prop, sourceId, targetId, con, reason));
         }
     }
 
@@ -287,7 +383,7 @@ public class TriggersImpl implements Triggers {
                     }
                 }
             }
-            throwable = fireAssociationEventByEntityEvent(e, throwable);
+            throwable = fireAssociationEventByEntityEvents(type, Collections.singletonList(e), throwable);
             if (throwable instanceof RuntimeException) {
                 throw (RuntimeException)throwable;
             }
@@ -355,27 +451,82 @@ public class TriggersImpl implements Triggers {
         return transaction;
     }
 
-    private Throwable fireAssociationEventByEntityEvent(EntityEvent<?> event, Throwable throwable) {
+    private Throwable fireAssociationEventByEntityEvents(
+            ImmutableType type,
+            List<? extends EntityEvent<?>> events,
+            Throwable throwable
+    ) {
+        MetadataStrategy metadataStrategy = sqlClient().getMetadataStrategy();
+        Collection<ImmutableProp> backProps = sqlClient().getEntityManager().getAllBackProps(type);
+        for (EntityEvent<?> event : events) {
+            if (!event.isEvict()) {
+                throwable = fireAssociationEventByChangedRefs(event, throwable);
+            }
+            for (ImmutableProp backProp : backProps) {
+                if (!backProp.isAssociation(TargetLevel.PERSISTENT)) {
+                    continue;
+                }
+                EvictContext ctx = EvictContext.get();
+                if (ctx != null && !ctx.isAllowed(backProp)) {
+                    continue;
+                }
+                if (!event.isEvict() && backProp.isTargetForeignKeyReal(metadataStrategy)) {
+                    continue;
+                }
+                if (!event.isEvict()) {
+                    ImmutableProp mappedBy = backProp.getMappedBy();
+                    if (mappedBy != null && mappedBy.isTargetForeignKeyReal(metadataStrategy)) {
+                        continue;
+                    }
+                }
+                List<?> backRefIds = BackRefIds.findBackRefIds(sqlClient, backProp, event.getId(), event.getConnection());
+                for (Object backRefId : backRefIds) {
+                    try {
+                        fireAssociationEvict(backProp, backRefId, event.getConnection());
+                    } catch (RuntimeException | Error ex) {
+                        if (throwable == null) {
+                            throwable = ex;
+                        }
+                    }
+                }
+            }
+        }
+        return throwable;
+    }
+
+    private Throwable fireAssociationEventByChangedRefs(EntityEvent<?> event, Throwable throwable) {
         ImmutableType type = event.getImmutableType();
-        if (!event.isEvict()) {
-            for (ImmutableProp prop : type.getProps().values()) {
-                if (prop.isColumnDefinition() && prop.isAssociation(TargetLevel.PERSISTENT)) {
-                    ChangedRef<Object> changedRef = event.getChangedRef(prop);
-                    if (changedRef != null) {
-                        ChangedRef<Object> fkRef = changedRef.toIdRef();
-                        Object childId = event.getId();
-                        Object oldFk = fkRef.getOldValue();
-                        Object newFk = fkRef.getNewValue();
-                        Connection con = event.getConnection();
-                        Object reason = event.getReason();
-                        ImmutableProp inverseProp = prop.getOpposite();
-                        List<AssociationListener> listeners = associationListeners(prop);
-                        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-                        if (!listeners.isEmpty()) {
-                            AssociationEvent e = new AssociationEvent(prop, childId, oldFk, newFk, con, reason);
-                            for (AssociationListener listener : listeners) {
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.isColumnDefinition() && prop.isAssociation(TargetLevel.PERSISTENT)) {
+                ChangedRef<Object> changedRef = event.getChangedRef(prop);
+                if (changedRef != null) {
+                    ChangedRef<Object> fkRef = changedRef.toIdRef();
+                    Object childId = event.getId();
+                    Object oldFk = fkRef.getOldValue();
+                    Object newFk = fkRef.getNewValue();
+                    Connection con = event.getConnection();
+                    Object reason = event.getReason();
+                    ImmutableProp inverseProp = prop.getOpposite();
+                    List<AssociationListener> listeners = associationListeners(prop);
+                    List<AssociationListener> inverseListeners = associationListeners(inverseProp);
+                    if (!listeners.isEmpty()) {
+                        AssociationEvent e = new AssociationEvent(prop, childId, oldFk, newFk, con, reason);
+                        for (AssociationListener listener : listeners) {
+                            try {
+                                listener.onChange(e);
+                            } catch (RuntimeException | Error ex) {
+                                if (throwable == null) {
+                                    throwable = ex;
+                                }
+                            }
+                        }
+                    }
+                    if (!inverseListeners.isEmpty()) {
+                        if (oldFk != null) {
+                            AssociationEvent e = new AssociationEvent(inverseProp, oldFk, childId, null, con, reason);
+                            for (AssociationListener inverseListener : inverseListeners) {
                                 try {
-                                    listener.onChange(e);
+                                    inverseListener.onChange(e);
                                 } catch (RuntimeException | Error ex) {
                                     if (throwable == null) {
                                         throwable = ex;
@@ -383,28 +534,14 @@ public class TriggersImpl implements Triggers {
                                 }
                             }
                         }
-                        if (!inverseListeners.isEmpty()) {
-                            if (oldFk != null) {
-                                AssociationEvent e = new AssociationEvent(inverseProp, oldFk, childId, null, con, reason);
-                                for (AssociationListener inverseListener : inverseListeners) {
-                                    try {
-                                        inverseListener.onChange(e);
-                                    } catch (RuntimeException | Error ex) {
-                                        if (throwable == null) {
-                                            throwable = ex;
-                                        }
-                                    }
-                                }
-                            }
-                            if (newFk != null) {
-                                AssociationEvent e = new AssociationEvent(inverseProp, newFk, null, childId, con, reason);
-                                for (AssociationListener inverseListener : inverseListeners) {
-                                    try {
-                                        inverseListener.onChange(e);
-                                    } catch (RuntimeException | Error ex) {
-                                        if (throwable == null) {
-                                            throwable = ex;
-                                        }
+                        if (newFk != null) {
+                            AssociationEvent e = new AssociationEvent(inverseProp, newFk, null, childId, con, reason);
+                            for (AssociationListener inverseListener : inverseListeners) {
+                                try {
+                                    inverseListener.onChange(e);
+                                } catch (RuntimeException | Error ex) {
+                                    if (throwable == null) {
+                                        throwable = ex;
                                     }
                                 }
                             }
@@ -413,36 +550,6 @@ public class TriggersImpl implements Triggers {
                 }
             }
         }
-        MetadataStrategy metadataStrategy = sqlClient().getMetadataStrategy();
-        ImmutableType thisType = event.getImmutableType();
-        for (ImmutableProp backProp : sqlClient().getEntityManager().getAllBackProps(thisType)) {
-            if (!backProp.isAssociation(TargetLevel.PERSISTENT)) {
-                continue;
-            }
-            EvictContext ctx = EvictContext.get();
-            if (ctx != null && !ctx.isAllowed(backProp)) {
-                continue;
-            }
-            if (!event.isEvict() && backProp.isTargetForeignKeyReal(metadataStrategy)) {
-                continue;
-            }
-            if (!event.isEvict()) {
-                ImmutableProp mappedBy = backProp.getMappedBy();
-                if (mappedBy != null && mappedBy.isTargetForeignKeyReal(metadataStrategy)) {
-                    continue;
-                }
-            }
-            List<?> backRefIds = BackRefIds.findBackRefIds(sqlClient, backProp, event.getId(), event.getConnection());
-            for (Object backRefId : backRefIds) {
-                try {
-                    fireAssociationEvict(backProp, backRefId, event.getConnection());
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
-        }
         return throwable;
     }
 
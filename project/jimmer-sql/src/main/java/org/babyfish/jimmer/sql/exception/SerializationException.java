@@ -5,4 +5,8 @@ public class SerializationException extends RuntimeException {
     public SerializationException(Throwable cause) {
         super(cause);
     }
+
+    public SerializationException(String message) {
+        super(message);
+    }
 }
@@ -2,6 +2,8 @@ package org.babyfish.jimmer.sql.fetcher.impl;
 
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
@@ -9,13 +11,24 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 
 class FetcherContext {
 
     private static final ThreadLocal<FetcherContext> FETCHER_CONTEXT_LOCAL = new ThreadLocal<>();
 
+    /*
+     * The fetcher contexts created by the threads of executor
+     * are executed sequentially, otherwise the executor may be exhausted
+     * by the threads waiting for each other.
+     */
+    private static final ThreadLocal<Boolean> CONCURRENT_LOADING_LOCAL = ThreadLocal.withInitial(() -> false);
+
     private final JSqlClientImplementor sqlClient;
 
     private final Connection con;
@@ -124,6 +137,11 @@ class FetcherContext {
     }
 
     public void execute() {
+        Executor executor = sqlClient.getFetcherExecutor();
+        if (executor != null && !CONCURRENT_LOADING_LOCAL.get() && isAutoCommit()) {
+            executeConcurrently(executor);
+            return;
+        }
         while (!taskMap.isEmpty()) {
             Iterator<Map.Entry<FetchedField, FetcherTask>> itr = taskMap.entrySet().iterator();
             Map.Entry<FetchedField, FetcherTask> e = itr.next();
@@ -133,6 +151,87 @@ class FetcherContext {
         }
     }
 
+    /*
+     * The pending tasks do not depend on each other, the tasks of next level
+     * are only added when the values of current level are applied.
+     *
+     * Only the database loading is executed by the executor,
+     * the fetching cache and the drafts are always accessed by current thread,
+     * so the loaded values are applied after all the batches are loaded.
+     * The first batch is loaded by current thread and its own connection,
+     * so that one less connection is borrowed from the connection pool.
+     */
+    private void executeConcurrently(Executor executor) {
+        while (!taskMap.isEmpty()) {
+            List<FetcherTask.Batch> batches = new ArrayList<>();
+            for (FetcherTask task : new ArrayList<>(taskMap.values())) {
+                if (task.isConcurrent()) {
+                    FetcherTask.Batch batch = task.prepare();
+                    if (batch != null) {
+                        batches.add(batch);
+                    }
+                } else {
+                    task.execute();
+                }
+            }
+            if (batches.size() == 1) {
+                FetcherTask.Batch batch = batches.get(0);
+                batch.complete(batch.load(con));
+            } else if (!batches.isEmpty()) {
+                List<CompletableFuture<Map<ImmutableSpi, ?>>> futures = new ArrayList<>(batches.size() - 1);
+                for (FetcherTask.Batch batch : batches.subList(1, batches.size())) {
+                    futures.add(CompletableFuture.supplyAsync(() -> load(batch), executor));
+                }
+                List<Map<ImmutableSpi, ?>> loadedMaps = new ArrayList<>(batches.size());
+                loadedMaps.add(batches.get(0).load(con));
+                for (CompletableFuture<Map<ImmutableSpi, ?>> future : futures) {
+                    loadedMaps.add(join(future));
+                }
+                for (int i = 0; i < batches.size(); i++) {
+                    batches.get(i).complete(loadedMaps.get(i));
+                }
+            }
+            taskMap.values().removeIf(FetcherTask::isEmpty);
+        }
+    }
+
+    private Map<ImmutableSpi, ?> load(FetcherTask.Batch batch) {
+        CONCURRENT_LOADING_LOCAL.set(true);
+        try {
+            return sqlClient
+                    .getSlaveConnectionManager(false)
+                    .execute(null, batch::load);
+        } finally {
+            CONCURRENT_LOADING_LOCAL.remove();
+        }
+    }
+
+    private static Map<ImmutableSpi, ?> join(CompletableFuture<Map<ImmutableSpi, ?>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /*
+     * Other connections cannot see the uncommitted data of current transaction
+     */
+    private boolean isAutoCommit() {
+        try {
+            return con.getAutoCommit();
+        } catch (SQLException ex) {
+            throw new ExecutionException("Cannot get the auto commit mode of the connection", ex);
+        }
+    }
+
     private static class FetchedField {
 
         final FetchPath path;
@@ -12,6 +12,7 @@ import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.*;
@@ -23,6 +24,8 @@ class FetcherTask {
 
     private final JSqlClientImplementor sqlClient;
 
+    private final FetchPath path;
+
     private final Field field;
 
     private final int batchSize;
@@ -40,6 +43,7 @@ class FetcherTask {
     ) {
         this.cache = cache;
         this.sqlClient = sqlClient;
+        this.path = path;
         this.field = field;
         this.batchSize = determineBatchSize();
         this.dataLoader = new DataLoader(sqlClient, con, path, field);
@@ -66,8 +70,38 @@ class FetcherTask {
     }
 
     public boolean execute() {
+        Batch batch = prepare();
+        if (batch != null) {
+            batch.complete(dataLoader.load(batch.getDrafts()));
+        }
+        return pendingMap.isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return pendingMap.isEmpty();
+    }
+
+    /**
+     * Whether the batches of this task can be loaded by other threads.
+     *
+     * <p>Foreign key based properties are not supported because
+     * their loading reads associated objects from the drafts,
+     * which changes the draft context.</p>
+     */
+    public boolean isConcurrent() {
+        return !field.getProp().isColumnDefinition();
+    }
+
+    /**
+     * Take the next batch from the pending drafts,
+     * the drafts whose values are cached are set directly.
+     *
+     * @return The batch must be loaded, or null if all values are cached.
+     */
+    @Nullable
+    public Batch prepare() {
         if (pendingMap.isEmpty()) {
-            return true;
+            return null;
         }
         Map<Object, TaskData> handledMap;
         if (pendingMap.size() > batchSize) {
@@ -102,21 +136,10 @@ class FetcherTask {
                 handledEntryItr.remove();
             }
         }
-        if (!handledMap.isEmpty()) {
-            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
-                    handledMap
-                            .values()
-                            .stream()
-                            .map(it -> it.getDrafts().get(0))
-                            .collect(Collectors.toList())
-            );
-            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
-                TaskData taskData = e.getValue();
-                Object value = loadedMap.get(taskData.getDrafts().get(0));
-                afterLoad(taskData, value, true);
-            }
+        if (handledMap.isEmpty()) {
+            return null;
         }
-        return pendingMap.isEmpty();
+        return new Batch(handledMap);
     }
 
     private boolean isLoaded(DraftSpi draft) {
@@ -230,6 +253,46 @@ class FetcherTask {
         }
     }
 
+    class Batch {
+
+        private final Map<Object, TaskData> handledMap;
+
+        private final List<ImmutableSpi> drafts;
+
+        private Batch(Map<Object, TaskData> handledMap) {
+            this.handledMap = handledMap;
+            this.drafts = handledMap
+                    .values()
+                    .stream()
+                    .map(it -> it.getDrafts().get(0))
+                    .collect(Collectors.toList());
+        }
+
+        List<ImmutableSpi> getDrafts() {
+            return drafts;
+        }
+
+        /**
+         * Load the batch by another connection,
+         * this method can be called by any thread.
+         */
+        Map<ImmutableSpi, ?> load(Connection con) {
+            return new DataLoader(sqlClient, con, path, field).load(drafts);
+        }
+
+        /**
+         * Apply the loaded values, this method must be called
+         * by the thread which owns the drafts.
+         */
+        void complete(Map<ImmutableSpi, ?> loadedMap) {
+            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
+                TaskData taskData = e.getValue();
+                Object value = loadedMap.get(taskData.getDrafts().get(0));
+                afterLoad(taskData, value, true);
+            }
+        }
+    }
+
     private static class TaskData {
 
         private final Object key;
@@ -32,14 +32,8 @@ public class FetcherUtil {
         Map<Integer, List<Object>> columnMap = new LinkedHashMap<>();
         for (int i = 0; i < selections.size(); i++) {
             Selection<?> selection = selections.get(i);
-            if (selection instanceof FetcherSelection<?>) {
-                FetcherSelection<?> fetcherSelection = (FetcherSelection<?>) selection;
-                Fetcher<?> fetcher = fetcherSelection.getFetcher();
-                if (!((FetcherImplementor<?>)fetcher).__isSimpleFetcher() ||
-                        hasReferenceFilter(fetcher.getImmutableType(), sqlClient) ||
-                        fetcherSelection.getConverter() != null) {
-                    columnMap.put(i, new ArrayList<>());
-                }
+            if (isFetchRequired(sqlClient, selection)) {
+                columnMap.put(i, new ArrayList<>());
             }
         }
         if (columnMap.isEmpty()) {
@@ -99,6 +93,33 @@ public class FetcherUtil {
         }
     }
 
+    /**
+     * Whether {@link #fetch(JSqlClientImplementor, Connection, List, List)}
+     * may execute other SQL statements to complete the rows
+     */
+    public static boolean isFetchRequired(
+            JSqlClientImplementor sqlClient,
+            List<Selection<?>> selections
+    ) {
+        for (Selection<?> selection : selections) {
+            if (isFetchRequired(sqlClient, selection)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFetchRequired(JSqlClientImplementor sqlClient, Selection<?> selection) {
+        if (!(selection instanceof FetcherSelection<?>)) {
+            return false;
+        }
+        FetcherSelection<?> fetcherSelection = (FetcherSelection<?>) selection;
+        Fetcher<?> fetcher = fetcherSelection.getFetcher();
+        return !((FetcherImplementor<?>)fetcher).__isSimpleFetcher() ||
+                hasReferenceFilter(fetcher.getImmutableType(), sqlClient) ||
+                fetcherSelection.getConverter() != null;
+    }
+
     private static void fetch(
             JSqlClientImplementor sqlClient,
             Connection con,
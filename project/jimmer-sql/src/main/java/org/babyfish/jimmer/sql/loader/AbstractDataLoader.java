@@ -27,6 +27,7 @@ import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheAbandonedCallback;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
+import org.babyfish.jimmer.sql.cache.CacheLoader;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.FieldFilter;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
@@ -193,6 +194,28 @@ public abstract class AbstractDataLoader {
         }
     }
 
+    /**
+     * The same loader using another connection,
+     * it is used by the asynchronous refresh of cache.
+     */
+    private AbstractDataLoader(AbstractDataLoader base, Connection con) {
+        this.sqlClient = base.sqlClient;
+        this.con = con;
+        this.path = base.path;
+        this.prop = base.prop;
+        this.storage = base.storage;
+        this.remote = base.remote;
+        this.sourceIdProp = base.sourceIdProp;
+        this.targetIdProp = base.targetIdProp;
+        this.globalFiler = base.globalFiler;
+        this.propFilter = base.propFilter;
+        this.limit = base.limit;
+        this.offset = base.offset;
+        this.rawValue = base.rawValue;
+        this.resolver = base.resolver;
+        this.fetcher = base.fetcher;
+    }
+
     @SuppressWarnings("unchecked")
     public Map<ImmutableSpi, Object> load(Collection<ImmutableSpi> sources) {
         if (sources.isEmpty()) {
@@ -263,18 +286,15 @@ public abstract class AbstractDataLoader {
             );
         }
 
-        CacheEnvironment<Object, Object> env = new CacheEnvironment<>(
-                sqlClient,
-                con,
-                (ids) -> {
-                    TransientResolverContext ctx = TransientResolverContext.push(con, resolver, ids);
+        CacheEnvironment<Object, Object> env = cacheEnvironment(
+                loader -> ids -> {
+                    TransientResolverContext ctx = TransientResolverContext.push(loader.con, resolver, ids);
                     try {
-                        return resolveWithDefaultValue(resolver, ids);
+                        return loader.resolveWithDefaultValue(resolver, ids);
                     } finally {
                         TransientResolverContext.pop(ctx);
                     }
-                },
-                false
+                }
         );
         Map<Object, Object> cachedMap =
                 parameterMap != null && !parameterMap.isEmpty() && parameterizedCache != null ?
@@ -313,11 +333,8 @@ public abstract class AbstractDataLoader {
             if (remote) {
                 missedFkMap = queryForeignKeyMap(missedFkSourceIds);
             } else {
-                CacheEnvironment<Object, Object> env = new CacheEnvironment<>(
-                        sqlClient,
-                        con,
-                        this::queryForeignKeyMap,
-                        false
+                CacheEnvironment<Object, Object> env = cacheEnvironment(
+                        loader -> loader::queryForeignKeyMap
                 );
                 missedFkMap = parameters != null ?
                         ((Cache.Parameterized<Object, Object>) fkCache).getAll(missedFkSourceIds, parameters, env) :
@@ -437,13 +454,10 @@ public abstract class AbstractDataLoader {
         if (remote) {
             idMap = Tuple2.toMap(querySourceTargetIdPairs(sourceIds));
         } else {
-            CacheEnvironment<Object, Object> env = new CacheEnvironment<>(
-                    sqlClient,
-                    con,
-                    it -> Tuple2.toMap(
-                            querySourceTargetIdPairs(it)
-                    ),
-                    false
+            CacheEnvironment<Object, Object> env = cacheEnvironment(
+                    loader -> it -> Tuple2.toMap(
+                            loader.querySourceTargetIdPairs(it)
+                    )
             );
             idMap = parameters != null ?
                     ((Cache.Parameterized<Object, Object>) cache).getAll(sourceIds, parameters, env) :
@@ -518,13 +532,10 @@ public abstract class AbstractDataLoader {
                     querySourceTargetIdPairs(sourceIds)
             );
         } else {
-            CacheEnvironment<Object, List<Object>> env = new CacheEnvironment<>(
-                    sqlClient,
-                    con,
-                    it -> Tuple2.toMultiMap(
-                            querySourceTargetIdPairs(it)
-                    ),
-                    false
+            CacheEnvironment<Object, List<Object>> env = cacheEnvironment(
+                    loader -> it -> Tuple2.toMultiMap(
+                            loader.querySourceTargetIdPairs(it)
+                    )
             );
             idMultiMap = parameters != null ?
                     ((Cache.Parameterized<Object, List<Object>>) cache).getAll(sourceIds, parameters, env) :
@@ -569,6 +580,22 @@ public abstract class AbstractDataLoader {
         );
     }
 
+    /**
+     * @param loaderOf Creates the cache loader by this object or
+     *                 the same data loader using another connection
+     */
+    private <V> CacheEnvironment<Object, V> cacheEnvironment(
+            Function<AbstractDataLoader, CacheLoader<Object, V>> loaderOf
+    ) {
+        return new CacheEnvironment<>(
+                sqlClient,
+                con,
+                loaderOf.apply(this),
+                false,
+                otherCon -> loaderOf.apply(new AbstractDataLoader(this, otherCon) {})
+        );
+    }
+
     private Map<Object, Object> queryForeignKeyMap(Collection<Object> sourceIds) {
 
         if (sourceIds.size() == 1) {
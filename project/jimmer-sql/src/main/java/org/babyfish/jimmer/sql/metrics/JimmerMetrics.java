@@ -0,0 +1,108 @@
+package org.babyfish.jimmer.sql.metrics;
+
+import org.babyfish.jimmer.sql.cache.chain.Binder;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.ExecutorContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The instrumentation surface of jimmer, it is called on the hot path
+ * so that the implementation must be cheap and thread-safe.
+ *
+ * <ul>
+ *     <li>{@link MicrometerMetrics}: Records the values into a micrometer `MeterRegistry`</li>
+ *     <li>{@link OpenTelemetryMetrics}: Records the values into an OpenTelemetry `Meter`</li>
+ * </ul>
+ *
+ * <p>All methods do nothing by default, an implementation only overrides the ones it needs.</p>
+ *
+ * @see org.babyfish.jimmer.sql.JSqlClient.Builder#setMetrics(JimmerMetrics)
+ */
+public interface JimmerMetrics {
+
+    /**
+     * Called after a SQL statement is executed by
+     * {@link org.babyfish.jimmer.sql.runtime.Executor#execute(org.babyfish.jimmer.sql.runtime.Executor.Args)}
+     *
+     * @param purpose The purpose of the statement
+     * @param sql The SQL with parameter placeholders, it can be considered as the shape of statement
+     * @param ctx The business call frames, it is null unless
+     *            {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setExecutorContextPrefixes(java.util.Collection)}
+     *            is configured
+     * @param nanos The execution time in nanoseconds
+     * @param rowCount The count of selected rows, or the count of
+     *                 affected rows of the statement for modification,
+     *                 -1 means it is unknown
+     * @param error The raised exception, null means success
+     */
+    default void recordExecution(
+            @NotNull ExecutionPurpose purpose,
+            @NotNull String sql,
+            @Nullable ExecutorContext ctx,
+            long nanos,
+            int rowCount,
+            @Nullable Throwable error
+    ) {}
+
+    /**
+     * Called after a JDBC batch is executed
+     *
+     * @param batchSize The count of parameter groups in the batch
+     */
+    default void recordBatchExecution(
+            @NotNull ExecutionPurpose purpose,
+            @NotNull String sql,
+            @Nullable ExecutorContext ctx,
+            long nanos,
+            int batchSize,
+            @Nullable Throwable error
+    ) {}
+
+    /**
+     * Called after a cache binder is read by a cache chain
+     *
+     * @param binder The binder, such as caffeine binder or redis binder
+     * @param requestedCount The count of requested keys
+     * @param hitCount The count of keys found in the binder
+     */
+    default void recordCacheAccess(
+            @NotNull Binder<?> binder,
+            int requestedCount,
+            int hitCount
+    ) {}
+
+    /**
+     * Called when the lock of cache locker is acquired or given up
+     *
+     * @param binder The locked binder
+     * @param waitNanos The time spent waiting for the lock in nanoseconds
+     * @param locked Whether the lock is acquired
+     */
+    default void recordCacheLock(
+            @NotNull Binder<?> binder,
+            long waitNanos,
+            boolean locked
+    ) {}
+
+    /**
+     * Called after {@link org.babyfish.jimmer.sql.cache.TransactionCacheOperator#drain()}
+     *
+     * @param backlogSize The count of delayed cache operations when the draining starts
+     * @param drainedCount The count of delayed cache operations executed by the draining
+     * @param nanos The time spent on draining the backlog in nanoseconds
+     */
+    default void recordCacheOperatorDrain(
+            int backlogSize,
+            int drainedCount,
+            long nanos
+    ) {}
+
+    /**
+     * Called when a statement is prepared by
+     * {@link org.babyfish.jimmer.sql.runtime.StatementCache}
+     *
+     * @param hit Whether the prepared statement is reused
+     */
+    default void recordStatementCacheAccess(boolean hit) {}
+}
@@ -0,0 +1,76 @@
+package org.babyfish.jimmer.sql.metrics;
+
+import org.babyfish.jimmer.sql.cache.chain.Binder;
+
+/**
+ * The key to reuse meters or attributes resolved by tag values
+ */
+final class MetricKey {
+
+    private static final String NONE = "none";
+
+    final String name;
+
+    private final Object a;
+
+    private final Object b;
+
+    private final Object c;
+
+    private final Object d;
+
+    private final int hash;
+
+    MetricKey(String name, Object a, Object b, Object c, Object d) {
+        this.name = name;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+        this.d = d;
+        int hash = name.hashCode();
+        hash = hash * 31 + (a != null ? a.hashCode() : 0);
+        hash = hash * 31 + (b != null ? b.hashCode() : 0);
+        hash = hash * 31 + (c != null ? c.hashCode() : 0);
+        hash = hash * 31 + (d != null ? d.hashCode() : 0);
+        this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MetricKey)) return false;
+        MetricKey other = (MetricKey) o;
+        return hash == other.hash &&
+                name.equals(other.name) &&
+                equals(a, other.a) &&
+                equals(b, other.b) &&
+                equals(c, other.c) &&
+                equals(d, other.d);
+    }
+
+    private static boolean equals(Object x, Object y) {
+        return x == y || (x != null && x.equals(y));
+    }
+
+    static String cacheName(Binder<?> binder) {
+        if (binder.prop() != null) {
+            return binder.prop().toString();
+        }
+        if (binder.type() != null) {
+            return binder.type().toString();
+        }
+        return NONE;
+    }
+
+    static String caller(StackTraceElement element) {
+        if (element == null) {
+            return NONE;
+        }
+        return element.getClassName() + '.' + element.getMethodName();
+    }
+}
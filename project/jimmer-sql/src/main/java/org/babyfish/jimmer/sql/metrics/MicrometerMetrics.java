@@ -0,0 +1,213 @@
+package org.babyfish.jimmer.sql.metrics;
+
+import io.micrometer.core.instrument.*;
+import org.babyfish.jimmer.sql.cache.chain.Binder;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.ExecutorContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records jimmer metrics into a micrometer {@link MeterRegistry}
+ *
+ * <ul>
+ *     <li>{@code jimmer.sql.execution}: Timer of SQL statements,
+ *     tagged by {@code purpose}, {@code caller}, {@code outcome}
+ *     and optional {@code sql}</li>
+ *     <li>{@code jimmer.sql.rows}: Distribution of selected or affected rows,
+ *     tagged by {@code purpose}</li>
+ *     <li>{@code jimmer.sql.batch}: Timer of JDBC batches,
+ *     tagged as same as {@code jimmer.sql.execution}</li>
+ *     <li>{@code jimmer.sql.batch.size}: Distribution of JDBC batch sizes,
+ *     tagged by {@code purpose}</li>
+ *     <li>{@code jimmer.cache.requests}: Counter of requested cache keys,
+ *     tagged by {@code cache}, {@code binder} and {@code result}(hit/miss)</li>
+ *     <li>{@code jimmer.cache.lock.wait}: Timer of cache locker waiting,
+ *     tagged by {@code cache}, {@code binder} and {@code locked}</li>
+ *     <li>{@code jimmer.cache.operator.backlog}: Distribution of the delayed cache operations
+ *     found by the draining of transaction cache operator</li>
+ *     <li>{@code jimmer.cache.operator.drain}: Timer of the draining of transaction cache operator</li>
+ *     <li>{@code jimmer.cache.operator.drained}: Counter of the delayed cache operations
+ *     executed by the draining of transaction cache operator</li>
+ *     <li>{@code jimmer.sql.statement.cache}: Counter of the statements prepared
+ *     by the statement cache, tagged by {@code result}(hit/miss)</li>
+ * </ul>
+ *
+ * <p>Meters are resolved once for each combination of tags and reused later.</p>
+ */
+public class MicrometerMetrics implements JimmerMetrics {
+
+    private final MeterRegistry registry;
+
+    private final boolean sqlTagged;
+
+    private final ConcurrentMap<MetricKey, Meter> meterMap = new ConcurrentHashMap<>();
+
+    public MicrometerMetrics(@NotNull MeterRegistry registry) {
+        this(registry, false);
+    }
+
+    /**
+     * @param registry The micrometer registry
+     * @param sqlTagged Whether the SQL text is used as the {@code sql} tag.
+     *                  It is disabled by default because the count of
+     *                  SQL shapes may be large, for example,
+     *                  expanded in-list generates different SQL texts.
+     */
+    public MicrometerMetrics(@NotNull MeterRegistry registry, boolean sqlTagged) {
+        this.registry = registry;
+        this.sqlTagged = sqlTagged;
+    }
+
+    @Override
+    public void recordExecution(
+            @NotNull ExecutionPurpose purpose,
+            @NotNull String sql,
+            @Nullable ExecutorContext ctx,
+            long nanos,
+            int rowCount,
+            @Nullable Throwable error
+    ) {
+        executionTimer("jimmer.sql.execution", purpose, sql, ctx, error)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (rowCount >= 0) {
+            summary("jimmer.sql.rows", purpose).record(rowCount);
+        }
+    }
+
+    @Override
+    public void recordBatchExecution(
+            @NotNull ExecutionPurpose purpose,
+            @NotNull String sql,
+            @Nullable ExecutorContext ctx,
+            long nanos,
+            int batchSize,
+            @Nullable Throwable error
+    ) {
+        executionTimer("jimmer.sql.batch", purpose, sql, ctx, error)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        summary("jimmer.sql.batch.size", purpose).record(batchSize);
+    }
+
+    @Override
+    public void recordCacheAccess(@NotNull Binder<?> binder, int requestedCount, int hitCount) {
+        if (hitCount > 0) {
+            cacheCounter(binder, true).increment(hitCount);
+        }
+        if (requestedCount > hitCount) {
+            cacheCounter(binder, false).increment(requestedCount - hitCount);
+        }
+    }
+
+    @Override
+    public void recordCacheLock(@NotNull Binder<?> binder, long waitNanos, boolean locked) {
+        MetricKey key = new MetricKey("jimmer.cache.lock.wait", binder, locked, null, null);
+        Timer timer = (Timer) meterMap.computeIfAbsent(key, k ->
+                Timer
+                        .builder(k.name)
+                        .description("The waiting time of cache locker")
+                        .tags(
+                                "cache", MetricKey.cacheName(binder),
+                                "binder", binder.getClass().getSimpleName(),
+                                "locked", Boolean.toString(locked)
+                        )
+                        .register(registry)
+        );
+        timer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCacheOperatorDrain(int backlogSize, int drainedCount, long nanos) {
+        ((DistributionSummary) meterMap.computeIfAbsent(
+                new MetricKey("jimmer.cache.operator.backlog", null, null, null, null),
+                k -> DistributionSummary
+                        .builder(k.name)
+                        .description("The delayed cache operations found by draining")
+                        .register(registry)
+        )).record(backlogSize);
+        ((Timer) meterMap.computeIfAbsent(
+                new MetricKey("jimmer.cache.operator.drain", null, null, null, null),
+                k -> Timer
+                        .builder(k.name)
+                        .description("The time spent on draining delayed cache operations")
+                        .register(registry)
+        )).record(nanos, TimeUnit.NANOSECONDS);
+        if (drainedCount > 0) {
+            ((Counter) meterMap.computeIfAbsent(
+                    new MetricKey("jimmer.cache.operator.drained", null, null, null, null),
+                    k -> Counter
+                            .builder(k.name)
+                            .description("The delayed cache operations executed by draining")
+                            .register(registry)
+            )).increment(drainedCount);
+        }
+    }
+
+    @Override
+    public void recordStatementCacheAccess(boolean hit) {
+        MetricKey key = new MetricKey("jimmer.sql.statement.cache", hit, null, null, null);
+        ((Counter) meterMap.computeIfAbsent(key, k ->
+                Counter
+                        .builder(k.name)
+                        .description("The statements prepared by statement cache")
+                        .tags("result", hit ? "hit" : "miss")
+                        .register(registry)
+        )).increment();
+    }
+
+    private Timer executionTimer(
+            String name,
+            ExecutionPurpose purpose,
+            String sql,
+            @Nullable ExecutorContext ctx,
+            @Nullable Throwable error
+    ) {
+        // Keyed by the tag value, different lines of the same method share the meter
+        String caller = MetricKey.caller(ctx != null ? ctx.getPrimaryElement() : null);
+        String outcome = error == null ? "success" : "error";
+        MetricKey key = new MetricKey(name, purpose.getType(), caller, outcome, sqlTagged ? sql : null);
+        return (Timer) meterMap.computeIfAbsent(key, k -> {
+            Timer.Builder builder = Timer
+                    .builder(name)
+                    .description("The execution time of SQL")
+                    .tags(
+                            "purpose", purpose.getType().name(),
+                            "caller", caller,
+                            "outcome", outcome
+                    );
+            if (sqlTagged) {
+                builder.tags("sql", sql);
+            }
+            return builder.register(registry);
+        });
+    }
+
+    private DistributionSummary summary(String name, ExecutionPurpose purpose) {
+        MetricKey key = new MetricKey(name, purpose.getType(), null, null, null);
+        return (DistributionSummary) meterMap.computeIfAbsent(key, k ->
+                DistributionSummary
+                        .builder(name)
+                        .tags("purpose", purpose.getType().name())
+                        .register(registry)
+        );
+    }
+
+    private Counter cacheCounter(Binder<?> binder, boolean hit) {
+        MetricKey key = new MetricKey("jimmer.cache.requests", binder, hit, null, null);
+        return (Counter) meterMap.computeIfAbsent(key, k ->
+                Counter
+                        .builder(k.name)
+                        .description("The requested keys of cache binder")
+                        .tags(
+                                "cache", MetricKey.cacheName(binder),
+                                "binder", binder.getClass().getSimpleName(),
+                                "result", hit ? "hit" : "miss"
+                        )
+                        .register(registry)
+        );
+    }
+}
@@ -0,0 +1,238 @@
+package org.babyfish.jimmer.sql.metrics;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import org.babyfish.jimmer.sql.cache.chain.Binder;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.ExecutorContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records jimmer metrics into an OpenTelemetry {@link Meter},
+ * the instruments and attributes are as same as {@link MicrometerMetrics},
+ * durations are recorded in milliseconds.
+ */
+public class OpenTelemetryMetrics implements JimmerMetrics {
+
+    private static final AttributeKey<String> PURPOSE = AttributeKey.stringKey("purpose");
+
+    private static final AttributeKey<String> CALLER = AttributeKey.stringKey("caller");
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    private static final AttributeKey<String> SQL = AttributeKey.stringKey("sql");
+
+    private static final AttributeKey<String> CACHE = AttributeKey.stringKey("cache");
+
+    private static final AttributeKey<String> BINDER = AttributeKey.stringKey("binder");
+
+    private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+
+    private static final AttributeKey<Boolean> LOCKED = AttributeKey.booleanKey("locked");
+
+    private static final double NANOS_PER_MILLI = 1_000_000D;
+
+    private final boolean sqlTagged;
+
+    private final DoubleHistogram executionHistogram;
+
+    private final DoubleHistogram batchHistogram;
+
+    private final LongHistogram rowsHistogram;
+
+    private final LongHistogram batchSizeHistogram;
+
+    private final LongCounter cacheCounter;
+
+    private final DoubleHistogram lockWaitHistogram;
+
+    private final LongHistogram operatorBacklogHistogram;
+
+    private final DoubleHistogram operatorDrainHistogram;
+
+    private final LongCounter operatorDrainedCounter;
+
+    private final LongCounter statementCacheCounter;
+
+    private final ConcurrentMap<MetricKey, Attributes> attributesMap =
+            new ConcurrentHashMap<>();
+
+    public OpenTelemetryMetrics(@NotNull Meter meter) {
+        this(meter, false);
+    }
+
+    /**
+     * @param meter The OpenTelemetry meter
+     * @param sqlTagged Whether the SQL text is used as the {@code sql} attribute,
+     *                  see {@link MicrometerMetrics#MicrometerMetrics(io.micrometer.core.instrument.MeterRegistry, boolean)}
+     */
+    public OpenTelemetryMetrics(@NotNull Meter meter, boolean sqlTagged) {
+        this.sqlTagged = sqlTagged;
+        this.executionHistogram = meter
+                .histogramBuilder("jimmer.sql.execution")
+                .setDescription("The execution time of SQL")
+                .setUnit("ms")
+                .build();
+        this.batchHistogram = meter
+                .histogramBuilder("jimmer.sql.batch")
+                .setDescription("The execution time of JDBC batch")
+                .setUnit("ms")
+                .build();
+        this.rowsHistogram = meter
+                .histogramBuilder("jimmer.sql.rows")
+                .ofLongs()
+                .build();
+        this.batchSizeHistogram = meter
+                .histogramBuilder("jimmer.sql.batch.size")
+                .ofLongs()
+                .build();
+        this.cacheCounter = meter
+                .counterBuilder("jimmer.cache.requests")
+                .setDescription("The requested keys of cache binder")
+                .build();
+        this.lockWaitHistogram = meter
+                .histogramBuilder("jimmer.cache.lock.wait")
+                .setDescription("The waiting time of cache locker")
+                .setUnit("ms")
+                .build();
+        this.operatorBacklogHistogram = meter
+                .histogramBuilder("jimmer.cache.operator.backlog")
+                .setDescription("The delayed cache operations found by draining")
+                .ofLongs()
+                .build();
+        this.operatorDrainHistogram = meter
+                .histogramBuilder("jimmer.cache.operator.drain")
+                .setDescription("The time spent on draining delayed cache operations")
+                .setUnit("ms")
+                .build();
+        this.operatorDrainedCounter = meter
+                .counterBuilder("jimmer.cache.operator.drained")
+                .setDescription("The delayed cache operations executed by draining")
+                .build();
+        this.statementCacheCounter = meter
+                .counterBuilder("jimmer.sql.statement.cache")
+                .setDescription("The statements prepared by statement cache")
+                .build();
+    }
+
+    @Override
+    public void recordExecution(
+            @NotNull ExecutionPurpose purpose,
+            @NotNull String sql,
+            @Nullable ExecutorContext ctx,
+            long nanos,
+            int rowCount,
+            @Nullable Throwable error
+    ) {
+        executionHistogram.record(nanos / NANOS_PER_MILLI, executionAttributes(purpose, sql, ctx, error));
+        if (rowCount >= 0) {
+            rowsHistogram.record(rowCount, purposeAttributes(purpose));
+        }
+    }
+
+    @Override
+    public void recordBatchExecution(
+            @NotNull ExecutionPurpose purpose,
+            @NotNull String sql,
+            @Nullable ExecutorContext ctx,
+            long nanos,
+            int batchSize,
+            @Nullable Throwable error
+    ) {
+        batchHistogram.record(nanos / NANOS_PER_MILLI, executionAttributes(purpose, sql, ctx, error));
+        batchSizeHistogram.record(batchSize, purposeAttributes(purpose));
+    }
+
+    @Override
+    public void recordCacheAccess(@NotNull Binder<?> binder, int requestedCount, int hitCount) {
+        if (hitCount > 0) {
+            cacheCounter.add(hitCount, cacheAttributes(binder, true));
+        }
+        if (requestedCount > hitCount) {
+            cacheCounter.add(requestedCount - hitCount, cacheAttributes(binder, false));
+        }
+    }
+
+    @Override
+    public void recordCacheLock(@NotNull Binder<?> binder, long waitNanos, boolean locked) {
+        Attributes attributes = attributesMap.computeIfAbsent(
+                new MetricKey("lock", binder, locked, null, null),
+                k -> Attributes.of(
+                        CACHE, MetricKey.cacheName(binder),
+                        BINDER, binder.getClass().getSimpleName(),
+                        LOCKED, locked
+                )
+        );
+        lockWaitHistogram.record(waitNanos / NANOS_PER_MILLI, attributes);
+    }
+
+    @Override
+    public void recordCacheOperatorDrain(int backlogSize, int drainedCount, long nanos) {
+        operatorBacklogHistogram.record(backlogSize);
+        operatorDrainHistogram.record(nanos / NANOS_PER_MILLI);
+        if (drainedCount > 0) {
+            operatorDrainedCounter.add(drainedCount);
+        }
+    }
+
+    @Override
+    public void recordStatementCacheAccess(boolean hit) {
+        Attributes attributes = attributesMap.computeIfAbsent(
+                new MetricKey("statement", hit, null, null, null),
+                k -> Attributes.of(RESULT, hit ? "hit" : "miss")
+        );
+        statementCacheCounter.add(1, attributes);
+    }
+
+    private Attributes executionAttributes(
+            ExecutionPurpose purpose,
+            String sql,
+            @Nullable ExecutorContext ctx,
+            @Nullable Throwable error
+    ) {
+        // Keyed by the attribute value, different lines of the same method share the attributes
+        String caller = MetricKey.caller(ctx != null ? ctx.getPrimaryElement() : null);
+        String outcome = error == null ? "success" : "error";
+        return attributesMap.computeIfAbsent(
+                new MetricKey("execution", purpose.getType(), caller, outcome, sqlTagged ? sql : null),
+                k -> {
+                    AttributesBuilder builder = Attributes
+                            .builder()
+                            .put(PURPOSE, purpose.getType().name())
+                            .put(CALLER, caller)
+                            .put(OUTCOME, outcome);
+                    if (sqlTagged) {
+                        builder.put(SQL, sql);
+                    }
+                    return builder.build();
+                }
+        );
+    }
+
+    private Attributes purposeAttributes(ExecutionPurpose purpose) {
+        return attributesMap.computeIfAbsent(
+                new MetricKey("purpose", purpose.getType(), null, null, null),
+                k -> Attributes.of(PURPOSE, purpose.getType().name())
+        );
+    }
+
+    private Attributes cacheAttributes(Binder<?> binder, boolean hit) {
+        return attributesMap.computeIfAbsent(
+                new MetricKey("cache", binder, hit, null, null),
+                k -> Attributes.of(
+                        CACHE, MetricKey.cacheName(binder),
+                        BINDER, binder.getClass().getSimpleName(),
+                        RESULT, hit ? "hit" : "miss"
+                )
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.runtime.DraftSpi;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Internal API, it should not be used by programmer directly.
+ *
+ * <p>Implemented by the bytecode generated for entity readers
+ * when {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setReaderCompilationEnabled(boolean)}
+ * is enabled, it reads all the non-id columns of one object into its draft.</p>
+ */
+public interface CompiledRowMapper {
+
+    void map(DraftSpi spi, ResultSet rs, Reader.Context ctx) throws SQLException;
+}
@@ -32,7 +32,7 @@ public interface ConnectionManager {
                                 "2. Specify the connection manager"
                 );
             }
-            return block.apply(con);
+            return StatementCache.execute(con, block);
         }
     };
 
@@ -43,7 +43,7 @@ public interface ConnectionManager {
         return new ConnectionManager() {
             @Override
             public <R> R execute(@Nullable Connection con, Function<Connection, R> block) {
-                return block.apply(con == null ? connection : con);
+                return StatementCache.execute(con == null ? connection : con, block);
             }
         };
     }
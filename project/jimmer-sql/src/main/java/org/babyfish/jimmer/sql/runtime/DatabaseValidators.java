@@ -10,6 +10,7 @@ import org.babyfish.jimmer.sql.association.meta.AssociationType;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.meta.*;
 import org.babyfish.jimmer.sql.meta.impl.DatabaseIdentifiers;
 import org.jetbrains.annotations.Nullable;
@@ -18,7 +19,6 @@ import java.sql.*;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 public class DatabaseValidators {
 
@@ -40,6 +40,8 @@ public class DatabaseValidators {
 
     private final Map<ImmutableProp, org.babyfish.jimmer.lang.Ref<Table>> middleTableRefMap = new HashMap<>();
 
+    private final Map<Tuple2<String, String>, SchemaMetadata> schemaMetadataMap = new HashMap<>();
+
     @Nullable
     public static DatabaseValidationException validate(
             EntityManager entityManager,
@@ -353,50 +355,31 @@ public class DatabaseValidators {
     }
 
     private Set<Table> tablesOf0(String catalogName, String schemaName, String tableName) throws SQLException {
-        Set<Table> tables = new LinkedHashSet<>();
-        try (ResultSet rs = con.getMetaData().getTables(
-                catalogName,
-                schemaName,
-                tableName,
-                null
-        )) {
-            while (rs.next()) {
-                tables.add(
-                        new Table(
-                                rs.getString("TABLE_CAT"),
-                                rs.getString("TABLE_SCHEM"),
-                                rs.getString("TABLE_NAME")
-                        )
-                );
-            }
+        Set<Table> tables = schemaMetadataOf(catalogName, schemaName).tableMap.get(tableName.toUpperCase());
+        return tables != null ? tables : Collections.emptySet();
+    }
+
+    private SchemaMetadata schemaMetadataOf(String catalogName, String schemaName) throws SQLException {
+        Tuple2<String, String> key = new Tuple2<>(catalogName, schemaName);
+        SchemaMetadata schemaMetadata = schemaMetadataMap.get(key);
+        if (schemaMetadata == null) {
+            schemaMetadata = new SchemaMetadata(catalogName, schemaName);
+            schemaMetadataMap.put(key, schemaMetadata);
         }
-        return tables
-                .stream()
-                .filter(it -> it.name.equalsIgnoreCase(tableName))
-                .collect(Collectors.toSet());
+        return schemaMetadata;
     }
 
     private Map<String, Column> columnsOf(Table table) throws SQLException {
-        Map<String, Column> columnMap = new HashMap<>();
-        try (ResultSet rs = con.getMetaData().getColumns(
-                table.catalog,
-                table.schema,
-                table.name,
-                null
-        )) {
-            while (rs.next()) {
-                Column column = new Column(
-                        table,
-                        rs.getString("COLUMN_NAME").toUpperCase(),
-                        rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable
-                );
-                columnMap.put(column.name.toUpperCase(), column);
-            }
-        }
-        return columnMap;
+        Map<String, Column> columnMap = table.schemaMetadata.columnMultiMap().get(table);
+        return columnMap != null ? columnMap : Collections.emptyMap();
     }
 
     private Set<String> primaryKeyColumns(Table table) throws SQLException {
+        Map<Table, Set<String>> primaryKeyMultiMap = table.schemaMetadata.primaryKeyMultiMap();
+        if (primaryKeyMultiMap != null) {
+            Set<String> columnNames = primaryKeyMultiMap.get(table);
+            return columnNames != null ? columnNames : Collections.emptySet();
+        }
         Set<String> columnNames = new HashSet<>();
         try (ResultSet rs = con.getMetaData().getPrimaryKeys(
                 table.catalog,
@@ -413,26 +396,36 @@ public class DatabaseValidators {
     }
 
     private Map<Set<String>, ForeignKey> foreignKeys(Table table) throws SQLException {
-        Map<Tuple2<String, Table>, Map<String, String>> map = new HashMap<>();
-        try (ResultSet rs = con.getMetaData().getImportedKeys(
-                table.catalog,
-                table.schema,
-                table.name
-        )) {
-            while (rs.next()) {
-                String constraintName = rs.getString("FK_NAME").toUpperCase();
-                Table referencedTable = tablesOf(
-                        upper(rs.getString("PKTABLE_CAT")),
-                        upper(rs.getString("PKTABLE_SCHEM")),
-                        rs.getString("PKTABLE_NAME").toUpperCase()
-                ).iterator().next();
-                String columnName = upper(rs.getString("FKCOLUMN_NAME"));
-                String referencedColumnName = upper(rs.getString("PKCOLUMN_NAME"));
-                map.computeIfAbsent(
-                        new Tuple2<>(constraintName, referencedTable),
-                        it -> new LinkedHashMap<>()
-                ).put(columnName, referencedColumnName);
+        List<ImportedKey> importedKeys;
+        Map<Table, List<ImportedKey>> importedKeyMultiMap = table.schemaMetadata.importedKeyMultiMap();
+        if (importedKeyMultiMap != null) {
+            importedKeys = importedKeyMultiMap.get(table);
+            if (importedKeys == null) {
+                return Collections.emptyMap();
             }
+        } else {
+            importedKeys = new ArrayList<>();
+            try (ResultSet rs = con.getMetaData().getImportedKeys(
+                    table.catalog,
+                    table.schema,
+                    table.name
+            )) {
+                while (rs.next()) {
+                    importedKeys.add(new ImportedKey(rs));
+                }
+            }
+        }
+        Map<Tuple2<String, Table>, Map<String, String>> map = new HashMap<>();
+        for (ImportedKey importedKey : importedKeys) {
+            Table referencedTable = tablesOf(
+                    importedKey.referencedCatalog,
+                    importedKey.referencedSchema,
+                    importedKey.referencedTableName
+            ).iterator().next();
+            map.computeIfAbsent(
+                    new Tuple2<>(importedKey.constraintName, referencedTable),
+                    it -> new LinkedHashMap<>()
+            ).put(importedKey.columnName, importedKey.referencedColumnName);
         }
         if (map.isEmpty()) {
             return Collections.emptyMap();
@@ -521,16 +514,19 @@ public class DatabaseValidators {
         // keep the same case
         final String name;
 
+        final SchemaMetadata schemaMetadata;
+
         final Map<String, Column> columnMap;
 
         final Set<String> primaryKeyColumns;
 
         private Map<Set<String>, ForeignKey> _foreignKeyMap;
 
-        Table(String catalog, String schema, String name) {
+        Table(String catalog, String schema, String name, SchemaMetadata schemaMetadata) {
             this.catalog = catalog;
             this.schema = schema;
             this.name = name;
+            this.schemaMetadata = schemaMetadata;
             this.columnMap = Collections.emptyMap();
             this.primaryKeyColumns = Collections.emptySet();
         }
@@ -543,6 +539,7 @@ public class DatabaseValidators {
             this.catalog = base.catalog;
             this.schema = base.schema;
             this.name = base.name;
+            this.schemaMetadata = base.schemaMetadata;
             this.columnMap = columnMap;
             this.primaryKeyColumns = primaryKeyColumns;
         }
@@ -606,8 +603,8 @@ public class DatabaseValidators {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Table table = (Table) o;
-            return catalog.equals(table.catalog) &&
-                    schema.equals(table.schema) &&
+            return Objects.equals(catalog, table.catalog) &&
+                    Objects.equals(schema, table.schema) &&
                     name.equals(table.name);
         }
 
@@ -712,6 +709,218 @@ public class DatabaseValidators {
         }
     }
 
+    /**
+     * The metadata of one schema, it is loaded in bulk instead of table by table
+     * because there are often hundreds of tables and each metadata query is a
+     * round trip to the catalog of database.
+     */
+    private class SchemaMetadata {
+
+        // As queried, not the case of database
+        private final String catalogName;
+
+        // As queried, not the case of database
+        private final String schemaName;
+
+        // Key: Upper table name
+        final Map<String, Set<Table>> tableMap;
+
+        private Map<Table, Map<String, Column>> columnMultiMap;
+
+        private Ref<Map<Table, Set<String>>> primaryKeyMultiMapRef;
+
+        private Ref<Map<Table, List<ImportedKey>>> importedKeyMultiMapRef;
+
+        SchemaMetadata(String catalogName, String schemaName) throws SQLException {
+            this.catalogName = catalogName;
+            this.schemaName = schemaName;
+            Map<String, Set<Table>> tableMap = new HashMap<>();
+            try (ResultSet rs = con.getMetaData().getTables(
+                    catalogName,
+                    schemaName,
+                    null,
+                    null
+            )) {
+                while (rs.next()) {
+                    Table table = new Table(
+                            rs.getString("TABLE_CAT"),
+                            rs.getString("TABLE_SCHEM"),
+                            rs.getString("TABLE_NAME"),
+                            this
+                    );
+                    tableMap
+                            .computeIfAbsent(table.name.toUpperCase(), it -> new LinkedHashSet<>())
+                            .add(table);
+                }
+            }
+            this.tableMap = tableMap;
+        }
+
+        Map<Table, Map<String, Column>> columnMultiMap() throws SQLException {
+            Map<Table, Map<String, Column>> multiMap = columnMultiMap;
+            if (multiMap == null) {
+                multiMap = new HashMap<>();
+                try (ResultSet rs = con.getMetaData().getColumns(
+                        catalogName,
+                        schemaName,
+                        null,
+                        null
+                )) {
+                    while (rs.next()) {
+                        Table table = new Table(
+                                rs.getString("TABLE_CAT"),
+                                rs.getString("TABLE_SCHEM"),
+                                rs.getString("TABLE_NAME"),
+                                this
+                        );
+                        Column column = new Column(
+                                table,
+                                rs.getString("COLUMN_NAME").toUpperCase(),
+                                rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable
+                        );
+                        multiMap
+                                .computeIfAbsent(table, it -> new HashMap<>())
+                                .put(column.name, column);
+                    }
+                }
+                columnMultiMap = multiMap;
+            }
+            return multiMap;
+        }
+
+        /**
+         * The JDBC specification requires the table name, but many drivers
+         * return the primary keys of all tables when it is null.
+         *
+         * @return The primary key columns of all tables of this schema,
+         * or null if the driver does not support it
+         */
+        @Nullable
+        Map<Table, Set<String>> primaryKeyMultiMap() {
+            Ref<Map<Table, Set<String>>> ref = primaryKeyMultiMapRef;
+            if (ref == null) {
+                ref = Ref.of(loadInBulk(multiMap -> {
+                    try (ResultSet rs = con.getMetaData().getPrimaryKeys(
+                            catalogName,
+                            schemaName,
+                            null
+                    )) {
+                        while (rs.next()) {
+                            Table table = new Table(
+                                    rs.getString("TABLE_CAT"),
+                                    rs.getString("TABLE_SCHEM"),
+                                    rs.getString("TABLE_NAME"),
+                                    this
+                            );
+                            multiMap
+                                    .computeIfAbsent(table, it -> new HashSet<>())
+                                    .add(rs.getString("COLUMN_NAME").toUpperCase());
+                        }
+                    }
+                }));
+                primaryKeyMultiMapRef = ref;
+            }
+            return ref.getValue();
+        }
+
+        /**
+         * The JDBC specification requires the table name, but many drivers
+         * return the imported keys of all tables when it is null.
+         *
+         * <p>Unlike primary keys, the empty result cannot be trusted, because
+         * many schemas have no foreign keys at all, in that case, the
+         * table-level query returns empty result too, so it is only slower,
+         * not wrong.</p>
+         *
+         * @return The imported keys of all tables of this schema,
+         * or null if the driver does not support it
+         */
+        @Nullable
+        Map<Table, List<ImportedKey>> importedKeyMultiMap() {
+            Ref<Map<Table, List<ImportedKey>>> ref = importedKeyMultiMapRef;
+            if (ref == null) {
+                ref = Ref.of(loadInBulk(multiMap -> {
+                    try (ResultSet rs = con.getMetaData().getImportedKeys(
+                            catalogName,
+                            schemaName,
+                            null
+                    )) {
+                        while (rs.next()) {
+                            Table table = new Table(
+                                    rs.getString("FKTABLE_CAT"),
+                                    rs.getString("FKTABLE_SCHEM"),
+                                    rs.getString("FKTABLE_NAME"),
+                                    this
+                            );
+                            multiMap
+                                    .computeIfAbsent(table, it -> new ArrayList<>())
+                                    .add(new ImportedKey(rs));
+                        }
+                    }
+                }));
+                importedKeyMultiMapRef = ref;
+            }
+            return ref.getValue();
+        }
+
+        /**
+         * The bulk query is not supported by some drivers, and on some databases
+         * such as postgres, any error aborts the current transaction, so it is
+         * probed under a savepoint. If the savepoint cannot be created, the bulk
+         * query is not tried at all.
+         *
+         * @return The loaded multi map, or null if the bulk query cannot be used
+         */
+        @Nullable
+        private <V> Map<Table, V> loadInBulk(BulkLoader<V> loader) {
+            Savepoint savepoint;
+            try {
+                savepoint = SavepointManager.set(con);
+            } catch (ExecutionException ex) {
+                return null;
+            }
+            Map<Table, V> multiMap = new HashMap<>();
+            try {
+                loader.load(multiMap);
+            } catch (SQLException | RuntimeException ex) {
+                SavepointManager.rollback(() -> con, savepoint);
+                return null;
+            }
+            SavepointManager.release(() -> con, savepoint);
+            return multiMap.isEmpty() ? null : multiMap;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BulkLoader<V> {
+        void load(Map<Table, V> multiMap) throws SQLException;
+    }
+
+    private static class ImportedKey {
+
+        // Always capitalized
+        final String constraintName;
+
+        final String referencedCatalog;
+
+        final String referencedSchema;
+
+        final String referencedTableName;
+
+        final String columnName;
+
+        final String referencedColumnName;
+
+        ImportedKey(ResultSet rs) throws SQLException {
+            this.constraintName = rs.getString("FK_NAME").toUpperCase();
+            this.referencedCatalog = upper(rs.getString("PKTABLE_CAT"));
+            this.referencedSchema = upper(rs.getString("PKTABLE_SCHEM"));
+            this.referencedTableName = rs.getString("PKTABLE_NAME").toUpperCase();
+            this.columnName = upper(rs.getString("FKCOLUMN_NAME"));
+            this.referencedColumnName = upper(rs.getString("PKCOLUMN_NAME"));
+        }
+    }
+
     private class TableNameCollector {
 
         private final String[] originalNames;
@@ -112,24 +112,11 @@ public interface DbLiteral {
 
         @Override
         public void setParameter(PreparedStatement stmt, ParameterIndex index, JSqlClientImplementor sqlClient) throws Exception {
-            Object value = this.value;
-            ScalarProvider<Object, Object> scalarProvider = null;
-            if (value != null && !converted) {
-                scalarProvider = sqlClient.getScalarProvider(prop);
-                if (scalarProvider != null) {
-                    try {
-                        value = toSql(value, scalarProvider, sqlClient.getDialect());
-                    } catch (Exception ex) {
-                        throw new ExecutionException(
-                                "The value \"" +
-                                        value +
-                                        "\" cannot be converted by the scalar provider \"" +
-                                        scalarProvider +
-                                        "\""
-                        );
-                    }
-                }
-            }
+            ScalarProvider<Object, Object> scalarProvider =
+                    value != null && !converted ?
+                            sqlClient.getScalarProvider(prop) :
+                            null;
+            Object value = toSqlValue(scalarProvider, sqlClient);
             if (value == null) {
                 stmt.setNull(
                         index.get(),
@@ -149,6 +136,26 @@ public interface DbLiteral {
             }
         }
 
+        private Object toSqlValue(
+                ScalarProvider<Object, Object> scalarProvider,
+                JSqlClientImplementor sqlClient
+        ) {
+            if (scalarProvider == null) {
+                return value;
+            }
+            try {
+                return toSql(value, scalarProvider, sqlClient.getDialect());
+            } catch (Exception ex) {
+                throw new ExecutionException(
+                        "The value \"" +
+                                value +
+                                "\" cannot be converted by the scalar provider \"" +
+                                scalarProvider +
+                                "\""
+                );
+            }
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -179,6 +186,30 @@ public interface DbLiteral {
         }
     }
 
+    /**
+     * Convert the value returned by {@link org.babyfish.jimmer.sql.ast.impl.value.PropertyGetter}
+     * to the value which is not {@link DbLiteral},
+     * it is used by the native bulk loading API which does not use
+     * {@link #setParameter(PreparedStatement, ParameterIndex, JSqlClientImplementor)}
+     *
+     * @return The sql value, null for {@link DbNull}
+     */
+    static Object toSqlValue(Object value, JSqlClientImplementor sqlClient) {
+        if (value instanceof DbNull) {
+            return null;
+        }
+        if (value instanceof DbValue) {
+            DbValue dbValue = (DbValue) value;
+            return dbValue.toSqlValue(
+                    dbValue.value != null && !dbValue.converted ?
+                            sqlClient.getScalarProvider(dbValue.prop) :
+                            null,
+                    sqlClient
+            );
+        }
+        return value;
+    }
+
     static Object unwrap(Object value) {
         if (value instanceof DbNull) {
             return null;
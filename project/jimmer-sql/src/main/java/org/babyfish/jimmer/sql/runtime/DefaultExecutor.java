@@ -20,7 +20,7 @@ public class DefaultExecutor implements Executor {
     DefaultExecutor() {
     }
 
-    private static void setParameters(
+    static void setParameters(
             PreparedStatement stmt,
             List<Object> variables,
             JSqlClientImplementor sqlClient
@@ -36,9 +36,16 @@ public class DefaultExecutor implements Executor {
                 );
             } else if (variable instanceof TypedList<?>) {
                 TypedList<?> typedList = (TypedList<?>) variable;
+                Object primitiveArray = typedList.getPrimitiveArray();
                 stmt.setArray(
                         parameterIndex.get(),
-                        stmt.getConnection().createArrayOf(typedList.getSqlElementType(), typedList.toArray())
+                        primitiveArray != null ?
+                                sqlClient.getDialect().createPrimitiveArray(
+                                        stmt.getConnection(),
+                                        typedList.getSqlElementType(),
+                                        primitiveArray
+                                ) :
+                                stmt.getConnection().createArrayOf(typedList.getSqlElementType(), typedList.toArray())
                 );
             } else {
                 stmt.setObject(parameterIndex.get(), variable);
@@ -52,12 +59,32 @@ public class DefaultExecutor implements Executor {
         String sql = args.sql;
         List<Object> variables = args.variables;
         JSqlClientImplementor sqlClient = args.sqlClient;
-        try (PreparedStatement stmt = args.statementFactory != null ?
-                args.statementFactory.preparedStatement(args.con, sql) :
-                args.con.prepareStatement(sql)
-        ) {
-            setParameters(stmt, variables, sqlClient);
-            return args.block.apply(stmt, args);
+        StatementCache statementCache = args.statementFactory == null && args.connectionBlock == null ?
+                StatementCache.of(args.con, sqlClient) :
+                null;
+        try {
+            if (args.connectionBlock != null) {
+                return args.connectionBlock.apply(args.con, args);
+            }
+            if (statementCache != null) {
+                PreparedStatement stmt = statementCache.prepare(sql, Statement.NO_GENERATED_KEYS, sqlClient);
+                boolean broken = true;
+                try {
+                    setParameters(stmt, variables, sqlClient);
+                    R result = args.block.apply(stmt, args);
+                    broken = false;
+                    return result;
+                } finally {
+                    statementCache.release(sql, Statement.NO_GENERATED_KEYS, stmt, broken);
+                }
+            }
+            try (PreparedStatement stmt = args.statementFactory != null ?
+                    args.statementFactory.preparedStatement(args.con, sql) :
+                    args.con.prepareStatement(sql)
+            ) {
+                setParameters(stmt, variables, sqlClient);
+                return args.block.apply(stmt, args);
+            }
         } catch (Exception ex) {
             ExceptionTranslator<Exception> exceptionTranslator =
                     (ExceptionTranslator<Exception>) args.getExceptionTranslator();
@@ -106,6 +133,11 @@ public class DefaultExecutor implements Executor {
 
         private final String sql;
 
+        private final int generatedKeys;
+
+        @Nullable
+        private final StatementCache statementCache;
+
         private final PreparedStatement statement;
 
         @Nullable
@@ -119,6 +151,8 @@ public class DefaultExecutor implements Executor {
 
         private int batchCount;
 
+        private boolean dirty;
+
         private List<Runnable> executedListeners;
 
         BatchContextImpl(
@@ -130,18 +164,23 @@ public class DefaultExecutor implements Executor {
                 JSqlClientImplementor sqlClient
         ) {
             savepoint = SavepointManager.setIfNeeded(con, sqlClient);
-            PreparedStatement statement;
-            try {
-                if (generatedIdProp != null) {
-                    IdGenerator idGenerator = sqlClient.getIdGenerator(generatedIdProp.getDeclaringType().getJavaClass());
-                    if (idGenerator instanceof SequenceIdGenerator) {
-                        statement = con.prepareStatement(sql, new int[]{1});
-                    } else {
-                        statement = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-                    }
+            int generatedKeys;
+            if (generatedIdProp != null) {
+                IdGenerator idGenerator = sqlClient.getIdGenerator(generatedIdProp.getDeclaringType().getJavaClass());
+                if (idGenerator instanceof SequenceIdGenerator) {
+                    generatedKeys = StatementCache.FIRST_COLUMN_KEYS;
                 } else {
-                    statement = con.prepareStatement(sql);
+                    generatedKeys = Statement.RETURN_GENERATED_KEYS;
                 }
+            } else {
+                generatedKeys = Statement.NO_GENERATED_KEYS;
+            }
+            StatementCache statementCache = StatementCache.of(con, sqlClient);
+            PreparedStatement statement;
+            try {
+                statement = statementCache != null ?
+                        statementCache.prepare(sql, generatedKeys, sqlClient) :
+                        StatementCache.prepareStatement(con, sql, generatedKeys);
             } catch (SQLException ex) {
                 throw new ExecutionException(
                         "Cannot create the batch SQL statement: " + sql,
@@ -151,6 +190,8 @@ public class DefaultExecutor implements Executor {
             this.purpose = purpose;
             this.executorContext = executorContext;
             this.sql = sql;
+            this.generatedKeys = generatedKeys;
+            this.statementCache = statementCache;
             this.statement = statement;
             this.generatedIdProp = generatedIdProp;
             this.sqlClient = sqlClient;
@@ -179,6 +220,7 @@ public class DefaultExecutor implements Executor {
         @Override
         public void add(List<Object> variables) {
             try {
+                dirty = true;
                 setParameters(statement, variables, sqlClient);
                 statement.addBatch();
                 batchCount++;
@@ -196,7 +238,9 @@ public class DefaultExecutor implements Executor {
         @Override
         public int[] execute(BiFunction<SQLException, ExceptionTranslator.Args, Exception> exceptionTranslator) {
             try {
-                return statement.executeBatch();
+                int[] rowCounts = statement.executeBatch();
+                dirty = false;
+                return rowCounts;
             } catch (SQLException ex) {
                 SavepointManager.rollback(statement::getConnection, savepoint);
                 if (exceptionTranslator != null) {
@@ -269,7 +313,11 @@ public class DefaultExecutor implements Executor {
                 try {
                     SavepointManager.release(statement::getConnection, savepoint);
                 } finally {
-                    statement.close();
+                    if (statementCache != null) {
+                        statementCache.release(sql, generatedKeys, statement, dirty);
+                    } else {
+                        statement.close();
+                    }
                 }
             } catch (SQLException ex) {
                 throw new ExecutionException(
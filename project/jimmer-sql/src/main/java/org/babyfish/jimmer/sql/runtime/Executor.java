@@ -99,6 +99,18 @@ public interface Executor {
 
         public final SqlFunction<PreparedStatement, R> block;
 
+        /**
+         * If non-null, it means the current callback uses the JDBC connection
+         * directly instead of a prepared statement, for example, the
+         * `copy ... from stdin` of postgres, or the cursor of `TypedRootQuery.stream`
+         * which outlives this execution. The callback binds the variables by itself.
+         *
+         * <p>Executors which prepare statements by themselves can ignore it,
+         * {@link #block} calls it with the connection of the statement.</p>
+         */
+        @Nullable
+        public final SqlFunction<Connection, R> connectionBlock;
+
         /**
          * If non-null, it means the current callback is not normal operation,
          * but `Query.forEach`
@@ -130,6 +142,33 @@ public interface Executor {
             this.ctx = ExecutorContext.create(sqlClient);
             this.statementFactory = statementFactory;
             this.block = block;
+            this.connectionBlock = null;
+            this.closingCursorId = null;
+        }
+
+        public Args(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                String sql,
+                List<Object> variables,
+                @Nullable List<Integer> variablePositions,
+                ExecutionPurpose purpose,
+                ExceptionTranslator<?> exceptionTranslator,
+                SqlFunction<Connection, R> connectionBlock
+        ) {
+            this.sqlClient = sqlClient;
+            this.con = con;
+            this.sql = sql;
+            this.variables = variables;
+            this.variablePositions = variablePositions;
+            this.purpose = purpose;
+            this.exceptionTranslator = exceptionTranslator != null ?
+                    exceptionTranslator :
+                    sqlClient.getExceptionTranslator();
+            this.ctx = ExecutorContext.create(sqlClient);
+            this.statementFactory = null;
+            this.block = (stmt, args) -> connectionBlock.apply(stmt.getConnection(), args);
+            this.connectionBlock = connectionBlock;
             this.closingCursorId = null;
         }
 
@@ -155,6 +194,7 @@ public interface Executor {
             this.ctx = ExecutorContext.create(sqlClient);
             this.statementFactory = statementFactory;
             this.block = block;
+            this.connectionBlock = null;
             this.closingCursorId = closingCursorId;
         }
 
@@ -4,27 +4,66 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/**
+ * The business call frames of a SQL statement.
+ *
+ * <p>Only the primary element is resolved when the context is created,
+ * it is the first frame matching the
+ * {@link JSqlClient.Builder#setExecutorContextPrefixes(java.util.Collection)}.
+ * Other stack trace elements are materialized only when
+ * {@link #getElements()} or {@link #getMatchedElements()} is called.</p>
+ *
+ * <p>The frames are captured by `java.lang.StackWalker` if it is available,
+ * the walk stops at the primary frame so that the frames of its callers
+ * are never captured, in this case, {@link #getElements()} returns the
+ * frames from the top of the stack to the primary element.
+ * A throwable is created to capture the whole stack trace only on java 8.</p>
+ */
 public class ExecutorContext {
 
     private final StackTraceElement primaryElement;
 
-    private final List<StackTraceElement> matchedElements;
+    private final List<String> prefixes;
 
-    private final List<StackTraceElement> elements;
+    /**
+     * The captured `java.lang.StackWalker.StackFrame` objects,
+     * null on java 8
+     */
+    @Nullable
+    private final List<?> frames;
+
+    /**
+     * The captured stack trace on java 8, null if
+     * `java.lang.StackWalker` is available
+     */
+    @Nullable
+    private final Throwable stackTrace;
+
+    private List<StackTraceElement> matchedElements;
+
+    private List<StackTraceElement> elements;
 
     private ExecutorContext(
             StackTraceElement primaryElement,
-            List<StackTraceElement> matchedElements,
-            List<StackTraceElement> elements
+            List<String> prefixes,
+            @Nullable List<?> frames,
+            @Nullable Throwable stackTrace
     ) {
         this.primaryElement = primaryElement;
-        this.matchedElements = matchedElements;
-        this.elements = elements;
+        this.prefixes = prefixes;
+        this.frames = frames;
+        this.stackTrace = stackTrace;
     }
 
     @NotNull
@@ -34,41 +73,189 @@ public class ExecutorContext {
 
     @NotNull
     public List<StackTraceElement> getElements() {
+        List<StackTraceElement> elements = this.elements;
+        if (elements == null) {
+            List<?> frames = this.frames;
+            if (frames != null) {
+                StackTraceElement[] arr = new StackTraceElement[frames.size()];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = StackWalkers.toStackTraceElement(frames.get(i));
+                }
+                elements = Arrays.asList(arr);
+            } else {
+                elements = Arrays.asList(stackTrace.getStackTrace());
+            }
+            this.elements = elements = Collections.unmodifiableList(elements);
+        }
         return elements;
     }
 
     @NotNull
     public List<StackTraceElement> getMatchedElements() {
+        List<StackTraceElement> matchedElements = this.matchedElements;
+        if (matchedElements == null) {
+            matchedElements = new ArrayList<>();
+            for (StackTraceElement element : getElements()) {
+                if (isMatched(element.getClassName(), element.getLineNumber(), prefixes)) {
+                    matchedElements.add(element);
+                }
+            }
+            this.matchedElements = matchedElements = Collections.unmodifiableList(matchedElements);
+        }
         return matchedElements;
     }
 
     @Nullable
     public static ExecutorContext create(JSqlClient sqlClient) {
-        List<String> prefixes = ((JSqlClientImplementor)sqlClient).getExecutorContextPrefixes();
+        JSqlClientImplementor sqlClientImplementor = (JSqlClientImplementor) sqlClient;
+        List<String> prefixes = sqlClientImplementor.getExecutorContextPrefixes();
         if (prefixes == null) {
             return null;
         }
-        StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-        List<StackTraceElement> matchedElements = new ArrayList<>();
-        for (StackTraceElement element : elements) {
-            if (element.getLineNumber() >= 0) {
+        double samplingRate = sqlClientImplementor.getExecutorContextSamplingRate();
+        if (samplingRate < 1 && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return null;
+        }
+        if (StackWalkers.isAvailable()) {
+            List<?> frames = StackWalkers.framesUntilMatched(prefixes);
+            if (frames == null) {
+                return null;
+            }
+            return new ExecutorContext(
+                    StackWalkers.toStackTraceElement(frames.get(frames.size() - 1)),
+                    prefixes,
+                    frames,
+                    null
+            );
+        }
+        // Java 8, only the native backtrace is captured here,
+        // the stack trace elements are created lazily
+        Throwable stackTrace = new Throwable();
+        for (StackTraceElement element : stackTrace.getStackTrace()) {
+            if (isMatched(element.getClassName(), element.getLineNumber(), prefixes)) {
+                return new ExecutorContext(element, prefixes, null, stackTrace);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isMatched(String className, int lineNumber, List<String> prefixes) {
+        if (lineNumber < 0) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Uses `java.lang.StackWalker` by reflection because
+     * this module is still compiled for java 8.
+     */
+    private static class StackWalkers {
+
+        private static final MethodHandle WALK;
+
+        private static final MethodHandle GET_CLASS_NAME;
+
+        private static final MethodHandle GET_LINE_NUMBER;
+
+        private static final MethodHandle TO_STACK_TRACE_ELEMENT;
+
+        static {
+            MethodHandle walk = null;
+            MethodHandle getClassName = null;
+            MethodHandle getLineNumber = null;
+            MethodHandle toStackTraceElement = null;
+            try {
+                Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+                Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                Object walker = walkerClass.getMethod("getInstance").invoke(null);
+                walk = lookup
+                        .findVirtual(walkerClass, "walk", MethodType.methodType(Object.class, Function.class))
+                        .bindTo(walker)
+                        .asType(MethodType.methodType(Object.class, Function.class));
+                getClassName = lookup
+                        .findVirtual(frameClass, "getClassName", MethodType.methodType(String.class))
+                        .asType(MethodType.methodType(String.class, Object.class));
+                getLineNumber = lookup
+                        .findVirtual(frameClass, "getLineNumber", MethodType.methodType(int.class))
+                        .asType(MethodType.methodType(int.class, Object.class));
+                toStackTraceElement = lookup
+                        .findVirtual(frameClass, "toStackTraceElement", MethodType.methodType(StackTraceElement.class))
+                        .asType(MethodType.methodType(StackTraceElement.class, Object.class));
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                walk = null;
+            }
+            WALK = walk;
+            GET_CLASS_NAME = getClassName;
+            GET_LINE_NUMBER = getLineNumber;
+            TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+        }
+
+        static boolean isAvailable() {
+            return WALK != null;
+        }
+
+        /**
+         * Walks the frames of current thread until the first matched frame,
+         * the frames after it are never materialized.
+         *
+         * @return The visited frames whose last element is the matched frame,
+         * or null if no frame is matched
+         */
+        static List<?> framesUntilMatched(List<String> prefixes) {
+            Function<Stream<?>, List<?>> walker = frames -> {
+                List<Object> visitedFrames = new ArrayList<>();
+                return frames
+                        .peek(visitedFrames::add)
+                        .filter(frame -> isMatched(frame, prefixes))
+                        .findFirst()
+                        .<List<?>>map(frame -> visitedFrames)
+                        .orElse(null);
+            };
+            try {
+                Object frames = WALK.invokeExact(walker);
+                return (List<?>) frames;
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: cannot walk the stack", ex);
+            }
+        }
+
+        /**
+         * The class name is checked before the line number,
+         * so that the line numbers of unmatched frames are never resolved.
+         */
+        static boolean isMatched(Object frame, List<String> prefixes) {
+            try {
+                String className = (String) GET_CLASS_NAME.invokeExact(frame);
                 for (String prefix : prefixes) {
-                    if (element.getClassName().startsWith(prefix)) {
-                        matchedElements.add(element);
-                        break;
+                    if (className.startsWith(prefix)) {
+                        return (int) GET_LINE_NUMBER.invokeExact(frame) >= 0;
                     }
                 }
+                return false;
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: cannot read the stack frame", ex);
             }
         }
-        if (matchedElements.isEmpty()) {
-            return null;
+
+        static StackTraceElement toStackTraceElement(Object frame) {
+            try {
+                return (StackTraceElement) TO_STACK_TRACE_ELEMENT.invokeExact(frame);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: cannot read the stack frame", ex);
+            }
         }
-        return new ExecutorContext(
-                matchedElements.get(0),
-                Collections.unmodifiableList(matchedElements),
-                Collections.unmodifiableList(
-                        Arrays.asList(elements)
-                )
-        );
     }
 }
@@ -0,0 +1,136 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+
+public class ExecutorForMetrics extends AbstractExecutorProxy {
+
+    private final JimmerMetrics metrics;
+
+    public static Executor wrap(Executor raw, JimmerMetrics metrics) {
+        return applier(
+                ExecutorForMetrics.class,
+                p -> p.metrics == metrics,
+                r -> new ExecutorForMetrics(r, metrics)
+        ).applyTo(raw);
+    }
+
+    private ExecutorForMetrics(Executor raw, JimmerMetrics metrics) {
+        super(raw);
+        this.metrics = metrics;
+    }
+
+    public JimmerMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public <R> R execute(@NotNull Args<R> args) {
+        long start = System.nanoTime();
+        R result;
+        try {
+            result = raw.execute(args);
+        } catch (RuntimeException | Error ex) {
+            metrics.recordExecution(args.purpose, args.sql, args.ctx, System.nanoTime() - start, -1, ex);
+            throw ex;
+        }
+        metrics.recordExecution(args.purpose, args.sql, args.ctx, System.nanoTime() - start, rowCount(args.purpose, result), null);
+        return result;
+    }
+
+    @Override
+    public void openCursor(
+            long cursorId,
+            String sql,
+            List<Object> variables,
+            List<Integer> variablePositions,
+            ExecutionPurpose purpose,
+            ExecutorContext ctx,
+            JSqlClientImplementor sqlClient
+    ) {
+        raw.openCursor(cursorId, sql, variables, variablePositions, purpose, ctx, sqlClient);
+    }
+
+    @Override
+    protected AbstractExecutorProxy recreate(Executor raw) {
+        return new ExecutorForMetrics(raw, metrics);
+    }
+
+    @Override
+    protected Batch createBatch(BatchContext raw) {
+        return new Batch(raw, metrics);
+    }
+
+    /**
+     * The selected rows are counted by the returned collection,
+     * an integer is the affected row count only if the statement
+     * is executed for modification, otherwise it may be any value
+     * returned by the block, such as a column of the first row.
+     */
+    private static int rowCount(ExecutionPurpose purpose, Object result) {
+        if (result instanceof Collection<?>) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            switch (purpose.getType()) {
+                case UPDATE:
+                case DELETE:
+                case MUTATE:
+                case COMMAND:
+                    return (Integer) result;
+            }
+        }
+        return -1;
+    }
+
+    protected static class Batch extends AbstractExecutorProxy.Batch {
+
+        private final JimmerMetrics metrics;
+
+        private int batchSize;
+
+        Batch(BatchContext raw, JimmerMetrics metrics) {
+            super(raw);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void add(List<Object> variables) {
+            raw.add(variables);
+            batchSize++;
+        }
+
+        @Override
+        public int[] execute(BiFunction<SQLException, ExceptionTranslator.Args, Exception> exceptionTranslator) {
+            long start = System.nanoTime();
+            int[] rowCounts;
+            try {
+                rowCounts = raw.execute(exceptionTranslator);
+            } catch (RuntimeException | Error ex) {
+                metrics.recordBatchExecution(
+                        raw.purpose(),
+                        raw.sql(),
+                        raw.ctx(),
+                        System.nanoTime() - start,
+                        batchSize,
+                        ex
+                );
+                throw ex;
+            }
+            metrics.recordBatchExecution(
+                    raw.purpose(),
+                    raw.sql(),
+                    raw.ctx(),
+                    System.nanoTime() - start,
+                    batchSize,
+                    null
+            );
+            return rowCounts;
+        }
+    }
+}
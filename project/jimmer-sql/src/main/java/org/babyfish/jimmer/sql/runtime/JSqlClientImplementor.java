@@ -19,6 +19,7 @@ import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.meta.SqlContext;
 import org.babyfish.jimmer.sql.meta.UserIdGenerator;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
@@ -26,7 +27,7 @@ import java.time.ZoneId;
 import java.util.List;
 import java.util.function.Consumer;
 
-public interface JSqlClientImplementor extends JSqlClient, SqlContext {
+public interface JSqlClientImplementor extends JSqlClient, SqlContext, AutoCloseable {
 
     ConnectionManager getConnectionManager();
 
@@ -42,6 +43,11 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     List<String> getExecutorContextPrefixes();
 
+    double getExecutorContextSamplingRate();
+
+    @Nullable
+    JimmerMetrics getMetrics();
+
     SqlFormatter getSqlFormatter();
 
     CacheOperator getCacheOperator();
@@ -72,8 +78,23 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     int getOffsetOptimizingThreshold();
 
+    int getInListToTableThreshold();
+
+    @Nullable
+    SqlTemplateCache getSqlTemplateCache();
+
+    int getStatementCacheSize();
+
     boolean isReverseSortOptimizationEnabled();
 
+    boolean isReaderCompilationEnabled();
+
+    @Nullable
+    java.util.concurrent.Executor getFetcherExecutor();
+
+    @Nullable
+    java.util.concurrent.Executor getCacheRefreshExecutor();
+
     int getMaxCommandJoinCount();
 
     boolean isTargetTransferable();
@@ -128,6 +149,18 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     Loaders getLoaders();
 
+    /**
+     * Stop the background threads of this sql client, such as the threads
+     * dispatching the events of binlog triggers configured by
+     * {@link JSqlClient.Builder#setAsyncBinLogTriggers(int, int)}.
+     *
+     * <p>The sql clients derived by {@link #caches(Consumer)},
+     * {@link #filters(Consumer)} and so on share these threads
+     * with the original one.</p>
+     */
+    @Override
+    void close();
+
     interface Builder extends JSqlClient.Builder {
 
         ConnectionManager getConnectionManager();
@@ -37,12 +37,16 @@ class ObjectReader implements Reader<Object> {
     @Nullable
     private final List<PropId> hiddenPropsIds;
 
+    @Nullable
+    private final CompiledRowMapper compiledRowMapper;
+
     ObjectReader(
             ImmutableType type,
             Reader<?> idReader,
             Map<ImmutableProp, Reader<?>> nonIdReaders,
             @Nullable List<PropId> shownPropIds,
-            @Nullable List<PropId> hiddenPropsIds
+            @Nullable List<PropId> hiddenPropsIds,
+            boolean compiled
     ) {
         List<PropId> idViewPropIds = new ArrayList<>();
         List<PropId> idViewBasePropIds = new ArrayList<>();
@@ -62,6 +66,7 @@ class ObjectReader implements Reader<Object> {
         this.idViewBasePropIds = idViewBasePropIds.toArray(EMPTY_PROP_IDS);
         this.shownPropIds = shownPropIds;
         this.hiddenPropsIds = hiddenPropsIds;
+        this.compiledRowMapper = compiled ? RowMapperCompiler.compile(type, nonIdReaders) : null;
     }
 
     @Override
@@ -84,10 +89,15 @@ class ObjectReader implements Reader<Object> {
         DraftSpi spi = (DraftSpi) type.getDraftFactory().apply(ctx.draftContext(), null);
         spi.__set(type.getIdProp().getId(), id);
         try {
-            int size = nonIdReaders.length;
-            for (int i = 0; i < size; i++) {
-                Object value = nonIdReaders[i].read(rs, ctx);
-                spi.__set(nonIdPropIds[i], value);
+            CompiledRowMapper mapper = compiledRowMapper;
+            if (mapper != null) {
+                mapper.map(spi, rs, ctx);
+            } else {
+                int size = nonIdReaders.length;
+                for (int i = 0; i < size; i++) {
+                    Object value = nonIdReaders[i].read(rs, ctx);
+                    spi.__set(nonIdPropIds[i], value);
+                }
             }
             for (int i = idViewBasePropIds.length - 1; i >= 0; i--) {
                 spi.__show(idViewPropIds[i], true);
@@ -1,6 +1,5 @@
 package org.babyfish.jimmer.sql.runtime;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.babyfish.jimmer.DraftConsumerUncheckedException;
 import org.babyfish.jimmer.impl.util.CollectionUtils;
 import org.babyfish.jimmer.impl.util.PropCache;
@@ -112,7 +111,14 @@ public class ReaderManager {
                 }
             }
         }
-        return new ObjectReader(immutableType, idReader, nonIdReaderMap, null, null);
+        return new ObjectReader(
+                immutableType,
+                idReader,
+                nonIdReaderMap,
+                null,
+                null,
+                sqlClient.isReaderCompilationEnabled()
+        );
     }
 
     private Reader<?> scalarReader(ImmutableProp prop) {
@@ -250,7 +256,7 @@ public class ReaderManager {
 
         @Override
         public short[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Short[].class));
+            return ctx.getDialect().getShortArray(rs, ctx.col());
         }
     }
 
@@ -274,7 +280,7 @@ public class ReaderManager {
 
         @Override
         public int[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Integer[].class));
+            return ctx.getDialect().getIntArray(rs, ctx.col());
         }
     }
 
@@ -298,7 +304,7 @@ public class ReaderManager {
 
         @Override
         public long[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Long[].class));
+            return ctx.getDialect().getLongArray(rs, ctx.col());
         }
     }
 
@@ -322,7 +328,7 @@ public class ReaderManager {
 
         @Override
         public float[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Float[].class));
+            return ctx.getDialect().getFloatArray(rs, ctx.col());
         }
     }
 
@@ -346,7 +352,7 @@ public class ReaderManager {
 
         @Override
         public double[] read(ResultSet rs, Context ctx) throws SQLException {
-            return ArrayUtils.toPrimitive(ctx.getDialect().getArray(rs, ctx.col(), Double[].class));
+            return ctx.getDialect().getDoubleArray(rs, ctx.col());
         }
     }
 
@@ -837,6 +843,10 @@ public class ReaderManager {
         return BASE_READER_MAP.containsKey(type);
     }
 
+    static boolean isBaseReader(Reader<?> reader, Class<?> type) {
+        return BASE_READER_MAP.get(type) == reader;
+    }
+
     static {
         Map<Class<?>, Reader<?>> baseReaderMap = new HashMap<>();
         baseReaderMap.put(boolean.class, new BooleanReader());
@@ -276,7 +276,8 @@ class Readers {
                         sqlClient.getReader(type.getIdProp()),
                         nonIdReaderMap,
                         shownPropIds,
-                        hiddenPropIds
+                        hiddenPropIds,
+                        sqlClient.isReaderCompilationEnabled()
                 );
             }
         }
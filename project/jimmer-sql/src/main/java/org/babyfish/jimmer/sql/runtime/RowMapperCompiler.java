@@ -0,0 +1,469 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.impl.org.objectweb.asm.ClassWriter;
+import org.babyfish.jimmer.impl.org.objectweb.asm.Label;
+import org.babyfish.jimmer.impl.org.objectweb.asm.MethodVisitor;
+import org.babyfish.jimmer.impl.org.objectweb.asm.Opcodes;
+import org.babyfish.jimmer.impl.org.objectweb.asm.Type;
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates {@link CompiledRowMapper} classes for {@link ObjectReader}.
+ *
+ * <p>Simple scalar properties read by the standard readers are read by
+ * typed getters of {@link ResultSet} and written by the typed setters of
+ * the draft interface, other properties are still read by their readers
+ * and written by {@link DraftSpi#__set(PropId, Object)}.</p>
+ */
+class RowMapperCompiler implements Opcodes {
+
+    private static final String MAPPER_SUFFIX = "{CompiledRowMapper}";
+
+    private static final String MAPPER_INTERNAL_NAME = Type.getInternalName(CompiledRowMapper.class);
+
+    private static final String SPI_INTERNAL_NAME = Type.getInternalName(DraftSpi.class);
+
+    private static final String READER_INTERNAL_NAME = Type.getInternalName(Reader.class);
+
+    private static final String CONTEXT_INTERNAL_NAME = Type.getInternalName(Reader.Context.class);
+
+    private static final String RESULT_SET_INTERNAL_NAME = Type.getInternalName(ResultSet.class);
+
+    private static final String PROP_ID_ARR_DESCRIPTOR = Type.getDescriptor(PropId[].class);
+
+    private static final String READER_ARR_DESCRIPTOR = Type.getDescriptor(Reader[].class);
+
+    private static final String MAP_DESCRIPTOR;
+
+    private static final String SET_DESCRIPTOR;
+
+    private static final String READ_DESCRIPTOR;
+
+    private static final Map<Class<?>, Getter> GETTER_MAP;
+
+    private static final Method PRIVATE_LOOKUP_IN;
+
+    private static final Method LOOKUP_DEFINE_CLASS;
+
+    private static final Method CLASS_LOADER_DEFINE_CLASS;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    /**
+     * The mapper classes of each type, keyed by the reader shape:
+     * the properties and whether each of them can be compiled.
+     *
+     * <p>The reader instances are not a part of the key because the readers
+     * of join fetched associations are created for each query, the mapper
+     * class is shared and only the mapper instance is created for each reader.</p>
+     */
+    private static final StaticCache<ImmutableType, Map<List<Object>, Optional<Constructor<?>>>> CONSTRUCTOR_CACHE =
+            new StaticCache<>(type -> new ConcurrentHashMap<>(), false);
+
+    private RowMapperCompiler() {}
+
+    /**
+     * @return The compiled mapper, or null if no property can be compiled
+     */
+    @Nullable
+    static CompiledRowMapper compile(ImmutableType type, Map<ImmutableProp, Reader<?>> readerMap) {
+        int size = readerMap.size();
+        PropId[] propIds = new PropId[size];
+        Reader<?>[] readers = new Reader[size];
+        List<Object> shape = new ArrayList<>(size * 2);
+        boolean compilable = false;
+        int index = 0;
+        for (Map.Entry<ImmutableProp, Reader<?>> e : readerMap.entrySet()) {
+            ImmutableProp prop = e.getKey();
+            Reader<?> reader = e.getValue();
+            boolean typed = prop.getIdViewBaseProp() == null &&
+                    GETTER_MAP.containsKey(prop.getReturnClass()) &&
+                    ReaderManager.isBaseReader(reader, prop.getReturnClass());
+            compilable |= typed;
+            propIds[index] = prop.getId();
+            readers[index++] = reader;
+            shape.add(prop);
+            shape.add(typed);
+        }
+        if (!compilable) {
+            return null;
+        }
+        Constructor<?> constructor = CONSTRUCTOR_CACHE
+                .get(type)
+                .computeIfAbsent(shape, it -> Optional.ofNullable(defineClass(type, it)))
+                .orElse(null);
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return (CompiledRowMapper) constructor.newInstance(propIds, readers);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw new AssertionError("Internal bug: Cannot create compiled row mapper for \"" + type + "\"", ex);
+        }
+    }
+
+    @Nullable
+    private static Constructor<?> defineClass(ImmutableType type, List<Object> shape) {
+        Class<?> draftInterface = draftInterface(type);
+        if (draftInterface == null) {
+            return null;
+        }
+        Method[] setters = new Method[shape.size() / 2];
+        boolean compilable = false;
+        for (int i = 0; i < setters.length; i++) {
+            if ((Boolean) shape.get(i * 2 + 1)) {
+                setters[i] = setter(draftInterface, (ImmutableProp) shape.get(i * 2));
+                compilable |= setters[i] != null;
+            }
+        }
+        if (!compilable) {
+            return null;
+        }
+        return defineClass(draftInterface, setters);
+    }
+
+    @Nullable
+    private static Class<?> draftInterface(ImmutableType type) {
+        Class<?> javaClass = type.getJavaClass();
+        try {
+            return Class.forName(javaClass.getName() + "Draft", false, javaClass.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Method setter(Class<?> draftInterface, ImmutableProp prop) {
+        String name = prop.getName();
+        List<String> setterNames = new ArrayList<>(2);
+        setterNames.add("set" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            setterNames.add("set" + name.substring(2));
+        }
+        for (String setterName : setterNames) {
+            try {
+                return draftInterface.getMethod(setterName, prop.getReturnClass());
+            } catch (NoSuchMethodException ex) {
+                // Try next name
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Constructor<?> defineClass(Class<?> draftInterface, Method[] setters) {
+        String draftInternalName = Type.getInternalName(draftInterface);
+        String className = draftInternalName + MAPPER_SUFFIX + SEQUENCE.incrementAndGet();
+        byte[] bytecode = generate(className, draftInternalName, setters);
+        Class<?> mapperClass;
+        try {
+            if (LOOKUP_DEFINE_CLASS != null) {
+                Object lookup = PRIVATE_LOOKUP_IN.invoke(null, draftInterface, MethodHandles.lookup());
+                mapperClass = (Class<?>) LOOKUP_DEFINE_CLASS.invoke(lookup, (Object) bytecode);
+            } else {
+                mapperClass = (Class<?>) CLASS_LOADER_DEFINE_CLASS.invoke(
+                        draftInterface.getClassLoader(),
+                        className.replace('/', '.'),
+                        bytecode,
+                        0,
+                        bytecode.length
+                );
+            }
+            return mapperClass.getConstructor(PropId[].class, Reader[].class);
+        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException ex) {
+            // The draft is not accessible, for example, its module is not opened.
+            // Fallback to the uncompiled reader.
+            return null;
+        }
+    }
+
+    private static byte[] generate(String className, String draftInternalName, Method[] setters) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // Frames only merge identical locals, avoid loading classes
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(
+                V1_8,
+                ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC,
+                className,
+                null,
+                "java/lang/Object",
+                new String[] { MAPPER_INTERNAL_NAME }
+        );
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, "propIds", PROP_ID_ARR_DESCRIPTOR, null, null).visitEnd();
+        cw.visitField(ACC_PRIVATE | ACC_FINAL, "readers", READER_ARR_DESCRIPTOR, null, null).visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(
+                ACC_PUBLIC,
+                "<init>",
+                "(" + PROP_ID_ARR_DESCRIPTOR + READER_ARR_DESCRIPTOR + ")V",
+                null,
+                null
+        );
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(PUTFIELD, className, "propIds", PROP_ID_ARR_DESCRIPTOR);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitFieldInsn(PUTFIELD, className, "readers", READER_ARR_DESCRIPTOR);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "map", MAP_DESCRIPTOR, null, new String[] { "java/sql/SQLException" });
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, draftInternalName);
+        mv.visitVarInsn(ASTORE, Slots.DRAFT);
+        for (int i = 0; i < setters.length; i++) {
+            if (setters[i] != null) {
+                visitTypedProp(mv, className, draftInternalName, i, setters[i]);
+            } else {
+                visitReaderProp(mv, className, i);
+            }
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    // spi.__set(propIds[index], readers[index].read(rs, ctx));
+    private static void visitReaderProp(MethodVisitor mv, String className, int index) {
+        mv.visitVarInsn(ALOAD, Slots.SPI);
+        visitPropId(mv, className, index);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, "readers", READER_ARR_DESCRIPTOR);
+        visitInt(mv, index);
+        mv.visitInsn(AALOAD);
+        mv.visitVarInsn(ALOAD, Slots.RS);
+        mv.visitVarInsn(ALOAD, Slots.CTX);
+        mv.visitMethodInsn(INVOKEINTERFACE, READER_INTERNAL_NAME, "read", READ_DESCRIPTOR, true);
+        mv.visitMethodInsn(INVOKEINTERFACE, SPI_INTERNAL_NAME, "__set", SET_DESCRIPTOR, true);
+    }
+
+    private static void visitTypedProp(
+            MethodVisitor mv,
+            String className,
+            String draftInternalName,
+            int index,
+            Method setter
+    ) {
+        Class<?> parameterType = setter.getParameterTypes()[0];
+        Getter getter = GETTER_MAP.get(parameterType);
+        if (getter.primitiveType == null) {
+            // draft.setXxx(rs.getXxx(ctx.col()));
+            mv.visitVarInsn(ALOAD, Slots.DRAFT);
+            visitGetter(mv, getter);
+            visitSetter(mv, draftInternalName, setter);
+            return;
+        }
+        // value = rs.getXxx(ctx.col());
+        // if (value == 0 && rs.wasNull()) spi.__set(propIds[index], null); else draft.setXxx(value);
+        Type primitiveType = Type.getType(getter.primitiveType);
+        Label setLabel = new Label();
+        Label endLabel = new Label();
+        visitGetter(mv, getter);
+        mv.visitVarInsn(primitiveType.getOpcode(ISTORE), Slots.VALUE);
+        mv.visitVarInsn(primitiveType.getOpcode(ILOAD), Slots.VALUE);
+        switch (primitiveType.getSort()) {
+            case Type.LONG:
+                mv.visitInsn(LCONST_0);
+                mv.visitInsn(LCMP);
+                break;
+            case Type.FLOAT:
+                mv.visitInsn(FCONST_0);
+                mv.visitInsn(FCMPL);
+                break;
+            case Type.DOUBLE:
+                mv.visitInsn(DCONST_0);
+                mv.visitInsn(DCMPL);
+                break;
+        }
+        mv.visitJumpInsn(IFNE, setLabel);
+        mv.visitVarInsn(ALOAD, Slots.RS);
+        mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET_INTERNAL_NAME, "wasNull", "()Z", true);
+        mv.visitJumpInsn(IFEQ, setLabel);
+        mv.visitVarInsn(ALOAD, Slots.SPI);
+        visitPropId(mv, className, index);
+        mv.visitInsn(ACONST_NULL);
+        mv.visitMethodInsn(INVOKEINTERFACE, SPI_INTERNAL_NAME, "__set", SET_DESCRIPTOR, true);
+        mv.visitJumpInsn(GOTO, endLabel);
+        mv.visitLabel(setLabel);
+        mv.visitVarInsn(ALOAD, Slots.DRAFT);
+        mv.visitVarInsn(primitiveType.getOpcode(ILOAD), Slots.VALUE);
+        if (!parameterType.isPrimitive()) {
+            mv.visitMethodInsn(
+                    INVOKESTATIC,
+                    Type.getInternalName(parameterType),
+                    "valueOf",
+                    "(" + primitiveType.getDescriptor() + ")" + Type.getDescriptor(parameterType),
+                    false
+            );
+        }
+        visitSetter(mv, draftInternalName, setter);
+        mv.visitLabel(endLabel);
+    }
+
+    // rs.getXxx(ctx.col())
+    private static void visitGetter(MethodVisitor mv, Getter getter) {
+        mv.visitVarInsn(ALOAD, Slots.RS);
+        mv.visitVarInsn(ALOAD, Slots.CTX);
+        mv.visitMethodInsn(INVOKEVIRTUAL, CONTEXT_INTERNAL_NAME, "col", "()I", false);
+        mv.visitMethodInsn(
+                INVOKEINTERFACE,
+                RESULT_SET_INTERNAL_NAME,
+                getter.methodName,
+                "(I)" + getter.descriptor,
+                true
+        );
+    }
+
+    private static void visitSetter(MethodVisitor mv, String draftInternalName, Method setter) {
+        mv.visitMethodInsn(
+                INVOKEINTERFACE,
+                draftInternalName,
+                setter.getName(),
+                Type.getMethodDescriptor(setter),
+                true
+        );
+        if (setter.getReturnType() != void.class) {
+            mv.visitInsn(POP);
+        }
+    }
+
+    private static void visitPropId(MethodVisitor mv, String className, int index) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, "propIds", PROP_ID_ARR_DESCRIPTOR);
+        visitInt(mv, index);
+        mv.visitInsn(AALOAD);
+    }
+
+    private static void visitInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else {
+            mv.visitIntInsn(SIPUSH, value);
+        }
+    }
+
+    private interface Slots {
+        int SPI = 1;
+        int RS = 2;
+        int CTX = 3;
+        int DRAFT = 4;
+        int VALUE = 5;
+    }
+
+    private static class Getter {
+
+        final String methodName;
+
+        final String descriptor;
+
+        final Class<?> primitiveType;
+
+        private Getter(String methodName, Class<?> returnType) {
+            this.methodName = methodName;
+            this.descriptor = Type.getDescriptor(returnType);
+            this.primitiveType = returnType.isPrimitive() ? returnType : null;
+        }
+    }
+
+    static {
+        try {
+            MAP_DESCRIPTOR = Type.getMethodDescriptor(
+                    CompiledRowMapper.class.getMethod("map", DraftSpi.class, ResultSet.class, Reader.Context.class)
+            );
+            SET_DESCRIPTOR = Type.getMethodDescriptor(
+                    DraftSpi.class.getMethod("__set", PropId.class, Object.class)
+            );
+            READ_DESCRIPTOR = Type.getMethodDescriptor(
+                    Reader.class.getMethod("read", ResultSet.class, Reader.Context.class)
+            );
+        } catch (NoSuchMethodException ex) {
+            throw new AssertionError("Internal bug", ex);
+        }
+
+        Map<Class<?>, Getter> getterMap = new HashMap<>();
+        getterMap.put(boolean.class, new Getter("getBoolean", boolean.class));
+        getterMap.put(Boolean.class, new Getter("getBoolean", boolean.class));
+        getterMap.put(byte.class, new Getter("getByte", byte.class));
+        getterMap.put(Byte.class, new Getter("getByte", byte.class));
+        getterMap.put(short.class, new Getter("getShort", short.class));
+        getterMap.put(Short.class, new Getter("getShort", short.class));
+        getterMap.put(int.class, new Getter("getInt", int.class));
+        getterMap.put(Integer.class, new Getter("getInt", int.class));
+        getterMap.put(long.class, new Getter("getLong", long.class));
+        getterMap.put(Long.class, new Getter("getLong", long.class));
+        getterMap.put(float.class, new Getter("getFloat", float.class));
+        getterMap.put(Float.class, new Getter("getFloat", float.class));
+        getterMap.put(double.class, new Getter("getDouble", double.class));
+        getterMap.put(Double.class, new Getter("getDouble", double.class));
+        getterMap.put(String.class, new Getter("getString", String.class));
+        getterMap.put(BigDecimal.class, new Getter("getBigDecimal", BigDecimal.class));
+        GETTER_MAP = getterMap;
+
+        Method privateLookupIn = null;
+        try {
+            privateLookupIn = MethodHandles.class.getMethod(
+                    "privateLookupIn",
+                    Class.class,
+                    MethodHandles.Lookup.class
+            );
+        } catch (NoSuchMethodException ex) {
+            // Java 8
+        }
+        Method lookupDefineClass = null;
+        if (privateLookupIn != null) {
+            try {
+                lookupDefineClass = MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+            } catch (NoSuchMethodException ex) {
+                throw new AssertionError("No `Lookup.defineClass`", ex);
+            }
+        }
+        Method classLoaderDefineClass = null;
+        if (lookupDefineClass == null) {
+            try {
+                classLoaderDefineClass = ClassLoader.class.getDeclaredMethod(
+                        "defineClass",
+                        String.class,
+                        byte[].class,
+                        int.class,
+                        int.class
+                );
+                classLoaderDefineClass.setAccessible(true);
+            } catch (NoSuchMethodException ex) {
+                throw new AssertionError("No `ClassLoader.defineClass`", ex);
+            }
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        LOOKUP_DEFINE_CLASS = lookupDefineClass;
+        CLASS_LOADER_DEFINE_CLASS = classLoaderDefineClass;
+    }
+}
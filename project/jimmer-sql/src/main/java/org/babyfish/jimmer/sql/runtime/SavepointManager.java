@@ -14,15 +14,25 @@ public class SavepointManager {
     @Nullable
     public static Savepoint setIfNeeded(Connection con, JSqlClientImplementor sqlClient) {
         if (sqlClient.getDialect().isTransactionAbortedByError()) {
-            try {
-                return con.getAutoCommit() ? null : con.setSavepoint();
-            } catch (SQLException ex) {
-                throw new ExecutionException("Failed to set savepoint", ex);
-            }
+            return set(con);
         }
         return null;
     }
 
+    /**
+     * Set savepoint no matter what the dialect is
+     *
+     * @return The savepoint, or null if the connection is auto-committed
+     */
+    @Nullable
+    public static Savepoint set(Connection con) {
+        try {
+            return con.getAutoCommit() ? null : con.setSavepoint();
+        } catch (SQLException ex) {
+            throw new ExecutionException("Failed to set savepoint", ex);
+        }
+    }
+
     public static void rollback(ConnectionSupplier con, @Nullable Savepoint savepoint) {
         if (savepoint != null) {
             try {
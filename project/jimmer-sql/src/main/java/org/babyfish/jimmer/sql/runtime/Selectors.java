@@ -2,15 +2,22 @@ package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherUtil;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
@@ -116,4 +123,251 @@ public class Selectors {
             Cursors.setCurrentCursorId(oldCursorId);
         }
     }
+
+    /**
+     * Open a server-side cursor and return a lazy stream backed by it.
+     *
+     * <p>Rows are read chunk by chunk, the associations of each chunk
+     * are fetched before the rows of that chunk are returned.
+     * The statement and the result set are released when the stream
+     * is exhausted or closed.</p>
+     *
+     * <p>The cursor is opened by {@link Executor#execute(Executor.Args)},
+     * but the statement is owned by the stream after that.
+     * The connection belongs to the caller, its auto-commit mode is never changed.</p>
+     */
+    public static <R> Stream<R> stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize
+    ) {
+        Cursor<R> cursor = new Cursor<>(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                selections,
+                purpose,
+                batchSize
+        );
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    private static class Cursor<R> implements Iterator<R>, AutoCloseable {
+
+        private static final Logger LOGGER = LoggerFactory.getLogger(Cursor.class);
+
+        private final JSqlClientImplementor sqlClient;
+
+        private final Connection con;
+
+        private final String sql;
+
+        private final List<Object> variables;
+
+        private final List<Selection<?>> selections;
+
+        private final int batchSize;
+
+        private final long cursorId;
+
+        private final Reader<?> reader;
+
+        private PreparedStatement statement;
+
+        private ResultSet resultSet;
+
+        private List<R> chunk = Collections.emptyList();
+
+        private int index;
+
+        private boolean closed;
+
+        Cursor(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                String sql,
+                List<Object> variables,
+                @Nullable List<Integer> variablePositions,
+                List<Selection<?>> selections,
+                ExecutionPurpose purpose,
+                int batchSize
+        ) {
+            this.sqlClient = sqlClient;
+            this.con = con;
+            this.sql = sql;
+            this.variables = variables;
+            this.selections = selections;
+            this.batchSize = batchSize;
+            this.cursorId = CURSOR_ID_SEQUENCE.incrementAndGet();
+            this.reader = Readers.createReader(sqlClient, selections);
+            Dialect dialect = sqlClient.getDialect();
+            int fetchSize = dialect.getCursorFetchSize(
+                    batchSize,
+                    !FetcherUtil.isFetchRequired(sqlClient, selections)
+            );
+            Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
+            try {
+                sqlClient.getExecutor().execute(
+                        new Executor.Args<Void>(
+                                sqlClient,
+                                con,
+                                sql,
+                                variables,
+                                variablePositions,
+                                purpose,
+                                null,
+                                (c, args) -> {
+                                    open(c, fetchSize);
+                                    return null;
+                                }
+                        )
+                );
+            } catch (RuntimeException | Error ex) {
+                closeAfterFailure(ex);
+                throw ex;
+            } finally {
+                Cursors.setCurrentCursorId(oldCursorId);
+            }
+        }
+
+        private void open(Connection con, int fetchSize) throws SQLException {
+            if (sqlClient.getDialect().isCursorTransactionRequired() && con.getAutoCommit()) {
+                LOGGER.warn(
+                        "The cursor of the SQL statement \"{}\" is opened by a connection " +
+                                "in auto-commit mode, the JDBC driver may read all rows into memory, " +
+                                "please open a transaction to stream the rows",
+                        sql
+                );
+            }
+            statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            try {
+                DefaultExecutor.setParameters(statement, variables, sqlClient);
+            } catch (SQLException | RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw translate(ex);
+            }
+            resultSet = statement.executeQuery();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < chunk.size()) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            chunk = nextChunk();
+            index = 0;
+            if (chunk.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.get(index++);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<R> nextChunk() {
+            List<R> rows;
+            try {
+                rows = Internal.usingSqlDraftContext(draftContext -> {
+                    Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
+                    List<R> results = new ArrayList<>(batchSize);
+                    while (results.size() < batchSize && resultSet.next()) {
+                        results.add((R) reader.read(resultSet, ctx));
+                        ctx.resetCol();
+                    }
+                    return results;
+                });
+            } catch (Exception ex) {
+                RuntimeException translated = translate(ex);
+                closeAfterFailure(translated);
+                throw translated;
+            }
+            Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
+            try {
+                FetcherUtil.fetch(sqlClient, con, selections, rows);
+            } catch (RuntimeException | Error ex) {
+                closeAfterFailure(ex);
+                throw ex;
+            } finally {
+                Cursors.setCurrentCursorId(oldCursorId);
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            chunk = Collections.emptyList();
+            SQLException exception = null;
+            if (resultSet != null) {
+                try {
+                    resultSet.close();
+                } catch (SQLException ex) {
+                    exception = ex;
+                }
+            }
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException ex) {
+                    if (exception == null) {
+                        exception = ex;
+                    } else {
+                        exception.addSuppressed(ex);
+                    }
+                }
+            }
+            if (exception != null) {
+                throw translate(exception);
+            }
+        }
+
+        /**
+         * The failure of closing must not hide the original exception
+         */
+        private void closeAfterFailure(Throwable ex) {
+            try {
+                close();
+            } catch (RuntimeException closeEx) {
+                ex.addSuppressed(closeEx);
+            }
+        }
+
+        private RuntimeException translate(Exception ex) {
+            if (ex instanceof RuntimeException) {
+                return (RuntimeException) ex;
+            }
+            return new ExecutionException(
+                    "Cannot read the cursor of SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variables,
+                    ex
+            );
+        }
+    }
 }
@@ -0,0 +1,213 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of rendered root query SQL, shared by a sql client
+ * and all the sql clients derived from it.
+ *
+ * <p>Queries are keyed by their shape: selections, table, ordering
+ * and the rendered where clause. Queries with the same shape but
+ * different parameter values reuse the rendered select/from/order-by
+ * text instead of rendering it again.</p>
+ *
+ * <p>Only the text rendering is saved. The where clause is part of the key
+ * and parameters are bound while it is rendered, so the table usage analysis,
+ * alias allocation and rendering of the where clause still happen for
+ * every execution, even if the template is hit.</p>
+ *
+ * <p>The cache is lock-free for lookups. Each entry records the tick of its
+ * last access, when the size exceeds the capacity after a put, the least
+ * recently used templates are evicted by the thread which wins the eviction
+ * lock, other threads never wait for it. So the size may exceed the capacity
+ * temporarily and the eviction order is approximate under concurrency.</p>
+ *
+ * <p>This cache is disabled by default, it can be enabled by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setSqlTemplateCacheCapacity(int)}</p>
+ */
+public class SqlTemplateCache {
+
+    private final int capacity;
+
+    private final ConcurrentMap<Object, Node> nodeMap = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Lock evictionLock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    public SqlTemplateCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("`capacity` must be greater than 0");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return nodeMap.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public void clear() {
+        nodeMap.clear();
+    }
+
+    /**
+     * Internal API, it should not be used by programmer directly.
+     *
+     * @return The cached template, {@link Template#UNSUPPORTED}
+     * if the shape has been proven to be not cacheable,
+     * or null if the shape has never been seen.
+     */
+    @Nullable
+    public Template get(@NotNull Object key) {
+        Node node = nodeMap.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        node.accessTick = clock.incrementAndGet();
+        if (node.template != Template.UNSUPPORTED) {
+            hitCount.increment();
+        }
+        return node.template;
+    }
+
+    /**
+     * Internal API, it should not be used by programmer directly.
+     */
+    public void put(@NotNull Object key, @NotNull Template template) {
+        nodeMap.put(key, new Node(template, clock.incrementAndGet()));
+        if (nodeMap.size() > capacity) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int overflow = nodeMap.size() - capacity;
+            if (overflow <= 0) {
+                return;
+            }
+            // The ticks are copied because they may be changed by other threads while sorting
+            List<Candidate> candidates = new ArrayList<>(nodeMap.size());
+            for (Map.Entry<Object, Node> e : nodeMap.entrySet()) {
+                candidates.add(new Candidate(e.getKey(), e.getValue()));
+            }
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.accessTick));
+            for (int i = 0; i < overflow && i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i);
+                nodeMap.remove(candidate.key, candidate.node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SqlTemplateCache{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                ", hitCount=" + hitCount.sum() +
+                ", missCount=" + missCount.sum() +
+                '}';
+    }
+
+    private static class Node {
+
+        final Template template;
+
+        volatile long accessTick;
+
+        Node(Template template, long accessTick) {
+            this.template = template;
+            this.accessTick = accessTick;
+        }
+    }
+
+    private static class Candidate {
+
+        final Object key;
+
+        final Node node;
+
+        final long accessTick;
+
+        Candidate(Object key, Node node) {
+            this.key = key;
+            this.node = node;
+            this.accessTick = node.accessTick;
+        }
+    }
+
+    /**
+     * The rendered text surrounding the where clause of a query without pagination.
+     */
+    public static final class Template {
+
+        public static final Template UNSUPPORTED = new Template("", "");
+
+        private final String head;
+
+        private final String tail;
+
+        public Template(String head, String tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        public String getHead() {
+            return head;
+        }
+
+        public String getTail() {
+            return tail;
+        }
+
+        public String toSql(String where) {
+            return new StringBuilder(head.length() + where.length() + tail.length())
+                    .append(head)
+                    .append(where)
+                    .append(tail)
+                    .toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Template{" +
+                    "head='" + head + '\'' +
+                    ", tail='" + tail + '\'' +
+                    '}';
+        }
+    }
+}
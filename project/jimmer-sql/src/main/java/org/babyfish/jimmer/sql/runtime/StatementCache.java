@@ -0,0 +1,256 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Prepared statements reused by the executions of the same SQL
+ * on the same JDBC connection, it is enabled by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setStatementCacheSize(int)}.
+ *
+ * <p>The cache belongs to the current thread and a connection borrowed by
+ * {@link ConnectionManager}, all cached statements are closed when the outermost
+ * {@link #execute(Connection, Function)} of that connection returns, that is,
+ * before the connection is given back to the pool. The connection managers of jimmer
+ * call that method automatically, a custom connection manager must call it around
+ * its callback to enable this cache.</p>
+ *
+ * <p>A statement is never used by two executions at the same time, if the cached
+ * statement is still being used, for example, its result set is being read
+ * and the associations of read rows are being fetched by other statements,
+ * a temporary statement is prepared and closed after execution.</p>
+ */
+public final class StatementCache {
+
+    static final int FIRST_COLUMN_KEYS = -1;
+
+    private static final ThreadLocal<StatementCache> CURRENT_LOCAL = new ThreadLocal<>();
+
+    private final Connection con;
+
+    private final StatementCache parent;
+
+    private int maxSize;
+
+    private Map<Key, Entry> entryMap;
+
+    private StatementCache(Connection con, StatementCache parent) {
+        this.con = con;
+        this.parent = parent;
+    }
+
+    /**
+     * Execute the block with the statement cache of the connection.
+     * If there is an outer scope of the same connection in the current thread,
+     * its cache is used, otherwise, a new cache is created and
+     * it will be closed when the block returns.
+     */
+    public static <R> R execute(Connection con, Function<Connection, R> block) {
+        if (con == null || find(con) != null) {
+            return block.apply(con);
+        }
+        StatementCache parent = CURRENT_LOCAL.get();
+        StatementCache cache = new StatementCache(con, parent);
+        CURRENT_LOCAL.set(cache);
+        try {
+            return block.apply(con);
+        } finally {
+            if (parent != null) {
+                CURRENT_LOCAL.set(parent);
+            } else {
+                CURRENT_LOCAL.remove();
+            }
+            cache.close();
+        }
+    }
+
+    /**
+     * @return The cache of the connection, or null if the cache is
+     * disabled by the sql client or the connection is not borrowed
+     * by {@link #execute(Connection, Function)}
+     */
+    @Nullable
+    static StatementCache of(Connection con, JSqlClientImplementor sqlClient) {
+        int maxSize = sqlClient.getStatementCacheSize();
+        if (maxSize <= 0) {
+            return null;
+        }
+        StatementCache cache = find(con);
+        if (cache != null) {
+            cache.maxSize = maxSize;
+        }
+        return cache;
+    }
+
+    private static StatementCache find(Connection con) {
+        for (StatementCache cache = CURRENT_LOCAL.get(); cache != null; cache = cache.parent) {
+            if (cache.con == con) {
+                return cache;
+            }
+        }
+        return null;
+    }
+
+    static PreparedStatement prepareStatement(
+            Connection con,
+            String sql,
+            int generatedKeys
+    ) throws SQLException {
+        switch (generatedKeys) {
+            case FIRST_COLUMN_KEYS:
+                return con.prepareStatement(sql, new int[] { 1 });
+            case Statement.RETURN_GENERATED_KEYS:
+                return con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            default:
+                return con.prepareStatement(sql);
+        }
+    }
+
+    /**
+     * @param generatedKeys {@link Statement#NO_GENERATED_KEYS},
+     *                      {@link Statement#RETURN_GENERATED_KEYS}
+     *                      or {@link #FIRST_COLUMN_KEYS}
+     */
+    PreparedStatement prepare(
+            String sql,
+            int generatedKeys,
+            JSqlClientImplementor sqlClient
+    ) throws SQLException {
+        Map<Key, Entry> entryMap = this.entryMap;
+        if (entryMap == null) {
+            this.entryMap = entryMap = new LinkedHashMap<Key, Entry>(16, .75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    if (size() <= maxSize) {
+                        return false;
+                    }
+                    Entry entry = eldest.getValue();
+                    if (!entry.using) {
+                        closeQuietly(entry.statement);
+                    }
+                    // Otherwise, the statement is closed by `release`
+                    return true;
+                }
+            };
+        }
+        Key key = new Key(sql, generatedKeys);
+        Entry entry = entryMap.get(key);
+        JimmerMetrics metrics = sqlClient.getMetrics();
+        if (entry != null && !entry.using) {
+            entry.using = true;
+            if (metrics != null) {
+                metrics.recordStatementCacheAccess(true);
+            }
+            return entry.statement;
+        }
+        if (metrics != null) {
+            metrics.recordStatementCacheAccess(false);
+        }
+        if (entry != null) {
+            // The cached statement is being used
+            return prepareStatement(con, sql, generatedKeys);
+        }
+        PreparedStatement statement = prepareStatement(con, sql, generatedKeys);
+        entry = new Entry(statement);
+        entry.using = true;
+        entryMap.put(key, entry);
+        return statement;
+    }
+
+    /**
+     * Give back the statement returned by {@link #prepare(String, int, JSqlClientImplementor)}
+     *
+     * @param broken Whether the execution is failed or the statement is left dirty,
+     *               if it is true, the statement is discarded
+     */
+    void release(
+            String sql,
+            int generatedKeys,
+            PreparedStatement statement,
+            boolean broken
+    ) throws SQLException {
+        Key key = new Key(sql, generatedKeys);
+        Entry entry = entryMap.get(key);
+        if (entry == null || entry.statement != statement) {
+            // Temporary or evicted statement
+            statement.close();
+            return;
+        }
+        if (broken) {
+            entryMap.remove(key);
+            statement.close();
+            return;
+        }
+        statement.clearParameters();
+        if (statement.getFetchSize() != entry.fetchSize) {
+            statement.setFetchSize(entry.fetchSize);
+        }
+        entry.using = false;
+    }
+
+    private void close() {
+        Map<Key, Entry> entryMap = this.entryMap;
+        if (entryMap != null) {
+            this.entryMap = null;
+            for (Entry entry : entryMap.values()) {
+                closeQuietly(entry.statement);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            // Ignore, the statement is useless and will be
+            // closed by the driver together with the connection
+        }
+    }
+
+    private static class Key {
+
+        final String sql;
+
+        final int generatedKeys;
+
+        Key(String sql, int generatedKeys) {
+            this.sql = sql;
+            this.generatedKeys = generatedKeys;
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + generatedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return generatedKeys == other.generatedKeys && sql.equals(other.sql);
+        }
+    }
+
+    private static class Entry {
+
+        final PreparedStatement statement;
+
+        final int fetchSize;
+
+        boolean using;
+
+        Entry(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.transaction;
 
 import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.StatementCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
@@ -22,7 +23,7 @@ public abstract class AbstractTxConnectionManager implements TxConnectionManager
     public final <R> R execute(@Nullable Connection con, Function<Connection, R> block) {
         if (con != null) {
             // No connection management, no transaction management, everything is controlled by user.
-            return block.apply(con);
+            return StatementCache.execute(con, block);
         }
         return executeTransaction(Propagation.SUPPORTS, block);
     }
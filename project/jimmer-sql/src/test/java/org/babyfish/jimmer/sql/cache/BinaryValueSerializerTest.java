@@ -0,0 +1,84 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+public class BinaryValueSerializerTest {
+
+    private static final UUID BOOK_ID =
+            UUID.fromString("e110c564-23cc-4811-9e81-d587a13db634");
+
+    private static final UUID STORE_ID =
+            UUID.fromString("d38c10da-6be8-4924-b9b9-5e81899612a0");
+
+    private static final UUID AUTHOR_ID =
+            UUID.fromString("fd6bb6cf-336d-416c-8005-1ae11a6694b5");
+
+    @Test
+    public void testObject() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(BOOK_ID);
+            draft.setName("Learning GraphQL");
+            draft.setEdition(3);
+            draft.setPrice(new BigDecimal("51.80"));
+            draft.applyStore(store -> store.setId(STORE_ID));
+        });
+        ValueSerializer<Book> serializer = new BinaryValueSerializer<>(ImmutableType.get(Book.class));
+        byte[] bytes = serializer.serialize(book);
+        Assertions.assertEquals(book.toString(), serializer.deserialize(bytes).toString());
+        Assertions.assertTrue(
+                bytes.length < new ValueSerializer<Book>(ImmutableType.get(Book.class)).serialize(book).length
+        );
+    }
+
+    @Test
+    public void testNullValues() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(BOOK_ID);
+            draft.setName("Learning GraphQL");
+            draft.setStore(null);
+        });
+        ValueSerializer<Book> serializer = new BinaryValueSerializer<>(ImmutableType.get(Book.class));
+        Assertions.assertEquals(book.toString(), serializer.deserialize(serializer.serialize(book)).toString());
+        Assertions.assertNull(serializer.deserialize(serializer.serialize(null)));
+    }
+
+    @Test
+    public void testProp() {
+        ValueSerializer<List<UUID>> listSerializer = new BinaryValueSerializer<>(BookProps.AUTHORS.unwrap());
+        List<UUID> authorIds = Arrays.asList(AUTHOR_ID, BOOK_ID);
+        Assertions.assertEquals(authorIds, listSerializer.deserialize(listSerializer.serialize(authorIds)));
+        ValueSerializer<UUID> referenceSerializer = new BinaryValueSerializer<>(BookProps.STORE.unwrap());
+        Assertions.assertEquals(STORE_ID, referenceSerializer.deserialize(referenceSerializer.serialize(STORE_ID)));
+    }
+
+    @Test
+    public void testIncompatibleValues() {
+        ValueSerializer<BookStore> serializer = new BinaryValueSerializer<>(ImmutableType.get(BookStore.class));
+        ValueSerializer<BookStore> jsonSerializer = new ValueSerializer<>(ImmutableType.get(BookStore.class));
+        ValueSerializer<Author> otherSerializer = new BinaryValueSerializer<>(ImmutableType.get(Author.class));
+        BookStore store = BookStoreDraft.$.produce(draft -> {
+            draft.setId(STORE_ID);
+            draft.setName("O'REILLY");
+        });
+        Author author = AuthorDraft.$.produce(draft -> {
+            draft.setId(AUTHOR_ID);
+            draft.setFirstName("Eve");
+        });
+        Map<String, BookStore> map = serializer.deserialize(
+                Arrays.asList("binary", "json", "other"),
+                Arrays.asList(
+                        serializer.serialize(store),
+                        jsonSerializer.serialize(store),
+                        otherSerializer.serialize(author)
+                )
+        );
+        Assertions.assertEquals(Collections.singleton("binary"), map.keySet());
+        Assertions.assertEquals(store.toString(), map.get("binary").toString());
+    }
+}
@@ -0,0 +1,134 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class ChainCacheCoalescingTest extends AbstractTest {
+
+    @Test
+    public void testConcurrentMisses() {
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>()
+                .add(new MapBinder())
+                .build();
+        List<Set<Long>> loadedKeys = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstEntered = new CountDownLatch(1);
+        CountDownLatch secondEntered = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        CacheLoader<Long, String> loader = keys -> {
+            Set<Long> keySet = new LinkedHashSet<>(keys);
+            loadedKeys.add(keySet);
+            try {
+                if (keySet.contains(1L)) {
+                    firstEntered.countDown();
+                    released.await(10, TimeUnit.SECONDS);
+                } else {
+                    secondEntered.countDown();
+                }
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            Map<Long, String> map = new HashMap<>();
+            for (Long key : keys) {
+                if (key != 2L) {
+                    map.put(key, "Value-" + key);
+                }
+            }
+            return map;
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            jdbc(con -> {
+                try {
+                    CacheEnvironment<Long, String> env =
+                            new CacheEnvironment<>(getSqlClient(), con, loader, false);
+                    Future<Map<Long, String>> first = executorService.submit(() ->
+                            cache.getAll(Arrays.asList(1L, 2L), env)
+                    );
+                    Assertions.assertTrue(firstEntered.await(10, TimeUnit.SECONDS));
+                    Future<Map<Long, String>> second = executorService.submit(() ->
+                            cache.getAll(Arrays.asList(1L, 2L, 3L), env)
+                    );
+                    Assertions.assertTrue(secondEntered.await(10, TimeUnit.SECONDS));
+                    released.countDown();
+                    Map<Long, String> firstMap = first.get(10, TimeUnit.SECONDS);
+                    Map<Long, String> secondMap = second.get(10, TimeUnit.SECONDS);
+                    Assertions.assertEquals("Value-1", firstMap.get(1L));
+                    Assertions.assertNull(firstMap.get(2L));
+                    Assertions.assertEquals("Value-1", secondMap.get(1L));
+                    Assertions.assertNull(secondMap.get(2L));
+                    Assertions.assertEquals("Value-3", secondMap.get(3L));
+                } catch (Exception ex) {
+                    Assertions.fail(ex);
+                }
+            });
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(
+                Arrays.asList(
+                        new LinkedHashSet<>(Arrays.asList(1L, 2L)),
+                        Collections.singleton(3L)
+                ),
+                loadedKeys
+        );
+    }
+
+    private static class MapBinder implements SimpleBinder<Long, String> {
+
+        private final Map<Long, String> map = new ConcurrentHashMap<>();
+
+        private final Set<Long> nullKeys = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Map<Long, String> getAll(Collection<Long> keys) {
+            Map<Long, String> resultMap = new HashMap<>();
+            for (Long key : keys) {
+                if (nullKeys.contains(key)) {
+                    resultMap.put(key, null);
+                } else {
+                    String value = map.get(key);
+                    if (value != null) {
+                        resultMap.put(key, value);
+                    }
+                }
+            }
+            return resultMap;
+        }
+
+        @Override
+        public void setAll(Map<Long, String> map) {
+            for (Map.Entry<Long, String> e : map.entrySet()) {
+                if (e.getValue() == null) {
+                    nullKeys.add(e.getKey());
+                } else {
+                    this.map.put(e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        @Override
+        public @Nullable ImmutableType type() {
+            return null;
+        }
+
+        @Override
+        public @Nullable ImmutableProp prop() {
+            return null;
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {
+            map.keySet().removeAll(keys);
+            nullKeys.removeAll(keys);
+        }
+    }
+}
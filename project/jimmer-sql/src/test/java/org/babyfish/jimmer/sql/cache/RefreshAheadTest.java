@@ -0,0 +1,171 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+public class RefreshAheadTest extends AbstractTest {
+
+    @Test
+    public void testStaleValue() {
+        MapBinder binder = new MapBinder(BookProps.STORE.unwrap(), Duration.ofMillis(1));
+        Cache<UUID, UUID> cache = new ChainCacheBuilder<UUID, UUID>()
+                .add(binder)
+                .build();
+        Map<UUID, UUID> database = new HashMap<>();
+        database.put(Constants.learningGraphQLId1, Constants.oreillyId);
+        List<Collection<UUID>> loadedKeys = new ArrayList<>();
+        CacheLoader<UUID, UUID> loader = keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            Map<UUID, UUID> map = new HashMap<>();
+            for (UUID key : keys) {
+                map.put(key, database.get(key));
+            }
+            return map;
+        };
+        jdbc(con -> {
+            CacheEnvironment<UUID, UUID> env =
+                    new CacheEnvironment<>(getSqlClient(), con, loader, false);
+            Assertions.assertEquals(
+                    Constants.oreillyId,
+                    cache.getAll(Collections.singleton(Constants.learningGraphQLId1), env)
+                            .get(Constants.learningGraphQLId1)
+            );
+            Assertions.assertEquals(1, loadedKeys.size());
+            Assertions.assertEquals(
+                    (byte) 0xFF,
+                    binder.valueMap.values().iterator().next()[0]
+            );
+
+            database.put(Constants.learningGraphQLId1, Constants.manningId);
+            sleep(20);
+
+            Set<UUID> staleKeys = new LinkedHashSet<>();
+            Assertions.assertEquals(
+                    Constants.oreillyId,
+                    binder.getAll(Collections.singleton(Constants.learningGraphQLId1), staleKeys)
+                            .get(Constants.learningGraphQLId1)
+            );
+            Assertions.assertEquals(Collections.singleton(Constants.learningGraphQLId1), staleKeys);
+
+            Assertions.assertEquals(
+                    Constants.manningId,
+                    cache.getAll(Collections.singleton(Constants.learningGraphQLId1), env)
+                            .get(Constants.learningGraphQLId1)
+            );
+            Assertions.assertEquals(2, loadedKeys.size());
+        });
+    }
+
+    @Test
+    public void testAsyncRefresh() {
+        MapBinder binder = new MapBinder(BookProps.STORE.unwrap(), Duration.ofMillis(1));
+        Cache<UUID, UUID> cache = new ChainCacheBuilder<UUID, UUID>()
+                .add(binder)
+                .build();
+        Map<UUID, UUID> database = new HashMap<>();
+        database.put(Constants.learningGraphQLId1, Constants.oreillyId);
+        List<Collection<UUID>> loadedKeys = new ArrayList<>();
+        CacheLoader<UUID, UUID> loader = keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            Map<UUID, UUID> map = new HashMap<>();
+            for (UUID key : keys) {
+                map.put(key, database.get(key));
+            }
+            return map;
+        };
+        List<Runnable> tasks = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setConnectionManager(testConnectionManager());
+            it.setCacheRefreshExecutor(tasks::add);
+        });
+        jdbc(con -> {
+            CacheEnvironment<UUID, UUID> env =
+                    new CacheEnvironment<>(sqlClient, con, loader, false, otherCon -> loader);
+            cache.getAll(Collections.singleton(Constants.learningGraphQLId1), env);
+            Assertions.assertEquals(1, loadedKeys.size());
+
+            database.put(Constants.learningGraphQLId1, Constants.manningId);
+            sleep(20);
+
+            // The stale value is returned, the refreshing is dispatched only once
+            for (int i = 0; i < 2; i++) {
+                Assertions.assertEquals(
+                        Constants.oreillyId,
+                        cache.getAll(Collections.singleton(Constants.learningGraphQLId1), env)
+                                .get(Constants.learningGraphQLId1)
+                );
+            }
+            Assertions.assertEquals(1, loadedKeys.size());
+            Assertions.assertEquals(1, tasks.size());
+
+            tasks.get(0).run();
+            Assertions.assertEquals(2, loadedKeys.size());
+            Assertions.assertEquals(
+                    Constants.manningId,
+                    cache.getAll(Collections.singleton(Constants.learningGraphQLId1), env)
+                            .get(Constants.learningGraphQLId1)
+            );
+            Assertions.assertEquals(2, loadedKeys.size());
+        });
+    }
+
+    @Test
+    public void testIllegalRefreshDuration() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new MapBinder(BookProps.STORE.unwrap(), Duration.ofMinutes(1))
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static class MapBinder extends AbstractRemoteValueBinder<UUID, UUID> {
+
+        final Map<String, byte[]> valueMap = new HashMap<>();
+
+        MapBinder(ImmutableProp prop, Duration refreshDuration) {
+            super(null, prop, null, null, null, null, Duration.ofMinutes(1), 0, refreshDuration);
+        }
+
+        @Override
+        protected List<byte[]> read(Collection<String> keys) {
+            List<byte[]> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                values.add(valueMap.get(key));
+            }
+            return values;
+        }
+
+        @Override
+        protected void write(Map<String, byte[]> map) {
+            valueMap.putAll(map);
+        }
+
+        @Override
+        protected void deleteAllSerializedKeys(List<String> serializedKeys) {
+            valueMap.keySet().removeAll(serializedKeys);
+        }
+
+        @Override
+        protected boolean matched(@Nullable Object reason) {
+            return true;
+        }
+    }
+}
@@ -22,6 +22,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 
 import static org.babyfish.jimmer.sql.common.Constants.*;
@@ -86,6 +89,111 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
         assertDeletedKeys(BookProps.AUTHORS, learningGraphQLId1, learningGraphQLId2, learningGraphQLId3);
     }
 
+    @Test
+    public void testDrain() {
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(ids);
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(ids.subList(0, 10));
+        assertDeletedKeys(Book.class);
+        ((TransactionCacheOperator)((JSqlClientImplementor)sqlClient).getCacheOperator()).drain();
+        Assertions.assertEquals(
+                new HashSet<>(ids),
+                new HashSet<>(typeKeyMap.get(ImmutableType.get(Book.class)))
+        );
+
+        typeKeyMap.clear();
+        ((TransactionCacheOperator)((JSqlClientImplementor)sqlClient).getCacheOperator()).drain();
+        assertDeletedKeys(Book.class);
+    }
+
+    @Test
+    public void testDrainInParallel() {
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(ids);
+        TransactionCacheOperator operator =
+                (TransactionCacheOperator)((JSqlClientImplementor)sqlClient).getCacheOperator();
+        try {
+            operator.drain(4);
+        } finally {
+            operator.close();
+        }
+        List<Object> deletedKeys = typeKeyMap.get(ImmutableType.get(Book.class));
+        Assertions.assertEquals(new HashSet<>(ids), new HashSet<>(deletedKeys));
+        // Each operation is claimed by only one thread
+        Assertions.assertEquals(ids.size(), deletedKeys.size());
+
+        // Closed operator drains by current thread
+        typeKeyMap.clear();
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(ids.subList(0, 10));
+        operator.drain(4);
+        Assertions.assertEquals(
+                new HashSet<>(ids.subList(0, 10)),
+                new HashSet<>(typeKeyMap.get(ImmutableType.get(Book.class)))
+        );
+    }
+
+    @Test
+    public void testUnparsedOperationIsKept() {
+
+        ((JSqlClientImplementor)sqlClient).getConnectionManager().execute(con -> {
+            try (PreparedStatement stmt = con.prepareStatement(
+                    "insert into " +
+                            TransactionCacheOperator.TABLE_NAME +
+                            "(IMMUTABLE_TYPE, IMMUTABLE_PROP, CACHE_KEY, REASON) values(?, null, ?, null)"
+            )) {
+                stmt.setString(1, "com.example.UnknownType");
+                stmt.setString(2, "\"" + learningGraphQLId1 + "\"");
+                stmt.executeUpdate();
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+            return null;
+        });
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(ids);
+        TransactionCacheOperator operator =
+                (TransactionCacheOperator)((JSqlClientImplementor)sqlClient).getCacheOperator();
+        operator.drain();
+        Assertions.assertEquals(
+                new HashSet<>(ids),
+                new HashSet<>(typeKeyMap.get(ImmutableType.get(Book.class)))
+        );
+        int count = ((JSqlClientImplementor)sqlClient).getConnectionManager().execute(con -> {
+            try (PreparedStatement stmt = con.prepareStatement(
+                    "select count(*) from " + TransactionCacheOperator.TABLE_NAME
+            )) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    return rs.getInt(1);
+                }
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        Assertions.assertEquals(1, count);
+        ((JSqlClientImplementor)sqlClient).getConnectionManager().execute(con -> {
+            try (PreparedStatement stmt = con.prepareStatement(
+                    "delete from " + TransactionCacheOperator.TABLE_NAME
+            )) {
+                stmt.executeUpdate();
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+            return null;
+        });
+    }
+
     @Override
     public JSqlClient getSqlClient() {
         return sqlClient;
@@ -132,7 +240,9 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
 
         @Override
         public void deleteAll(@NotNull Collection<K> keys, @Nullable Object reason) {
-            typeKeyMap.computeIfAbsent(type, it -> new ArrayList<>()).addAll(keys);
+            synchronized (typeKeyMap) {
+                typeKeyMap.computeIfAbsent(type, it -> new ArrayList<>()).addAll(keys);
+            }
         }
     }
 
@@ -161,7 +271,9 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
 
         @Override
         public void deleteAll(@NotNull Collection<K> keys, @Nullable Object reason) {
-            propKeyMap.computeIfAbsent(prop, it -> new ArrayList<>()).addAll(keys);
+            synchronized (propKeyMap) {
+                propKeyMap.computeIfAbsent(prop, it -> new ArrayList<>()).addAll(keys);
+            }
         }
     }
 }
@@ -70,7 +70,7 @@ public class AbstractTest extends Tests {
 
     private final LambdaClient lambdaClient = new LambdaClient(getSqlClient());
 
-    private final List<Execution> executions = new ArrayList<>();
+    private final List<Execution> executions = Collections.synchronizedList(new ArrayList<>());
 
     private class ExecutorImpl implements Executor {
 
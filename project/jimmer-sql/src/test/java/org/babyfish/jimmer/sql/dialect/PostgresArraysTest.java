@@ -0,0 +1,128 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class PostgresArraysTest {
+
+    @Test
+    public void testText() {
+        Assertions.assertArrayEquals(
+                new int[] {6, -5, 4},
+                PostgresArrays.decodeIntArray(text("{6,-5,4}"))
+        );
+        Assertions.assertArrayEquals(
+                new long[] {3L, 2L, 1L},
+                PostgresArrays.decodeLongArray(text("[0:2]={3,2,1}"))
+        );
+        Assertions.assertArrayEquals(
+                new float[] {1.5F, Float.NaN, -2.25E10F},
+                PostgresArrays.decodeFloatArray(text("{1.5,NaN,-2.25e+10}"))
+        );
+        Assertions.assertArrayEquals(
+                new double[0],
+                PostgresArrays.decodeDoubleArray(text("{}"))
+        );
+        Assertions.assertNull(PostgresArrays.decodeIntArray(text("{1,NULL}")));
+        Assertions.assertNull(PostgresArrays.decodeIntArray(text("{{1,2},{3,4}}")));
+    }
+
+    @Test
+    public void testBinary() {
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 3 * 8);
+        buffer.putInt(1).putInt(0).putInt(700).putInt(3).putInt(1);
+        for (float f : new float[] {3F, 2F, 1F}) {
+            buffer.putInt(4).putFloat(f);
+        }
+        Assertions.assertArrayEquals(
+                new float[] {3F, 2F, 1F},
+                PostgresArrays.decodeFloatArray(buffer.array())
+        );
+        Assertions.assertArrayEquals(
+                new double[] {3D, 2D, 1D},
+                PostgresArrays.decodeDoubleArray(buffer.array())
+        );
+
+        buffer = ByteBuffer.allocate(20 + 2 * 4);
+        buffer.putInt(1).putInt(1).putInt(23).putInt(2).putInt(1);
+        buffer.putInt(-1).putInt(-1);
+        Assertions.assertNull(PostgresArrays.decodeIntArray(buffer.array()));
+    }
+
+    @Test
+    public void testTextOutOfRange() {
+        Assertions.assertArrayEquals(
+                new short[] {Short.MIN_VALUE, Short.MAX_VALUE},
+                PostgresArrays.decodeShortArray(text("{-32768,32767}"))
+        );
+        Assertions.assertNull(PostgresArrays.decodeShortArray(text("{1,32768}")));
+        Assertions.assertNull(PostgresArrays.decodeIntArray(text("{1,-2147483649}")));
+        Assertions.assertArrayEquals(
+                new long[] {Long.MIN_VALUE, Long.MAX_VALUE},
+                PostgresArrays.decodeLongArray(text("{-9223372036854775808,9223372036854775807}"))
+        );
+        Assertions.assertNull(PostgresArrays.decodeLongArray(text("{9223372036854775808}")));
+        Assertions.assertNull(PostgresArrays.decodeFloatArray(text("{1.5,1e40}")));
+        Assertions.assertArrayEquals(
+                new float[] {Float.NEGATIVE_INFINITY},
+                PostgresArrays.decodeFloatArray(text("{-Infinity}"))
+        );
+    }
+
+    @Test
+    public void testTextNotIntegral() {
+        Assertions.assertNull(PostgresArrays.decodeIntArray(text("{1,2.5}")));
+        Assertions.assertNull(PostgresArrays.decodeLongArray(text("{1e3}")));
+        Assertions.assertNull(PostgresArrays.decodeShortArray(text("{-}")));
+        Assertions.assertNull(PostgresArrays.decodeDoubleArray(text("{1.5,abc}")));
+    }
+
+    @Test
+    public void testBinaryNarrowing() {
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 2 * 12);
+        buffer.putInt(1).putInt(0).putInt(20).putInt(2).putInt(1);
+        buffer.putInt(8).putLong(1L << 40);
+        buffer.putInt(8).putLong(1L);
+        Assertions.assertArrayEquals(
+                new long[] {1L << 40, 1L},
+                PostgresArrays.decodeLongArray(buffer.array())
+        );
+        Assertions.assertNull(PostgresArrays.decodeIntArray(buffer.array()));
+        Assertions.assertNull(PostgresArrays.decodeShortArray(buffer.array()));
+        Assertions.assertNull(PostgresArrays.decodeDoubleArray(buffer.array()));
+
+        buffer = ByteBuffer.allocate(20 + 12);
+        buffer.putInt(1).putInt(0).putInt(701).putInt(1).putInt(1);
+        buffer.putInt(8).putDouble(0.1);
+        Assertions.assertNull(PostgresArrays.decodeFloatArray(buffer.array()));
+        Assertions.assertNull(PostgresArrays.decodeLongArray(buffer.array()));
+
+        buffer = ByteBuffer.allocate(20 + 2 * 6);
+        buffer.putInt(1).putInt(0).putInt(21).putInt(2).putInt(1);
+        buffer.putInt(2).putShort((short) -7);
+        buffer.putInt(2).putShort((short) 9);
+        Assertions.assertArrayEquals(
+                new int[] {-7, 9},
+                PostgresArrays.decodeIntArray(buffer.array())
+        );
+        Assertions.assertArrayEquals(
+                new double[] {-7D, 9D},
+                PostgresArrays.decodeDoubleArray(buffer.array())
+        );
+    }
+
+    @Test
+    public void testBinaryUnexpectedWidth() {
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 8);
+        buffer.putInt(1).putInt(0).putInt(23).putInt(1).putInt(1);
+        buffer.putInt(2).putShort((short) 1).putShort((short) 0);
+        Assertions.assertNull(PostgresArrays.decodeIntArray(buffer.array()));
+    }
+
+    private static byte[] text(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,81 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.impl.value.PropertyGetter;
+import org.babyfish.jimmer.sql.model.pg.*;
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PostgresCsvTest {
+
+    @Test
+    public void testNullAndJson() {
+        JSqlClientImplementor sqlClient = (JSqlClientImplementor) JSqlClient
+                .newBuilder()
+                .setDialect(new PostgresDialect(true))
+                .setScalarProvider(JsonWrapperProps.TAGS, new TagsScalarProvider())
+                .setScalarProvider(JsonWrapperProps.SCORES, new ScoresScalarProvider())
+                .setDefaultSerializedTypeObjectMapper(new ObjectMapper())
+                .build();
+        JsonWrapper wrapper = JsonWrapperDraft.$.produce(draft -> {
+            draft.setId(1L);
+            draft.setPoint(new Point(3, 4));
+            draft.setTags(null);
+            draft.setScores(null);
+            draft.setComplexList(
+                    Collections.singletonList(Arrays.asList("a", "b\"c"))
+            );
+            draft.setComplexMap(null);
+        });
+        StringBuilder builder = new StringBuilder();
+        PostgresDialect.appendCsvRow(builder, row(sqlClient, wrapper));
+        Assertions.assertEquals(
+                "\"1\"," +
+                        "\"{\"\"_x\"\":3,\"\"_y\"\":4}\"," +
+                        ",," +
+                        "\"[[\"\"a\"\",\"\"b\\\"\"c\"\"]]\"," +
+                        "\n",
+                builder.toString()
+        );
+    }
+
+    @Test
+    public void testEmptyString() {
+        StringBuilder builder = new StringBuilder();
+        PostgresDialect.appendCsvRow(builder, new Object[] { null, "", "a,\"b\"" });
+        Assertions.assertEquals(",\"\",\"a,\"\"b\"\"\"\n", builder.toString());
+    }
+
+    @Test
+    public void testUnconvertedValue() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> PostgresDialect.appendCsvRow(
+                        new StringBuilder(),
+                        new Object[] { new DbLiteral.DbNull(String.class) }
+                )
+        );
+    }
+
+    private static Object[] row(JSqlClientImplementor sqlClient, Object entity) {
+        List<PropertyGetter> getters = PropertyGetter.entityGetters(
+                sqlClient,
+                ImmutableType.get(JsonWrapper.class),
+                null,
+                null
+        );
+        Object[] row = new Object[getters.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = DbLiteral.toSqlValue(getters.get(i).get(entity), sqlClient);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,102 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.common.NativeDatabases;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+public class PrimitiveArrayDialectTest extends AbstractTest {
+
+    @Test
+    public void testReadByH2() {
+        Dialect dialect = new H2Dialect();
+        jdbc(null, true, con -> {
+            try (PreparedStatement stmt = con.prepareStatement(
+                    "select INTS, FLOATS, LONGS from ARRAY_MODEL where ID = ?"
+            )) {
+                stmt.setObject(1, UUID.fromString("e110c564-23cc-4811-9e81-d587a13db635"));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    Assertions.assertTrue(rs.next());
+                    Assertions.assertArrayEquals(new int[] {6, 5, 4}, dialect.getIntArray(rs, 1));
+                    Assertions.assertArrayEquals(new float[] {3F, 2F, 1F}, dialect.getFloatArray(rs, 2));
+                    Assertions.assertArrayEquals(new long[] {3L, 2L, 1L}, dialect.getLongArray(rs, 3));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testWriteByH2() {
+        Dialect dialect = new H2Dialect();
+        jdbc(null, true, con -> {
+            assertRoundTrip(dialect, con, "integer", new int[] {1, -2, 3});
+            assertRoundTrip(dialect, con, "bigint", new long[] {1L, -2L, 3L});
+            assertRoundTrip(dialect, con, "real", new float[] {1.5F, -2.25F});
+            assertRoundTrip(dialect, con, "double precision", new double[] {1.5D, -2.25D});
+        });
+    }
+
+    @Test
+    public void testReadByPostgres() {
+        NativeDatabases.assumeNativeDatabase();
+        Dialect dialect = new PostgresDialect();
+        jdbc(NativeDatabases.POSTGRES_DATA_SOURCE, true, con -> {
+            try (PreparedStatement stmt = con.prepareStatement(
+                    "select int_arr, null::int[] from pg_array_model where id = ?"
+            )) {
+                stmt.setLong(1, 1L);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    Assertions.assertTrue(rs.next());
+                    Assertions.assertArrayEquals(new int[] {1, 2, 3}, dialect.getIntArray(rs, 1));
+                    Assertions.assertNull(dialect.getIntArray(rs, 2));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testWriteByPostgres() {
+        NativeDatabases.assumeNativeDatabase();
+        Dialect dialect = new PostgresDialect();
+        jdbc(NativeDatabases.POSTGRES_DATA_SOURCE, true, con -> {
+            assertRoundTrip(dialect, con, "int2", new short[] {1, -2, 3});
+            assertRoundTrip(dialect, con, "int4", new int[] {1, -2, 3});
+            assertRoundTrip(dialect, con, "int8", new long[] {1L, -2L, 3L});
+            assertRoundTrip(dialect, con, "float4", new float[] {1.5F, -2.25F});
+            assertRoundTrip(dialect, con, "float8", new double[] {1.5D, -2.25D});
+        });
+    }
+
+    private static void assertRoundTrip(
+            Dialect dialect,
+            Connection con,
+            String sqlElementType,
+            Object primitiveArray
+    ) throws SQLException {
+        Array array = dialect.createPrimitiveArray(con, sqlElementType, primitiveArray);
+        try (PreparedStatement stmt = con.prepareStatement("select ?")) {
+            stmt.setArray(1, array);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Assertions.assertTrue(rs.next());
+                if (primitiveArray instanceof short[]) {
+                    Assertions.assertArrayEquals((short[]) primitiveArray, dialect.getShortArray(rs, 1));
+                } else if (primitiveArray instanceof int[]) {
+                    Assertions.assertArrayEquals((int[]) primitiveArray, dialect.getIntArray(rs, 1));
+                } else if (primitiveArray instanceof long[]) {
+                    Assertions.assertArrayEquals((long[]) primitiveArray, dialect.getLongArray(rs, 1));
+                } else if (primitiveArray instanceof float[]) {
+                    Assertions.assertArrayEquals((float[]) primitiveArray, dialect.getFloatArray(rs, 1));
+                } else {
+                    Assertions.assertArrayEquals((double[]) primitiveArray, dialect.getDoubleArray(rs, 1));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.babyfish.jimmer.sql.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.cache.chain.Binder;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class MicrometerMetricsTest extends AbstractQueryTest {
+
+    @Test
+    public void testExecution() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JSqlClient sqlClient = getSqlClient(it -> it.setMetrics(new MicrometerMetrics(registry)));
+        BookTable table = BookTable.$;
+        List<Book> books = sqlClient
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .select(table)
+                .execute();
+        Timer timer = registry
+                .get("jimmer.sql.execution")
+                .tag("purpose", "QUERY")
+                .tag("caller", "none")
+                .tag("outcome", "success")
+                .timer();
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertEquals(
+                books.size(),
+                registry.get("jimmer.sql.rows").tag("purpose", "QUERY").summary().totalAmount()
+        );
+    }
+
+    @Test
+    public void testCallerOfDifferentLines() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutorContextPrefixes(Collections.singletonList(MicrometerMetricsTest.class.getName()));
+            it.setMetrics(new MicrometerMetrics(registry));
+        });
+        BookTable table = BookTable.$;
+        sqlClient.createQuery(table).select(table.name()).execute();
+        sqlClient.createQuery(table).select(table.edition()).execute();
+        Collection<Timer> timers = registry.get("jimmer.sql.execution").timers();
+        Assertions.assertEquals(1, timers.size());
+        Timer timer = timers.iterator().next();
+        Assertions.assertEquals(
+                MicrometerMetricsTest.class.getName() + ".testCallerOfDifferentLines",
+                timer.getId().getTag("caller")
+        );
+        Assertions.assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void testCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerMetrics metrics = new MicrometerMetrics(registry);
+        Binder<Long> binder = new BinderImpl(ImmutableType.get(Book.class).getProp("authors"));
+        metrics.recordCacheAccess(binder, 5, 3);
+        metrics.recordCacheAccess(binder, 2, 2);
+        metrics.recordCacheLock(binder, 1000L, true);
+        metrics.recordCacheLock(binder, 2000L, false);
+        Counter hitCounter = registry
+                .get("jimmer.cache.requests")
+                .tag("binder", "BinderImpl")
+                .tag("result", "hit")
+                .counter();
+        Counter missCounter = registry
+                .get("jimmer.cache.requests")
+                .tag("binder", "BinderImpl")
+                .tag("result", "miss")
+                .counter();
+        Assertions.assertEquals(5, hitCounter.count());
+        Assertions.assertEquals(2, missCounter.count());
+        Assertions.assertEquals(
+                1,
+                registry.get("jimmer.cache.lock.wait").tag("locked", "true").timer().count()
+        );
+        Assertions.assertEquals(
+                1,
+                registry.get("jimmer.cache.lock.wait").tag("locked", "false").timer().count()
+        );
+    }
+
+    private static class BinderImpl implements Binder<Long> {
+
+        private final ImmutableProp prop;
+
+        BinderImpl(ImmutableProp prop) {
+            this.prop = prop;
+        }
+
+        @Nullable
+        @Override
+        public ImmutableType type() {
+            return null;
+        }
+
+        @Nullable
+        @Override
+        public ImmutableProp prop() {
+            return prop;
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {}
+    }
+}
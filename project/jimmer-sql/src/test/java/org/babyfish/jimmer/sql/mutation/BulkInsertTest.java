@@ -0,0 +1,63 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.BatchSaveResult;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.common.NativeDatabases;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreDraft;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class BulkInsertTest extends AbstractMutationTest {
+
+    @Test
+    public void testCopy() {
+
+        NativeDatabases.assumeNativeDatabase();
+
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new PostgresDialect(true)));
+        List<BookStore> stores = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int index = i;
+            stores.add(
+                    BookStoreDraft.$.produce(draft -> {
+                        draft.setId(UUID.randomUUID());
+                        draft.setName("Bulk \"Store\", " + index);
+                        draft.setWebsite(index == 0 ? null : "");
+                        draft.setVersion(0);
+                    })
+            );
+        }
+        jdbc(NativeDatabases.POSTGRES_DATA_SOURCE, true, con -> {
+            clearExecutions();
+            BatchSaveResult<BookStore> result = sqlClient
+                    .getEntities()
+                    .saveEntitiesCommand(stores)
+                    .setMode(SaveMode.INSERT_ONLY)
+                    .execute(con);
+            Assertions.assertEquals(3, result.getTotalAffectedRowCount());
+            Assertions.assertEquals(1, getExecutions().size());
+            Assertions.assertEquals(
+                    "copy BOOK_STORE(ID, NAME, WEBSITE, VERSION) from stdin with (format csv)",
+                    getExecutions().get(0).getSql()
+            );
+            Assertions.assertTrue(getExecutions().get(0).getVariables(0).isEmpty());
+            BookStoreTable table = BookStoreTable.$;
+            List<BookStore> actual = sqlClient
+                    .createQuery(table)
+                    .where(table.name().like("Bulk"))
+                    .orderBy(table.name())
+                    .select(table)
+                    .execute(con);
+            Assertions.assertEquals(stores.toString(), actual.toString());
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.*;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreDraft;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ChunkedSaveTest extends AbstractMutationTest {
+
+    @Test
+    public void testChunks() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        jdbc(null, true, con -> {
+            Stream<BookStore> stores = IntStream.range(0, 5).mapToObj(ChunkedSaveTest::store);
+            ChunkedSaveResult result = getSqlClient()
+                    .getEntities()
+                    .saveEntitiesCommand(stores::iterator)
+                    .setMode(SaveMode.INSERT_ONLY)
+                    .executeChunked(con, 2, ChunkBoundary.NONE, it -> {
+                        chunkSizes.add(it.getItems().size());
+                        Assertions.assertEquals(
+                                it.getItems().size(),
+                                it.getAffectedRowCount(BookStore.class)
+                        );
+                    });
+            Assertions.assertEquals(5, result.getEntityCount());
+            Assertions.assertEquals(3, result.getChunkCount());
+            Assertions.assertEquals(5, result.getAffectedRowCount(BookStore.class));
+            Assertions.assertEquals(5, result.getTotalAffectedRowCount());
+        });
+        Assertions.assertEquals("[2, 2, 1]", chunkSizes.toString());
+    }
+
+    @Test
+    public void testSavepoint() {
+        List<BookStore> stores = IntStream
+                .range(0, 3)
+                .mapToObj(ChunkedSaveTest::store)
+                .collect(Collectors.toList());
+        // The last chunk conflicts with the first one
+        stores.add(stores.get(0));
+        jdbc(null, true, con -> {
+            Assertions.assertThrows(RuntimeException.class, () -> {
+                getSqlClient()
+                        .getEntities()
+                        .saveEntitiesCommand(stores)
+                        .setMode(SaveMode.INSERT_ONLY)
+                        .executeChunked(con, 3, ChunkBoundary.SAVEPOINT, null);
+            });
+            Assertions.assertEquals(
+                    3,
+                    getSqlClient()
+                            .getEntities()
+                            .forConnection(con)
+                            .findByIds(
+                                    BookStore.class,
+                                    stores.stream().map(BookStore::id).collect(Collectors.toList())
+                            )
+                            .size()
+            );
+        });
+    }
+
+    @Test
+    public void testTransaction() {
+        List<BookStore> stores = IntStream
+                .range(0, 6)
+                .mapToObj(ChunkedSaveTest::store)
+                .collect(Collectors.toList());
+        // The last chunk conflicts with the first one
+        stores.add(stores.get(0));
+        // Each chunk is committed, so an isolated database is used
+        DataSource dataSource = new SimpleDriverDataSource(
+                new Driver(),
+                "jdbc:h2:mem:chunked_save;database_to_upper=true"
+        );
+        jdbc(dataSource, false, con -> {
+            // This connection keeps the in-memory database alive
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate(
+                        "create table book_store(\n" +
+                                "    id uuid not null,\n" +
+                                "    name varchar(50) not null,\n" +
+                                "    website varchar(100),\n" +
+                                "    version int not null,\n" +
+                                "    constraint pk_book_store primary key(id)\n" +
+                                ")"
+                );
+            }
+            JSqlClient sqlClient = getSqlClient(it ->
+                    it.setConnectionManager(ConnectionManager.simpleConnectionManager(dataSource))
+            );
+            Assertions.assertThrows(IllegalArgumentException.class, () -> {
+                sqlClient
+                        .getEntities()
+                        .saveEntitiesCommand(stores)
+                        .executeChunked(con, 3, ChunkBoundary.TRANSACTION, null);
+            });
+            List<Integer> chunkSizes = new ArrayList<>();
+            Assertions.assertThrows(RuntimeException.class, () -> {
+                sqlClient
+                        .getEntities()
+                        .saveEntitiesCommand(stores)
+                        .setMode(SaveMode.INSERT_ONLY)
+                        .executeChunked(
+                                null,
+                                3,
+                                ChunkBoundary.TRANSACTION,
+                                it -> chunkSizes.add(it.getItems().size())
+                        );
+            });
+            Assertions.assertEquals("[3, 3]", chunkSizes.toString());
+            // The chunks before the failed one have been committed by their own transactions
+            try (Statement stmt = con.createStatement();
+                 ResultSet rs = stmt.executeQuery("select count(*) from book_store")) {
+                Assertions.assertTrue(rs.next());
+                Assertions.assertEquals(6, rs.getInt(1));
+            }
+        });
+    }
+
+    private static BookStore store(int index) {
+        return BookStoreDraft.$.produce(draft -> {
+            draft.setId(UUID.randomUUID());
+            draft.setName("Chunked store " + index);
+            draft.setVersion(0);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Test;
+
+public class CompiledReaderTest extends AbstractQueryTest {
+
+    private final JSqlClient sqlClient = getSqlClient(it -> it.setReaderCompilationEnabled(true));
+
+    @Test
+    public void testEntity() {
+        BookTable table = BookTable.$;
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.id().eq(Constants.graphQLInActionId3))
+                        .select(table),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    );
+                    ctx.rows(
+                            "[{" +
+                                    "--->\"id\":\"" + Constants.graphQLInActionId3 + "\"," +
+                                    "--->\"name\":\"GraphQL in Action\"," +
+                                    "--->\"edition\":3," +
+                                    "--->\"price\":80.00," +
+                                    "--->\"store\":{\"id\":\"" + Constants.manningId + "\"}" +
+                                    "}]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testFetcher() {
+        BookTable table = BookTable.$;
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.name().eq("GraphQL in Action"))
+                        .orderBy(table.edition().desc())
+                        .select(table.fetch(BookFetcher.$.edition()))
+                        .limit(1),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME = ? " +
+                                    "order by tb_1_.EDITION desc " +
+                                    "limit ?"
+                    );
+                    ctx.rows(
+                            "[{\"id\":\"" +
+                                    Constants.graphQLInActionId3 +
+                                    "\",\"edition\":3}]"
+                    );
+                }
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.AuthorFetcher;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreFetcher;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentFetcherTest extends AbstractQueryTest {
+
+    @Test
+    public void testSameResult() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            AtomicInteger submitCount = new AtomicInteger();
+            JSqlClient concurrentSqlClient = getSqlClient(it -> {
+                it.setConnectionManager(testConnectionManager());
+                it.setFetcherExecutor(command -> {
+                    submitCount.incrementAndGet();
+                    executorService.execute(command);
+                });
+            });
+            JSqlClient sequentialSqlClient = getSqlClient(it -> {
+                it.setConnectionManager(testConnectionManager());
+            });
+            List<BookStore> expected = query(sequentialSqlClient);
+            List<BookStore> actual = query(concurrentSqlClient);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+            Assertions.assertTrue(submitCount.get() > 0);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTransaction() {
+        AtomicInteger submitCount = new AtomicInteger();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setFetcherExecutor(command -> {
+                submitCount.incrementAndGet();
+                command.run();
+            });
+        });
+        jdbc(null, true, con -> {
+            BookStoreTable table = BookStoreTable.$;
+            List<BookStore> stores = sqlClient
+                    .createQuery(table)
+                    .orderBy(table.name())
+                    .select(table.fetch(FETCHER))
+                    .execute(con);
+            Assertions.assertEquals(2, stores.size());
+        });
+        Assertions.assertEquals(0, submitCount.get());
+    }
+
+    private static List<BookStore> query(JSqlClient sqlClient) {
+        BookStoreTable table = BookStoreTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name())
+                .select(table.fetch(FETCHER))
+                .execute();
+    }
+
+    private static final BookStoreFetcher FETCHER =
+            BookStoreFetcher.$
+                    .name()
+                    .avgPrice()
+                    .newestBooks(
+                            BookFetcher.$.name().edition()
+                    )
+                    .books(
+                            BookFetcher.$
+                                    .name()
+                                    .edition()
+                                    .authors(
+                                            AuthorFetcher.$.firstName().lastName()
+                                    )
+                    );
+}
@@ -1,11 +1,16 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
 import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CursorTest extends AbstractQueryTest {
 
@@ -152,4 +157,72 @@ public class CursorTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void stream() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .orderBy(table.name().asc())
+                .select(
+                        table.fetch(
+                                BookFetcher.$.allScalarFields()
+                                        .authors(AuthorFetcher.$.firstName())
+                        )
+                );
+        jdbc(con -> {
+            List<Book> expected = query.execute(con);
+            clearExecutions();
+            List<Book> actual;
+            try (Stream<Book> stream = query.stream(con, 2)) {
+                actual = stream.collect(Collectors.toList());
+            }
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(3, getExecutions().size());
+            Assertions.assertEquals(
+                    "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE " +
+                            "from BOOK tb_1_ " +
+                            "where tb_1_.EDITION = ? " +
+                            "order by tb_1_.NAME asc",
+                    getExecutions().get(0).getSql()
+            );
+            Assertions.assertEquals(
+                    Collections.singletonList(3),
+                    getExecutions().get(0).getVariables(0)
+            );
+            Assertions.assertEquals(
+                    "select tb_2_.BOOK_ID, tb_1_.ID, tb_1_.FIRST_NAME " +
+                            "from AUTHOR tb_1_ " +
+                            "inner join BOOK_AUTHOR_MAPPING tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                            "where tb_2_.BOOK_ID in (?, ?)",
+                    getExecutions().get(1).getSql()
+            );
+        });
+    }
+
+    @Test
+    public void streamStoppedEarly() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .orderBy(table.name().asc())
+                .select(
+                        table.fetch(
+                                BookFetcher.$.name()
+                                        .authors(AuthorFetcher.$.firstName())
+                        )
+                );
+        jdbc(con -> {
+            clearExecutions();
+            Book first;
+            try (Stream<Book> stream = query.stream(con, 2)) {
+                first = stream.findFirst().orElse(null);
+            }
+            Assertions.assertNotNull(first);
+            Assertions.assertEquals("Effective TypeScript", first.name());
+            Assertions.assertEquals(2, getExecutions().size());
+        });
+    }
 }
@@ -1,20 +1,32 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
 import org.babyfish.jimmer.sql.common.NativeDatabases;
 import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
+import org.babyfish.jimmer.sql.dialect.SqlServerDialect;
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.model.embedded.MachineFetcher;
 import org.babyfish.jimmer.sql.model.embedded.MachineTable;
 import org.babyfish.jimmer.sql.model.embedded.OrderItemTable;
 import org.babyfish.jimmer.sql.model.embedded.TransformTable;
 import org.babyfish.jimmer.sql.model.inheritance.AdministratorMetadataTable;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 public class InCollectionTest extends AbstractQueryTest {
@@ -528,6 +540,227 @@ public class InCollectionTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testInListTableByTuple() {
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setInListToTableThreshold(3);
+                })
+                        .createQuery(table)
+                        .where(
+                                Expression.tuple(
+                                        table.parentId(),
+                                        table.name()
+                                ).in(
+                                        Arrays.asList(
+                                                new Tuple2<>(1L, "Food"),
+                                                new Tuple2<>(1L, "Cloth"),
+                                                new Tuple2<>(2L, "Drinks")
+                                        )
+                                )
+                        )
+                        .select(table),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where exists(" +
+                                    "--->select * " +
+                                    "--->from unnest(cast(? as bigint array), cast(? as varchar array)) " +
+                                    "--->tb_in_(c1, c2) " +
+                                    "--->where tb_in_.c1 = tb_1_.PARENT_ID and tb_in_.c2 = tb_1_.NAME" +
+                                    ")"
+                    ).variables(
+                            new Object[] { 1L, 1L, 2L },
+                            new Object[] { "Food", "Cloth", "Drinks" }
+                    );
+                }
+        );
+    }
+
+    /*
+     * `(PARENT_ID, NAME) not in (...)` is unknown for `(null, 'Home')` because
+     * `(5, 'Home')` is in the list, so `Home` is excluded just like `not in`
+     */
+    @Test
+    public void testNotInListTableByNullableTuple() {
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setInListToTableThreshold(3);
+                })
+                        .createQuery(table)
+                        .where(
+                                Expression.tuple(
+                                        table.parentId(),
+                                        table.name()
+                                ).notIn(
+                                        Arrays.asList(
+                                                new Tuple2<>(1L, "Food"),
+                                                new Tuple2<>(1L, "Clothing"),
+                                                new Tuple2<>(2L, "Drinks"),
+                                                new Tuple2<>(5L, "Home")
+                                        )
+                                )
+                        )
+                        .where(table.id().le(9L))
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where not exists(" +
+                                    "--->select * " +
+                                    "--->from unnest(cast(? as bigint array), cast(? as varchar array)) " +
+                                    "--->tb_in_(c1, c2) " +
+                                    "--->where " +
+                                    "--->--->(tb_in_.c1 = tb_1_.PARENT_ID or tb_1_.PARENT_ID is null) " +
+                                    "--->and " +
+                                    "--->--->(tb_in_.c2 = tb_1_.NAME or tb_1_.NAME is null)" +
+                                    ") " +
+                                    "and tb_1_.NODE_ID <= ? " +
+                                    "order by tb_1_.NODE_ID asc"
+                    ).variables(
+                            new Object[] { 1L, 1L, 2L, 5L },
+                            new Object[] { "Food", "Clothing", "Drinks", "Home" },
+                            9L
+                    );
+                    ctx.rows(Arrays.asList(4L, 5L, 6L, 7L, 8L));
+                }
+        );
+    }
+
+    @Test
+    public void testNotInListTableByNullableTupleAndPostgres() {
+
+        NativeDatabases.assumeNativeDatabase();
+
+        TreeNodeTable table = TreeNodeTable.$;
+        executeAndExpect(
+                NativeDatabases.POSTGRES_DATA_SOURCE,
+                getSqlClient(cfg -> {
+                    cfg.setDialect(new PostgresDialect());
+                    cfg.setInListToTableThreshold(3);
+                })
+                        .createQuery(table)
+                        .where(
+                                Expression.tuple(
+                                        table.parentId(),
+                                        table.name()
+                                ).notIn(
+                                        Arrays.asList(
+                                                new Tuple2<>(1L, "Food"),
+                                                new Tuple2<>(1L, "Clothing"),
+                                                new Tuple2<>(2L, "Drinks"),
+                                                new Tuple2<>(5L, "Home")
+                                        )
+                                )
+                        )
+                        .where(table.id().le(9L))
+                        .orderBy(table.id())
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NODE_ID " +
+                                    "from TREE_NODE tb_1_ " +
+                                    "where not exists(" +
+                                    "--->select * " +
+                                    "--->from unnest(?::bigint[], ?::varchar[]) " +
+                                    "--->tb_in_(c1, c2) " +
+                                    "--->where " +
+                                    "--->--->(tb_in_.c1 = tb_1_.PARENT_ID or tb_1_.PARENT_ID is null) " +
+                                    "--->and " +
+                                    "--->--->(tb_in_.c2 = tb_1_.NAME or tb_1_.NAME is null)" +
+                                    ") " +
+                                    "and tb_1_.NODE_ID <= ? " +
+                                    "order by tb_1_.NODE_ID asc"
+                    );
+                    ctx.rows(Arrays.asList(4L, 5L, 6L, 7L, 8L));
+                }
+        );
+    }
+
+    /*
+     * SQL Server is not used by the test cases,
+     * only check the SQL without executing it
+     */
+    @Test
+    public void testNotInListTableBySqlServer() {
+
+        List<String> sqlList = new ArrayList<>();
+        List<List<Object>> variablesList = new ArrayList<>();
+        TreeNodeTable table = TreeNodeTable.$;
+        getSqlClient(cfg -> {
+            cfg.setDialect(new SqlServerDialect());
+            cfg.setInListToTableThreshold(3);
+            cfg.setExecutor(new Executor() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public <R> R execute(@NotNull Args<R> args) {
+                    sqlList.add(args.sql);
+                    variablesList.add(args.variables);
+                    return (R) Collections.emptyList();
+                }
+                @Override
+                public BatchContext executeBatch(
+                        @NotNull Connection con,
+                        @NotNull String sql,
+                        @Nullable ImmutableProp generatedIdProp,
+                        @NotNull ExecutionPurpose purpose,
+                        @NotNull JSqlClientImplementor sqlClient
+                ) {
+                    throw new UnsupportedOperationException();
+                }
+            });
+        })
+                .createQuery(table)
+                .where(table.parentId().notIn(Arrays.asList(1L, 2L, 9L, 10L)))
+                .where(
+                        Expression.tuple(
+                                table.parentId(),
+                                table.name()
+                        ).notIn(
+                                Arrays.asList(
+                                        new Tuple2<>(3L, "Coca Cola"),
+                                        new Tuple2<>(3L, "Fanta"),
+                                        new Tuple2<>(6L, "Bread")
+                                )
+                        )
+                )
+                .select(table.id())
+                .execute();
+        Assertions.assertEquals(
+                Collections.singletonList(
+                        "select tb_1_.NODE_ID " +
+                                "from TREE_NODE tb_1_ " +
+                                "where not exists(" +
+                                "select * " +
+                                "from (values (?), (?), (?), (?)) tb_in_(c1) " +
+                                "where (tb_in_.c1 = tb_1_.PARENT_ID or tb_1_.PARENT_ID is null)" +
+                                ") " +
+                                "and not exists(" +
+                                "select * " +
+                                "from (values (?, ?), (?, ?), (?, ?)) tb_in_(c1, c2) " +
+                                "where " +
+                                "(tb_in_.c1 = tb_1_.PARENT_ID or tb_1_.PARENT_ID is null) " +
+                                "and " +
+                                "(tb_in_.c2 = tb_1_.NAME or tb_1_.NAME is null)" +
+                                ")"
+                ),
+                sqlList
+        );
+        Assertions.assertEquals(
+                Collections.singletonList(
+                        Arrays.<Object>asList(1L, 2L, 9L, 10L, 3L, "Coca Cola", 3L, "Fanta", 6L, "Bread")
+                ),
+                variablesList
+        );
+    }
+
     @Test
     public void testNullableInByEmbedded() {
         MachineTable table = MachineTable.$;
@@ -0,0 +1,114 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+public class KeysetPaginationTest extends AbstractQueryTest {
+
+    @Test
+    public void testTupleComparison() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name(), table.id())
+                .select(table);
+        jdbc(con -> {
+            List<Book> expected = query.execute(con);
+            clearExecutions();
+            List<Book> actual = fetchAll(query, 5, con);
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(3, getExecutions().size());
+            Assertions.assertEquals(
+                    "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                            "from BOOK tb_1_ " +
+                            "order by tb_1_.NAME asc, tb_1_.ID asc " +
+                            "limit ?",
+                    getExecutions().get(0).getSql()
+            );
+            Assertions.assertEquals(
+                    "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                            "from BOOK tb_1_ " +
+                            "where (tb_1_.NAME, tb_1_.ID) > (?, ?) " +
+                            "order by tb_1_.NAME asc, tb_1_.ID asc " +
+                            "limit ?",
+                    getExecutions().get(1).getSql()
+            );
+        });
+    }
+
+    @Test
+    public void testMixedDirections() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .where(table.name().like("GraphQL"))
+                .orderBy(table.edition().desc(), table.id().asc())
+                .select(
+                        table.fetch(
+                                BookFetcher.$.name().edition()
+                        )
+                );
+        jdbc(con -> {
+            List<Book> expected = query.execute(con);
+            clearExecutions();
+            List<Book> actual = fetchAll(query, 4, con);
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(2, getExecutions().size());
+            Assertions.assertEquals(
+                    "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                            "from BOOK tb_1_ " +
+                            "where tb_1_.NAME like ? " +
+                            "and (tb_1_.EDITION < ? or tb_1_.EDITION = ? and tb_1_.ID > ?) " +
+                            "order by tb_1_.EDITION desc, tb_1_.ID asc " +
+                            "limit ?",
+                    getExecutions().get(1).getSql()
+            );
+        });
+    }
+
+    @Test
+    public void testIllegalSorting() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name())
+                .select(table);
+        Assertions.assertThrows(IllegalStateException.class, () -> query.fetchSlice(null, 5));
+    }
+
+    @Test
+    public void testIllegalCursor() {
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient()
+                .createQuery(table)
+                .orderBy(table.name(), table.id())
+                .select(table);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> query.fetchSlice("WzFd", 5));
+    }
+
+    private static <R> List<R> fetchAll(
+            ConfigurableRootQuery<?, R> query,
+            int pageSize,
+            Connection con
+    ) {
+        List<R> rows = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetSlice<R> slice = query.fetchSlice(cursor, pageSize, con);
+            Assertions.assertEquals(cursor == null, slice.isHead());
+            rows.addAll(slice.getRows());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return rows;
+    }
+}
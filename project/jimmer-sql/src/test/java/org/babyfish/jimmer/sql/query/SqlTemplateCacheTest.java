@@ -0,0 +1,152 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SqlTemplateCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testSameShape() {
+
+        JSqlClient sqlClient = getSqlClient(it -> it.setSqlTemplateCacheCapacity(16));
+        SqlTemplateCache cache = ((JSqlClientImplementor) sqlClient).getSqlTemplateCache();
+        Assertions.assertNotNull(cache);
+        BookTable table = BookTable.$;
+
+        for (String name : new String[] { "GraphQL in Action", "Learning GraphQL" }) {
+            executeAndExpect(
+                    sqlClient
+                            .createQuery(table)
+                            .where(table.name().eq(name))
+                            .orderBy(table.edition().desc())
+                            .select(table)
+                            .limit(2),
+                    ctx -> {
+                        ctx.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                        "from BOOK tb_1_ " +
+                                        "where tb_1_.NAME = ? " +
+                                        "order by tb_1_.EDITION desc " +
+                                        "limit ?"
+                        ).variables(name, 2);
+                        ctx.rows(2);
+                    }
+            );
+        }
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testDifferentShape() {
+
+        JSqlClient sqlClient = getSqlClient(it -> it.setSqlTemplateCacheCapacity(16));
+        SqlTemplateCache cache = ((JSqlClientImplementor) sqlClient).getSqlTemplateCache();
+        Assertions.assertNotNull(cache);
+        BookTable table = BookTable.$;
+
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.name().eq("GraphQL in Action"))
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME = ?"
+                    ).variables("GraphQL in Action");
+                    ctx.rows(3);
+                }
+        );
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.name().like("GraphQL"))
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME like ?"
+                    ).variables("%GraphQL%");
+                    ctx.rows(6);
+                }
+        );
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testJoinIsNotCached() {
+
+        JSqlClient sqlClient = getSqlClient(it -> it.setSqlTemplateCacheCapacity(16));
+        SqlTemplateCache cache = ((JSqlClientImplementor) sqlClient).getSqlTemplateCache();
+        Assertions.assertNotNull(cache);
+        BookTable table = BookTable.$;
+
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.store().name().eq("MANNING"))
+                        .select(table.id()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID " +
+                                    "from BOOK tb_1_ " +
+                                    "inner join BOOK_STORE tb_2_ on tb_1_.STORE_ID = tb_2_.ID " +
+                                    "where tb_2_.NAME = ?"
+                    ).variables("MANNING");
+                    ctx.rows(3);
+                }
+        );
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        SqlTemplateCache cache = new SqlTemplateCache(2);
+        SqlTemplateCache.Template a = new SqlTemplateCache.Template("select a", "");
+        SqlTemplateCache.Template b = new SqlTemplateCache.Template("select b", "");
+        SqlTemplateCache.Template c = new SqlTemplateCache.Template("select c", "");
+        cache.put("a", a);
+        cache.put("b", b);
+        Assertions.assertSame(a, cache.get("a"));
+        cache.put("c", c);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertSame(a, cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertSame(c, cache.get("c"));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        SqlTemplateCache cache = new SqlTemplateCache(16);
+        SqlTemplateCache.Template template = new SqlTemplateCache.Template("select", "");
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            int threadIndex = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    String key = threadIndex + ":" + j;
+                    if (cache.get(key) == null) {
+                        cache.put(key, template);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        cache.put("last", template);
+        Assertions.assertEquals(16, cache.size());
+        Assertions.assertSame(template, cache.get("last"));
+        Assertions.assertEquals(8000, cache.getMissCount());
+    }
+}
@@ -0,0 +1,53 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class ExecutorContextTest {
+
+    @Test
+    public void testPrimaryElement() {
+        JSqlClient sqlClient = JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(Collections.singleton(ExecutorContextTest.class.getName()))
+                .build();
+        ExecutorContext ctx = ExecutorContext.create(sqlClient);
+        Assertions.assertNotNull(ctx);
+        Assertions.assertEquals(ExecutorContextTest.class.getName(), ctx.getPrimaryElement().getClassName());
+        Assertions.assertEquals("testPrimaryElement", ctx.getPrimaryElement().getMethodName());
+        Assertions.assertEquals(ctx.getPrimaryElement(), ctx.getMatchedElements().get(0));
+        Assertions.assertTrue(ctx.getElements().containsAll(ctx.getMatchedElements()));
+    }
+
+    @Test
+    public void testUnmatchedPrefix() {
+        JSqlClient sqlClient = JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(Collections.singleton("com.unknown"))
+                .build();
+        Assertions.assertNull(ExecutorContext.create(sqlClient));
+    }
+
+    @Test
+    public void testSamplingRate() {
+        JSqlClient sqlClient = JSqlClient
+                .newBuilder()
+                .setExecutorContextPrefixes(Collections.singleton(ExecutorContextTest.class.getName()))
+                .setExecutorContextSamplingRate(0.000001)
+                .build();
+        int count = 0;
+        for (int i = 0; i < 100; i++) {
+            if (ExecutorContext.create(sqlClient) != null) {
+                count++;
+            }
+        }
+        Assertions.assertTrue(count < 100);
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> JSqlClient.newBuilder().setExecutorContextSamplingRate(0)
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExecutorForMetricsTest extends AbstractQueryTest {
+
+    @Test
+    public void testExecution() {
+        List<String> records = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> it.setMetrics(new JimmerMetrics() {
+            @Override
+            public void recordExecution(
+                    @NotNull ExecutionPurpose purpose,
+                    @NotNull String sql,
+                    @Nullable ExecutorContext ctx,
+                    long nanos,
+                    int rowCount,
+                    @Nullable Throwable error
+            ) {
+                Assertions.assertTrue(nanos >= 0);
+                records.add(purpose + ":" + rowCount + ":" + (error == null));
+            }
+        }));
+        BookTable table = BookTable.$;
+        List<Book> books = sqlClient
+                .createQuery(table)
+                .where(table.edition().eq(3))
+                .select(table)
+                .execute();
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals("QUERY:" + books.size() + ":true", records.get(0));
+        Assertions.assertTrue(
+                AbstractExecutorProxy.as(
+                        ((JSqlClientImplementor) sqlClient).getExecutor(),
+                        ExecutorForMetrics.class
+                ) != null
+        );
+    }
+
+    @Test
+    public void testUpdate() {
+        List<String> records = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> it.setMetrics(new JimmerMetrics() {
+            @Override
+            public void recordExecution(
+                    @NotNull ExecutionPurpose purpose,
+                    @NotNull String sql,
+                    @Nullable ExecutorContext ctx,
+                    long nanos,
+                    int rowCount,
+                    @Nullable Throwable error
+            ) {
+                records.add(purpose + ":" + rowCount + ":" + (error == null));
+            }
+        }));
+        BookTable table = BookTable.$;
+        jdbc(null, true, con -> {
+            int affectedRowCount = sqlClient
+                    .createUpdate(table)
+                    .set(table.price(), table.price().plus(BigDecimal.ONE))
+                    .where(table.edition().eq(3))
+                    .execute(con);
+            Assertions.assertEquals(1, records.size());
+            Assertions.assertEquals("UPDATE:" + affectedRowCount + ":true", records.get(0));
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.metrics.JimmerMetrics;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testReuse() {
+        List<Boolean> hits = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setStatementCacheSize(8);
+            it.setMetrics(new JimmerMetrics() {
+                @Override
+                public void recordStatementCacheAccess(boolean hit) {
+                    hits.add(hit);
+                }
+            });
+        });
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            List<List<Book>> results = StatementCache.execute(con, c -> {
+                List<List<Book>> list = new ArrayList<>();
+                for (int edition = 1; edition <= 3; edition++) {
+                    list.add(
+                            sqlClient
+                                    .createQuery(table)
+                                    .where(table.edition().eq(edition))
+                                    .select(table)
+                                    .execute(c)
+                    );
+                }
+                return list;
+            });
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertFalse(results.get(i).isEmpty());
+                Assertions.assertEquals(i + 1, results.get(i).get(0).edition());
+            }
+        });
+        Assertions.assertEquals("[false, true, true]", hits.toString());
+
+        hits.clear();
+        jdbc(con -> {
+            sqlClient
+                    .createQuery(table)
+                    .where(table.edition().eq(3))
+                    .select(table)
+                    .execute(con);
+        });
+        Assertions.assertEquals("[false]", hits.toString());
+    }
+
+    @Test
+    public void testDisabled() {
+        List<Boolean> hits = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setMetrics(new JimmerMetrics() {
+                @Override
+                public void recordStatementCacheAccess(boolean hit) {
+                    hits.add(hit);
+                }
+            });
+        });
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            StatementCache.execute(con, c ->
+                sqlClient
+                        .createQuery(table)
+                        .where(table.edition().eq(3))
+                        .select(table)
+                        .execute(c)
+            );
+        });
+        Assertions.assertTrue(hits.isEmpty());
+    }
+}
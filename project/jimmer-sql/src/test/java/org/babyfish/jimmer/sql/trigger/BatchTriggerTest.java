@@ -0,0 +1,133 @@
+package org.babyfish.jimmer.sql.trigger;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.event.EntityEvent;
+import org.babyfish.jimmer.sql.event.EntityListener;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.Immutables;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BatchTriggerTest extends AbstractTest {
+
+    @Test
+    public void testOnChanges() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setTriggerType(TriggerType.BINLOG_ONLY));
+        List<Integer> batchSizes = new ArrayList<>();
+        sqlClient.getTriggers().addEntityListener(BookStore.class, new EntityListener<BookStore>() {
+            @Override
+            public void onChange(EntityEvent<BookStore> e) {
+                Assertions.fail("`onChanges` must be called");
+            }
+            @Override
+            public void onChanges(List<EntityEvent<BookStore>> events) {
+                batchSizes.add(events.size());
+            }
+        });
+        sqlClient.getTriggers().fireEntityTableChanges(
+                Arrays.asList(
+                        event(1, "Store-1"),
+                        event(2, "Store-2"),
+                        event(3, "Store-3")
+                )
+        );
+        Assertions.assertEquals(Collections.singletonList(3), batchSizes);
+    }
+
+    @Test
+    public void testAsync() throws InterruptedException {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTriggerType(TriggerType.BINLOG_ONLY);
+            it.setAsyncBinLogTriggers(2, 4);
+        });
+        int count = 20;
+        CountDownLatch latch = new CountDownLatch(count);
+        Map<Object, List<String>> namesMap = new ConcurrentHashMap<>();
+        Map<Object, Set<String>> threadsMap = new ConcurrentHashMap<>();
+        sqlClient.getTriggers().addEntityListener(BookStore.class, e -> {
+            namesMap.computeIfAbsent(e.getId(), it -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(e.getNewEntity().name());
+            threadsMap.computeIfAbsent(e.getId(), it -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            latch.countDown();
+        });
+        for (int i = 0; i < count; i++) {
+            EntityEvent<BookStore> e = event(i % 2, "Store-" + i);
+            sqlClient.getTriggers().fireEntityTableChange(e.getOldEntity(), e.getNewEntity(), null);
+        }
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int id = 0; id < 2; id++) {
+            List<String> expectedNames = new ArrayList<>();
+            for (int i = id; i < count; i += 2) {
+                expectedNames.add("Store-" + i);
+            }
+            Assertions.assertEquals(expectedNames, namesMap.get(uuid(id)));
+            Assertions.assertEquals(1, threadsMap.get(uuid(id)).size());
+            Assertions.assertTrue(
+                    threadsMap.get(uuid(id)).iterator().next().startsWith("jimmer-binlog-trigger-")
+            );
+        }
+    }
+
+    @Test
+    public void testCloseAsync() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTriggerType(TriggerType.BINLOG_ONLY);
+            it.setAsyncBinLogTriggers(2, 4);
+        });
+        int count = 20;
+        List<String> names = Collections.synchronizedList(new ArrayList<>());
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        sqlClient.getTriggers().addEntityListener(BookStore.class, e -> {
+            names.add(e.getNewEntity().name());
+            threads.add(Thread.currentThread());
+        });
+        for (int i = 0; i < count; i++) {
+            EntityEvent<BookStore> e = event(i % 2, "Store-" + i);
+            sqlClient.getTriggers().fireEntityTableChange(e.getOldEntity(), e.getNewEntity(), null);
+        }
+
+        // The queued events are handled before the threads stop
+        ((JSqlClientImplementor) sqlClient).close();
+        Assertions.assertEquals(count, names.size());
+        Assertions.assertFalse(threads.isEmpty());
+        for (Thread thread : threads) {
+            Assertions.assertTrue(thread.getName().startsWith("jimmer-binlog-trigger-"));
+            Assertions.assertFalse(thread.isAlive());
+        }
+
+        // After closed, the events are handled by the caller thread
+        threads.clear();
+        EntityEvent<BookStore> e = event(0, "Store-" + count);
+        sqlClient.getTriggers().fireEntityTableChange(e.getOldEntity(), e.getNewEntity(), null);
+        Assertions.assertEquals(count + 1, names.size());
+        Assertions.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    private static EntityEvent<BookStore> event(int id, String name) {
+        return new EntityEvent<>(
+                Immutables.createBookStore(draft -> {
+                    draft.setId(uuid(id));
+                    draft.setName("Old");
+                }),
+                Immutables.createBookStore(draft -> {
+                    draft.setId(uuid(id));
+                    draft.setName(name);
+                }),
+                null,
+                null
+        );
+    }
+
+    private static UUID uuid(int id) {
+        return new UUID(0, id);
+    }
+}
@@ -9,6 +9,8 @@ import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.meta.ScalarTypeStrategy;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
 import org.babyfish.jimmer.sql.model.issue918.Issue918Model;
+import org.babyfish.jimmer.sql.model.wild.Task;
+import org.babyfish.jimmer.sql.model.wild.Worker;
 import org.babyfish.jimmer.sql.runtime.DatabaseValidators;
 import org.babyfish.jimmer.sql.runtime.DefaultDatabaseNamingStrategy;
 import org.babyfish.jimmer.sql.runtime.EntityManager;
@@ -17,9 +19,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.jdbc.datasource.SimpleDriverDataSource;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DatabaseValidatorTest extends AbstractTest {
 
@@ -87,6 +92,174 @@ public class DatabaseValidatorTest extends AbstractTest {
         });
     }
 
+    @Test
+    public void testBulkSchemaMetadataInH2() {
+        jdbc(new SimpleDriverDataSource(
+                new Driver(),
+                "jdbc:h2:mem:bulk_schema_metadata;database_to_upper=true"
+        ), true, con -> {
+            List<String> calls = new ArrayList<>();
+            DatabaseValidationException ex = validateTask(
+                    recordingConnection(taskInitH2(con, true), true, calls)
+            );
+            Assertions.assertNull(ex);
+            Assertions.assertTrue(calls.contains("getPrimaryKeys(null)"), calls.toString());
+            Assertions.assertTrue(calls.contains("getImportedKeys(null)"), calls.toString());
+            Assertions.assertFalse(calls.contains("getPrimaryKeys(TASK)"), calls.toString());
+            Assertions.assertFalse(calls.contains("getImportedKeys(TASK)"), calls.toString());
+            Assertions.assertFalse(calls.contains("rollback(Savepoint)"), calls.toString());
+        });
+    }
+
+    @Test
+    public void testFallbackSchemaMetadataInH2() {
+        jdbc(new SimpleDriverDataSource(
+                new Driver(),
+                "jdbc:h2:mem:fallback_schema_metadata;database_to_upper=true"
+        ), true, con -> {
+            List<String> calls = new ArrayList<>();
+            DatabaseValidationException ex = validateTask(
+                    recordingConnection(taskInitH2(con, true), false, calls)
+            );
+            Assertions.assertNull(ex);
+            Assertions.assertTrue(calls.contains("getPrimaryKeys(null)"), calls.toString());
+            Assertions.assertTrue(calls.contains("getImportedKeys(null)"), calls.toString());
+            Assertions.assertTrue(calls.contains("getPrimaryKeys(TASK)"), calls.toString());
+            Assertions.assertTrue(calls.contains("getImportedKeys(TASK)"), calls.toString());
+            // Each failed bulk query is rolled back to its savepoint,
+            // so that it does not break the current transaction
+            Assertions.assertEquals(
+                    calls.stream().filter(it -> it.endsWith("(null)")).count(),
+                    calls.stream().filter("rollback(Savepoint)"::equals).count(),
+                    calls.toString()
+            );
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeQuery("select count(*) from task").close();
+            }
+        });
+    }
+
+    @Test
+    public void testMissingForeignKeyInH2() {
+        for (boolean bulkSupported : new boolean[] { true, false }) {
+            jdbc(new SimpleDriverDataSource(
+                    new Driver(),
+                    "jdbc:h2:mem:missing_foreign_key;database_to_upper=true"
+            ), true, con -> {
+                DatabaseValidationException ex = validateTask(
+                        recordingConnection(taskInitH2(con, false), bulkSupported, new ArrayList<>())
+                );
+                Assertions.assertNotNull(ex, "bulkSupported: " + bulkSupported);
+                Assertions.assertEquals(1, ex.getItems().size(), ex.getMessage());
+                String message = ex.getItems().get(0).getMessage();
+                Assertions.assertTrue(
+                        message.startsWith("No foreign key constraint for columns: ") &&
+                                message.contains("OWNER_ID"),
+                        message
+                );
+            });
+        }
+    }
+
+    private static DatabaseValidationException validateTask(Connection con) throws SQLException {
+        return DatabaseValidators.validate(
+                new EntityManager(Task.class, Worker.class),
+                "",
+                true,
+                new MetadataStrategy(
+                        DatabaseSchemaStrategy.IMPLICIT,
+                        DefaultDatabaseNamingStrategy.UPPER_CASE,
+                        ForeignKeyStrategy.REAL,
+                        new H2Dialect(),
+                        prop -> null,
+                        str -> str
+                ),
+                // Foreign keys referencing the accepted types are not validated
+                type -> type.getJavaClass() == Task.class,
+                con
+        );
+    }
+
+    private static Connection taskInitH2(Connection con, boolean withForeignKey) throws SQLException {
+        String DDL = "create table worker(\n" +
+                     "    id bigint auto_increment not null,\n" +
+                     "    name varchar(20) not null\n" +
+                     ");\n" +
+                     "alter table worker\n" +
+                     "    add constraint pk_worker\n" +
+                     "        primary key(id);\n" +
+                     "create table task(\n" +
+                     "    id bigint auto_increment not null,\n" +
+                     "    name varchar(20) not null,\n" +
+                     "    owner_id bigint\n" +
+                     ");\n" +
+                     "alter table task\n" +
+                     "    add constraint pk_task\n" +
+                     "        primary key(id);\n";
+        if (withForeignKey) {
+            DDL += "alter table task\n" +
+                   "    add constraint fk_task_owner\n" +
+                   "        foreign key(owner_id)\n" +
+                   "            references worker(id);\n";
+        }
+        try (Statement stmt = con.createStatement()) {
+            stmt.executeUpdate(DDL);
+        }
+        return con;
+    }
+
+    /**
+     * Records the metadata queries, and simulates the driver
+     * which does not support the metadata query without table name
+     */
+    private static Connection recordingConnection(
+            Connection con,
+            boolean bulkSupported,
+            List<String> calls
+    ) throws SQLException {
+        DatabaseMetaData metaData = con.getMetaData();
+        DatabaseMetaData metaDataProxy = (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class[] { DatabaseMetaData.class },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getPrimaryKeys") || name.equals("getImportedKeys")) {
+                        String tableName = (String) args[2];
+                        calls.add(name + '(' + tableName + ')');
+                        if (tableName == null && !bulkSupported) {
+                            throw new SQLFeatureNotSupportedException("Table name is required");
+                        }
+                    }
+                    return invoke(metaData, method, args);
+                }
+        );
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getMetaData")) {
+                        return metaDataProxy;
+                    }
+                    if (method.getName().equals("rollback") && args != null) {
+                        calls.add("rollback(Savepoint)");
+                    }
+                    return invoke(con, method, args);
+                }
+        );
+    }
+
+    private static Object invoke(
+            Object target,
+            Method method,
+            Object[] args
+    ) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
     private static Connection issue918InitH2(Connection con) throws SQLException {
         String DDL = "create table ${schema}.issue918_model(\n" +
                      "    id bigint auto_increment not null,\n" +